@@ -0,0 +1,145 @@
+package com.elton.pixservice.performance;
+
+import io.gatling.javaapi.core.*;
+import io.gatling.javaapi.http.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Compara o caminho de transferência unitária com o lote ({@code POST /pix/transfers/batch}).
+ *
+ * Cada usuário virtual cria uma carteira pagadora e {@code batch.size} carteiras recebedoras
+ * com chave EVP. Em seguida envia as transferências de duas formas:
+ * - "Single path": uma requisição {@code POST /pix/transfers} por recebedor
+ * - "Batch path": uma única requisição {@code POST /pix/transfers/batch} com todos os recebedores
+ *
+ * Os tempos agregados dos grupos "Single path" e "Batch path" no relatório do Gatling
+ * mostram o custo total de cada caminho para o mesmo número de transferências.
+ *
+ * Parâmetros (via -D):
+ * - base.url: URL da API (padrão http://localhost:8080)
+ * - users: número de pagadores concorrentes (padrão 10)
+ * - batch.size: transferências por pagador (padrão 100)
+ */
+public class BatchTransferSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("base.url", "http://localhost:8080");
+    private static final int USERS = Integer.parseInt(System.getProperty("users", "10"));
+    private static final int BATCH_SIZE = Integer.parseInt(System.getProperty("batch.size", "100"));
+    private static final int RAMPUP_DURATION = Integer.parseInt(System.getProperty("rampup.duration", "10"));
+
+    private HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    // ========== SETUP DE CARTEIRAS ==========
+
+    private ChainBuilder setupWallets = exec(
+            http("Create Payer Wallet")
+                    .post("/wallets")
+                    .body(StringBody(session -> "{\"userId\":\"payer-" + UUID.randomUUID() + "\"}"))
+                    .check(status().is(201))
+                    .check(jsonPath("$.id").saveAs("payerWalletId"))
+    )
+            .exec(
+                    // Saldo suficiente para os dois caminhos (R$ 1,00 por transferência)
+                    http("Fund Payer Wallet")
+                            .post(session -> "/wallets/" + session.getLong("payerWalletId") + "/deposit")
+                            .body(StringBody("{\"amount\":" + (BATCH_SIZE * 2) + "}"))
+                            .check(status().is(200))
+            )
+            .exec(session -> session.set("pixKeys", new ArrayList<String>()))
+            .repeat(BATCH_SIZE).on(
+                    exec(
+                            http("Create Payee Wallet")
+                                    .post("/wallets")
+                                    .body(StringBody(session -> "{\"userId\":\"payee-" + UUID.randomUUID() + "\"}"))
+                                    .check(status().is(201))
+                                    .check(jsonPath("$.id").saveAs("payeeWalletId"))
+                    )
+                            .exec(session -> session.set("payeeKey", UUID.randomUUID().toString()))
+                            .exec(
+                                    http("Register Payee Key")
+                                            .post(session -> "/wallets/" + session.getLong("payeeWalletId") + "/pix-keys")
+                                            .body(StringBody(session ->
+                                                    "{\"keyType\":\"EVP\",\"keyValue\":\"" + session.getString("payeeKey") + "\"}"))
+                                            .check(status().is(201))
+                            )
+                            .exec(session -> {
+                                List<String> keys = new ArrayList<>(session.<String>getList("pixKeys"));
+                                keys.add(session.getString("payeeKey"));
+                                return session.set("pixKeys", keys);
+                            })
+            );
+
+    // ========== CAMINHO UNITÁRIO ==========
+
+    private ChainBuilder singlePath = group("Single path").on(
+            foreach(session -> session.<String>getList("pixKeys"), "pixKey").on(
+                    exec(
+                            http("Pix Transfer")
+                                    .post("/pix/transfers")
+                                    .header("Idempotency-Key", session -> UUID.randomUUID().toString())
+                                    .body(StringBody(session ->
+                                            "{"
+                                            + "\"fromWalletId\":" + session.getLong("payerWalletId") + ","
+                                            + "\"pixKey\":\"" + session.getString("pixKey") + "\","
+                                            + "\"amount\":1.00"
+                                            + "}"))
+                                    .check(status().is(201))
+                    )
+            )
+    );
+
+    // ========== CAMINHO EM LOTE ==========
+
+    private ChainBuilder batchPath = group("Batch path").on(
+            exec(
+                    http("Pix Transfer Batch")
+                            .post("/pix/transfers/batch")
+                            .header("Accept", "application/x-ndjson")
+                            .body(StringBody(session -> {
+                                String items = session.<String>getList("pixKeys").stream()
+                                        .map(key -> "{"
+                                                + "\"idempotencyKey\":\"" + UUID.randomUUID() + "\","
+                                                + "\"pixKey\":\"" + key + "\","
+                                                + "\"amount\":1.00"
+                                                + "}")
+                                        .collect(Collectors.joining(","));
+                                return "{\"fromWalletId\":" + session.getLong("payerWalletId") + ",\"items\":[" + items + "]}";
+                            }))
+                            .check(status().is(200))
+                            .check(bodyString().transform(body -> body.split("\"outcome\":\"CREATED\"", -1).length - 1)
+                                    .is(BATCH_SIZE))
+            )
+    );
+
+    private ScenarioBuilder comparisonScenario = scenario("Single vs Batch Transfers")
+            .exec(setupWallets)
+            .pause(Duration.ofMillis(500))
+            .exec(singlePath)
+            .pause(Duration.ofMillis(500))
+            .exec(batchPath);
+
+    // ========== SETUP ==========
+
+    {
+        setUp(
+                comparisonScenario.injectOpen(
+                        rampUsers(USERS).during(Duration.ofSeconds(RAMPUP_DURATION))
+                ).protocols(httpProtocol)
+        )
+        .assertions(
+                details("Pix Transfer Batch").failedRequests().count().is(0L),
+                details("Pix Transfer").failedRequests().count().is(0L)
+        );
+    }
+}
@@ -0,0 +1,432 @@
+package com.elton.pixservice.performance;
+
+import io.gatling.javaapi.core.*;
+import io.gatling.javaapi.http.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Busca de capacidade: maior taxa de chegada (requisições/s) que cada endpoint sustenta dentro do SLO.
+ *
+ * Cada cenário (transfer, webhook, balance) recebe carga em degraus de taxa de chegada (modelo aberto):
+ * {@code capacity.start.rps}, + {@code capacity.step.rps} a cada degrau, por {@code capacity.steps} degraus
+ * de {@code capacity.step.duration} segundos. Ao fim de cada degrau o p99 e a taxa de erro do degrau são
+ * comparados ao SLO ({@code slo.p99.ms}, {@code slo.error.pct}); no primeiro degrau que viola o SLO o
+ * cenário para de enviar requisições e o degrau anterior é registrado como joelho (capacidade sustentável).
+ *
+ * As requisições medidas são nomeadas por degrau ("Capacity Transfer 040rps") para aparecerem separadas no
+ * relatório. Ao final é gravado um resumo JSON ({@code capacity.summary.file}) com o joelho e as estatísticas
+ * de cada degrau, comparável entre releases.
+ *
+ * Assertions: com {@code capacity.min.<cenário>.rps} > 0, todos os degraus até essa taxa precisam cumprir o SLO
+ * (p99 e erros) — falha o build se a release perder capacidade.
+ *
+ * Cenários:
+ * - transfer: POST /pix/transfers de uma carteira aleatória para uma chave aleatória do pool
+ * - webhook: transferência (não medida) seguida do POST /pix/webhook de confirmação (medido)
+ * - balance: GET /wallets/{id}/balance de uma carteira aleatória
+ *
+ * O pool de {@code capacity.wallets} carteiras com saldo e chave EVP é criado antes da simulação.
+ *
+ * Exemplo:
+ * mvn gatling:test -Dgatling.simulationClass=com.elton.pixservice.performance.CapacitySearchSimulation
+ *     -Dcapacity.scenarios=transfer,balance -Dcapacity.step.rps=10 -Dslo.p99.ms=300
+ */
+public class CapacitySearchSimulation extends Simulation {
+
+    // ========== CONFIGURAÇÃO ==========
+
+    private static final String BASE_URL = System.getProperty("base.url", "http://localhost:8080");
+    private static final List<String> SCENARIOS = Arrays.stream(
+                    System.getProperty("capacity.scenarios", "transfer,webhook,balance").split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toList());
+    private static final double START_RPS = Double.parseDouble(System.getProperty("capacity.start.rps", "10"));
+    private static final double STEP_RPS = Double.parseDouble(System.getProperty("capacity.step.rps", "10"));
+    private static final int STEPS = Integer.parseInt(System.getProperty("capacity.steps", "20"));
+    private static final int STEP_DURATION = Integer.parseInt(System.getProperty("capacity.step.duration", "30"));
+    private static final int RAMP_DURATION = Integer.parseInt(System.getProperty("capacity.ramp.duration", "5"));
+    private static final int SLO_P99_MS = Integer.parseInt(System.getProperty("slo.p99.ms", "500"));
+    private static final double SLO_ERROR_PCT = Double.parseDouble(System.getProperty("slo.error.pct", "1.0"));
+    private static final int MIN_SAMPLES = Integer.parseInt(System.getProperty("capacity.min.samples", "50"));
+    private static final int WALLETS = Integer.parseInt(System.getProperty("capacity.wallets", "100"));
+    private static final String SUMMARY_FILE =
+            System.getProperty("capacity.summary.file", "target/gatling/capacity-summary.json");
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    // ========== ESTADO DA BUSCA ==========
+
+    private final List<Long> walletIds = new ArrayList<>();
+    private final List<String> pixKeys = new ArrayList<>();
+    private final Map<String, CapacitySearch> searches = new ConcurrentHashMap<>();
+    private volatile long startedAtMillis;
+
+    private HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    // ========== CENÁRIOS ==========
+
+    private ChainBuilder transfer = exec(
+            http("#{requestName}")
+                    .post("/pix/transfers")
+                    .header("Idempotency-Key", session -> UUID.randomUUID().toString())
+                    .body(StringBody(session -> transferBody()))
+                    .check(responseTimeInMillis().saveAs("responseTime"))
+                    .check(status().is(201))
+    );
+
+    private ChainBuilder webhook = exec(
+            http("Capacity Webhook - setup transfer")
+                    .post("/pix/transfers")
+                    .header("Idempotency-Key", session -> UUID.randomUUID().toString())
+                    .body(StringBody(session -> transferBody()))
+                    .check(status().is(201))
+                    .check(jsonPath("$.endToEndId").saveAs("endToEndId"))
+    )
+            .exitHereIfFailed()
+            .exec(
+                    http("#{requestName}")
+                            .post("/pix/webhook")
+                            .body(StringBody(session ->
+                                    "{"
+                                    + "\"endToEndId\":\"" + session.getString("endToEndId") + "\","
+                                    + "\"eventId\":\"" + UUID.randomUUID() + "\","
+                                    + "\"eventType\":\"CONFIRMED\","
+                                    + "\"occurredAt\":\"" + Instant.now() + "\""
+                                    + "}"))
+                            .check(responseTimeInMillis().saveAs("responseTime"))
+                            .check(status().is(200))
+            );
+
+    private ChainBuilder balance = exec(
+            http("#{requestName}")
+                    .get(session -> "/wallets/" + randomWalletId() + "/balance")
+                    .check(responseTimeInMillis().saveAs("responseTime"))
+                    .check(status().is(200))
+    );
+
+    private ScenarioBuilder capacityScenario(String name, ChainBuilder measured) {
+        String label = "Capacity " + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        return scenario(label)
+                .exitHereIf(session -> search(name).isStopped())
+                .exec(session -> session.set("level", currentLevel()))
+                // Requisições em rampa entre degraus não entram na estatística
+                .exitHereIf(session -> session.getInt("level") < 0)
+                .exec(session -> session.set("requestName", requestName(label, session.getInt("level"))))
+                .exec(measured)
+                .exec(session -> {
+                    if (session.contains("responseTime")) {
+                        search(name).record(session.getInt("level"), session.getInt("responseTime"), session.isFailed());
+                    }
+                    return session;
+                });
+    }
+
+    private ChainBuilder chainFor(String name) {
+        switch (name) {
+            case "transfer":
+                return transfer;
+            case "webhook":
+                return webhook;
+            case "balance":
+                return balance;
+            default:
+                throw new IllegalArgumentException("Unknown capacity scenario: " + name);
+        }
+    }
+
+    // ========== SETUP ==========
+
+    {
+        List<PopulationBuilder> populations = new ArrayList<>();
+        List<Assertion> assertions = new ArrayList<>();
+
+        for (String name : SCENARIOS) {
+            searches.put(name, new CapacitySearch(name));
+            populations.add(capacityScenario(name, chainFor(name)).injectOpen(
+                    incrementUsersPerSec(STEP_RPS)
+                            .times(STEPS)
+                            .eachLevelLasting(Duration.ofSeconds(STEP_DURATION))
+                            .separatedByRampsLasting(Duration.ofSeconds(RAMP_DURATION))
+                            .startingFrom(START_RPS)
+            ).protocols(httpProtocol));
+
+            double minRps = Double.parseDouble(System.getProperty("capacity.min." + name + ".rps", "0"));
+            String label = "Capacity " + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            for (int level = 0; level < STEPS && levelRps(level) <= minRps; level++) {
+                String request = requestName(label, level);
+                assertions.add(details(request).responseTime().percentile4().lt(SLO_P99_MS));
+                assertions.add(details(request).failedRequests().percent().lt(SLO_ERROR_PCT));
+            }
+        }
+
+        setUp(populations).assertions(assertions);
+    }
+
+    @Override
+    public void before() {
+        HttpClient client = HttpClient.newHttpClient();
+        for (int i = 0; i < WALLETS; i++) {
+            String response = post(client, "/wallets", "{\"userId\":\"capacity-" + UUID.randomUUID() + "\"}");
+            Matcher matcher = ID_PATTERN.matcher(response);
+            if (!matcher.find()) {
+                throw new IllegalStateException("Unexpected create wallet response: " + response);
+            }
+            long walletId = Long.parseLong(matcher.group(1));
+            String key = UUID.randomUUID().toString();
+            // Saldo alto o bastante para a simulação inteira não esgotar nenhuma carteira
+            post(client, "/wallets/" + walletId + "/deposit", "{\"amount\":10000000.00}");
+            post(client, "/wallets/" + walletId + "/pix-keys", "{\"keyType\":\"EVP\",\"keyValue\":\"" + key + "\"}");
+            walletIds.add(walletId);
+            pixKeys.add(key);
+        }
+        startedAtMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public void after() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"generatedAt\": \"").append(Instant.now()).append("\",\n");
+        json.append("  \"baseUrl\": \"").append(BASE_URL).append("\",\n");
+        json.append("  \"slo\": {\"p99Ms\": ").append(SLO_P99_MS)
+                .append(", \"errorPct\": ").append(SLO_ERROR_PCT).append("},\n");
+        json.append("  \"steps\": {\"startRps\": ").append(START_RPS)
+                .append(", \"stepRps\": ").append(STEP_RPS)
+                .append(", \"count\": ").append(STEPS)
+                .append(", \"durationSeconds\": ").append(STEP_DURATION).append("},\n");
+        json.append("  \"scenarios\": [\n");
+        json.append(SCENARIOS.stream().map(name -> search(name).toJson()).collect(Collectors.joining(",\n")));
+        json.append("\n  ]\n}\n");
+
+        try {
+            Path file = Paths.get(SUMMARY_FILE);
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, json.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write capacity summary to " + SUMMARY_FILE, e);
+        }
+
+        System.out.println("========== CAPACITY SEARCH ==========");
+        for (String name : SCENARIOS) {
+            CapacitySearch search = search(name);
+            System.out.println(name + ": " + search.describeKnee());
+        }
+        System.out.println("Summary: " + Paths.get(SUMMARY_FILE).toAbsolutePath());
+    }
+
+    // ========== AUXILIARES ==========
+
+    private CapacitySearch search(String name) {
+        return searches.get(name);
+    }
+
+    /**
+     * Degrau em andamento (0..STEPS-1), ou -1 durante a rampa entre dois degraus.
+     */
+    private int currentLevel() {
+        long elapsed = System.currentTimeMillis() - startedAtMillis;
+        long period = (STEP_DURATION + RAMP_DURATION) * 1000L;
+        int level = (int) (elapsed / period);
+        if (level >= STEPS || elapsed % period >= STEP_DURATION * 1000L) {
+            return -1;
+        }
+        return level;
+    }
+
+    private static double levelRps(int level) {
+        return START_RPS + level * STEP_RPS;
+    }
+
+    private static String requestName(String label, int level) {
+        return String.format(Locale.ROOT, "%s %03.0frps", label, levelRps(level));
+    }
+
+    private long randomWalletId() {
+        return walletIds.get(ThreadLocalRandom.current().nextInt(walletIds.size()));
+    }
+
+    private String transferBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(walletIds.size());
+        int to = random.nextInt(walletIds.size() - 1);
+        if (to >= from) {
+            to++;
+        }
+        return "{"
+                + "\"fromWalletId\":" + walletIds.get(from) + ","
+                + "\"pixKey\":\"" + pixKeys.get(to) + "\","
+                + "\"amount\":1.00"
+                + "}";
+    }
+
+    private static String post(HttpClient client, String path, String body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("POST " + path + " returned " + response.statusCode() + ": " + response.body());
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new IllegalStateException("POST " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("POST " + path + " interrupted", e);
+        }
+    }
+
+    /**
+     * Estatísticas por degrau de um cenário e detecção do joelho.
+     */
+    private static final class CapacitySearch {
+
+        private final String name;
+        private final List<List<Integer>> latencies = new ArrayList<>();
+        private final int[] errors = new int[STEPS];
+        private int evaluatedLevels;
+        private volatile int breachLevel = -1;
+        private String breachReason;
+
+        private CapacitySearch(String name) {
+            this.name = name;
+            for (int i = 0; i < STEPS; i++) {
+                latencies.add(new ArrayList<>());
+            }
+        }
+
+        private boolean isStopped() {
+            return breachLevel >= 0;
+        }
+
+        private synchronized void record(int level, int responseTimeMs, boolean failed) {
+            // Degraus anteriores já terminaram: avalia antes de registrar no atual
+            while (evaluatedLevels < level && breachLevel < 0) {
+                evaluate(evaluatedLevels++);
+            }
+            latencies.get(level).add(responseTimeMs);
+            if (failed) {
+                errors[level]++;
+            }
+        }
+
+        private void evaluate(int level) {
+            int samples = latencies.get(level).size();
+            if (samples < MIN_SAMPLES) {
+                return;
+            }
+            int p99 = percentile(level, 99);
+            double errorPct = errorPct(level);
+            if (p99 >= SLO_P99_MS) {
+                breach(level, "p99 " + p99 + "ms >= " + SLO_P99_MS + "ms");
+            } else if (errorPct >= SLO_ERROR_PCT) {
+                breach(level, String.format(Locale.ROOT, "errors %.2f%% >= %.2f%%", errorPct, SLO_ERROR_PCT));
+            }
+        }
+
+        private void breach(int level, String reason) {
+            breachReason = reason;
+            breachLevel = level;
+            System.out.println("[capacity] " + name + " breached SLO at " + levelRps(level) + " rps: " + reason);
+        }
+
+        private int percentile(int level, int percentile) {
+            List<Integer> sorted = new ArrayList<>(latencies.get(level));
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index));
+        }
+
+        private double errorPct(int level) {
+            int samples = latencies.get(level).size();
+            return samples == 0 ? 0 : errors[level] * 100.0 / samples;
+        }
+
+        /**
+         * Maior degrau avaliado dentro do SLO, ou -1 se nenhum.
+         */
+        private int kneeLevel() {
+            int lastLevel = breachLevel >= 0 ? breachLevel : evaluatedLevels;
+            for (int level = lastLevel - 1; level >= 0; level--) {
+                if (latencies.get(level).size() >= MIN_SAMPLES) {
+                    return level;
+                }
+            }
+            return -1;
+        }
+
+        private synchronized String describeKnee() {
+            finish();
+            int knee = kneeLevel();
+            String sustained = knee < 0 ? "no step within SLO" : "sustains " + levelRps(knee) + " rps";
+            return breachLevel < 0
+                    ? sustained + " (SLO not breached up to the last step)"
+                    : sustained + ", breached at " + levelRps(breachLevel) + " rps (" + breachReason + ")";
+        }
+
+        private synchronized String toJson() {
+            finish();
+            int knee = kneeLevel();
+            StringBuilder json = new StringBuilder();
+            json.append("    {\n");
+            json.append("      \"scenario\": \"").append(name).append("\",\n");
+            json.append("      \"kneeRps\": ").append(knee < 0 ? "null" : levelRps(knee)).append(",\n");
+            json.append("      \"breachRps\": ").append(breachLevel < 0 ? "null" : levelRps(breachLevel)).append(",\n");
+            json.append("      \"breachReason\": ").append(breachReason == null ? "null" : "\"" + breachReason + "\"").append(",\n");
+            json.append("      \"levels\": [");
+            List<String> levels = new ArrayList<>();
+            for (int level = 0; level < STEPS; level++) {
+                int samples = latencies.get(level).size();
+                if (samples == 0) {
+                    continue;
+                }
+                levels.add(String.format(Locale.ROOT,
+                        "\n        {\"rps\": %.1f, \"requests\": %d, \"errors\": %d, \"errorPct\": %.2f, \"p50Ms\": %d, \"p95Ms\": %d, \"p99Ms\": %d}",
+                        levelRps(level), samples, errors[level], errorPct(level),
+                        percentile(level, 50), percentile(level, 95), percentile(level, 99)));
+            }
+            json.append(String.join(",", levels));
+            json.append(levels.isEmpty() ? "]\n" : "\n      ]\n");
+            json.append("    }");
+            return json.toString();
+        }
+
+        private void finish() {
+            // Último degrau executado também é avaliado
+            while (evaluatedLevels < STEPS && breachLevel < 0) {
+                evaluate(evaluatedLevels++);
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.elton.pixservice.performance;
+
+import io.gatling.javaapi.core.*;
+import io.gatling.javaapi.http.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Contenção em carteira "quente": todas as transferências disputam o lock de uma mesma linha de {@code wallets}.
+ *
+ * Cenários ({@code hot.scenario}):
+ * - fan-in: {@code hot.wallets} remetentes transferem para uma única chave Pix. O débito é espalhado, mas a
+ *   confirmação por webhook credita sempre a mesma carteira de destino.
+ * - fan-out: uma única carteira de origem transfere para {@code hot.wallets} chaves. Todo débito disputa a
+ *   mesma carteira; as confirmações são espalhadas.
+ *
+ * Cada usuário virtual faz uma transferência seguida do webhook CONFIRMED. A concorrência (modelo fechado)
+ * sobe em degraus: {@code hot.start.users}, + {@code hot.step.users} por degrau, {@code hot.steps} degraus de
+ * {@code hot.step.duration} segundos. As requisições são nomeadas por degrau ("Fan-in Transfer c016") e, em
+ * paralelo, {@link PgLockMonitor} amostra pg_locks/pg_stat_activity. O resumo por degrau (vazão, p50/p99 e
+ * indicadores de lock) é gravado em {@code hot.summary.file} para comparar antes/depois de mudanças no
+ * controle de concorrência das carteiras.
+ *
+ * Exemplo:
+ * mvn gatling:test -Dgatling.simulationClass=com.elton.pixservice.performance.HotWalletContentionSimulation
+ *     -Dhot.scenario=fan-out -Dhot.step.users=8 -Ddb.url=jdbc:postgresql://localhost:5432/pixdb
+ */
+public class HotWalletContentionSimulation extends Simulation {
+
+    // ========== CONFIGURAÇÃO ==========
+
+    private static final String BASE_URL = System.getProperty("base.url", "http://localhost:8080");
+    private static final String SCENARIO = System.getProperty("hot.scenario", "fan-in");
+    private static final int WALLETS = Integer.parseInt(System.getProperty("hot.wallets", "200"));
+    private static final int START_USERS = Integer.parseInt(System.getProperty("hot.start.users", "1"));
+    private static final int STEP_USERS = Integer.parseInt(System.getProperty("hot.step.users", "4"));
+    private static final int STEPS = Integer.parseInt(System.getProperty("hot.steps", "8"));
+    private static final int STEP_DURATION = Integer.parseInt(System.getProperty("hot.step.duration", "30"));
+    private static final int RAMP_DURATION = Integer.parseInt(System.getProperty("hot.ramp.duration", "5"));
+    private static final long MONITOR_INTERVAL_MS = Long.parseLong(System.getProperty("hot.monitor.interval.ms", "250"));
+    private static final String SUMMARY_FILE =
+            System.getProperty("hot.summary.file", "target/gatling/hot-wallet-" + SCENARIO + ".json");
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String TRANSFER = "Transfer";
+    private static final String WEBHOOK = "Webhook";
+
+    // ========== ESTADO ==========
+
+    /** Fan-in: remetentes; fan-out: destinatários (chaves). */
+    private final List<Long> walletIds = new ArrayList<>();
+    private final List<String> pixKeys = new ArrayList<>();
+    private long hotWalletId;
+    private String hotPixKey;
+    private volatile long startedAtMillis;
+    private PgLockMonitor lockMonitor;
+    private final Map<String, List<List<Integer>>> latencies = new HashMap<>();
+
+    private final String label = "fan-out".equals(SCENARIO) ? "Fan-out" : "Fan-in";
+
+    private HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    // ========== CENÁRIO ==========
+
+    private ScenarioBuilder contentionScenario = scenario(label + " Hot Wallet")
+            .exec(session -> session.set("level", currentLevel()))
+            .exitHereIf(session -> session.getInt("level") < 0)
+            .exec(session -> session
+                    .set("transferName", requestName(TRANSFER, session.getInt("level")))
+                    .set("webhookName", requestName(WEBHOOK, session.getInt("level"))))
+            .exec(
+                    http("#{transferName}")
+                            .post("/pix/transfers")
+                            .header("Idempotency-Key", session -> UUID.randomUUID().toString())
+                            .body(StringBody(session -> transferBody()))
+                            .check(responseTimeInMillis().saveAs("transferTime"))
+                            .check(status().is(201))
+                            .check(jsonPath("$.endToEndId").saveAs("endToEndId"))
+            )
+            .exec(session -> {
+                if (session.contains("transferTime")) {
+                    record(TRANSFER, session.getInt("level"), session.getInt("transferTime"));
+                }
+                return session;
+            })
+            .exitHereIfFailed()
+            .exec(
+                    http("#{webhookName}")
+                            .post("/pix/webhook")
+                            .body(StringBody(session ->
+                                    "{"
+                                    + "\"endToEndId\":\"" + session.getString("endToEndId") + "\","
+                                    + "\"eventId\":\"" + UUID.randomUUID() + "\","
+                                    + "\"eventType\":\"CONFIRMED\","
+                                    + "\"occurredAt\":\"" + Instant.now() + "\""
+                                    + "}"))
+                            .check(responseTimeInMillis().saveAs("webhookTime"))
+                            .check(status().is(200))
+            )
+            .exec(session -> {
+                if (session.contains("webhookTime")) {
+                    record(WEBHOOK, session.getInt("level"), session.getInt("webhookTime"));
+                }
+                return session;
+            });
+
+    // ========== SETUP ==========
+
+    {
+        if (!"fan-in".equals(SCENARIO) && !"fan-out".equals(SCENARIO)) {
+            throw new IllegalArgumentException("hot.scenario must be fan-in or fan-out: " + SCENARIO);
+        }
+        for (String request : List.of(TRANSFER, WEBHOOK)) {
+            List<List<Integer>> levels = new ArrayList<>();
+            for (int i = 0; i < STEPS; i++) {
+                levels.add(new ArrayList<>());
+            }
+            latencies.put(request, levels);
+        }
+
+        setUp(
+                contentionScenario.injectClosed(
+                        incrementConcurrentUsers(STEP_USERS)
+                                .times(STEPS)
+                                .eachLevelLasting(Duration.ofSeconds(STEP_DURATION))
+                                .separatedByRampsLasting(Duration.ofSeconds(RAMP_DURATION))
+                                .startingFrom(START_USERS)
+                ).protocols(httpProtocol)
+        )
+        .assertions(
+                global().failedRequests().percent().lt(1.0)
+        );
+    }
+
+    @Override
+    public void before() {
+        HttpClient client = HttpClient.newHttpClient();
+        hotWalletId = createWallet(client, "hot");
+        hotPixKey = UUID.randomUUID().toString();
+        post(client, "/wallets/" + hotWalletId + "/pix-keys", "{\"keyType\":\"EVP\",\"keyValue\":\"" + hotPixKey + "\"}");
+        if ("fan-out".equals(SCENARIO)) {
+            post(client, "/wallets/" + hotWalletId + "/deposit", "{\"amount\":100000000.00}");
+        }
+
+        for (int i = 0; i < WALLETS; i++) {
+            long walletId = createWallet(client, label.toLowerCase(Locale.ROOT));
+            if ("fan-in".equals(SCENARIO)) {
+                post(client, "/wallets/" + walletId + "/deposit", "{\"amount\":10000000.00}");
+            } else {
+                String key = UUID.randomUUID().toString();
+                post(client, "/wallets/" + walletId + "/pix-keys", "{\"keyType\":\"EVP\",\"keyValue\":\"" + key + "\"}");
+                pixKeys.add(key);
+            }
+            walletIds.add(walletId);
+        }
+
+        startedAtMillis = System.currentTimeMillis();
+        lockMonitor = new PgLockMonitor(this::currentLevel, MONITOR_INTERVAL_MS);
+    }
+
+    @Override
+    public void after() {
+        Map<Integer, PgLockMonitor.LevelStats> locks = lockMonitor == null ? Map.of() : lockMonitor.getLevels();
+        if (lockMonitor != null) {
+            lockMonitor.close();
+        }
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"generatedAt\": \"").append(Instant.now()).append("\",\n");
+        json.append("  \"scenario\": \"").append(SCENARIO).append("\",\n");
+        json.append("  \"hotWalletId\": ").append(hotWalletId).append(",\n");
+        json.append("  \"wallets\": ").append(WALLETS).append(",\n");
+        json.append("  \"levels\": [");
+
+        System.out.println("========== HOT WALLET CONTENTION (" + SCENARIO + ") ==========");
+        List<String> levels = new ArrayList<>();
+        for (int level = 0; level < STEPS; level++) {
+            List<Integer> transfers = snapshot(TRANSFER, level);
+            List<Integer> webhooks = snapshot(WEBHOOK, level);
+            if (transfers.isEmpty()) {
+                continue;
+            }
+            PgLockMonitor.LevelStats lockStats = locks.get(level);
+            levels.add(String.format(Locale.ROOT,
+                    "\n    {\"concurrency\": %d, \"transfer\": %s, \"webhook\": %s, \"locks\": %s}",
+                    levelUsers(level), stats(transfers), stats(webhooks),
+                    lockStats == null ? "null" : lockStats.toJson()));
+            System.out.printf(Locale.ROOT, "c=%3d transfer %.1f/s p99 %dms | webhook %.1f/s p99 %dms | %s%n",
+                    levelUsers(level), throughput(transfers), percentile(transfers, 99),
+                    throughput(webhooks), percentile(webhooks, 99),
+                    lockStats == null ? "no lock samples" : lockStats);
+        }
+        json.append(String.join(",", levels));
+        json.append(levels.isEmpty() ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+
+        try {
+            Path file = Paths.get(SUMMARY_FILE);
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, json.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write contention summary to " + SUMMARY_FILE, e);
+        }
+        System.out.println("Summary: " + Paths.get(SUMMARY_FILE).toAbsolutePath());
+    }
+
+    // ========== AUXILIARES ==========
+
+    /**
+     * Degrau em andamento (0..STEPS-1), ou -1 durante a rampa entre dois degraus.
+     */
+    private int currentLevel() {
+        long elapsed = System.currentTimeMillis() - startedAtMillis;
+        long period = (STEP_DURATION + RAMP_DURATION) * 1000L;
+        int level = (int) (elapsed / period);
+        if (level >= STEPS || elapsed % period >= STEP_DURATION * 1000L) {
+            return -1;
+        }
+        return level;
+    }
+
+    private static int levelUsers(int level) {
+        return START_USERS + level * STEP_USERS;
+    }
+
+    private String requestName(String request, int level) {
+        return String.format(Locale.ROOT, "%s %s c%03d", label, request, levelUsers(level));
+    }
+
+    private String transferBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long fromWalletId = "fan-in".equals(SCENARIO) ? walletIds.get(random.nextInt(walletIds.size())) : hotWalletId;
+        String pixKey = "fan-in".equals(SCENARIO) ? hotPixKey : pixKeys.get(random.nextInt(pixKeys.size()));
+        return "{"
+                + "\"fromWalletId\":" + fromWalletId + ","
+                + "\"pixKey\":\"" + pixKey + "\","
+                + "\"amount\":1.00"
+                + "}";
+    }
+
+    private void record(String request, int level, int responseTimeMs) {
+        List<Integer> samples = latencies.get(request).get(level);
+        synchronized (samples) {
+            samples.add(responseTimeMs);
+        }
+    }
+
+    private List<Integer> snapshot(String request, int level) {
+        List<Integer> samples = latencies.get(request).get(level);
+        synchronized (samples) {
+            List<Integer> sorted = new ArrayList<>(samples);
+            Collections.sort(sorted);
+            return sorted;
+        }
+    }
+
+    private static String stats(List<Integer> sorted) {
+        return String.format(Locale.ROOT, "{\"requests\": %d, \"perSecond\": %.2f, \"p50Ms\": %d, \"p99Ms\": %d}",
+                sorted.size(), throughput(sorted), percentile(sorted, 50), percentile(sorted, 99));
+    }
+
+    private static double throughput(List<Integer> sorted) {
+        return (double) sorted.size() / STEP_DURATION;
+    }
+
+    private static int percentile(List<Integer> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static long createWallet(HttpClient client, String prefix) {
+        String response = post(client, "/wallets", "{\"userId\":\"" + prefix + "-" + UUID.randomUUID() + "\"}");
+        Matcher matcher = ID_PATTERN.matcher(response);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected create wallet response: " + response);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static String post(HttpClient client, String path, String body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("POST " + path + " returned " + response.statusCode() + ": " + response.body());
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new IllegalStateException("POST " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("POST " + path + " interrupted", e);
+        }
+    }
+}
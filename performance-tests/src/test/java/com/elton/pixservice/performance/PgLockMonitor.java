@@ -0,0 +1,139 @@
+package com.elton.pixservice.performance;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Amostra indicadores de espera por lock no PostgreSQL durante uma simulação.
+ *
+ * A cada {@code intervalMs} consulta {@code pg_locks} e {@code pg_stat_activity} do banco da aplicação e
+ * acumula as amostras no degrau informado por {@code levelSupplier} (-1 = fora de degrau, descartada):
+ * - waiting: backends esperando lock (wait_event_type = 'Lock')
+ * - ungranted: locks não concedidos, e quantos são de linha (transactionid/tuple)
+ * - maxWaitMs: maior espera em andamento ({@code pg_locks.waitstart}, PostgreSQL 14+)
+ * - blockers: backends distintos que bloqueiam alguém ({@code pg_blocking_pids})
+ *
+ * Conexão via -Ddb.url, -Ddb.user, -Ddb.password (padrão: banco do docker-compose).
+ */
+public class PgLockMonitor implements AutoCloseable {
+
+    private static final String SAMPLE_SQL =
+            "SELECT " +
+            "  (SELECT count(*) FROM pg_stat_activity " +
+            "     WHERE datname = current_database() AND wait_event_type = 'Lock') AS waiting, " +
+            "  (SELECT count(*) FROM pg_locks WHERE NOT granted) AS ungranted, " +
+            "  (SELECT count(*) FROM pg_locks WHERE NOT granted AND locktype IN ('transactionid', 'tuple')) AS row_waits, " +
+            "  (SELECT COALESCE(EXTRACT(EPOCH FROM max(now() - waitstart)) * 1000, 0) " +
+            "     FROM pg_locks WHERE NOT granted) AS max_wait_ms, " +
+            "  (SELECT count(DISTINCT blocker) FROM pg_stat_activity a, unnest(pg_blocking_pids(a.pid)) AS blocker " +
+            "     WHERE a.datname = current_database()) AS blockers";
+
+    private final Connection connection;
+    private final IntSupplier levelSupplier;
+    private final ScheduledExecutorService executor;
+    private final Map<Integer, LevelStats> levels = new TreeMap<>();
+
+    public PgLockMonitor(IntSupplier levelSupplier, long intervalMs) {
+        this.levelSupplier = levelSupplier;
+        try {
+            this.connection = DriverManager.getConnection(
+                    System.getProperty("db.url", "jdbc:postgresql://localhost:5432/pixdb"),
+                    System.getProperty("db.user", "pixuser"),
+                    System.getProperty("db.password", "pixpass"));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not connect to PostgreSQL for lock monitoring", e);
+        }
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pg-lock-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleAtFixedRate(this::sample, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        int level = levelSupplier.getAsInt();
+        if (level < 0) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(SAMPLE_SQL);
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            synchronized (levels) {
+                levels.computeIfAbsent(level, key -> new LevelStats()).add(
+                        rs.getInt("waiting"), rs.getInt("ungranted"), rs.getInt("row_waits"),
+                        rs.getDouble("max_wait_ms"), rs.getInt("blockers"));
+            }
+        } catch (SQLException e) {
+            System.err.println("[pg-lock-monitor] sample failed: " + e.getMessage());
+        }
+    }
+
+    public Map<Integer, LevelStats> getLevels() {
+        synchronized (levels) {
+            return new TreeMap<>(levels);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+            connection.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (SQLException e) {
+            System.err.println("[pg-lock-monitor] close failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Indicadores agregados das amostras de um degrau.
+     */
+    public static final class LevelStats {
+        private int samples;
+        private long waitingSum;
+        private int waitingMax;
+        private long ungrantedSum;
+        private long rowWaitsSum;
+        private double maxWaitMs;
+        private int blockersMax;
+
+        private void add(int waiting, int ungranted, int rowWaits, double waitMs, int blockers) {
+            samples++;
+            waitingSum += waiting;
+            waitingMax = Math.max(waitingMax, waiting);
+            ungrantedSum += ungranted;
+            rowWaitsSum += rowWaits;
+            maxWaitMs = Math.max(maxWaitMs, waitMs);
+            blockersMax = Math.max(blockersMax, blockers);
+        }
+
+        public String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"samples\": %d, \"avgWaiting\": %.2f, \"maxWaiting\": %d, \"avgUngranted\": %.2f, "
+                            + "\"avgRowLockWaits\": %.2f, \"maxWaitMs\": %.1f, \"maxBlockers\": %d}",
+                    samples, avg(waitingSum), waitingMax, avg(ungrantedSum), avg(rowWaitsSum), maxWaitMs, blockersMax);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "waiting avg %.1f / max %d, row-lock waits avg %.1f, longest wait %.0fms, blockers max %d",
+                    avg(waitingSum), waitingMax, avg(rowWaitsSum), maxWaitMs, blockersMax);
+        }
+
+        private double avg(long sum) {
+            return samples == 0 ? 0 : (double) sum / samples;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.elton.pixservice.performance;
+
+import io.gatling.javaapi.core.*;
+import io.gatling.javaapi.http.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Compara o acompanhamento do resultado de uma transferência por polling com o long-poll
+ * ({@code GET /pix/transfers/{endToEndId}?wait=}).
+ *
+ * Cada usuário virtual faz {@code poll.rounds} rodadas. Em cada rodada cria duas transferências e,
+ * para cada uma, agenda o webhook CONFIRMED para {@code poll.settle.ms} depois (simulando o PSP):
+ * - "Tight polling": consulta o status a cada {@code poll.interval.ms} até sair de PENDING
+ * - "Long poll": consulta com {@code wait=poll.wait.seconds} até sair de PENDING
+ *
+ * O número de requisições "Poll Status" e "Long Poll Status" no relatório, e o resumo gravado em
+ * {@code poll.summary.file} (consultas por transferência e redução), medem a economia de requisições.
+ *
+ * Exemplo:
+ * mvn gatling:test -Ppolling -Dusers=50 -Dpoll.settle.ms=3000 -Dpoll.interval.ms=200
+ */
+public class TransferStatusPollingSimulation extends Simulation {
+
+    // ========== CONFIGURAÇÃO ==========
+
+    private static final String BASE_URL = System.getProperty("base.url", "http://localhost:8080");
+    private static final int USERS = Integer.parseInt(System.getProperty("users", "20"));
+    private static final int RAMPUP_DURATION = Integer.parseInt(System.getProperty("rampup.duration", "10"));
+    private static final int ROUNDS = Integer.parseInt(System.getProperty("poll.rounds", "10"));
+    private static final long SETTLE_MS = Long.parseLong(System.getProperty("poll.settle.ms", "2000"));
+    private static final long INTERVAL_MS = Long.parseLong(System.getProperty("poll.interval.ms", "200"));
+    private static final int WAIT_SECONDS = Integer.parseInt(System.getProperty("poll.wait.seconds", "20"));
+    private static final String SUMMARY_FILE =
+            System.getProperty("poll.summary.file", "target/gatling/transfer-status-polling.json");
+
+    private static final long GIVE_UP_MS = 60_000;
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    // ========== ESTADO ==========
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ScheduledExecutorService psp = Executors.newScheduledThreadPool(2);
+    private final AtomicLong tightTransfers = new AtomicLong();
+    private final AtomicLong tightPolls = new AtomicLong();
+    private final AtomicLong longTransfers = new AtomicLong();
+    private final AtomicLong longPolls = new AtomicLong();
+    private long payerWalletId;
+    private String payeeKey;
+
+    private HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    // ========== TRANSFERÊNCIA + WEBHOOK AGENDADO ==========
+
+    private ChainBuilder transfer(String name) {
+        return exec(
+                http(name)
+                        .post("/pix/transfers")
+                        .header("Idempotency-Key", session -> UUID.randomUUID().toString())
+                        .body(StringBody(session ->
+                                "{\"fromWalletId\":" + payerWalletId + ",\"pixKey\":\"" + payeeKey + "\",\"amount\":0.01}"))
+                        .check(status().is(201))
+                        .check(jsonPath("$.endToEndId").saveAs("endToEndId"))
+        )
+                .exec(session -> {
+                    String endToEndId = session.getString("endToEndId");
+                    psp.schedule(() -> confirm(endToEndId), SETTLE_MS, TimeUnit.MILLISECONDS);
+                    // Limite para o caso do webhook falhar: a consulta desiste após o prazo
+                    return session.set("status", "PENDING").set("polls", 0)
+                            .set("deadline", System.currentTimeMillis() + SETTLE_MS + GIVE_UP_MS);
+                });
+    }
+
+    private static boolean stillPending(Session session) {
+        return "PENDING".equals(session.getString("status")) && System.currentTimeMillis() < session.getLong("deadline");
+    }
+
+    private ChainBuilder countPoll = exec(session -> session.set("polls", session.getInt("polls") + 1));
+
+    private ChainBuilder tightPolling = group("Tight polling").on(
+            exec(transfer("Transfer (tight)"))
+                    .asLongAs(TransferStatusPollingSimulation::stillPending).on(
+                            pause(Duration.ofMillis(INTERVAL_MS))
+                                    .exec(
+                                            http("Poll Status")
+                                                    .get(session -> "/pix/transfers/" + session.getString("endToEndId"))
+                                                    .check(status().is(200))
+                                                    .check(jsonPath("$.status").saveAs("status"))
+                                    )
+                                    .exec(countPoll)
+                    )
+                    .exec(session -> {
+                        tightTransfers.incrementAndGet();
+                        tightPolls.addAndGet(session.getInt("polls"));
+                        return session;
+                    })
+    );
+
+    private ChainBuilder longPoll = group("Long poll").on(
+            exec(transfer("Transfer (long)"))
+                    .asLongAs(TransferStatusPollingSimulation::stillPending).on(
+                            exec(
+                                    http("Long Poll Status")
+                                            .get(session -> "/pix/transfers/" + session.getString("endToEndId")
+                                                    + "?wait=" + WAIT_SECONDS)
+                                            .check(status().is(200))
+                                            .check(jsonPath("$.status").saveAs("status"))
+                            )
+                                    .exec(countPoll)
+                    )
+                    .exec(session -> {
+                        longTransfers.incrementAndGet();
+                        longPolls.addAndGet(session.getInt("polls"));
+                        return session;
+                    })
+    );
+
+    private ScenarioBuilder pollingScenario = scenario("Transfer Status Polling")
+            .repeat(ROUNDS).on(
+                    exec(tightPolling)
+                            .exec(longPoll)
+            );
+
+    // ========== SETUP ==========
+
+    {
+        setUp(
+                pollingScenario.injectOpen(
+                        rampUsers(USERS).during(Duration.ofSeconds(RAMPUP_DURATION))
+                ).protocols(httpProtocol)
+        )
+        .assertions(
+                details("Tight polling", "Poll Status").failedRequests().count().is(0L),
+                details("Long poll", "Long Poll Status").failedRequests().count().is(0L)
+        );
+    }
+
+    @Override
+    public void before() {
+        payerWalletId = createWallet("polling-payer");
+        post("/wallets/" + payerWalletId + "/deposit", "{\"amount\":100000000.00}");
+        long payeeWalletId = createWallet("polling-payee");
+        payeeKey = UUID.randomUUID().toString();
+        post("/wallets/" + payeeWalletId + "/pix-keys", "{\"keyType\":\"EVP\",\"keyValue\":\"" + payeeKey + "\"}");
+    }
+
+    @Override
+    public void after() {
+        psp.shutdownNow();
+
+        double tightPerTransfer = (double) tightPolls.get() / Math.max(1, tightTransfers.get());
+        double longPerTransfer = (double) longPolls.get() / Math.max(1, longTransfers.get());
+        double reduction = tightPerTransfer == 0 ? 0 : 100.0 * (1 - longPerTransfer / tightPerTransfer);
+
+        String json = String.format(Locale.ROOT,
+                "{\n"
+                + "  \"settleMs\": %d,\n"
+                + "  \"intervalMs\": %d,\n"
+                + "  \"waitSeconds\": %d,\n"
+                + "  \"tight\": {\"transfers\": %d, \"polls\": %d, \"pollsPerTransfer\": %.2f},\n"
+                + "  \"longPoll\": {\"transfers\": %d, \"polls\": %d, \"pollsPerTransfer\": %.2f},\n"
+                + "  \"requestReductionPercent\": %.1f\n"
+                + "}\n",
+                SETTLE_MS, INTERVAL_MS, WAIT_SECONDS,
+                tightTransfers.get(), tightPolls.get(), tightPerTransfer,
+                longTransfers.get(), longPolls.get(), longPerTransfer,
+                reduction);
+        try {
+            Path file = Paths.get(SUMMARY_FILE);
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write polling summary to " + SUMMARY_FILE, e);
+        }
+        System.out.printf(Locale.ROOT, "Polls per transfer - tight: %.2f, long poll: %.2f (-%.1f%%)%n",
+                tightPerTransfer, longPerTransfer, reduction);
+        System.out.println("Summary: " + Paths.get(SUMMARY_FILE).toAbsolutePath());
+    }
+
+    // ========== PSP SIMULADO ==========
+
+    private void confirm(String endToEndId) {
+        try {
+            post("/pix/webhook", "{\"endToEndId\":\"" + endToEndId + "\",\"eventId\":\"" + UUID.randomUUID()
+                    + "\",\"eventType\":\"CONFIRMED\"}");
+        } catch (RuntimeException e) {
+            System.err.println("Webhook for " + endToEndId + " failed: " + e.getMessage());
+        }
+    }
+
+    private long createWallet(String prefix) {
+        String response = post("/wallets", "{\"userId\":\"" + prefix + "-" + UUID.randomUUID() + "\"}");
+        Matcher matcher = ID_PATTERN.matcher(response);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected create wallet response: " + response);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private String post(String path, String body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException(path + " returned " + response.statusCode() + ": " + response.body());
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new IllegalStateException("Request to " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted calling " + path, e);
+        }
+    }
+}
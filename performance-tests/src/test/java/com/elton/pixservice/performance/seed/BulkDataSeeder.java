@@ -0,0 +1,413 @@
+package com.elton.pixservice.performance.seed;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Carga sintética em volume (milhões de carteiras e transferências) via {@code COPY ... FROM STDIN}.
+ *
+ * Dados gerados:
+ * - wallets: {@code seed.wallets} carteiras com created_at espalhado nos {@code seed.wallet.months} meses
+ *   anteriores ao início das transferências; saldo final consistente com o ledger
+ * - pix_keys: uma chave por carteira (EVP, EMAIL, PHONE e CPF)
+ * - pix_transfers: {@code seed.transfers} transferências espalhadas nos últimos {@code seed.months} meses,
+ *   remetente e destinatário sorteados com Zipf ({@code seed.zipf.exponent}): poucas carteiras quentes
+ *   concentram a maior parte do tráfego. ~95% CONFIRMED, ~5% REJECTED e PENDING na última hora
+ * - ledger_entries: depósito inicial, débito/crédito/estorno de cada transferência e recargas quando o
+ *   saldo do remetente não basta (o saldo nunca fica negativo)
+ * - wallet_stats: recalculado a partir do ledger das carteiras geradas
+ *
+ * O gerador roda duas vezes com a mesma semente: a primeira só calcula saldos e a quantidade de lançamentos
+ * (as carteiras são gravadas com o saldo final antes do ledger, por causa das FKs); a segunda grava.
+ * IDs vêm de faixas reservadas nas sequences, então a carga convive com dados existentes.
+ *
+ * Ao final grava feeders do Gatling ({@code seed.feeder.dir}) com IDs e chaves que existem no banco, também
+ * com distribuição Zipf: wallets.csv, transfers.csv e historical-balances.csv.
+ *
+ * Execução (memória: ~8 bytes por carteira):
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.elton.pixservice.performance.seed.BulkDataSeeder
+ *     -Dseed.wallets=10000000 -Dseed.transfers=50000000
+ */
+public final class BulkDataSeeder {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter MINUTE = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private static final long DAY = 86_400L;
+    private static final long PENDING_WINDOW = 3_600L;
+    private static final long TOP_UP_CENTS = 100_000L;
+    private static final long PROGRESS_EVERY = 1_000_000L;
+
+    private static final String WALLET_STATS_SQL =
+            "INSERT INTO wallet_stats (wallet_id, transaction_count, first_transaction_at, last_transaction_at, " +
+            "total_deposit, total_withdraw, total_transfer_debit, total_transfer_credit, updated_at) " +
+            "SELECT wallet_id, COUNT(*), MIN(created_at), MAX(created_at), " +
+            "       COALESCE(SUM(amount) FILTER (WHERE type = 'DEPOSIT'), 0), " +
+            "       COALESCE(SUM(amount) FILTER (WHERE type = 'WITHDRAW'), 0), " +
+            "       COALESCE(SUM(amount) FILTER (WHERE type = 'TRANSFER_DEBIT'), 0), " +
+            "       COALESCE(SUM(amount) FILTER (WHERE type = 'TRANSFER_CREDIT'), 0), " +
+            "       now() " +
+            "FROM ledger_entries WHERE wallet_id BETWEEN ? AND ? GROUP BY wallet_id";
+
+    private final int walletCount = Integer.parseInt(System.getProperty("seed.wallets", "1000000"));
+    private final long transferCount = Long.parseLong(System.getProperty("seed.transfers", "5000000"));
+    private final int months = Integer.parseInt(System.getProperty("seed.months", "12"));
+    private final int walletMonths = Integer.parseInt(System.getProperty("seed.wallet.months", "6"));
+    private final double zipfExponent = Double.parseDouble(System.getProperty("seed.zipf.exponent", "1.1"));
+    private final double rejectRate = Double.parseDouble(System.getProperty("seed.reject.rate", "0.05"));
+    private final long seed = Long.parseLong(System.getProperty("seed.random.seed", "42"));
+    private final int feederRows = Integer.parseInt(System.getProperty("seed.feeder.rows", "10000"));
+    private final Path feederDir = Paths.get(System.getProperty("seed.feeder.dir", "src/test/resources/data/seeded"));
+    private final int statsRange = Integer.parseInt(System.getProperty("seed.stats.range", "100000"));
+
+    private final long endAt = LocalDateTime.now().withNano(0).toEpochSecond(ZoneOffset.UTC);
+    private final long transfersFrom = endAt - months * 30L * DAY;
+    private final long walletsFrom = transfersFrom - walletMonths * 30L * DAY;
+
+    private long firstWalletId;
+    private long firstLedgerId;
+    private long stride;
+
+    public static void main(String[] args) throws Exception {
+        new BulkDataSeeder().run();
+    }
+
+    private void run() throws SQLException, IOException {
+        if (walletCount < 2) {
+            throw new IllegalArgumentException("seed.wallets must be at least 2");
+        }
+        stride = coprimeStride(walletCount);
+        long started = System.currentTimeMillis();
+
+        try (Connection connection = connect(); Connection ledgerConnection = connect()) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            CopyManager ledgerCopy = ledgerConnection.unwrap(PGConnection.class).getCopyAPI();
+
+            createPartitions(connection);
+            firstWalletId = reserve(connection, "wallets_id_seq", walletCount);
+
+            log("Pass 1: computing balances for %,d wallets and %,d transfers", walletCount, transferCount);
+            long[] balances = new long[walletCount];
+            long ledgerCount = generate(balances, null);
+            firstLedgerId = reserve(connection, "ledger_entries_id_seq", ledgerCount);
+            long firstPixKeyId = reserve(connection, "pix_keys_id_seq", walletCount);
+
+            log("Loading wallets and pix keys (wallet ids %d..%d)", firstWalletId, firstWalletId + walletCount - 1);
+            copyWallets(copy, balances);
+            copyPixKeys(copy, firstPixKeyId);
+
+            log("Pass 2: loading %,d ledger entries and %,d transfers", ledgerCount, transferCount);
+            try (CopyWriter ledger = new CopyWriter(ledgerCopy,
+                         "COPY ledger_entries (id, wallet_id, amount, type, end_to_end_id, metadata, created_at) FROM STDIN");
+                 CopyWriter transfers = new CopyWriter(copy,
+                         "COPY pix_transfers (end_to_end_id, from_wallet_id, to_wallet_id, amount, status, " +
+                         "created_at, confirmed_at, rejected_at) FROM STDIN")) {
+                generate(new long[walletCount], new Sink(ledger, transfers));
+                long ledgerRows = ledger.finish();
+                log("Ledger entries: %,d, transfers: %,d", ledgerRows, transfers.finish());
+            }
+
+            rebuildWalletStats(connection);
+            log("Analyzing tables");
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE wallets, pix_keys, ledger_entries, pix_transfers, wallet_stats");
+            }
+        }
+
+        writeFeeders();
+        log("Done in %,d s", (System.currentTimeMillis() - started) / 1000);
+    }
+
+    // ========== GERAÇÃO ==========
+
+    /**
+     * Gera o ledger e as transferências, atualizando {@code balances} (centavos por carteira).
+     * Determinístico para a mesma semente; com {@code sink} nulo apenas calcula.
+     *
+     * @return quantidade de lançamentos gerados
+     */
+    private long generate(long[] balances, Sink sink) throws SQLException {
+        long ledgerId = firstLedgerId;
+
+        Random walletRandom = new Random(seed);
+        for (int i = 0; i < walletCount; i++) {
+            long deposit = 10_000 + walletRandom.nextInt(490_000);
+            balances[i] = deposit;
+            if (sink != null) {
+                sink.ledger(ledgerId, i, deposit, "DEPOSIT", null, "Deposit operation", walletCreatedAt(i));
+            }
+            ledgerId++;
+        }
+
+        Random random = new Random(seed * 31 + 7);
+        ZipfSampler zipf = new ZipfSampler(walletCount, zipfExponent);
+        long span = endAt - transfersFrom;
+        for (long t = 0; t < transferCount; t++) {
+            long at = transfersFrom + span * t / transferCount;
+            int from = walletOf(zipf.sample(random));
+            int to = walletOf(zipf.sample(random));
+            while (to == from) {
+                to = walletOf(zipf.sample(random));
+            }
+            // Valores exponenciais com média de R$ 50,00
+            long amount = 1 + (long) (-Math.log(1 - random.nextDouble()) * 5_000);
+            double outcome = random.nextDouble();
+            long settledAt = at + 1 + random.nextInt(30);
+
+            if (balances[from] < amount) {
+                long topUp = amount + TOP_UP_CENTS;
+                balances[from] += topUp;
+                if (sink != null) {
+                    sink.ledger(ledgerId, from, topUp, "DEPOSIT", null, "Deposit operation", at);
+                }
+                ledgerId++;
+            }
+
+            balances[from] -= amount;
+            long debitId = ledgerId++;
+            String endToEndId = sink == null ? null : endToEndId(at, debitId);
+            if (sink != null) {
+                sink.ledger(debitId, from, amount, "TRANSFER_DEBIT", endToEndId, "Pix transfer to " + pixKey(walletId(to)), at);
+            }
+
+            String status;
+            if (at >= endAt - PENDING_WINDOW) {
+                status = "PENDING";
+            } else if (outcome < rejectRate) {
+                status = "REJECTED";
+                balances[from] += amount;
+                if (sink != null) {
+                    sink.ledger(ledgerId, from, amount, "DEPOSIT", endToEndId, "Pix transfer rejected - refund", settledAt);
+                }
+                ledgerId++;
+            } else {
+                status = "CONFIRMED";
+                balances[to] += amount;
+                if (sink != null) {
+                    sink.ledger(ledgerId, to, amount, "TRANSFER_CREDIT", endToEndId,
+                            "Pix transfer confirmed from wallet " + walletId(from), settledAt);
+                }
+                ledgerId++;
+            }
+
+            if (sink != null) {
+                sink.transfer(endToEndId, from, to, amount, status, at, settledAt);
+                if ((t + 1) % PROGRESS_EVERY == 0) {
+                    log("  %,d / %,d transfers", t + 1, transferCount);
+                }
+            }
+        }
+        return ledgerId - firstLedgerId;
+    }
+
+    /**
+     * Espalha os ranks Zipf pelo espaço de IDs (as carteiras quentes não ficam todas nas mesmas páginas).
+     */
+    private int walletOf(int rank) {
+        return (int) ((rank - 1) * stride % walletCount);
+    }
+
+    private long walletId(int index) {
+        return firstWalletId + index;
+    }
+
+    private long walletCreatedAt(int index) {
+        return walletsFrom + (transfersFrom - walletsFrom) * index / walletCount;
+    }
+
+    /** Mesmo formato de {@code EndToEndId.generate}: "E" + minuto + 19 hex (aqui, o id do débito). */
+    private static String endToEndId(long at, long debitId) {
+        return "E" + MINUTE.format(toDateTime(at)) + String.format("%019x", debitId);
+    }
+
+    private static String pixKey(long walletId) {
+        switch ((int) (walletId % 20)) {
+            case 0: case 1: case 2: case 3: case 4: case 5: case 6: case 7:
+                return new UUID(0x5EED5EED5EED4000L, 0x8000000000000000L | walletId).toString();
+            case 8: case 9: case 10: case 11: case 12:
+                return "wallet" + walletId + "@seed.example.com";
+            case 13: case 14: case 15: case 16:
+                return "+55" + String.format("%011d", 10_000_000_000L + walletId);
+            default:
+                return String.format("%011d", walletId);
+        }
+    }
+
+    private static String pixKeyType(long walletId) {
+        int bucket = (int) (walletId % 20);
+        return bucket < 8 ? "EVP" : bucket < 13 ? "EMAIL" : bucket < 17 ? "PHONE" : "CPF";
+    }
+
+    private static long coprimeStride(int n) {
+        long stride = 2_654_435_761L % n;
+        while (stride <= 1 || gcd(stride, n) != 1) {
+            stride = (stride + 1) % n;
+        }
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static String timestamp(long epochSecond) {
+        return TIMESTAMP.format(toDateTime(epochSecond));
+    }
+
+    // ========== BANCO ==========
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                System.getProperty("db.url", "jdbc:postgresql://localhost:5432/pixdb"),
+                System.getProperty("db.user", "pixuser"),
+                System.getProperty("db.password", "pixpass"));
+    }
+
+    /**
+     * Reserva {@code count} valores consecutivos da sequence e retorna o primeiro. Não deve rodar em paralelo
+     * com outra carga que use setval; inserções normais da aplicação seguem depois da faixa reservada.
+     */
+    private static long reserve(Connection connection, String sequence, long count) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT setval(?::regclass, nextval(?::regclass) + ? - 1) - ? + 1")) {
+            ps.setString(1, sequence);
+            ps.setString(2, sequence);
+            ps.setLong(3, count);
+            ps.setLong(4, count);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private void createPartitions(Connection connection) throws SQLException {
+        for (String table : new String[]{"ledger_entries", "pix_transfers"}) {
+            try (PreparedStatement ps = connection.prepareStatement("SELECT create_monthly_partitions(?, ?::date, ?::date)")) {
+                ps.setString(1, table);
+                ps.setString(2, timestamp(walletsFrom).substring(0, 10));
+                ps.setString(3, timestamp(endAt).substring(0, 10));
+                ps.execute();
+            }
+        }
+    }
+
+    private void copyWallets(CopyManager copy, long[] balances) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(copy,
+                "COPY wallets (id, user_id, balance, version, created_at, updated_at) FROM STDIN")) {
+            for (int i = 0; i < walletCount; i++) {
+                String createdAt = timestamp(walletCreatedAt(i));
+                writer.field(walletId(i)).field("seed-" + walletId(i)).cents(balances[i]).field(0)
+                        .field(createdAt).field(createdAt).endRow();
+            }
+            log("Wallets: %,d", writer.finish());
+        }
+    }
+
+    private void copyPixKeys(CopyManager copy, long firstPixKeyId) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(copy,
+                "COPY pix_keys (id, wallet_id, key_type, key_value, created_at) FROM STDIN")) {
+            for (int i = 0; i < walletCount; i++) {
+                long walletId = walletId(i);
+                writer.field(firstPixKeyId + i).field(walletId).field(pixKeyType(walletId)).field(pixKey(walletId))
+                        .field(timestamp(walletCreatedAt(i))).endRow();
+            }
+            log("Pix keys: %,d", writer.finish());
+        }
+    }
+
+    private void rebuildWalletStats(Connection connection) throws SQLException {
+        log("Rebuilding wallet_stats");
+        long last = walletId(walletCount - 1);
+        try (PreparedStatement ps = connection.prepareStatement(WALLET_STATS_SQL)) {
+            for (long from = firstWalletId; from <= last; from += statsRange) {
+                ps.setLong(1, from);
+                ps.setLong(2, Math.min(last, from + statsRange - 1));
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    // ========== FEEDERS ==========
+
+    private void writeFeeders() throws IOException {
+        Files.createDirectories(feederDir);
+        Random random = new Random(seed + 99);
+        ZipfSampler zipf = new ZipfSampler(walletCount, zipfExponent);
+
+        try (BufferedWriter wallets = Files.newBufferedWriter(feederDir.resolve("wallets.csv"), StandardCharsets.UTF_8);
+             BufferedWriter transfers = Files.newBufferedWriter(feederDir.resolve("transfers.csv"), StandardCharsets.UTF_8);
+             BufferedWriter balances = Files.newBufferedWriter(feederDir.resolve("historical-balances.csv"), StandardCharsets.UTF_8)) {
+            wallets.write("walletId\n");
+            transfers.write("fromWalletId,pixKey,amount\n");
+            balances.write("walletId,at\n");
+            for (int row = 0; row < feederRows; row++) {
+                long walletId = walletId(walletOf(zipf.sample(random)));
+                wallets.write(walletId + "\n");
+
+                long toWalletId = walletId(walletOf(zipf.sample(random)));
+                if (toWalletId != walletId) {
+                    transfers.write(walletId + "," + pixKey(toWalletId) + ",1.00\n");
+                }
+
+                long at = transfersFrom + (long) (random.nextDouble() * (endAt - transfersFrom));
+                balances.write(walletId + "," + toDateTime(at) + "\n");
+            }
+        }
+        log("Gatling feeders written to %s", feederDir.toAbsolutePath());
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.println("[seed] " + String.format(format, args));
+    }
+
+    /**
+     * Destino das linhas geradas na segunda passada.
+     */
+    private final class Sink {
+        private final CopyWriter ledger;
+        private final CopyWriter transfers;
+
+        private Sink(CopyWriter ledger, CopyWriter transfers) {
+            this.ledger = ledger;
+            this.transfers = transfers;
+        }
+
+        private void ledger(long id, int wallet, long cents, String type, String endToEndId, String metadata,
+                            long at) throws SQLException {
+            ledger.field(id).field(walletId(wallet)).cents(cents).field(type).field(endToEndId).field(metadata)
+                    .field(timestamp(at)).endRow();
+        }
+
+        private void transfer(String endToEndId, int from, int to, long cents, String status, long at,
+                              long settledAt) throws SQLException {
+            transfers.field(endToEndId).field(walletId(from)).field(walletId(to)).cents(cents).field(status)
+                    .field(timestamp(at))
+                    .field("CONFIRMED".equals(status) ? timestamp(settledAt) : null)
+                    .field("REJECTED".equals(status) ? timestamp(settledAt) : null)
+                    .endRow();
+        }
+    }
+}
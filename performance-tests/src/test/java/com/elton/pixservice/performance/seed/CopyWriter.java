@@ -0,0 +1,77 @@
+package com.elton.pixservice.performance.seed;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Uma operação {@code COPY ... FROM STDIN} (formato texto) alimentada linha a linha, com buffer de ~1 MiB.
+ * Os valores não podem conter tab, quebra de linha ou barra invertida; {@code null} vira {@code \N}.
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_CHARS = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 4096);
+    private long rows;
+    private boolean firstField = true;
+
+    CopyWriter(CopyManager copyManager, String copySql) throws SQLException {
+        this.copyIn = copyManager.copyIn(copySql);
+    }
+
+    CopyWriter field(Object value) {
+        if (!firstField) {
+            buffer.append('\t');
+        }
+        buffer.append(value == null ? "\\N" : value.toString());
+        firstField = false;
+        return this;
+    }
+
+    /** Valor monetário em centavos como DECIMAL(19, 2). */
+    CopyWriter cents(long cents) {
+        return field(formatCents(cents));
+    }
+
+    static String formatCents(long cents) {
+        long abs = Math.abs(cents);
+        long fraction = abs % 100;
+        return (cents < 0 ? "-" : "") + abs / 100 + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    void endRow() throws SQLException {
+        buffer.append('\n');
+        firstField = true;
+        rows++;
+        if (buffer.length() >= FLUSH_CHARS) {
+            flush();
+        }
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /** Envia o restante e conclui o COPY; retorna as linhas gravadas pelo servidor. */
+    long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+}
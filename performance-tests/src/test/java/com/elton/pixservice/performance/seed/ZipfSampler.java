@@ -0,0 +1,70 @@
+package com.elton.pixservice.performance.seed;
+
+import java.util.Random;
+
+/**
+ * Amostragem Zipf em O(1) por amostra, sem tabela acumulada (rejection-inversion, Hörmann e Derflinger),
+ * para populações de dezenas de milhões de carteiras. Retorna ranks 1..n; o rank 1 é o mais frequente.
+ */
+final class ZipfSampler {
+
+    private final int n;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    ZipfSampler(int n, double exponent) {
+        if (n < 1 || exponent <= 0) {
+            throw new IllegalArgumentException("Zipf requires n >= 1 and exponent > 0");
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1d;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2d - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    int sample(Random random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > n) {
+                k = n;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1d - exponent) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1d - exponent);
+        if (t < -1d) {
+            t = -1d;
+        }
+        return Math.exp(helper1(t) * x);
+    }
+
+    /** log(1 + x) / x, estável perto de 0. */
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    /** (exp(x) - 1) / x, estável perto de 0. */
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x * (1.0 / 3) * (1 + 0.25 * x));
+    }
+}
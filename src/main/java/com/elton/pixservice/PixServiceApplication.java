@@ -2,11 +2,19 @@ package com.elton.pixservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class PixServiceApplication {
 
+    /**
+     * Startup steps kept for the actuator {@code startup} endpoint; older steps are dropped past this.
+     */
+    private static final int STARTUP_STEPS_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(PixServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(PixServiceApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+        application.run(args);
     }
 }
@@ -0,0 +1,24 @@
+package com.elton.pixservice.domain.entity;
+
+import com.elton.pixservice.domain.valueobject.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Wallet whose stored balance differs from the signed sum of its ledger entries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceMismatch {
+    private Long walletId;
+    private Money walletBalance;
+    private Money ledgerBalance;
+
+    public Money getDifference() {
+        return walletBalance.subtract(ledgerBalance);
+    }
+}
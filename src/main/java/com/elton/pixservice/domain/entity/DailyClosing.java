@@ -0,0 +1,39 @@
+package com.elton.pixservice.domain.entity;
+
+import com.elton.pixservice.domain.valueobject.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * End-of-day closing: the balance of every wallet with ledger history at the start of the
+ * following day. {@code baseDate} is the earlier closing it was computed from, or null when
+ * the whole ledger was summed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyClosing {
+    private LocalDate businessDate;
+    private LocalDate baseDate;
+    private long walletCount;
+    private Money totalBalance;
+    private long elapsedMillis;
+    private LocalDateTime closedAt;
+
+    /**
+     * Instant the closing balances refer to: entries created before it are included.
+     */
+    public LocalDateTime getCutoff() {
+        return cutoffOf(businessDate);
+    }
+
+    public static LocalDateTime cutoffOf(LocalDate businessDate) {
+        return businessDate.plusDays(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,36 @@
+package com.elton.pixservice.domain.entity;
+
+import com.elton.pixservice.domain.valueobject.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+/**
+ * Totals of one month of ledger entries, used to verify an archive segment against the
+ * partition it replaces.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerArchiveSummary {
+    private YearMonth month;
+    private long entryCount;
+    private long walletCount;
+    private Money netAmount;
+    private String segmentFile;
+    private long fileSize;
+
+    /**
+     * True when both describe the same entries (same count, wallets and signed sum).
+     */
+    public boolean sameTotalsAs(LedgerArchiveSummary other) {
+        return month.equals(other.month)
+                && entryCount == other.entryCount
+                && walletCount == other.walletCount
+                && netAmount.equals(other.netAmount);
+    }
+}
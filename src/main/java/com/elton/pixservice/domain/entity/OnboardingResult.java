@@ -0,0 +1,21 @@
+package com.elton.pixservice.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of applying a staged onboarding batch: what was created and the rejected lines.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OnboardingResult {
+    private long walletsCreated;
+    private long pixKeysCreated;
+    private List<OnboardingRow> rejections;
+}
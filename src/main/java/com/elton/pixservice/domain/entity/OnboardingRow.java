@@ -0,0 +1,22 @@
+package com.elton.pixservice.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of an onboarding file: a new wallet for {@code userId}, optionally with a Pix key.
+ * {@code rejection} holds the reason the line was not imported, or null when it was accepted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OnboardingRow {
+    private int lineNumber;
+    private String userId;
+    private String keyType;
+    private String keyValue;
+    private String rejection;
+}
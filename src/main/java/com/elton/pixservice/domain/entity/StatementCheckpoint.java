@@ -0,0 +1,32 @@
+package com.elton.pixservice.domain.entity;
+
+import com.elton.pixservice.domain.valueobject.StatementFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+/**
+ * Progress of one partition (wallet id range) of a statement run. Wallets up to
+ * {@code lastWalletId} already have their statement file.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementCheckpoint {
+    private YearMonth month;
+    private StatementFormat format;
+    private int partition;
+    private long rangeStart;
+    private long rangeEnd;
+    private long lastWalletId;
+    private long walletsWritten;
+    private long bytesWritten;
+
+    public boolean isComplete() {
+        return lastWalletId >= rangeEnd;
+    }
+}
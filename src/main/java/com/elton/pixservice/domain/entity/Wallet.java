@@ -18,7 +18,7 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Wallet {
@@ -0,0 +1,41 @@
+package com.elton.pixservice.domain.entity;
+
+import com.elton.pixservice.domain.valueobject.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated ledger statistics of a wallet, maintained incrementally as entries are written.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletStats {
+    private Long walletId;
+    private long transactionCount;
+    private LocalDateTime firstTransactionAt;
+    private LocalDateTime lastTransactionAt;
+    private Money totalDeposits;
+    private Money totalWithdrawals;
+    private Money totalTransferDebits;
+    private Money totalTransferCredits;
+
+    /**
+     * Statistics of a wallet with no ledger entries yet.
+     */
+    public static WalletStats empty(Long walletId) {
+        return WalletStats.builder()
+                .walletId(walletId)
+                .transactionCount(0)
+                .totalDeposits(Money.zero())
+                .totalWithdrawals(Money.zero())
+                .totalTransferDebits(Money.zero())
+                .totalTransferCredits(Money.zero())
+                .build();
+    }
+}
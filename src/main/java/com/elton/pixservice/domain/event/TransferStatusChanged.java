@@ -0,0 +1,13 @@
+package com.elton.pixservice.domain.event;
+
+import com.elton.pixservice.domain.entity.PixTransfer;
+import lombok.Value;
+
+/**
+ * Published when a Pix transfer leaves PENDING (confirmed or rejected). Listeners that need the
+ * change to be visible to other transactions should run after commit.
+ */
+@Value
+public class TransferStatusChanged {
+    PixTransfer transfer;
+}
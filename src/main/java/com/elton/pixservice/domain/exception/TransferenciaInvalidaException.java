@@ -13,6 +13,15 @@ public class TransferenciaInvalidaException extends DomainException {
         return new TransferenciaInvalidaException("Cannot transfer to the same wallet");
     }
 
+    public static TransferenciaInvalidaException loteVazio() {
+        return new TransferenciaInvalidaException("Transfer batch must contain at least one item");
+    }
+
+    public static TransferenciaInvalidaException loteExcedeLimite(int limite) {
+        return new TransferenciaInvalidaException(
+            String.format("Transfer batch exceeds the maximum of %d items", limite));
+    }
+
     public static TransferenciaInvalidaException transicaoEstadoInvalida(String estadoAtual, String novoEstado) {
         return new TransferenciaInvalidaException(
             String.format("Cannot transition from %s to %s. Invalid state transition",
@@ -0,0 +1,11 @@
+package com.elton.pixservice.domain.exception;
+
+/**
+ * Exceção lançada quando uma transferência Pix não é encontrada pelo End-to-End ID.
+ */
+public class TransferenciaNaoEncontradaException extends DomainException {
+
+    public TransferenciaNaoEncontradaException(String endToEndId) {
+        super("Transfer not found: " + endToEndId);
+    }
+}
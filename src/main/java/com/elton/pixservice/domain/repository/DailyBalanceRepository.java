@@ -0,0 +1,23 @@
+package com.elton.pixservice.domain.repository;
+
+import com.elton.pixservice.domain.entity.DailyClosing;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for end-of-day closing balances (Port).
+ */
+public interface DailyBalanceRepository {
+
+    /**
+     * Computes and stores the closing balance of every wallet for {@code businessDate}, replacing
+     * an earlier closing of the same day, in one transaction.
+     */
+    DailyClosing close(LocalDate businessDate);
+
+    /**
+     * Closed days, most recent first.
+     */
+    List<DailyClosing> findClosings(int limit);
+}
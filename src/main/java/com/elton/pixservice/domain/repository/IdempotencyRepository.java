@@ -1,11 +1,25 @@
 package com.elton.pixservice.domain.repository;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for idempotency control (Port).
  */
 public interface IdempotencyRepository {
     void saveIdempotencyKey(String scope, String key, String response);
+
+    /**
+     * Inserts the keys that do not exist yet, waiting for concurrent uncommitted inserts of the
+     * same keys to finish, in key order.
+     *
+     * @return the keys inserted by this call; the others were already recorded
+     */
+    Set<String> saveIdempotencyKeys(String scope, Map<String, String> responsesByKey);
+
+    Optional<String> findResponse(String scope, String key);
     boolean exists(String scope, String key);
+    Set<String> findExistingKeys(String scope, Collection<String> keys);
 }
@@ -0,0 +1,36 @@
+package com.elton.pixservice.domain.repository;
+
+import com.elton.pixservice.domain.entity.LedgerArchiveSummary;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Repository interface for the cold-storage archive of ledger months (Port).
+ */
+public interface LedgerArchiveRepository {
+
+    /**
+     * Months that still have a live ledger partition, oldest first.
+     */
+    List<YearMonth> findLiveMonths();
+
+    /**
+     * Totals of the live partition of {@code month}.
+     */
+    LedgerArchiveSummary summarizeLiveMonth(YearMonth month);
+
+    /**
+     * Writes the entries of {@code month} to a segment file, replacing any previous
+     * unregistered attempt, and returns the totals of what was written.
+     */
+    LedgerArchiveSummary exportMonth(YearMonth month);
+
+    /**
+     * Registers the segment and drops the partition in one transaction, after checking that
+     * the partition still matches {@code segment}.
+     */
+    void registerAndDropPartition(LedgerArchiveSummary segment);
+
+    List<LedgerArchiveSummary> findArchivedMonths();
+}
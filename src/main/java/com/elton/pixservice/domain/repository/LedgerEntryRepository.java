@@ -1,6 +1,7 @@
 package com.elton.pixservice.domain.repository;
 
 import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.valueobject.Money;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,5 +11,12 @@ import java.util.List;
  */
 public interface LedgerEntryRepository {
     LedgerEntry save(LedgerEntry ledgerEntry);
+    void saveAll(List<LedgerEntry> ledgerEntries);
+    List<LedgerEntry> findByWalletId(Long walletId);
     List<LedgerEntry> findByWalletIdAndCreatedAtBefore(Long walletId, LocalDateTime timestamp);
+
+    /**
+     * Signed sum (credits positive, debits negative) of the entries created before {@code timestamp}.
+     */
+    Money sumSignedAmountBefore(Long walletId, LocalDateTime timestamp);
 }
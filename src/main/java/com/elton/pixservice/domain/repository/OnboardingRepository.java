@@ -0,0 +1,26 @@
+package com.elton.pixservice.domain.repository;
+
+import com.elton.pixservice.domain.entity.OnboardingResult;
+import com.elton.pixservice.domain.entity.OnboardingRow;
+
+import java.util.Iterator;
+import java.util.UUID;
+
+/**
+ * Repository interface for bulk onboarding through a staging table (Port).
+ * Both calls must run in the same transaction.
+ */
+public interface OnboardingRepository {
+
+    /**
+     * Streams {@code rows} into the staging table under {@code batchId}, rejected rows included.
+     * Returns the number of rows staged.
+     */
+    long stage(UUID batchId, Iterator<OnboardingRow> rows);
+
+    /**
+     * Rejects keys repeated in the batch or already registered, creates the wallets and Pix keys
+     * of the accepted rows and removes the batch from staging.
+     */
+    OnboardingResult apply(UUID batchId);
+}
@@ -2,6 +2,7 @@ package com.elton.pixservice.domain.repository;
 
 import com.elton.pixservice.domain.entity.PixKey;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,5 +12,7 @@ import java.util.Optional;
 public interface PixKeyRepository {
     PixKey save(PixKey pixKey);
     Optional<PixKey> findByKeyValue(String keyValue);
+    List<PixKey> findByKeyValueIn(Collection<String> keyValues);
+    List<PixKey> findByWalletId(Long walletId);
     boolean existsByKeyValue(String keyValue);
 }
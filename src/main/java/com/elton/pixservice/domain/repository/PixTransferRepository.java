@@ -2,6 +2,9 @@ package com.elton.pixservice.domain.repository;
 
 import com.elton.pixservice.domain.entity.PixTransfer;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -9,5 +12,22 @@ import java.util.Optional;
  */
 public interface PixTransferRepository {
     PixTransfer save(PixTransfer pixTransfer);
+    void saveAll(List<PixTransfer> pixTransfers);
+    Optional<PixTransfer> findByEndToEndId(String endToEndId);
     Optional<PixTransfer> findByEndToEndIdWithLock(String endToEndId);
+
+    /**
+     * Locks up to {@code limit} pending transfers created before {@code createdBefore}, oldest first,
+     * skipping rows already locked by another transaction.
+     */
+    List<PixTransfer> claimPendingCreatedBefore(LocalDateTime createdBefore, int limit);
+
+    /**
+     * Transfers among {@code endToEndIds} that are no longer PENDING.
+     */
+    List<PixTransfer> findSettledByEndToEndIdIn(Collection<String> endToEndIds);
+
+    long countPending();
+
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
 }
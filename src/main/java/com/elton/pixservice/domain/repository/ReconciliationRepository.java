@@ -0,0 +1,31 @@
+package com.elton.pixservice.domain.repository;
+
+import com.elton.pixservice.domain.entity.BalanceMismatch;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the ledger reconciliation report (Port).
+ */
+public interface ReconciliationRepository {
+
+    /**
+     * Lowest and highest wallet id, or empty when there are no wallets.
+     */
+    Optional<long[]> findWalletIdBounds();
+
+    /**
+     * Compares balance and ledger sum for every wallet with id in [fromId, toId] in a single
+     * statement (one consistent snapshot), adding the mismatches found to {@code mismatches}.
+     *
+     * @return number of wallets checked
+     */
+    long checkRange(long fromId, long toId, List<BalanceMismatch> mismatches);
+
+    long startRun();
+
+    void saveMismatches(long runId, List<BalanceMismatch> mismatches);
+
+    void finishRun(long runId, String status, long walletsChecked, long mismatches, String error);
+}
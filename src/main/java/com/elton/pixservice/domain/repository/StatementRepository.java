@@ -0,0 +1,31 @@
+package com.elton.pixservice.domain.repository;
+
+import com.elton.pixservice.domain.entity.StatementCheckpoint;
+import com.elton.pixservice.domain.valueobject.StatementFormat;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Repository interface for monthly statement files and their run checkpoints (Port).
+ */
+public interface StatementRepository {
+
+    /**
+     * Checkpoints of the run for {@code month} and {@code format}. On the first call the wallet
+     * id space is split into {@code partitions} ranges; later calls return the stored progress.
+     */
+    List<StatementCheckpoint> findOrCreateCheckpoints(YearMonth month, StatementFormat format, int partitions);
+
+    /**
+     * Forgets the progress of a run, so the next one starts over.
+     */
+    void deleteCheckpoints(YearMonth month, StatementFormat format);
+
+    /**
+     * Writes the statement files of the wallets in ({@code checkpoint.lastWalletId}, {@code toWalletId}]
+     * with entries in the month and advances the checkpoint, in one transaction.
+     * Returns the updated checkpoint.
+     */
+    StatementCheckpoint exportChunk(StatementCheckpoint checkpoint, long toWalletId);
+}
@@ -2,6 +2,8 @@ package com.elton.pixservice.domain.repository;
 
 import com.elton.pixservice.domain.entity.Wallet;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,5 +14,18 @@ public interface WalletRepository {
     Wallet save(Wallet wallet);
     Optional<Wallet> findById(Long id);
     Optional<Wallet> findByIdWithLock(Long id);
+    List<Wallet> findAllByIdWithLock(Collection<Long> ids);
+    void updateBalances(List<Wallet> wallets);
+
+    /**
+     * Optimistic update: writes the balance only if the row still has the version the wallet was
+     * read with, and fails with a concurrency (optimistic locking) exception otherwise.
+     */
+    Wallet updateBalanceIfUnchanged(Wallet wallet);
     boolean existsById(Long id);
+
+    /**
+     * Current {@code version} of the wallet without loading it; every balance change bumps it.
+     */
+    Optional<Long> findVersion(Long id);
 }
@@ -0,0 +1,35 @@
+package com.elton.pixservice.domain.repository;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.entity.WalletStats;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for WalletStats (Port).
+ */
+public interface WalletStatsRepository {
+
+    Optional<WalletStats> findByWalletId(Long walletId);
+
+    /**
+     * Adds newly written ledger entries to the statistics of their wallets.
+     * Must run in the transaction that inserts the entries.
+     */
+    void recordEntries(List<LedgerEntry> ledgerEntries);
+
+    /**
+     * Lowest and highest wallet id, or empty when there are no wallets.
+     */
+    Optional<long[]> findWalletIdBounds();
+
+    /**
+     * Recomputes the statistics of every wallet with id in [fromId, toId] from the full ledger,
+     * live entries and archived months, holding the wallet locks so no entry is written for them
+     * meanwhile.
+     *
+     * @return number of wallets with ledger entries in the range
+     */
+    int rebuildRange(long fromId, long toId);
+}
@@ -0,0 +1,93 @@
+package com.elton.pixservice.domain.valueobject;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Value Object for the Pix end-to-end identifier.
+ *
+ * Format: {@code E} + creation minute ({@code yyyyMMddHHmm}) + 19 random hex chars (76 bits from
+ * {@link SecureRandom}), 32 chars in total like the BCB identifier. Ids only need to differ within
+ * the same minute; a collision there is rejected by the {@code pix_transfer_ids} registry. Carrying the creation time lets lookups bound
+ * {@code created_at}, which is the partition key of {@code pix_transfers}. Identifiers issued
+ * before this format ({@code E} + 32 hex chars) have no creation time.
+ */
+public final class EndToEndId {
+
+    private static final DateTimeFormatter MINUTE = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private static final Pattern FORMAT = Pattern.compile("^E(\\d{12})[0-9a-f]{19}$");
+    private static final int RANDOM_CHARS = 19;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final String value;
+    private final LocalDateTime issuedAt;
+
+    private EndToEndId(String value, LocalDateTime issuedAt) {
+        this.value = value;
+        this.issuedAt = issuedAt;
+    }
+
+    /**
+     * Generates a new identifier for a transfer created at {@code createdAt}.
+     */
+    public static EndToEndId generate(LocalDateTime createdAt) {
+        LocalDateTime minute = createdAt.truncatedTo(ChronoUnit.MINUTES);
+        byte[] bytes = new byte[(RANDOM_CHARS + 1) / 2];
+        RANDOM.nextBytes(bytes);
+        StringBuilder value = new StringBuilder(32).append('E').append(MINUTE.format(minute));
+        for (int i = 0; i < RANDOM_CHARS; i++) {
+            int b = bytes[i / 2];
+            value.append(HEX[i % 2 == 0 ? (b >> 4) & 0xF : b & 0xF]);
+        }
+        return new EndToEndId(value.toString(), minute);
+    }
+
+    public static EndToEndId of(String value) {
+        Objects.requireNonNull(value, "endToEndId");
+        Matcher matcher = FORMAT.matcher(value);
+        if (!matcher.matches()) {
+            return new EndToEndId(value, null);
+        }
+        try {
+            return new EndToEndId(value, LocalDateTime.parse(matcher.group(1), MINUTE));
+        } catch (DateTimeParseException e) {
+            return new EndToEndId(value, null);
+        }
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Creation minute embedded in the identifier; empty for identifiers in the legacy format.
+     */
+    public Optional<LocalDateTime> getIssuedAt() {
+        return Optional.ofNullable(issuedAt);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return value.equals(((EndToEndId) o).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,19 @@
+package com.elton.pixservice.domain.valueobject;
+
+/**
+ * File formats of the monthly wallet statements. Files are always gzip compressed.
+ */
+public enum StatementFormat {
+    CSV("csv"),
+    NDJSON("ndjson");
+
+    private final String extension;
+
+    StatementFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,143 @@
+package com.elton.pixservice.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.LockTimeoutException;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PessimisticLockException;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retries a transactional use case when it fails on a transient lock conflict.
+ *
+ * Must wrap the call from outside the {@code @Transactional} boundary, so every attempt
+ * runs in a fresh transaction. Retried failures:
+ * - deadlock detected (SQLState 40P01)
+ * - serialization failure (40001)
+ * - lock not available (55P03, NOWAIT / lock_timeout)
+ * - optimistic version conflicts and any other {@link ConcurrencyFailureException}
+ *
+ * A row found locked in NOWAIT mode ({@link RecursoOcupadoException}) is not retried; the
+ * operation name is also what {@link LockWaitPolicy} uses to pick the lock timeout.
+ *
+ * Backoff is exponential with full jitter, capped at {@code pix.lock.retry.max-backoff-ms}.
+ * Each retry increments {@code pix.lock.retries} and each give-up increments
+ * {@code pix.lock.retries.exhausted}, both tagged by operation and reason.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LockRetryTemplate {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${pix.lock.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${pix.lock.retry.initial-backoff-ms:10}")
+    private long initialBackoffMs;
+
+    @Value("${pix.lock.retry.max-backoff-ms:200}")
+    private long maxBackoffMs;
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        return LockWaitPolicy.withOperation(operation, () -> executeWithRetries(operation, action));
+    }
+
+    public void run(String operation, Runnable action) {
+        execute(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T executeWithRetries(String operation, Supplier<T> action) {
+        int attempt = 1;
+        while (true) {
+            try {
+                return action.get();
+            } catch (RuntimeException ex) {
+                String reason = transientReason(ex);
+                if (reason == null) {
+                    throw ex;
+                }
+                if (attempt >= maxAttempts) {
+                    counter("pix.lock.retries.exhausted", operation, reason).increment();
+                    log.warn("Giving up {} after {} attempts - {}: {}", operation, attempt, reason, ex.getMessage());
+                    throw ex;
+                }
+                counter("pix.lock.retries", operation, reason).increment();
+                long backoff = backoffMillis(attempt);
+                log.info("Retrying {} after {} (attempt {}/{}, backoff {} ms)",
+                        operation, reason, attempt, maxAttempts, backoff);
+                sleep(backoff);
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * Returns a short reason tag when the failure is a transient lock conflict, or null.
+     */
+    static String transientReason(Throwable ex) {
+        if (ex instanceof RecursoOcupadoException) {
+            return null;
+        }
+        for (Throwable current = ex; current != null; current = current.getCause()) {
+            if (current instanceof SQLException) {
+                String sqlState = ((SQLException) current).getSQLState();
+                if ("40P01".equals(sqlState)) {
+                    return "deadlock";
+                }
+                if ("40001".equals(sqlState)) {
+                    return "serialization";
+                }
+                if ("55P03".equals(sqlState)) {
+                    return "lock_not_available";
+                }
+            }
+            if (current instanceof OptimisticLockException) {
+                return "optimistic";
+            }
+            if (current instanceof PessimisticLockException || current instanceof LockTimeoutException) {
+                return "lock_not_available";
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        if (ex instanceof ConcurrencyFailureException) {
+            return ex.getClass().getSimpleName().contains("Optimistic") ? "optimistic" : "lock_conflict";
+        }
+        return null;
+    }
+
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    private Counter counter(String name, String operation, String reason) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
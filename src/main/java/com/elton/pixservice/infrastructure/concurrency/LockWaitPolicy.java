@@ -0,0 +1,130 @@
+package com.elton.pixservice.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounds how long an operation waits for a row lock (wallets, Pix transfers).
+ *
+ * The operation is the name given to {@link LockRetryTemplate}, kept for the current thread
+ * while the action runs; locks taken outside it use the operation {@code other}. Per operation:
+ * - {@code pix.lock.operations.<operation>.timeout-ms} (default {@code pix.lock.timeout-ms}):
+ *   applied with {@code SET LOCAL lock_timeout} before the lock, for the rest of the transaction.
+ *   Hibernate ignores {@code javax.persistence.lock.timeout} on PostgreSQL except for 0 (NOWAIT).
+ *   A timeout is retried by {@link LockRetryTemplate} like any lock conflict.
+ * - {@code pix.lock.operations.<operation>.nowait}: {@code FOR UPDATE NOWAIT}; a locked row fails
+ *   at once with {@link RecursoOcupadoException}, which is not retried (409 with Retry-After).
+ *
+ * Every acquisition is recorded in the {@code pix.lock.acquisition} timer (with histogram),
+ * tagged by operation, lock and outcome.
+ */
+@Component
+public class LockWaitPolicy {
+
+    static final String NO_OPERATION = "other";
+
+    private static final ThreadLocal<String> OPERATION = new ThreadLocal<>();
+    private static final String SET_LOCK_TIMEOUT_SQL = "SELECT set_config('lock_timeout', ?, true)";
+    private static final String LOCK_NOT_AVAILABLE = "lock_not_available";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final long defaultTimeoutMs;
+    private final Map<String, Policy> policies = new ConcurrentHashMap<>();
+
+    public LockWaitPolicy(JdbcTemplate jdbcTemplate,
+                          Environment environment,
+                          MeterRegistry meterRegistry,
+                          @Value("${pix.lock.timeout-ms:3000}") long defaultTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.defaultTimeoutMs = Math.max(0, defaultTimeoutMs);
+    }
+
+    /**
+     * Runs {@code action} as {@code operation}; nested calls restore the outer operation.
+     */
+    static <T> T withOperation(String operation, Supplier<T> action) {
+        String previous = OPERATION.get();
+        OPERATION.set(operation);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                OPERATION.set(previous);
+            } else {
+                OPERATION.remove();
+            }
+        }
+    }
+
+    static String currentOperation() {
+        String operation = OPERATION.get();
+        return operation != null ? operation : NO_OPERATION;
+    }
+
+    /**
+     * Takes a row lock of kind {@code lock} through {@code waiting} (a plain
+     * {@code FOR UPDATE}) or {@code nowait} (a {@code FOR UPDATE NOWAIT}), as the policy of the
+     * current operation says. Must run inside the transaction that will hold the lock.
+     */
+    public <T> T acquire(String lock, Supplier<T> waiting, Supplier<T> nowait) {
+        String operation = currentOperation();
+        Policy policy = policyOf(operation);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "acquired";
+        try {
+            if (policy.nowait) {
+                return nowait.get();
+            }
+            jdbcTemplate.queryForObject(SET_LOCK_TIMEOUT_SQL, String.class, policy.timeoutMs + "ms");
+            return waiting.get();
+        } catch (RuntimeException ex) {
+            String reason = LockRetryTemplate.transientReason(ex);
+            if (!LOCK_NOT_AVAILABLE.equals(reason)) {
+                outcome = reason != null ? reason : "error";
+                throw ex;
+            }
+            if (policy.nowait) {
+                outcome = "busy";
+                throw new RecursoOcupadoException(operation, ex);
+            }
+            outcome = "timeout";
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder("pix.lock.acquisition")
+                    .description("Time spent acquiring row locks")
+                    .tag("operation", operation)
+                    .tag("lock", lock)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private Policy policyOf(String operation) {
+        return policies.computeIfAbsent(operation, op -> new Policy(
+                environment.getProperty("pix.lock.operations." + op + ".timeout-ms", Long.class, defaultTimeoutMs),
+                environment.getProperty("pix.lock.operations." + op + ".nowait", Boolean.class, false)));
+    }
+
+    private static final class Policy {
+        private final long timeoutMs;
+        private final boolean nowait;
+
+        private Policy(long timeoutMs, boolean nowait) {
+            this.timeoutMs = Math.max(0, timeoutMs);
+            this.nowait = nowait;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.elton.pixservice.infrastructure.concurrency;
+
+/**
+ * Exceção lançada quando uma operação em modo NOWAIT encontra a carteira (ou transferência)
+ * bloqueada por outra transação. A operação não é repetida; o cliente deve tentar novamente.
+ * Não é uma regra de negócio, e sim contenção de lock: fica na infraestrutura, ao lado de
+ * {@link LockWaitPolicy}, que a lança.
+ */
+public class RecursoOcupadoException extends RuntimeException {
+
+    public RecursoOcupadoException(String operation, Throwable cause) {
+        super("Resource is locked by a concurrent operation (" + operation + "), please retry", cause);
+    }
+}
@@ -0,0 +1,98 @@
+package com.elton.pixservice.infrastructure.concurrency;
+
+import com.elton.pixservice.domain.entity.PixTransfer;
+import com.elton.pixservice.domain.event.TransferStatusChanged;
+import com.elton.pixservice.domain.repository.PixTransferRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process registry of requests waiting for a Pix transfer to leave PENDING
+ * ({@code GET /pix/transfers/{endToEndId}?wait=}).
+ *
+ * A waiter is a future completed with the settled transfer. Changes made by this instance
+ * complete it right after the webhook (or expiry) transaction commits; changes made by another
+ * replica are picked up by {@link #recheck()}, one query for all waiting ids every
+ * {@code pix.transfer.status.recheck-ms}. Cancelling the future deregisters it.
+ *
+ * Gauge {@code pix.transfers.status.waiters}: requests currently parked.
+ */
+@Component
+@Slf4j
+public class TransferStatusWaiters {
+
+    private final PixTransferRepository pixTransferRepository;
+    private final ConcurrentMap<String, Set<CompletableFuture<PixTransfer>>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public TransferStatusWaiters(PixTransferRepository pixTransferRepository, MeterRegistry meterRegistry) {
+        this.pixTransferRepository = pixTransferRepository;
+        Gauge.builder("pix.transfers.status.waiters", waiting, AtomicInteger::get)
+                .description("Requests waiting for a transfer status change")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a waiter for {@code endToEndId}. Register before reading the current status, so
+     * a change committed in between is not missed.
+     */
+    public CompletableFuture<PixTransfer> await(String endToEndId) {
+        CompletableFuture<PixTransfer> waiter = new CompletableFuture<>();
+        waiters.compute(endToEndId, (id, registered) -> {
+            Set<CompletableFuture<PixTransfer>> set = registered != null ? registered : ConcurrentHashMap.newKeySet();
+            set.add(waiter);
+            return set;
+        });
+        waiting.incrementAndGet();
+        waiter.whenComplete((transfer, error) -> deregister(endToEndId, waiter));
+        return waiter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(TransferStatusChanged event) {
+        complete(event.getTransfer());
+    }
+
+    @Scheduled(fixedDelayString = "${pix.transfer.status.recheck-ms:1000}")
+    public void recheck() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        List<String> endToEndIds = new ArrayList<>(waiters.keySet());
+        try {
+            pixTransferRepository.findSettledByEndToEndIdIn(endToEndIds).forEach(this::complete);
+        } catch (RuntimeException e) {
+            log.warn("Transfer status recheck failed for {} transfers", endToEndIds.size(), e);
+        }
+    }
+
+    private void complete(PixTransfer transfer) {
+        Set<CompletableFuture<PixTransfer>> completed = waiters.remove(transfer.getEndToEndId());
+        if (completed == null) {
+            return;
+        }
+        waiting.addAndGet(-completed.size());
+        completed.forEach(waiter -> waiter.complete(transfer));
+    }
+
+    private void deregister(String endToEndId, CompletableFuture<PixTransfer> waiter) {
+        waiters.computeIfPresent(endToEndId, (id, registered) -> {
+            if (registered.remove(waiter)) {
+                waiting.decrementAndGet();
+            }
+            return registered.isEmpty() ? null : registered;
+        });
+    }
+}
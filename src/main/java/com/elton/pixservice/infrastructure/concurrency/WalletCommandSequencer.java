@@ -0,0 +1,234 @@
+package com.elton.pixservice.infrastructure.concurrency;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.exception.DomainException;
+import com.elton.pixservice.domain.exception.WalletNaoEncontradaException;
+import com.elton.pixservice.domain.repository.LedgerEntryRepository;
+import com.elton.pixservice.domain.repository.WalletRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.usecase.WalletCommand;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single writer per wallet inside this instance.
+ *
+ * Commands are hashed by wallet id onto a fixed set of shards, each drained by one thread.
+ * A shard takes everything queued (up to {@code pix.wallet.sequencer.max-batch} commands),
+ * groups it by wallet keeping arrival order, and applies each group in one transaction with
+ * one lock acquisition, one wallet update and one batched ledger insert. Callers get a
+ * {@link CompletableFuture} completed after the commit, so no request thread or database
+ * connection waits on the row lock.
+ *
+ * The row lock is still taken, so commands from other instances or from paths that bypass
+ * the sequencer stay correct; routing each wallet to one instance (see nginx.conf) is what
+ * makes the batching effective. Disabled by default ({@code pix.wallet.sequencer.enabled}).
+ *
+ * A command rejected with a {@link DomainException} fails alone. Any other error (a unique
+ * violation, any SQL error) aborts the PostgreSQL transaction shared by the group, so the group
+ * is rolled back and each of its commands is applied again in its own transaction: only the
+ * command that caused the error fails. A wallet found locked in NOWAIT mode
+ * ({@link RecursoOcupadoException}) fails the whole group at once.
+ */
+@Component
+@Slf4j
+public class WalletCommandSequencer implements DisposableBean {
+
+    private final WalletRepository walletRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LockRetryTemplate lockRetryTemplate;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final Shard[] shards;
+    private final DistributionSummary groupSize;
+
+    public WalletCommandSequencer(WalletRepository walletRepository,
+                                  LedgerEntryRepository ledgerEntryRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  LockRetryTemplate lockRetryTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${pix.wallet.sequencer.enabled:false}") boolean enabled,
+                                  @Value("${pix.wallet.sequencer.shards:0}") int shards,
+                                  @Value("${pix.wallet.sequencer.max-batch:100}") int maxBatch) {
+        this.walletRepository = walletRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.lockRetryTemplate = lockRetryTemplate;
+        this.enabled = enabled;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.shards = new Shard[enabled ? (shards > 0 ? shards : Runtime.getRuntime().availableProcessors()) : 0];
+        this.groupSize = DistributionSummary.builder("pix.wallet.sequencer.group.size")
+                .description("Commands applied per wallet lock acquisition")
+                .register(meterRegistry);
+
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i] = new Shard(i);
+        }
+        Gauge.builder("pix.wallet.sequencer.queued", this, WalletCommandSequencer::queued)
+                .description("Commands waiting in the sequencer queues")
+                .register(meterRegistry);
+
+        if (enabled) {
+            log.info("Wallet command sequencer enabled - shards: {}, max batch: {}", this.shards.length, this.maxBatch);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public <T> CompletableFuture<T> submit(Long walletId, WalletCommand<T> command) {
+        if (!enabled) {
+            throw new IllegalStateException("Wallet command sequencer is disabled");
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        shards[Math.floorMod(Long.hashCode(walletId), shards.length)].queue.add(new Pending<>(walletId, command, future));
+        return future;
+    }
+
+    @Override
+    public void destroy() {
+        for (Shard shard : shards) {
+            shard.executor.shutdownNow();
+        }
+    }
+
+    private double queued() {
+        int total = 0;
+        for (Shard shard : shards) {
+            total += shard.queue.size();
+        }
+        return total;
+    }
+
+    private void applyGroup(Long walletId, List<Pending<?>> group) {
+        try {
+            List<Object> outcomes = lockRetryTemplate.execute("wallet.sequencer", () ->
+                    transactionTemplate.execute(status -> applyInTransaction(walletId, group)));
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).complete(outcomes.get(i));
+            }
+        } catch (RuntimeException ex) {
+            if (group.size() > 1 && !(ex instanceof DomainException) && !(ex instanceof RecursoOcupadoException)
+                    && LockRetryTemplate.transientReason(ex) == null) {
+                log.warn("Sequenced group of {} commands for wallet {} rolled back, applying them one by one: {}",
+                        group.size(), walletId, ex.getMessage());
+                group.forEach(pending -> applyGroup(walletId, List.of(pending)));
+                return;
+            }
+            log.warn("Sequenced commands for wallet {} failed: {}", walletId, ex.getMessage());
+            group.forEach(pending -> pending.future.completeExceptionally(ex));
+        }
+    }
+
+    /**
+     * Returns one outcome per command: its result, or the {@link Failure} it threw. Errors other
+     * than domain rejections propagate and roll back the whole group.
+     */
+    private List<Object> applyInTransaction(Long walletId, List<Pending<?>> group) {
+        Wallet wallet = walletRepository.findByIdWithLock(walletId)
+                .orElseThrow(() -> new WalletNaoEncontradaException(walletId));
+
+        List<LedgerEntry> ledgerEntries = new ArrayList<>();
+        List<Object> outcomes = new ArrayList<>(group.size());
+
+        for (Pending<?> pending : group) {
+            Money balanceBefore = wallet.getBalance();
+            int entriesBefore = ledgerEntries.size();
+            try {
+                outcomes.add(pending.command.apply(wallet, ledgerEntries));
+            } catch (DomainException ex) {
+                wallet.setBalance(balanceBefore);
+                ledgerEntries.subList(entriesBefore, ledgerEntries.size()).clear();
+                outcomes.add(new Failure(ex));
+            }
+        }
+
+        walletRepository.save(wallet);
+        ledgerEntryRepository.saveAll(ledgerEntries);
+        return outcomes;
+    }
+
+    private final class Shard implements Runnable {
+
+        private final BlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+        private final ExecutorService executor;
+
+        private Shard(int index) {
+            AtomicInteger threads = new AtomicInteger();
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wallet-sequencer-" + index + "-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor.execute(this);
+        }
+
+        @Override
+        public void run() {
+            List<Pending<?>> batch = new ArrayList<>(maxBatch);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                queue.drainTo(batch, maxBatch - 1);
+
+                Map<Long, List<Pending<?>>> byWallet = new LinkedHashMap<>();
+                for (Pending<?> pending : batch) {
+                    byWallet.computeIfAbsent(pending.walletId, id -> new ArrayList<>()).add(pending);
+                }
+                byWallet.forEach((walletId, group) -> {
+                    groupSize.record(group.size());
+                    applyGroup(walletId, group);
+                });
+                batch.clear();
+            }
+            queue.forEach(pending -> pending.future.completeExceptionally(
+                    new IllegalStateException("Wallet command sequencer is shutting down")));
+        }
+    }
+
+    private static final class Pending<T> {
+        private final Long walletId;
+        private final WalletCommand<T> command;
+        private final CompletableFuture<T> future;
+
+        private Pending(Long walletId, WalletCommand<T> command, CompletableFuture<T> future) {
+            this.walletId = walletId;
+            this.command = command;
+            this.future = future;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Object outcome) {
+            if (outcome instanceof Failure) {
+                future.completeExceptionally(((Failure) outcome).cause);
+            } else {
+                future.complete((T) outcome);
+            }
+        }
+    }
+
+    private static final class Failure {
+        private final DomainException cause;
+
+        private Failure(DomainException cause) {
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.elton.pixservice.infrastructure.config;
+
+import com.elton.pixservice.infrastructure.web.json.ResponseSerializers;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson modules picked up by Spring Boot's auto-configured {@code ObjectMapper}.
+ *
+ * The hot response DTOs use hand-written serializers ({@link ResponseSerializers}); every other
+ * bean, including all request DTOs, goes through Blackbird, which replaces reflective getter,
+ * setter and constructor calls with generated lambdas.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module pixResponseSerializersModule() {
+        return ResponseSerializers.module();
+    }
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,13 @@
+package com.elton.pixservice.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs. Each job reads its own cron property; optional
+ * jobs are disabled by default ({@code "-"}), while partition maintenance runs daily.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,25 @@
+package com.elton.pixservice.infrastructure.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.DispatcherServlet;
+
+/**
+ * Keeps the request path eager when {@code spring.main.lazy-initialization} is on (fast-start profile).
+ *
+ * Only framework beans nobody asks for at startup are deferred. Application beans stay eager:
+ * controllers, use cases and repositories serve the first request, and {@code @Scheduled} methods
+ * are only registered when their bean is created.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String APPLICATION_PACKAGE = "com.elton.pixservice.";
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerRequestPathFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType.getName().startsWith(APPLICATION_PACKAGE)
+                || DispatcherServlet.class.isAssignableFrom(beanType);
+    }
+}
@@ -0,0 +1,24 @@
+package com.elton.pixservice.infrastructure.config;
+
+import com.elton.pixservice.infrastructure.ratelimit.ClientRateLimitInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the MVC interceptors; the per-client rate limit runs before any controller method.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ClientRateLimitInterceptor clientRateLimitInterceptor;
+
+    public WebMvcConfig(ClientRateLimitInterceptor clientRateLimitInterceptor) {
+        this.clientRateLimitInterceptor = clientRateLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(clientRateLimitInterceptor);
+    }
+}
@@ -1,9 +1,13 @@
 package com.elton.pixservice.infrastructure.exception;
 
 import com.elton.pixservice.domain.exception.*;
+import com.elton.pixservice.infrastructure.concurrency.RecursoOcupadoException;
+import com.elton.pixservice.infrastructure.ratelimit.LimiteRequisicoesExcedidoException;
 import javax.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -40,6 +44,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(TransferenciaNaoEncontradaException.class)
+    public ResponseEntity<ErrorResponse> handleTransferenciaNaoEncontrada(
+            TransferenciaNaoEncontradaException ex, HttpServletRequest request) {
+        log.warn("Transfer not found: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error("Not Found")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
     // ========== Exceções de Domínio - Conflitos de Negócio (409) ==========
 
     @ExceptionHandler(SaldoInsuficienteException.class)
@@ -190,6 +210,47 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    // ========== Exceções de Infraestrutura - Recurso Ocupado (409) ==========
+
+    @ExceptionHandler(RecursoOcupadoException.class)
+    public ResponseEntity<ErrorResponse> handleRecursoOcupado(
+            RecursoOcupadoException ex, HttpServletRequest request) {
+        // NOWAIT mode: the row was locked, fail fast instead of queueing behind the lock
+        log.warn("Resource busy: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    // ========== Exceções de Infraestrutura - Limite de Requisições (429) ==========
+
+    @ExceptionHandler(LimiteRequisicoesExcedidoException.class)
+    public ResponseEntity<ErrorResponse> handleLimiteRequisicoesExcedido(
+            LimiteRequisicoesExcedidoException ex, HttpServletRequest request) {
+        log.warn("Rate limited: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     // ========== Exceções Genéricas (Mantidas para Compatibilidade) ==========
 
     @ExceptionHandler(IllegalArgumentException.class)
@@ -267,6 +328,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailureException(
+            ConcurrencyFailureException ex, HttpServletRequest request) {
+        // Only reaches here once LockRetryTemplate has given up
+        log.warn("Lock conflict not resolved after retries: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("Resource is busy, please retry")
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, HttpServletRequest request) {
@@ -0,0 +1,55 @@
+package com.elton.pixservice.infrastructure.monitoring;
+
+import com.elton.pixservice.domain.entity.DailyClosing;
+import com.elton.pixservice.usecase.CloseDailyBalancesUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Actuator endpoint for end-of-day closing balances.
+ *
+ * - GET  /actuator/dailybalances: latest closed days
+ * - POST /actuator/dailybalances: closes {"date": "2025-10-15"}, or yesterday when omitted
+ */
+@Component
+@Endpoint(id = "dailybalances")
+@RequiredArgsConstructor
+public class DailyBalanceEndpoint {
+
+    private final CloseDailyBalancesUseCase closeDailyBalancesUseCase;
+
+    @ReadOperation
+    public List<Map<String, Object>> closings() {
+        return closeDailyBalancesUseCase.getClosings().stream()
+                .map(DailyBalanceEndpoint::toView)
+                .collect(Collectors.toList());
+    }
+
+    @WriteOperation
+    public Map<String, Object> close(@Nullable String date) {
+        return toView(closeDailyBalancesUseCase.closeDay(
+                date != null ? LocalDate.parse(date) : LocalDate.now().minusDays(1)));
+    }
+
+    private static Map<String, Object> toView(DailyClosing closing) {
+        // baseDate may be null, which Map.of does not accept
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("businessDate", closing.getBusinessDate().toString());
+        view.put("baseDate", closing.getBaseDate() != null ? closing.getBaseDate().toString() : null);
+        view.put("walletCount", closing.getWalletCount());
+        view.put("totalBalance", closing.getTotalBalance().getAmount());
+        view.put("elapsedMillis", closing.getElapsedMillis());
+        view.put("closedAt", closing.getClosedAt().toString());
+        return view;
+    }
+}
@@ -0,0 +1,64 @@
+package com.elton.pixservice.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records when this instance served its first API request, to track startup regressions.
+ *
+ * - pix.startup.first.request.time: JVM uptime when the first request completed
+ * - pix.startup.first.request.duration: latency of that request (cold caches, lazy beans)
+ *
+ * Actuator calls (health checks from nginx and docker) are ignored. Both gauges read 0 until
+ * the first request; Spring Boot's own application.ready.time covers the boot itself.
+ */
+@Component
+@Slf4j
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    private final AtomicBoolean recorded = new AtomicBoolean();
+    private volatile long completedAtUptimeMs;
+    private volatile long durationMs;
+
+    public FirstRequestTimer(MeterRegistry meterRegistry) {
+        TimeGauge.builder("pix.startup.first.request.time", this, TimeUnit.MILLISECONDS, timer -> timer.completedAtUptimeMs)
+                .description("JVM uptime when the first API request completed")
+                .register(meterRegistry);
+        TimeGauge.builder("pix.startup.first.request.duration", this, TimeUnit.MILLISECONDS, timer -> timer.durationMs)
+                .description("Latency of the first API request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return recorded.get() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (recorded.compareAndSet(false, true)) {
+                durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                completedAtUptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+                log.info("First API request served {}ms after JVM start - {} {} took {}ms",
+                        completedAtUptimeMs, request.getMethod(), request.getRequestURI(), durationMs);
+            }
+        }
+    }
+}
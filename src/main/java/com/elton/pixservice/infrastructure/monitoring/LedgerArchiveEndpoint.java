@@ -0,0 +1,53 @@
+package com.elton.pixservice.infrastructure.monitoring;
+
+import com.elton.pixservice.domain.entity.LedgerArchiveSummary;
+import com.elton.pixservice.usecase.ArchiveLedgerUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Actuator endpoint for the ledger cold-storage archive.
+ *
+ * - GET  /actuator/ledgerarchive: archived months
+ * - POST /actuator/ledgerarchive: archives {"month": "2025-01"}, or every eligible month when omitted
+ */
+@Component
+@Endpoint(id = "ledgerarchive")
+@RequiredArgsConstructor
+public class LedgerArchiveEndpoint {
+
+    private final ArchiveLedgerUseCase archiveLedgerUseCase;
+
+    @ReadOperation
+    public List<Map<String, Object>> archivedMonths() {
+        return toView(archiveLedgerUseCase.getArchivedMonths());
+    }
+
+    @WriteOperation
+    public List<Map<String, Object>> archive(@Nullable String month) {
+        return toView(month == null
+                ? archiveLedgerUseCase.archiveEligibleMonths()
+                : List.of(archiveLedgerUseCase.archiveMonth(YearMonth.parse(month))));
+    }
+
+    private static List<Map<String, Object>> toView(List<LedgerArchiveSummary> summaries) {
+        return summaries.stream()
+                .map(summary -> Map.<String, Object>of(
+                        "month", summary.getMonth().toString(),
+                        "entryCount", summary.getEntryCount(),
+                        "walletCount", summary.getWalletCount(),
+                        "netAmount", summary.getNetAmount().getAmount(),
+                        "segmentFile", summary.getSegmentFile(),
+                        "fileSize", summary.getFileSize()))
+                .collect(Collectors.toList());
+    }
+}
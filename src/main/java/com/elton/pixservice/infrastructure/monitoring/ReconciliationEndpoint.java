@@ -0,0 +1,37 @@
+package com.elton.pixservice.infrastructure.monitoring;
+
+import com.elton.pixservice.usecase.ReconcileLedgerUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for the ledger reconciliation job.
+ *
+ * - GET  /actuator/reconciliation: progress of the current or last run
+ * - POST /actuator/reconciliation: starts a run in the background
+ */
+@Component
+@Endpoint(id = "reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationEndpoint {
+
+    private final ReconcileLedgerUseCase reconcileLedgerUseCase;
+
+    @ReadOperation
+    public ReconcileLedgerUseCase.Progress progress() {
+        return reconcileLedgerUseCase.getProgress();
+    }
+
+    @WriteOperation
+    public Map<String, Object> start() {
+        boolean started = reconcileLedgerUseCase.startAsync();
+        return Map.of(
+                "started", started,
+                "progress", reconcileLedgerUseCase.getProgress());
+    }
+}
@@ -0,0 +1,45 @@
+package com.elton.pixservice.infrastructure.monitoring;
+
+import com.elton.pixservice.domain.valueobject.StatementFormat;
+import com.elton.pixservice.usecase.GenerateStatementsUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for the monthly statement files.
+ *
+ * - POST /actuator/statements: generates or resumes {"month": "2025-09", "format": "CSV|NDJSON", "restart": false};
+ *   the previous month as CSV when omitted
+ */
+@Component
+@Endpoint(id = "statements")
+@RequiredArgsConstructor
+public class StatementEndpoint {
+
+    private final GenerateStatementsUseCase generateStatementsUseCase;
+
+    @WriteOperation
+    public Map<String, Object> generate(@Nullable String month, @Nullable String format, @Nullable Boolean restart) {
+        GenerateStatementsUseCase.Result result = generateStatementsUseCase.generate(
+                month != null ? YearMonth.parse(month) : YearMonth.now().minusMonths(1),
+                format != null ? StatementFormat.valueOf(format.toUpperCase(Locale.ROOT)) : StatementFormat.CSV,
+                Boolean.TRUE.equals(restart));
+
+        return Map.of(
+                "month", result.getMonth().toString(),
+                "format", result.getFormat().name(),
+                "ranges", result.getRanges(),
+                "walletsWritten", result.getWalletsWritten(),
+                "bytesWritten", result.getBytesWritten(),
+                "elapsedMillis", result.getElapsedMillis(),
+                "walletsPerSecond", result.getWalletsPerSecond(),
+                "megabytesPerSecond", result.getMegabytesPerSecond());
+    }
+}
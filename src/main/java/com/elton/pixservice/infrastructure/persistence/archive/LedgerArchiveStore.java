@@ -0,0 +1,106 @@
+package com.elton.pixservice.infrastructure.persistence.archive;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read side of the ledger archive: which months are archived (from {@code ledger_archived_months})
+ * and their entries (from the memory-mapped segments, opened once and cached).
+ *
+ * Callers must query the live {@code ledger_entries} rows first and then this store, in the
+ * same transaction. The live query holds a lock on the month's partition until commit, and an
+ * archive run drops the partition in the same transaction that registers the month, so a
+ * reader sees each month exactly once: either live, or archived.
+ */
+@Component
+@Slf4j
+public class LedgerArchiveStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path directory;
+    private final Map<String, LedgerSegment> segments = new ConcurrentHashMap<>();
+
+    public LedgerArchiveStore(JdbcTemplate jdbcTemplate,
+                              @Value("${pix.ledger-archive.directory:ledger-archive}") String directory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.directory = Paths.get(directory).toAbsolutePath();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public String segmentFileName(YearMonth month) {
+        return "ledger-" + month + ".seg";
+    }
+
+    /**
+     * Archived entries of a wallet created before {@code before} (all of them when null),
+     * ordered by creation time.
+     */
+    public List<LedgerEntry> findByWalletId(long walletId, LocalDateTime before) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (String file : archivedSegmentsBefore(before)) {
+            for (LedgerEntry entry : segment(file).findByWalletId(walletId)) {
+                if (before == null || entry.getCreatedAt().isBefore(before)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Signed sum of the archived entries of a wallet created before {@code before}.
+     */
+    public BigDecimal sumSignedAmountBefore(long walletId, LocalDateTime before) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (LedgerEntry entry : findByWalletId(walletId, before)) {
+            sum = sum.add(entry.getSignedAmount().getAmount());
+        }
+        return sum;
+    }
+
+    /**
+     * Signed sum of the archived entries of a wallet created in [{@code from}, {@code before}).
+     */
+    public BigDecimal sumSignedAmountBetween(long walletId, LocalDateTime from, LocalDateTime before) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (LedgerEntry entry : findByWalletId(walletId, before)) {
+            if (!entry.getCreatedAt().isBefore(from)) {
+                sum = sum.add(entry.getSignedAmount().getAmount());
+            }
+        }
+        return sum;
+    }
+
+    private List<String> archivedSegmentsBefore(LocalDateTime before) {
+        return before == null
+                ? jdbcTemplate.queryForList("SELECT segment_file FROM ledger_archived_months ORDER BY month", String.class)
+                : jdbcTemplate.queryForList("SELECT segment_file FROM ledger_archived_months WHERE month < ? ORDER BY month",
+                        String.class, Timestamp.valueOf(before));
+    }
+
+    private LedgerSegment segment(String file) {
+        return segments.computeIfAbsent(file, name -> {
+            LedgerSegment segment = LedgerSegment.open(directory.resolve(name));
+            log.info("Opened ledger archive segment {} - month: {}, entries: {}",
+                    name, segment.getMonth(), segment.getEntryCount());
+            return segment;
+        });
+    }
+}
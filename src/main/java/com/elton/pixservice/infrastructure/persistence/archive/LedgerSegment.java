@@ -0,0 +1,156 @@
+package com.elton.pixservice.infrastructure.persistence.archive;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only, memory-mapped view of a segment file (see {@link LedgerSegmentFormat}).
+ *
+ * Only the header and the sparse index are decoded on open; pages of the data section are
+ * faulted in by the OS when a block is inflated, so rarely read months cost no heap and do
+ * not compete with PostgreSQL shared buffers. Thread-safe: every read works on a duplicate
+ * of the mapped buffer.
+ */
+public final class LedgerSegment {
+
+    private final YearMonth month;
+    private final long entryCount;
+    private final MappedByteBuffer data;
+    private final long[] firstWalletIds;
+    private final long[] lastWalletIds;
+    private final long[] offsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+
+    private LedgerSegment(YearMonth month, long entryCount, MappedByteBuffer data, int blocks) {
+        this.month = month;
+        this.entryCount = entryCount;
+        this.data = data;
+        this.firstWalletIds = new long[blocks];
+        this.lastWalletIds = new long[blocks];
+        this.offsets = new long[blocks];
+        this.compressedLengths = new int[blocks];
+        this.rawLengths = new int[blocks];
+    }
+
+    public static LedgerSegment open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Segment larger than 2 GiB: " + file);
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            byte[] magic = new byte[LedgerSegmentFormat.MAGIC.length];
+            ByteBuffer header = data.duplicate();
+            header.get(magic);
+            if (!Arrays.equals(magic, LedgerSegmentFormat.MAGIC)) {
+                throw new IllegalStateException("Not a ledger segment: " + file);
+            }
+            int yearMonth = header.getInt();
+            long entryCount = header.getLong();
+            int blocks = header.getInt();
+            long indexOffset = header.getLong();
+
+            LedgerSegment segment = new LedgerSegment(
+                    YearMonth.of(yearMonth / 100, yearMonth % 100), entryCount, data, blocks);
+            ByteBuffer index = data.duplicate();
+            index.position((int) indexOffset);
+            for (int i = 0; i < blocks; i++) {
+                segment.firstWalletIds[i] = index.getLong();
+                segment.lastWalletIds[i] = index.getLong();
+                segment.offsets[i] = index.getLong();
+                segment.compressedLengths[i] = index.getInt();
+                segment.rawLengths[i] = index.getInt();
+                index.getInt(); // entry count, informational
+            }
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open ledger segment " + file, e);
+        }
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Entries of {@code walletId} in this month, ordered by creation time.
+     */
+    public List<LedgerEntry> findByWalletId(long walletId) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (int block = firstBlockFor(walletId); block < firstWalletIds.length && firstWalletIds[block] <= walletId; block++) {
+            readBlock(block, walletId, entries);
+        }
+        return entries;
+    }
+
+    /**
+     * Lowest block whose last wallet id is >= walletId (blocks are sorted and non-overlapping
+     * except for a wallet split across adjacent blocks).
+     */
+    private int firstBlockFor(long walletId) {
+        int low = 0;
+        int high = lastWalletIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lastWalletIds[mid] < walletId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void readBlock(int block, long walletId, List<LedgerEntry> entries) {
+        ByteBuffer compressed = data.duplicate();
+        compressed.position((int) offsets[block]);
+        compressed.limit((int) offsets[block] + compressedLengths[block]);
+
+        byte[] raw = new byte[rawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted block " + block + " in ledger segment " + month, e);
+        } finally {
+            inflater.end();
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            while (in.available() > 0) {
+                LedgerEntry entry = LedgerSegmentFormat.readEntry(in);
+                if (entry.getWalletId() == walletId) {
+                    entries.add(entry);
+                } else if (entry.getWalletId() > walletId) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode block " + block + " in ledger segment " + month, e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.elton.pixservice.infrastructure.persistence.archive;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.valueobject.LedgerEntryType;
+import com.elton.pixservice.domain.valueobject.Money;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Layout of a ledger archive segment (one file per month):
+ *
+ * <pre>
+ * header  magic "PIXLEDG1" | yyyymm int | entry count long | block count int | index offset long
+ * blocks  deflate-compressed runs of entries sorted by (wallet_id, created_at, id), ~64 KiB raw each
+ * index   per block: first wallet id | last wallet id | offset long | compressed length int
+ *         | raw length int | entry count int
+ * </pre>
+ *
+ * The index is sparse (one entry per block, not per wallet): a wallet is found by binary
+ * search on the last wallet id and only the blocks spanning it are inflated.
+ */
+final class LedgerSegmentFormat {
+
+    static final byte[] MAGIC = "PIXLEDG1".getBytes(StandardCharsets.US_ASCII);
+    static final int HEADER_SIZE = 8 + 4 + 8 + 4 + 8;
+    static final int INDEX_ENTRY_SIZE = 8 + 8 + 8 + 4 + 4 + 4;
+    static final int BLOCK_TARGET_BYTES = 64 * 1024;
+
+    private static final LedgerEntryType[] TYPES = LedgerEntryType.values();
+
+    private LedgerSegmentFormat() {
+    }
+
+    static void writeEntry(DataOutput out, LedgerEntry entry) throws IOException {
+        out.writeLong(entry.getWalletId());
+        out.writeLong(entry.getId());
+        out.writeLong(toEpochMicros(entry.getCreatedAt()));
+        out.writeByte(entry.getType().ordinal());
+        out.writeLong(entry.getAmount().getAmount().unscaledValue().longValueExact());
+        writeString(out, entry.getEndToEndId());
+        writeString(out, entry.getMetadata());
+    }
+
+    static LedgerEntry readEntry(DataInput in) throws IOException {
+        return LedgerEntry.builder()
+                .walletId(in.readLong())
+                .id(in.readLong())
+                .createdAt(fromEpochMicros(in.readLong()))
+                .type(TYPES[in.readByte()])
+                .amount(Money.of(BigDecimal.valueOf(in.readLong(), 2)))
+                .endToEndId(readString(in))
+                .metadata(readString(in))
+                .build();
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // created_at is a TIMESTAMP without time zone: UTC is only the encoding, not a conversion
+    private static long toEpochMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
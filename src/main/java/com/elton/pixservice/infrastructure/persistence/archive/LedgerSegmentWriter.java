@@ -0,0 +1,146 @@
+package com.elton.pixservice.infrastructure.persistence.archive;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Streams ledger entries, already sorted by wallet id, into a segment file
+ * (see {@link LedgerSegmentFormat}). Memory use is one block regardless of the month size.
+ */
+public final class LedgerSegmentWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final YearMonth month;
+    private final ByteArrayOutputStream raw = new ByteArrayOutputStream(LedgerSegmentFormat.BLOCK_TARGET_BYTES * 2);
+    private final DataOutputStream out = new DataOutputStream(raw);
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final byte[] compressBuffer = new byte[LedgerSegmentFormat.BLOCK_TARGET_BYTES];
+    private final List<long[]> index = new ArrayList<>();
+
+    private long position = LedgerSegmentFormat.HEADER_SIZE;
+    private long entryCount;
+    private long walletCount;
+    private BigDecimal netAmount = BigDecimal.ZERO;
+    private long lastWalletId = Long.MIN_VALUE;
+    private long blockFirstWalletId;
+    private int blockEntries;
+
+    public LedgerSegmentWriter(Path file, YearMonth month) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        this.month = month;
+    }
+
+    public void append(LedgerEntry entry) throws IOException {
+        long walletId = entry.getWalletId();
+        if (walletId < lastWalletId) {
+            throw new IllegalArgumentException("Entries must be sorted by wallet id: " + walletId + " after " + lastWalletId);
+        }
+        if (walletId != lastWalletId) {
+            walletCount++;
+        }
+        if (blockEntries == 0) {
+            blockFirstWalletId = walletId;
+        }
+        LedgerSegmentFormat.writeEntry(out, entry);
+        lastWalletId = walletId;
+        blockEntries++;
+        entryCount++;
+        netAmount = netAmount.add(entry.getSignedAmount().getAmount());
+
+        if (raw.size() >= LedgerSegmentFormat.BLOCK_TARGET_BYTES) {
+            flushBlock();
+        }
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public long getWalletCount() {
+        return walletCount;
+    }
+
+    public BigDecimal getNetAmount() {
+        return netAmount;
+    }
+
+    /**
+     * Writes the last block, the index and the header, and forces the file to disk.
+     *
+     * @return file size in bytes
+     */
+    public long finish() throws IOException {
+        flushBlock();
+
+        long indexOffset = position;
+        ByteBuffer indexBuffer = ByteBuffer.allocate(index.size() * LedgerSegmentFormat.INDEX_ENTRY_SIZE);
+        for (long[] block : index) {
+            indexBuffer.putLong(block[0]).putLong(block[1]).putLong(block[2])
+                    .putInt((int) block[3]).putInt((int) block[4]).putInt((int) block[5]);
+        }
+        indexBuffer.flip();
+        position += writeFully(indexBuffer, indexOffset);
+
+        ByteBuffer header = ByteBuffer.allocate(LedgerSegmentFormat.HEADER_SIZE);
+        header.put(LedgerSegmentFormat.MAGIC)
+                .putInt(month.getYear() * 100 + month.getMonthValue())
+                .putLong(entryCount)
+                .putInt(index.size())
+                .putLong(indexOffset);
+        header.flip();
+        writeFully(header, 0);
+
+        channel.force(true);
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        channel.close();
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockEntries == 0) {
+            return;
+        }
+        byte[] block = raw.toByteArray();
+        deflater.reset();
+        deflater.setInput(block);
+        deflater.finish();
+
+        long offset = position;
+        int compressed = 0;
+        while (!deflater.finished()) {
+            int length = deflater.deflate(compressBuffer);
+            compressed += writeFully(ByteBuffer.wrap(compressBuffer, 0, length), position + compressed);
+        }
+        position += compressed;
+        index.add(new long[]{blockFirstWalletId, lastWalletId, offset, compressed, block.length, blockEntries});
+
+        raw.reset();
+        blockEntries = 0;
+    }
+
+    private int writeFully(ByteBuffer buffer, long at) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, at + written);
+        }
+        return written;
+    }
+}
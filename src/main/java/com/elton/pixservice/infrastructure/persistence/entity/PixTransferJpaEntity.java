@@ -6,11 +6,20 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * Read model of {@code pix_transfers}; writes go through JDBC in {@code PixTransferRepositoryImpl}.
+ * The key mirrors the partitioned primary key (end_to_end_id, created_at); global uniqueness of
+ * end_to_end_id is enforced by the {@code pix_transfer_ids} registry (V5_1).
+ */
 @Entity
+@Immutable
+@IdClass(PixTransferJpaEntity.Key.class)
 @Table(name = "pix_transfers")
 @Data
 @Builder
@@ -35,6 +44,7 @@ public class PixTransferJpaEntity {
     @Column(nullable = false, length = 20)
     private TransferStatus status;
 
+    @Id
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -44,8 +54,11 @@ public class PixTransferJpaEntity {
     @Column(name = "rejected_at")
     private LocalDateTime rejectedAt;
 
-    @PrePersist
-    protected void onCreate() {
-        createdAt = LocalDateTime.now();
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String endToEndId;
+        private LocalDateTime createdAt;
     }
 }
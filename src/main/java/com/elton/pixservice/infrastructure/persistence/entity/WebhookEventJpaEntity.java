@@ -9,9 +9,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "webhook_events", uniqueConstraints = {
-    @UniqueConstraint(name = "uk_event_id", columnNames = "event_id")
-})
+@Table(name = "webhook_events")
 @Data
 @Builder
 @NoArgsConstructor
@@ -22,7 +20,7 @@ public class WebhookEventJpaEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "event_id", nullable = false, unique = true, length = 100)
+    @Column(name = "event_id", nullable = false, length = 100)
     private String eventId;
 
     @Column(name = "end_to_end_id", nullable = false, length = 100)
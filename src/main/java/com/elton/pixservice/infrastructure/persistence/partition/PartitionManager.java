@@ -0,0 +1,183 @@
+package com.elton.pixservice.infrastructure.persistence.partition;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the monthly partitions of {@code ledger_entries}, {@code pix_transfers} and
+ * {@code webhook_events} (migrations V5, V5_1 and V5_2) without an external cron.
+ *
+ * On startup and on {@code pix.partitions.cron} it creates the partitions of the current month
+ * and the next {@code pix.partitions.months-ahead} months through {@code create_monthly_partitions},
+ * then detaches, with {@code DETACH PARTITION ... CONCURRENTLY}, the partitions older than the
+ * table's retention. Detached partitions stay in the database as plain tables for archiving.
+ * A retention of 0 keeps everything, which is the default for the ledger and transfers since
+ * historical balances and reconciliation read the whole ledger.
+ *
+ * Instances coordinate through a PostgreSQL advisory lock; the gauge
+ * {@code pix.partitions.months.ahead} exposes how many future months each table covers.
+ */
+@Component
+@Slf4j
+public class PartitionManager {
+
+    /**
+     * Advisory lock key shared by every instance ("pix_part").
+     */
+    static final long ADVISORY_LOCK_KEY = 0x7069785F70617274L;
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname, i.inhdetachpending FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = CAST(? AS regclass) ORDER BY c.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final Map<String, Integer> retentionMonths = new LinkedHashMap<>();
+    private final Map<String, AtomicInteger> coveredMonths = new LinkedHashMap<>();
+
+    public PartitionManager(JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${pix.partitions.enabled:true}") boolean enabled,
+                            @Value("${pix.partitions.months-ahead:3}") int monthsAhead,
+                            @Value("${pix.partitions.retention-months.ledger-entries:0}") int ledgerRetention,
+                            @Value("${pix.partitions.retention-months.pix-transfers:0}") int transfersRetention,
+                            @Value("${pix.partitions.retention-months.webhook-events:6}") int webhooksRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.retentionMonths.put("ledger_entries", ledgerRetention);
+        this.retentionMonths.put("pix_transfers", transfersRetention);
+        this.retentionMonths.put("webhook_events", webhooksRetention);
+
+        for (String table : retentionMonths.keySet()) {
+            AtomicInteger covered = new AtomicInteger(-1);
+            coveredMonths.put(table, covered);
+            Gauge.builder("pix.partitions.months.ahead", covered, AtomicInteger::get)
+                    .description("Future months with a partition already created (-1 = not checked yet)")
+                    .tag("table", table)
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${pix.partitions.cron:0 0 2 * * *}")
+    public void scheduledRun() {
+        maintain();
+    }
+
+    /**
+     * Runs one maintenance pass unless another instance holds the advisory lock.
+     */
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                // Advisory locks belong to the session: lock, maintain and unlock on one connection
+                JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+                Boolean locked = session.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+                if (!Boolean.TRUE.equals(locked)) {
+                    log.info("Partition maintenance running on another instance, skipping");
+                    return null;
+                }
+                try {
+                    retentionMonths.forEach((table, retention) -> maintainTable(session, table, retention));
+                } finally {
+                    session.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+                }
+                return null;
+            });
+        } catch (DataAccessException ex) {
+            log.error("Partition maintenance failed", ex);
+        }
+    }
+
+    private void maintainTable(JdbcTemplate session, String table, int retention) {
+        YearMonth current = YearMonth.now();
+        try {
+            Integer created = session.queryForObject("SELECT create_monthly_partitions(?, ?, ?)", Integer.class,
+                    table, Date.valueOf(current.atDay(1)), Date.valueOf(current.plusMonths(monthsAhead).atDay(1)));
+
+            YearMonth cutoff = retention > 0 ? current.minusMonths(retention) : null;
+            YearMonth latest = current;
+            int detached = 0;
+
+            List<Map<String, Object>> partitions = session.queryForList(PARTITIONS_SQL, table);
+            for (Map<String, Object> partition : partitions) {
+                String name = (String) partition.get("relname");
+                YearMonth month = monthOf(table, name);
+                if (month == null) {
+                    continue;
+                }
+                latest = month.isAfter(latest) ? month : latest;
+
+                if (Boolean.TRUE.equals(partition.get("inhdetachpending"))) {
+                    // An interrupted DETACH ... CONCURRENTLY must be finalized before anything else
+                    session.execute("ALTER TABLE \"" + table + "\" DETACH PARTITION \"" + name + "\" FINALIZE");
+                    detached++;
+                } else if (cutoff != null && month.isBefore(cutoff)) {
+                    session.execute("ALTER TABLE \"" + table + "\" DETACH PARTITION \"" + name + "\" CONCURRENTLY");
+                    detached++;
+                    log.info("Detached partition {} from {} (retention: {} months)", name, table, retention);
+                }
+            }
+
+            coveredMonths.get(table).set((int) current.until(latest, ChronoUnit.MONTHS));
+            log.info("Partition maintenance for {} - created: {}, detached: {}, covered until: {}",
+                    table, created, detached, latest);
+        } catch (DataAccessException ex) {
+            log.error("Partition maintenance failed for {}", table, ex);
+        }
+    }
+
+    /**
+     * Name of the partition of {@code table} holding {@code month}.
+     */
+    public static String partitionName(String table, YearMonth month) {
+        return table + "_" + SUFFIX.format(month);
+    }
+
+    /**
+     * Month of a partition named {@code <table>_YYYY_MM}, or null for any other child table.
+     */
+    public static YearMonth monthOf(String table, String partitionName) {
+        String prefix = table + "_";
+        if (!partitionName.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(prefix.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.elton.pixservice.infrastructure.persistence.repository;
+
+import com.elton.pixservice.domain.entity.DailyClosing;
+import com.elton.pixservice.domain.repository.DailyBalanceRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes {@code daily_balances} with a single {@code INSERT ... SELECT} per closing, so the
+ * balances never leave the database.
+ *
+ * When an earlier closing exists the day is computed incrementally: earlier closing balances
+ * plus the entries created between the two cutoffs, which partition pruning limits to the
+ * partitions of those days. Otherwise the whole ledger is summed. Archived months are covered
+ * by their per-wallet totals in {@code ledger_archived_balances}; a closing whose cutoff falls
+ * inside an archived month cannot be computed (nor used as a base).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DailyBalanceRepositoryImpl implements DailyBalanceRepository {
+
+    private static final String SIGNED_AMOUNT =
+            "CASE WHEN type IN ('DEPOSIT', 'TRANSFER_CREDIT') THEN amount ELSE -amount END";
+
+    private static final String FULL_SQL =
+            "INSERT INTO daily_balances (wallet_id, business_date, balance) " +
+            "SELECT wallet_id, ?, SUM(amount) FROM (" +
+            "  SELECT wallet_id, " + SIGNED_AMOUNT + " AS amount FROM ledger_entries WHERE created_at < ? " +
+            "  UNION ALL " +
+            "  SELECT wallet_id, net_amount FROM ledger_archived_balances WHERE month < ?" +
+            ") movements GROUP BY wallet_id";
+
+    private static final String INCREMENTAL_SQL =
+            "INSERT INTO daily_balances (wallet_id, business_date, balance) " +
+            "SELECT wallet_id, ?, SUM(amount) FROM (" +
+            "  SELECT wallet_id, balance AS amount FROM daily_balances WHERE business_date = ? " +
+            "  UNION ALL " +
+            "  SELECT wallet_id, " + SIGNED_AMOUNT + " FROM ledger_entries WHERE created_at >= ? AND created_at < ? " +
+            "  UNION ALL " +
+            "  SELECT wallet_id, net_amount FROM ledger_archived_balances WHERE month >= ? AND month < ?" +
+            ") movements GROUP BY wallet_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public DailyClosing close(LocalDate businessDate) {
+        long startedAt = System.nanoTime();
+        LocalDateTime cutoff = DailyClosing.cutoffOf(businessDate);
+        if (insideArchivedMonth(cutoff)) {
+            throw new IllegalStateException("Cannot close " + businessDate + ": its ledger month is archived");
+        }
+
+        jdbcTemplate.update("DELETE FROM daily_balance_closings WHERE business_date = ?", Date.valueOf(businessDate));
+        LocalDate baseDate = findBaseDate(businessDate);
+        jdbcTemplate.update("INSERT INTO daily_balance_closings (business_date, base_date) VALUES (?, ?)",
+                Date.valueOf(businessDate), baseDate != null ? Date.valueOf(baseDate) : null);
+
+        int walletCount;
+        if (baseDate == null) {
+            walletCount = jdbcTemplate.update(FULL_SQL,
+                    Date.valueOf(businessDate), Timestamp.valueOf(cutoff), Timestamp.valueOf(cutoff));
+        } else {
+            LocalDateTime baseCutoff = DailyClosing.cutoffOf(baseDate);
+            walletCount = jdbcTemplate.update(INCREMENTAL_SQL,
+                    Date.valueOf(businessDate), Date.valueOf(baseDate),
+                    Timestamp.valueOf(baseCutoff), Timestamp.valueOf(cutoff),
+                    Timestamp.valueOf(baseCutoff), Timestamp.valueOf(cutoff));
+        }
+
+        Money totalBalance = Money.of(jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(balance), 0) FROM daily_balances WHERE business_date = ?",
+                BigDecimal.class, Date.valueOf(businessDate)));
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        jdbcTemplate.update(
+                "UPDATE daily_balance_closings SET wallet_count = ?, total_balance = ?, elapsed_ms = ? " +
+                "WHERE business_date = ?",
+                walletCount, totalBalance.getAmount(), elapsedMillis, Date.valueOf(businessDate));
+
+        return DailyClosing.builder()
+                .businessDate(businessDate)
+                .baseDate(baseDate)
+                .walletCount(walletCount)
+                .totalBalance(totalBalance)
+                .elapsedMillis(elapsedMillis)
+                .closedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Override
+    public List<DailyClosing> findClosings(int limit) {
+        return jdbcTemplate.query(
+                "SELECT * FROM daily_balance_closings ORDER BY business_date DESC LIMIT ?",
+                (rs, rowNum) -> DailyClosing.builder()
+                        .businessDate(rs.getDate("business_date").toLocalDate())
+                        .baseDate(rs.getDate("base_date") != null ? rs.getDate("base_date").toLocalDate() : null)
+                        .walletCount(rs.getLong("wallet_count"))
+                        .totalBalance(Money.of(rs.getBigDecimal("total_balance")))
+                        .elapsedMillis(rs.getLong("elapsed_ms"))
+                        .closedAt(rs.getTimestamp("closed_at").toLocalDateTime())
+                        .build(),
+                limit);
+    }
+
+    /**
+     * Most recent earlier closing usable as a base, or null to sum the whole ledger.
+     */
+    private LocalDate findBaseDate(LocalDate businessDate) {
+        List<Date> dates = jdbcTemplate.queryForList(
+                "SELECT business_date FROM daily_balance_closings WHERE business_date < ? " +
+                "ORDER BY business_date DESC LIMIT 1", Date.class, Date.valueOf(businessDate));
+        if (dates.isEmpty()) {
+            return null;
+        }
+        LocalDate baseDate = dates.get(0).toLocalDate();
+        if (insideArchivedMonth(DailyClosing.cutoffOf(baseDate))) {
+            log.info("Closing of {} falls inside an archived month, summing the whole ledger instead", baseDate);
+            return null;
+        }
+        return baseDate;
+    }
+
+    private boolean insideArchivedMonth(LocalDateTime cutoff) {
+        if (cutoff.getDayOfMonth() == 1) {
+            return false;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM ledger_archived_months WHERE month = ?)",
+                Boolean.class, Date.valueOf(cutoff.toLocalDate().withDayOfMonth(1))));
+    }
+}
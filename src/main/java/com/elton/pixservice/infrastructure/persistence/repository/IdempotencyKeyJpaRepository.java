@@ -2,12 +2,19 @@ package com.elton.pixservice.infrastructure.persistence.repository;
 
 import com.elton.pixservice.infrastructure.persistence.entity.IdempotencyKeyJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKeyJpaEntity, Long> {
     Optional<IdempotencyKeyJpaEntity> findByScopeAndKeyValue(String scope, String keyValue);
     boolean existsByScopeAndKeyValue(String scope, String keyValue);
+
+    @Query("SELECT i.keyValue FROM IdempotencyKeyJpaEntity i WHERE i.scope = :scope AND i.keyValue IN :keyValues")
+    List<String> findExistingKeyValues(@Param("scope") String scope, @Param("keyValues") Collection<String> keyValues);
 }
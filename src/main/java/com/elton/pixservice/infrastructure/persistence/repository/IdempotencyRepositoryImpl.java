@@ -3,16 +3,37 @@ package com.elton.pixservice.infrastructure.persistence.repository;
 import com.elton.pixservice.domain.repository.IdempotencyRepository;
 import com.elton.pixservice.infrastructure.persistence.entity.IdempotencyKeyJpaEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
 public class IdempotencyRepositoryImpl implements IdempotencyRepository {
 
+    /**
+     * Keys are inserted in sorted order so two callers claiming overlapping keys cannot deadlock.
+     */
+    private static final String INSERT_MISSING_SQL =
+            "INSERT INTO idempotency_keys (scope, key_value, response, created_at) " +
+            "SELECT ?, k.key_value, k.response, ? FROM unnest(?, ?) AS k(key_value, response) " +
+            "ORDER BY k.key_value " +
+            "ON CONFLICT (scope, key_value) DO NOTHING " +
+            "RETURNING key_value";
+
     private final IdempotencyKeyJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional
@@ -25,6 +46,31 @@ public class IdempotencyRepositoryImpl implements IdempotencyRepository {
         jpaRepository.save(entity);
     }
 
+    /**
+     * One statement for the whole map through JDBC (the IDENTITY id disables Hibernate insert
+     * batching). {@code ON CONFLICT DO NOTHING} turns a key taken by a concurrent transaction
+     * into a missing row in the result instead of failing the caller's transaction.
+     */
+    @Override
+    @Transactional
+    public Set<String> saveIdempotencyKeys(String scope, Map<String, String> responsesByKey) {
+        if (responsesByKey.isEmpty()) {
+            return Set.of();
+        }
+        List<Map.Entry<String, String>> entries = new ArrayList<>(responsesByKey.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_MISSING_SQL);
+            ps.setString(1, scope);
+            ps.setTimestamp(2, now);
+            ps.setArray(3, connection.createArrayOf("varchar",
+                    entries.stream().map(Map.Entry::getKey).toArray()));
+            ps.setArray(4, connection.createArrayOf("text",
+                    entries.stream().map(Map.Entry::getValue).toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1)));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<String> findResponse(String scope, String key) {
@@ -37,4 +83,13 @@ public class IdempotencyRepositoryImpl implements IdempotencyRepository {
     public boolean exists(String scope, String key) {
         return jpaRepository.existsByScopeAndKeyValue(scope, key);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findExistingKeys(String scope, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jpaRepository.findExistingKeyValues(scope, keys));
+    }
 }
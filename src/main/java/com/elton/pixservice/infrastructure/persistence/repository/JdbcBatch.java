@@ -0,0 +1,17 @@
+package com.elton.pixservice.infrastructure.persistence.repository;
+
+/**
+ * Shared settings for the JDBC batched writes used by the bulk paths.
+ *
+ * Hibernate cannot batch inserts for IDENTITY ids, so bulk inserts go through
+ * {@link org.springframework.jdbc.core.JdbcTemplate#batchUpdate}. Combined with
+ * {@code reWriteBatchedInserts=true} on the driver each batch becomes a single
+ * multi-row INSERT.
+ */
+final class JdbcBatch {
+
+    static final int SIZE = 500;
+
+    private JdbcBatch() {
+    }
+}
@@ -0,0 +1,194 @@
+package com.elton.pixservice.infrastructure.persistence.repository;
+
+import com.elton.pixservice.domain.entity.LedgerArchiveSummary;
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.repository.LedgerArchiveRepository;
+import com.elton.pixservice.domain.valueobject.LedgerEntryType;
+import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.infrastructure.persistence.archive.LedgerArchiveStore;
+import com.elton.pixservice.infrastructure.persistence.archive.LedgerSegmentWriter;
+import com.elton.pixservice.infrastructure.persistence.partition.PartitionManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Moves closed months of {@code ledger_entries} to segment files (see {@link LedgerArchiveStore}).
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerArchiveRepositoryImpl implements LedgerArchiveRepository {
+
+    private static final String TABLE = "ledger_entries";
+    private static final String SIGNED_AMOUNT =
+            "CASE WHEN type IN ('DEPOSIT', 'TRANSFER_CREDIT') THEN amount ELSE -amount END";
+    private static final int EXPORT_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LedgerArchiveStore ledgerArchiveStore;
+
+    @Override
+    public List<YearMonth> findLiveMonths() {
+        return jdbcTemplate.queryForList(
+                        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = CAST(? AS regclass)", String.class, TABLE).stream()
+                .map(name -> PartitionManager.monthOf(TABLE, name))
+                .filter(Objects::nonNull)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public LedgerArchiveSummary summarizeLiveMonth(YearMonth month) {
+        return summarize(month);
+    }
+
+    /**
+     * Streams the partition in (wallet_id, created_at, id) order through a server-side cursor,
+     * which needs the read-only transaction. The file is written under a unique temporary name
+     * and moved into place only once complete.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LedgerArchiveSummary exportMonth(YearMonth month) {
+        Path directory = ledgerArchiveStore.getDirectory();
+        String fileName = ledgerArchiveStore.segmentFileName(month);
+        Path target = directory.resolve(fileName);
+        Path temporary = directory.resolve(fileName + "." + UUID.randomUUID() + ".tmp");
+
+        try {
+            Files.createDirectories(directory);
+            long fileSize;
+            LedgerSegmentWriter writer = new LedgerSegmentWriter(temporary, month);
+            try (writer) {
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            "SELECT id, wallet_id, amount, type, end_to_end_id, metadata, created_at FROM \"" +
+                            PartitionManager.partitionName(TABLE, month) + "\" ORDER BY wallet_id, created_at, id");
+                    ps.setFetchSize(EXPORT_FETCH_SIZE);
+                    return ps;
+                }, rs -> {
+                    try {
+                        writer.append(LedgerEntry.builder()
+                                .id(rs.getLong("id"))
+                                .walletId(rs.getLong("wallet_id"))
+                                .amount(Money.of(rs.getBigDecimal("amount")))
+                                .type(LedgerEntryType.valueOf(rs.getString("type")))
+                                .endToEndId(rs.getString("end_to_end_id"))
+                                .metadata(rs.getString("metadata"))
+                                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                                .build());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                fileSize = writer.finish();
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            return LedgerArchiveSummary.builder()
+                    .month(month)
+                    .entryCount(writer.getEntryCount())
+                    .walletCount(writer.getWalletCount())
+                    .netAmount(Money.of(writer.getNetAmount()))
+                    .segmentFile(fileName)
+                    .fileSize(fileSize)
+                    .build();
+        } catch (IOException e) {
+            deleteQuietly(temporary);
+            throw new UncheckedIOException("Cannot write ledger segment for " + month, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * Blocks writes to the partition, checks it still matches the segment, records the month
+     * and its per-wallet totals, then detaches and drops the partition. Detaching needs a brief
+     * exclusive lock on {@code ledger_entries}; the lock timeout makes the run fail (and be
+     * retried later) rather than queue traffic behind it.
+     */
+    @Override
+    @Transactional
+    public void registerAndDropPartition(LedgerArchiveSummary segment) {
+        YearMonth month = segment.getMonth();
+        String partition = PartitionManager.partitionName(TABLE, month);
+
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+        jdbcTemplate.execute("LOCK TABLE \"" + partition + "\" IN SHARE MODE");
+
+        LedgerArchiveSummary live = summarize(month);
+        if (!live.sameTotalsAs(segment)) {
+            throw new IllegalStateException("Partition " + partition + " changed since it was exported: "
+                    + live + " vs " + segment);
+        }
+
+        jdbcTemplate.update(
+                "INSERT INTO ledger_archived_months (month, segment_file, entry_count, wallet_count, net_amount, file_size) " +
+                "VALUES (?, ?, ?, ?, ?, ?)",
+                Date.valueOf(month.atDay(1)), segment.getSegmentFile(), segment.getEntryCount(),
+                segment.getWalletCount(), segment.getNetAmount().getAmount(), segment.getFileSize());
+        jdbcTemplate.update(
+                "INSERT INTO ledger_archived_balances (wallet_id, month, net_amount, entry_count, " +
+                "    total_deposit, total_withdraw, total_transfer_debit, total_transfer_credit, first_entry_at, last_entry_at) " +
+                "SELECT wallet_id, ?, SUM(" + SIGNED_AMOUNT + "), COUNT(*), " +
+                "       COALESCE(SUM(amount) FILTER (WHERE type = 'DEPOSIT'), 0), " +
+                "       COALESCE(SUM(amount) FILTER (WHERE type = 'WITHDRAW'), 0), " +
+                "       COALESCE(SUM(amount) FILTER (WHERE type = 'TRANSFER_DEBIT'), 0), " +
+                "       COALESCE(SUM(amount) FILTER (WHERE type = 'TRANSFER_CREDIT'), 0), " +
+                "       MIN(created_at), MAX(created_at) " +
+                "FROM \"" + partition + "\" GROUP BY wallet_id",
+                Date.valueOf(month.atDay(1)));
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION \"" + partition + "\"");
+        jdbcTemplate.execute("DROP TABLE \"" + partition + "\"");
+    }
+
+    @Override
+    public List<LedgerArchiveSummary> findArchivedMonths() {
+        return jdbcTemplate.query("SELECT * FROM ledger_archived_months ORDER BY month", (rs, rowNum) ->
+                LedgerArchiveSummary.builder()
+                        .month(YearMonth.from(rs.getDate("month").toLocalDate()))
+                        .entryCount(rs.getLong("entry_count"))
+                        .walletCount(rs.getLong("wallet_count"))
+                        .netAmount(Money.of(rs.getBigDecimal("net_amount")))
+                        .segmentFile(rs.getString("segment_file"))
+                        .fileSize(rs.getLong("file_size"))
+                        .build());
+    }
+
+    private LedgerArchiveSummary summarize(YearMonth month) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), COUNT(DISTINCT wallet_id), COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) FROM \"" +
+                PartitionManager.partitionName(TABLE, month) + "\"",
+                (rs, rowNum) -> LedgerArchiveSummary.builder()
+                        .month(month)
+                        .entryCount(rs.getLong(1))
+                        .walletCount(rs.getLong(2))
+                        .netAmount(Money.of(rs.getBigDecimal(3)))
+                        .build());
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // an unregistered temporary file is never read
+        }
+    }
+}
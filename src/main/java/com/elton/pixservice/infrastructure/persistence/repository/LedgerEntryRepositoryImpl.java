@@ -1,45 +1,150 @@
 package com.elton.pixservice.infrastructure.persistence.repository;
 
+import com.elton.pixservice.domain.entity.DailyClosing;
 import com.elton.pixservice.domain.entity.LedgerEntry;
 import com.elton.pixservice.domain.repository.LedgerEntryRepository;
+import com.elton.pixservice.domain.repository.WalletStatsRepository;
 import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.infrastructure.persistence.archive.LedgerArchiveStore;
 import com.elton.pixservice.infrastructure.persistence.entity.LedgerEntryJpaEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Every write also updates {@code wallet_stats} in the same transaction, see {@link WalletStatsRepository}.
+ * Reads combine live rows with archived months, querying the live rows first (see {@link LedgerArchiveStore}).
+ * Historical balances start from the nearest end-of-day closing (see {@code DailyBalanceRepositoryImpl}).
+ */
 @Component
 @RequiredArgsConstructor
 public class LedgerEntryRepositoryImpl implements LedgerEntryRepository {
 
+    private static final String INSERT_SQL =
+            "INSERT INTO ledger_entries (wallet_id, amount, type, end_to_end_id, metadata, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SUM_BEFORE_SQL =
+            "SELECT COALESCE(SUM(CASE WHEN type IN ('DEPOSIT', 'TRANSFER_CREDIT') THEN amount ELSE -amount END), 0) " +
+            "FROM ledger_entries WHERE wallet_id = ? AND created_at < ?";
+
+    private static final String SUM_BETWEEN_SQL =
+            "SELECT COALESCE(SUM(CASE WHEN type IN ('DEPOSIT', 'TRANSFER_CREDIT') THEN amount ELSE -amount END), 0) " +
+            "FROM ledger_entries WHERE wallet_id = ? AND created_at >= ? AND created_at < ?";
+
+    private static final String NEAREST_CLOSING_SQL =
+            "SELECT business_date, balance FROM daily_balances WHERE wallet_id = ? AND business_date < ? " +
+            "ORDER BY business_date DESC LIMIT 1";
+
+    private static final Comparator<LedgerEntry> CHRONOLOGICAL =
+            Comparator.comparing(LedgerEntry::getCreatedAt).thenComparing(LedgerEntry::getId);
+
     private final LedgerEntryJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final WalletStatsRepository walletStatsRepository;
+    private final LedgerArchiveStore ledgerArchiveStore;
 
     @Override
     @Transactional
     public LedgerEntry save(LedgerEntry ledgerEntry) {
         LedgerEntryJpaEntity entity = toJpaEntity(ledgerEntry);
         LedgerEntryJpaEntity saved = jpaRepository.save(entity);
-        return toDomain(saved);
+        LedgerEntry result = toDomain(saved);
+        walletStatsRepository.recordEntries(Collections.singletonList(result));
+        return result;
+    }
+
+    /**
+     * Batched insert through JDBC: the IDENTITY id disables Hibernate insert batching.
+     * Entries without a creation time are stamped with the current time, like {@code @PrePersist} does.
+     */
+    @Override
+    @Transactional
+    public void saveAll(List<LedgerEntry> ledgerEntries) {
+        if (ledgerEntries.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        ledgerEntries.stream()
+                .filter(entry -> entry.getCreatedAt() == null)
+                .forEach(entry -> entry.setCreatedAt(now));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, ledgerEntries, JdbcBatch.SIZE, (ps, entry) -> {
+            ps.setLong(1, entry.getWalletId());
+            ps.setBigDecimal(2, entry.getAmount().getAmount());
+            ps.setString(3, entry.getType().name());
+            ps.setString(4, entry.getEndToEndId());
+            ps.setString(5, entry.getMetadata());
+            ps.setTimestamp(6, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+        walletStatsRepository.recordEntries(ledgerEntries);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<LedgerEntry> findByWalletId(Long walletId) {
-        return jpaRepository.findByWalletId(walletId).stream()
+        List<LedgerEntry> live = jpaRepository.findByWalletId(walletId).stream()
                 .map(this::toDomain)
                 .collect(Collectors.toList());
+        return withArchived(live, ledgerArchiveStore.findByWalletId(walletId, null));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<LedgerEntry> findByWalletIdAndCreatedAtBefore(Long walletId, LocalDateTime timestamp) {
-        return jpaRepository.findByWalletIdAndCreatedAtBefore(walletId, timestamp).stream()
+        List<LedgerEntry> live = jpaRepository.findByWalletIdAndCreatedAtBefore(walletId, timestamp).stream()
                 .map(this::toDomain)
                 .collect(Collectors.toList());
+        return withArchived(live, ledgerArchiveStore.findByWalletId(walletId, timestamp));
+    }
+
+    /**
+     * Starts from the nearest end-of-day closing before {@code timestamp} when there is one
+     * ({@code daily_balances}), summing only the entries created after its cutoff.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Money sumSignedAmountBefore(Long walletId, LocalDateTime timestamp) {
+        // cutoff -> closing balance
+        List<Map.Entry<LocalDateTime, BigDecimal>> closings = jdbcTemplate.query(NEAREST_CLOSING_SQL,
+                (rs, rowNum) -> Map.entry(DailyClosing.cutoffOf(rs.getDate("business_date").toLocalDate()),
+                        rs.getBigDecimal("balance")),
+                walletId, Date.valueOf(timestamp.toLocalDate()));
+        if (closings.isEmpty()) {
+            BigDecimal live = jdbcTemplate.queryForObject(SUM_BEFORE_SQL, BigDecimal.class,
+                    walletId, Timestamp.valueOf(timestamp));
+            return Money.of(live.add(ledgerArchiveStore.sumSignedAmountBefore(walletId, timestamp)));
+        }
+
+        LocalDateTime cutoff = closings.get(0).getKey();
+        BigDecimal live = jdbcTemplate.queryForObject(SUM_BETWEEN_SQL, BigDecimal.class,
+                walletId, Timestamp.valueOf(cutoff), Timestamp.valueOf(timestamp));
+        return Money.of(closings.get(0).getValue()
+                .add(live)
+                .add(ledgerArchiveStore.sumSignedAmountBetween(walletId, cutoff, timestamp)));
+    }
+
+    private static List<LedgerEntry> withArchived(List<LedgerEntry> live, List<LedgerEntry> archived) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        List<LedgerEntry> all = new ArrayList<>(archived.size() + live.size());
+        all.addAll(archived);
+        all.addAll(live);
+        all.sort(CHRONOLOGICAL);
+        return all;
     }
 
     private LedgerEntryJpaEntity toJpaEntity(LedgerEntry ledgerEntry) {
@@ -0,0 +1,179 @@
+package com.elton.pixservice.infrastructure.persistence.repository;
+
+import com.elton.pixservice.domain.entity.OnboardingResult;
+import com.elton.pixservice.domain.entity.OnboardingRow;
+import com.elton.pixservice.domain.repository.OnboardingRepository;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk onboarding through the unlogged {@code onboarding_staging} table.
+ *
+ * Rows are loaded with {@code COPY ... FROM STDIN} on the transaction's connection, then every
+ * step runs as one set-based statement over the batch: duplicate and already registered keys
+ * are marked with joins against the batch and {@code pix_keys}, wallet ids are reserved from
+ * {@code wallets_id_seq}, and wallets and keys are inserted together. A key registered
+ * concurrently is skipped by {@code ON CONFLICT} on {@code uk_pix_key_value} and its wallet is
+ * not created.
+ */
+@Component
+@RequiredArgsConstructor
+public class OnboardingRepositoryImpl implements OnboardingRepository {
+
+    private static final int FLUSH_CHARS = 1 << 20;
+
+    private static final String COPY_SQL =
+            "COPY onboarding_staging (batch_id, line_no, user_id, key_type, key_value, rejection) FROM STDIN";
+
+    private static final String REJECT_DUPLICATES_IN_BATCH =
+            "UPDATE onboarding_staging s SET rejection = 'Pix key repeated in file (first at line ' || d.first_line || ')' " +
+            "FROM (SELECT line_no, MIN(line_no) OVER (PARTITION BY key_value) AS first_line " +
+            "      FROM onboarding_staging " +
+            "      WHERE batch_id = ? AND rejection IS NULL AND key_value IS NOT NULL) d " +
+            "WHERE s.batch_id = ? AND s.line_no = d.line_no AND d.line_no > d.first_line";
+
+    private static final String REJECT_REGISTERED_KEYS =
+            "UPDATE onboarding_staging s SET rejection = 'Pix key already registered: ' || s.key_value " +
+            "WHERE s.batch_id = ? AND s.rejection IS NULL AND s.key_value IS NOT NULL " +
+            "AND EXISTS (SELECT 1 FROM pix_keys k WHERE k.key_value = s.key_value)";
+
+    private static final String RESERVE_WALLET_IDS =
+            "UPDATE onboarding_staging SET wallet_id = nextval('wallets_id_seq') " +
+            "WHERE batch_id = ? AND rejection IS NULL";
+
+    // Foreign keys are checked at the end of the statement, after both inserts
+    private static final String INSERT_WALLETS_AND_KEYS =
+            "WITH inserted_keys AS (" +
+            "  INSERT INTO pix_keys (wallet_id, key_type, key_value) " +
+            "  SELECT wallet_id, key_type, key_value FROM onboarding_staging " +
+            "  WHERE batch_id = ? AND wallet_id IS NOT NULL AND key_value IS NOT NULL " +
+            "  ON CONFLICT ON CONSTRAINT uk_pix_key_value DO NOTHING " +
+            "  RETURNING wallet_id" +
+            ") " +
+            "INSERT INTO wallets (id, user_id, balance, version) " +
+            "SELECT s.wallet_id, s.user_id, 0, 0 FROM onboarding_staging s " +
+            "WHERE s.batch_id = ? AND s.wallet_id IS NOT NULL " +
+            "AND (s.key_value IS NULL OR s.wallet_id IN (SELECT wallet_id FROM inserted_keys))";
+
+    private static final String REJECT_KEY_CONFLICTS =
+            "UPDATE onboarding_staging s SET rejection = 'Pix key already registered: ' || s.key_value, " +
+            "wallet_id = NULL " +
+            "WHERE s.batch_id = ? AND s.wallet_id IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM wallets w WHERE w.id = s.wallet_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long stage(UUID batchId, Iterator<OnboardingRow> rows) {
+        Long staged = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                String batch = batchId.toString();
+                StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 4096);
+                while (rows.hasNext()) {
+                    OnboardingRow row = rows.next();
+                    buffer.append(batch).append('\t').append(row.getLineNumber());
+                    appendField(buffer, row.getUserId());
+                    appendField(buffer, row.getKeyType());
+                    appendField(buffer, row.getKeyValue());
+                    appendField(buffer, row.getRejection());
+                    buffer.append('\n');
+                    if (buffer.length() >= FLUSH_CHARS) {
+                        write(copyIn, buffer);
+                    }
+                }
+                write(copyIn, buffer);
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+        return staged != null ? staged : 0L;
+    }
+
+    @Override
+    public OnboardingResult apply(UUID batchId) {
+        // Fresh statistics, otherwise the planner sees an empty staging table
+        jdbcTemplate.execute("ANALYZE onboarding_staging");
+
+        jdbcTemplate.update(REJECT_DUPLICATES_IN_BATCH, batchId, batchId);
+        jdbcTemplate.update(REJECT_REGISTERED_KEYS, batchId);
+        jdbcTemplate.update(RESERVE_WALLET_IDS, batchId);
+        int walletsCreated = jdbcTemplate.update(INSERT_WALLETS_AND_KEYS, batchId, batchId);
+        jdbcTemplate.update(REJECT_KEY_CONFLICTS, batchId);
+
+        Long pixKeysCreated = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM onboarding_staging " +
+                "WHERE batch_id = ? AND wallet_id IS NOT NULL AND key_value IS NOT NULL",
+                Long.class, batchId);
+
+        List<OnboardingRow> rejections = jdbcTemplate.query(
+                "SELECT line_no, user_id, key_type, key_value, rejection FROM onboarding_staging " +
+                "WHERE batch_id = ? AND rejection IS NOT NULL ORDER BY line_no",
+                (rs, rowNum) -> OnboardingRow.builder()
+                        .lineNumber(rs.getInt("line_no"))
+                        .userId(rs.getString("user_id"))
+                        .keyType(rs.getString("key_type"))
+                        .keyValue(rs.getString("key_value"))
+                        .rejection(rs.getString("rejection"))
+                        .build(),
+                batchId);
+
+        jdbcTemplate.update("DELETE FROM onboarding_staging WHERE batch_id = ?", batchId);
+
+        return OnboardingResult.builder()
+                .walletsCreated(walletsCreated)
+                .pixKeysCreated(pixKeysCreated != null ? pixKeysCreated : 0L)
+                .rejections(rejections)
+                .build();
+    }
+
+    /**
+     * Appends a tab and the value in COPY text format: {@code \N} for null, backslash escapes
+     * for the characters that delimit fields and rows.
+     */
+    private static void appendField(StringBuilder buffer, String value) {
+        buffer.append('\t');
+        if (value == null) {
+            buffer.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                default:
+                    buffer.append(c);
+            }
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -31,6 +32,17 @@ public class PixKeyRepositoryImpl implements PixKeyRepository {
         return jpaRepository.findByKeyValue(keyValue).map(this::toDomain);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<PixKey> findByKeyValueIn(Collection<String> keyValues) {
+        if (keyValues.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findByKeyValueIn(keyValues).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<PixKey> findByWalletId(Long walletId) {
@@ -2,19 +2,51 @@ package com.elton.pixservice.infrastructure.persistence.repository;
 
 import com.elton.pixservice.infrastructure.persistence.entity.PixTransferJpaEntity;
 import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
-public interface PixTransferJpaRepository extends JpaRepository<PixTransferJpaEntity, String> {
+public interface PixTransferJpaRepository extends JpaRepository<PixTransferJpaEntity, PixTransferJpaEntity.Key> {
     Optional<PixTransferJpaEntity> findByEndToEndId(String endToEndId);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM PixTransferJpaEntity p WHERE p.endToEndId = :endToEndId")
     Optional<PixTransferJpaEntity> findByEndToEndIdWithLock(@Param("endToEndId") String endToEndId);
+
+    @Query("SELECT p FROM PixTransferJpaEntity p WHERE p.endToEndId = :endToEndId " +
+           "AND p.createdAt >= :from AND p.createdAt < :to")
+    Optional<PixTransferJpaEntity> findByEndToEndIdCreatedBetween(@Param("endToEndId") String endToEndId,
+                                                                  @Param("from") LocalDateTime from,
+                                                                  @Param("to") LocalDateTime to);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PixTransferJpaEntity p WHERE p.endToEndId = :endToEndId " +
+           "AND p.createdAt >= :from AND p.createdAt < :to")
+    Optional<PixTransferJpaEntity> findByEndToEndIdCreatedBetweenWithLock(@Param("endToEndId") String endToEndId,
+                                                                          @Param("from") LocalDateTime from,
+                                                                          @Param("to") LocalDateTime to);
+
+    /**
+     * NOWAIT variants of the locking lookups: lock timeout 0 is rendered as {@code FOR UPDATE NOWAIT}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "0"))
+    @Query("SELECT p FROM PixTransferJpaEntity p WHERE p.endToEndId = :endToEndId")
+    Optional<PixTransferJpaEntity> findByEndToEndIdWithLockNoWait(@Param("endToEndId") String endToEndId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "0"))
+    @Query("SELECT p FROM PixTransferJpaEntity p WHERE p.endToEndId = :endToEndId " +
+           "AND p.createdAt >= :from AND p.createdAt < :to")
+    Optional<PixTransferJpaEntity> findByEndToEndIdCreatedBetweenWithLockNoWait(@Param("endToEndId") String endToEndId,
+                                                                                @Param("from") LocalDateTime from,
+                                                                                @Param("to") LocalDateTime to);
 }
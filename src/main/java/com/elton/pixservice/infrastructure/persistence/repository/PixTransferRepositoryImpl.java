@@ -2,51 +2,203 @@ package com.elton.pixservice.infrastructure.persistence.repository;
 
 import com.elton.pixservice.domain.entity.PixTransfer;
 import com.elton.pixservice.domain.repository.PixTransferRepository;
+import com.elton.pixservice.domain.valueobject.EndToEndId;
 import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.domain.valueobject.TransferStatus;
+import com.elton.pixservice.infrastructure.concurrency.LockWaitPolicy;
 import com.elton.pixservice.infrastructure.persistence.entity.PixTransferJpaEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * {@code pix_transfers} is partitioned by {@code created_at}. Lookups by end-to-end id bound
+ * {@code created_at} with the time embedded in the id (see {@link EndToEndId}) so only one or
+ * two partitions are probed; ids in the legacy format fall back to probing every partition.
+ */
 @Component
 @RequiredArgsConstructor
 public class PixTransferRepositoryImpl implements PixTransferRepository {
 
+    /**
+     * How long after the minute embedded in the end-to-end id the row may have been stamped.
+     */
+    private static final Duration CREATION_WINDOW = Duration.ofDays(1);
+
+    private static final String TRANSFER_LOCK = "pix_transfer";
+
+    /**
+     * Single statement for insert and status transitions, addressed by the full primary key
+     * (end_to_end_id, created_at) so it touches exactly one partition. A new row is registered in
+     * {@code pix_transfer_ids} by trigger (V5_1): an end-to-end id already used with another
+     * {@code created_at} fails with a duplicate key instead of becoming a second transfer.
+     */
+    private static final String UPSERT_SQL =
+            "INSERT INTO pix_transfers (end_to_end_id, from_wallet_id, to_wallet_id, amount, status, " +
+            "created_at, confirmed_at, rejected_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (end_to_end_id, created_at) DO UPDATE SET " +
+            "status = EXCLUDED.status, confirmed_at = EXCLUDED.confirmed_at, rejected_at = EXCLUDED.rejected_at";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO pix_transfers (end_to_end_id, from_wallet_id, to_wallet_id, amount, status, " +
+            "created_at, confirmed_at, rejected_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Served by the partial index idx_pix_transfers_pending (V10); SKIP LOCKED lets every
+     * instance sweep at the same time, each claiming a different batch.
+     */
+    private static final String CLAIM_PENDING_SQL =
+            "SELECT * FROM pix_transfers WHERE status = 'PENDING' AND created_at < ? " +
+            "ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String SETTLED_IN_SQL =
+            "SELECT * FROM pix_transfers WHERE end_to_end_id = ANY (?) AND status <> 'PENDING'";
+
+    private static final RowMapper<PixTransfer> ROW_MAPPER = (rs, rowNum) -> PixTransfer.builder()
+            .endToEndId(rs.getString("end_to_end_id"))
+            .fromWalletId(rs.getLong("from_wallet_id"))
+            .toWalletId(rs.getLong("to_wallet_id"))
+            .amount(Money.of(rs.getBigDecimal("amount")))
+            .status(TransferStatus.valueOf(rs.getString("status")))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .confirmedAt(toLocalDateTime(rs.getTimestamp("confirmed_at")))
+            .rejectedAt(toLocalDateTime(rs.getTimestamp("rejected_at")))
+            .build();
+
     private final PixTransferJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LockWaitPolicy lockWaitPolicy;
 
     @Override
     @Transactional
     public PixTransfer save(PixTransfer pixTransfer) {
-        PixTransferJpaEntity entity = toJpaEntity(pixTransfer);
-        PixTransferJpaEntity saved = jpaRepository.save(entity);
-        return toDomain(saved);
+        if (pixTransfer.getCreatedAt() == null) {
+            pixTransfer.setCreatedAt(LocalDateTime.now());
+        }
+        jdbcTemplate.update(UPSERT_SQL,
+                pixTransfer.getEndToEndId(),
+                pixTransfer.getFromWalletId(),
+                pixTransfer.getToWalletId(),
+                pixTransfer.getAmount().getAmount(),
+                pixTransfer.getStatus().name(),
+                Timestamp.valueOf(pixTransfer.getCreatedAt()),
+                toTimestamp(pixTransfer.getConfirmedAt()),
+                toTimestamp(pixTransfer.getRejectedAt()));
+        return pixTransfer;
+    }
+
+    /**
+     * Batched insert of new transfers. Going through JDBC avoids the SELECT that
+     * {@code merge} issues for every entity with an assigned id.
+     */
+    @Override
+    @Transactional
+    public void saveAll(List<PixTransfer> pixTransfers) {
+        if (pixTransfers.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        pixTransfers.stream()
+                .filter(transfer -> transfer.getCreatedAt() == null)
+                .forEach(transfer -> transfer.setCreatedAt(now));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, pixTransfers, JdbcBatch.SIZE, (ps, transfer) -> {
+            ps.setString(1, transfer.getEndToEndId());
+            ps.setLong(2, transfer.getFromWalletId());
+            ps.setLong(3, transfer.getToWalletId());
+            ps.setBigDecimal(4, transfer.getAmount().getAmount());
+            ps.setString(5, transfer.getStatus().name());
+            ps.setTimestamp(6, Timestamp.valueOf(transfer.getCreatedAt()));
+            ps.setTimestamp(7, toTimestamp(transfer.getConfirmedAt()));
+            ps.setTimestamp(8, toTimestamp(transfer.getRejectedAt()));
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<PixTransfer> findByEndToEndId(String endToEndId) {
-        return jpaRepository.findByEndToEndId(endToEndId).map(this::toDomain);
+        Optional<LocalDateTime> issuedAt = EndToEndId.of(endToEndId).getIssuedAt();
+        return (issuedAt.isPresent()
+                ? jpaRepository.findByEndToEndIdCreatedBetween(
+                        endToEndId, issuedAt.get(), issuedAt.get().plus(CREATION_WINDOW))
+                : jpaRepository.findByEndToEndId(endToEndId))
+                .map(this::toDomain);
     }
 
     @Override
     @Transactional
     public Optional<PixTransfer> findByEndToEndIdWithLock(String endToEndId) {
-        return jpaRepository.findByEndToEndIdWithLock(endToEndId).map(this::toDomain);
+        Optional<LocalDateTime> issuedAt = EndToEndId.of(endToEndId).getIssuedAt();
+        Optional<PixTransferJpaEntity> locked;
+        if (issuedAt.isPresent()) {
+            LocalDateTime from = issuedAt.get();
+            LocalDateTime to = from.plus(CREATION_WINDOW);
+            locked = lockWaitPolicy.acquire(TRANSFER_LOCK,
+                    () -> jpaRepository.findByEndToEndIdCreatedBetweenWithLock(endToEndId, from, to),
+                    () -> jpaRepository.findByEndToEndIdCreatedBetweenWithLockNoWait(endToEndId, from, to));
+        } else {
+            locked = lockWaitPolicy.acquire(TRANSFER_LOCK,
+                    () -> jpaRepository.findByEndToEndIdWithLock(endToEndId),
+                    () -> jpaRepository.findByEndToEndIdWithLockNoWait(endToEndId));
+        }
+        return locked.map(this::toDomain);
     }
 
-    private PixTransferJpaEntity toJpaEntity(PixTransfer pixTransfer) {
-        return PixTransferJpaEntity.builder()
-                .endToEndId(pixTransfer.getEndToEndId())
-                .fromWalletId(pixTransfer.getFromWalletId())
-                .toWalletId(pixTransfer.getToWalletId())
-                .amount(pixTransfer.getAmount().getAmount())
-                .status(pixTransfer.getStatus())
-                .createdAt(pixTransfer.getCreatedAt())
-                .confirmedAt(pixTransfer.getConfirmedAt())
-                .rejectedAt(pixTransfer.getRejectedAt())
-                .build();
+    @Override
+    @Transactional
+    public List<PixTransfer> claimPendingCreatedBefore(LocalDateTime createdBefore, int limit) {
+        return jdbcTemplate.query(CLAIM_PENDING_SQL, ROW_MAPPER, Timestamp.valueOf(createdBefore), limit);
+    }
+
+    /**
+     * One statement for the whole set; the ids carry no created_at bound, so every partition's
+     * primary key index is probed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PixTransfer> findSettledByEndToEndIdIn(Collection<String> endToEndIds) {
+        if (endToEndIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SETTLED_IN_SQL);
+            ps.setArray(1, connection.createArrayOf("varchar", endToEndIds.toArray()));
+            return ps;
+        }, ROW_MAPPER);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pix_transfers WHERE status = 'PENDING'", Long.class);
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findOldestPendingCreatedAt() {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM pix_transfers WHERE status = 'PENDING'", Timestamp.class);
+        return Optional.ofNullable(oldest).map(Timestamp::toLocalDateTime);
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
     }
 
     private PixTransfer toDomain(PixTransferJpaEntity entity) {
@@ -0,0 +1,125 @@
+package com.elton.pixservice.infrastructure.persistence.repository;
+
+import com.elton.pixservice.domain.entity.BalanceMismatch;
+import com.elton.pixservice.domain.repository.ReconciliationRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of the reconciliation report. Runs outside JPA: the range queries are
+ * plain aggregations and each one auto-commits, so the job never holds a long transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReconciliationRepositoryImpl implements ReconciliationRepository {
+
+    /**
+     * Ledger sum per wallet for one id range (live rows plus archived month totals), joined to
+     * the balances of the same range.
+     * The outer LEFT JOIN always yields one row carrying the checked count, plus one row per mismatch.
+     */
+    private static final String CHECK_RANGE_SQL =
+            "WITH sums AS ( " +
+            "    SELECT wallet_id, SUM(amount) AS ledger_balance FROM ( " +
+            "        SELECT wallet_id, " +
+            "               CASE WHEN type IN ('DEPOSIT', 'TRANSFER_CREDIT') THEN amount ELSE -amount END AS amount " +
+            "        FROM ledger_entries " +
+            "        WHERE wallet_id BETWEEN ? AND ? " +
+            "        UNION ALL " +
+            "        SELECT wallet_id, net_amount FROM ledger_archived_balances " +
+            "        WHERE wallet_id BETWEEN ? AND ? " +
+            "    ) ledger " +
+            "    GROUP BY wallet_id " +
+            "), checked AS ( " +
+            "    SELECT w.id, w.balance, COALESCE(s.ledger_balance, 0) AS ledger_balance " +
+            "    FROM wallets w LEFT JOIN sums s ON s.wallet_id = w.id " +
+            "    WHERE w.id BETWEEN ? AND ? " +
+            ") " +
+            "SELECT n.total, c.id, c.balance, c.ledger_balance " +
+            "FROM (SELECT COUNT(*) AS total FROM checked) n " +
+            "LEFT JOIN checked c ON c.balance <> c.ledger_balance " +
+            "ORDER BY c.id";
+
+    private static final String INSERT_MISMATCH_SQL =
+            "INSERT INTO reconciliation_mismatches " +
+            "(run_id, wallet_id, wallet_balance, ledger_balance, difference, detected_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<long[]> findWalletIdBounds() {
+        return jdbcTemplate.query("SELECT MIN(id), MAX(id) FROM wallets", rs -> {
+            rs.next();
+            long min = rs.getLong(1);
+            return rs.wasNull() ? Optional.<long[]>empty() : Optional.of(new long[]{min, rs.getLong(2)});
+        });
+    }
+
+    @Override
+    public long checkRange(long fromId, long toId, List<BalanceMismatch> mismatches) {
+        Long checked = jdbcTemplate.query(CHECK_RANGE_SQL, rs -> {
+            long total = 0;
+            while (rs.next()) {
+                total = rs.getLong("total");
+                long walletId = rs.getLong("id");
+                if (!rs.wasNull()) {
+                    mismatches.add(BalanceMismatch.builder()
+                            .walletId(walletId)
+                            .walletBalance(Money.of(rs.getBigDecimal("balance")))
+                            .ledgerBalance(Money.of(rs.getBigDecimal("ledger_balance")))
+                            .build());
+                }
+            }
+            return total;
+        }, fromId, toId, fromId, toId, fromId, toId);
+        return Objects.requireNonNull(checked);
+    }
+
+    @Override
+    public long startRun() {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO reconciliation_runs (status, started_at) VALUES ('RUNNING', ?)",
+                    new String[]{"id"});
+            ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            return ps;
+        }, keyHolder);
+        return Objects.requireNonNull(keyHolder.getKey()).longValue();
+    }
+
+    @Override
+    public void saveMismatches(long runId, List<BalanceMismatch> mismatches) {
+        if (mismatches.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_MISMATCH_SQL, mismatches, JdbcBatch.SIZE, (ps, mismatch) -> {
+            ps.setLong(1, runId);
+            ps.setLong(2, mismatch.getWalletId());
+            ps.setBigDecimal(3, mismatch.getWalletBalance().getAmount());
+            ps.setBigDecimal(4, mismatch.getLedgerBalance().getAmount());
+            ps.setBigDecimal(5, mismatch.getDifference().getAmount());
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    @Override
+    public void finishRun(long runId, String status, long walletsChecked, long mismatches, String error) {
+        jdbcTemplate.update(
+                "UPDATE reconciliation_runs SET status = ?, finished_at = ?, wallets_checked = ?, mismatches = ?, error = ? " +
+                "WHERE id = ?",
+                status, Timestamp.valueOf(LocalDateTime.now()), walletsChecked, mismatches, error, runId);
+    }
+}
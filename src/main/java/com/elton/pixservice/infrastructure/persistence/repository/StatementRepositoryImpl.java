@@ -0,0 +1,224 @@
+package com.elton.pixservice.infrastructure.persistence.repository;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.entity.StatementCheckpoint;
+import com.elton.pixservice.domain.repository.StatementRepository;
+import com.elton.pixservice.domain.valueobject.LedgerEntryType;
+import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.domain.valueobject.StatementFormat;
+import com.elton.pixservice.infrastructure.persistence.statement.StatementFileWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statement files under {@code pix.statements.directory}:
+ * {@code <yyyy-MM>/<walletId / 1000>/<walletId>.<csv|ndjson>.gz}.
+ *
+ * A chunk is one transaction: the opening balances of its wallets are read in one query (from
+ * the closing of the previous day in {@code daily_balances} when there is one), the month's
+ * entries are streamed in (wallet_id, created_at, id) order through a server-side cursor, one
+ * file per wallet, and the checkpoint row is advanced. Files of a chunk that fails are written
+ * again by the next run.
+ */
+@Component
+public class StatementRepositoryImpl implements StatementRepository {
+
+    private static final int FETCH_SIZE = 5_000;
+    private static final long WALLETS_PER_DIRECTORY = 1_000L;
+
+    private static final String SIGNED_AMOUNT =
+            "CASE WHEN type IN ('DEPOSIT', 'TRANSFER_CREDIT') THEN amount ELSE -amount END";
+
+    private static final String OPENING_FROM_CLOSING_SQL =
+            "SELECT wallet_id, balance FROM daily_balances WHERE business_date = ? AND wallet_id BETWEEN ? AND ?";
+
+    private static final String OPENING_FROM_LEDGER_SQL =
+            "SELECT wallet_id, SUM(amount) AS balance FROM (" +
+            "  SELECT wallet_id, " + SIGNED_AMOUNT + " AS amount FROM ledger_entries " +
+            "  WHERE wallet_id BETWEEN ? AND ? AND created_at < ? " +
+            "  UNION ALL " +
+            "  SELECT wallet_id, net_amount FROM ledger_archived_balances " +
+            "  WHERE wallet_id BETWEEN ? AND ? AND month < ?" +
+            ") movements GROUP BY wallet_id";
+
+    private static final String ENTRIES_SQL =
+            "SELECT id, wallet_id, amount, type, end_to_end_id, metadata, created_at FROM ledger_entries " +
+            "WHERE wallet_id BETWEEN ? AND ? AND created_at >= ? AND created_at < ? " +
+            "ORDER BY wallet_id, created_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path directory;
+
+    public StatementRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                   @Value("${pix.statements.directory:./statements}") String directory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.directory = Paths.get(directory).toAbsolutePath();
+    }
+
+    @Override
+    @Transactional
+    public List<StatementCheckpoint> findOrCreateCheckpoints(YearMonth month, StatementFormat format, int partitions) {
+        Boolean archived = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM ledger_archived_months WHERE month = ?)",
+                Boolean.class, Date.valueOf(month.atDay(1)));
+        if (Boolean.TRUE.equals(archived)) {
+            throw new IllegalStateException("Ledger month " + month + " is archived");
+        }
+
+        List<StatementCheckpoint> checkpoints = findCheckpoints(month, format);
+        if (!checkpoints.isEmpty()) {
+            return checkpoints;
+        }
+
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM wallets");
+        if (bounds.get("min_id") == null) {
+            return checkpoints;
+        }
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+        long span = (maxId - minId) / partitions + 1;
+
+        for (int partition = 0; partition < partitions; partition++) {
+            long rangeStart = minId + partition * span;
+            if (rangeStart > maxId) {
+                break;
+            }
+            long rangeEnd = Math.min(maxId, rangeStart + span - 1);
+            jdbcTemplate.update(
+                    "INSERT INTO statement_checkpoints (month, format, partition_no, range_start, range_end, last_wallet_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING",
+                    Date.valueOf(month.atDay(1)), format.name(), partition, rangeStart, rangeEnd, rangeStart - 1);
+        }
+        return findCheckpoints(month, format);
+    }
+
+    @Override
+    public void deleteCheckpoints(YearMonth month, StatementFormat format) {
+        jdbcTemplate.update("DELETE FROM statement_checkpoints WHERE month = ? AND format = ?",
+                Date.valueOf(month.atDay(1)), format.name());
+    }
+
+    @Override
+    @Transactional
+    public StatementCheckpoint exportChunk(StatementCheckpoint checkpoint, long toWalletId) {
+        YearMonth month = checkpoint.getMonth();
+        long fromWalletId = checkpoint.getLastWalletId() + 1;
+        LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+        LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+        Map<Long, BigDecimal> openingBalances = openingBalances(month, fromWalletId, toWalletId);
+
+        long[] written = new long[2]; // wallets, bytes
+        try (StatementFileWriter writer = new StatementFileWriter(checkpoint.getFormat(),
+                StatementFileWriter.DEFAULT_BUFFER_SIZE)) {
+            long[] currentWallet = {Long.MIN_VALUE};
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(ENTRIES_SQL);
+                ps.setLong(1, fromWalletId);
+                ps.setLong(2, toWalletId);
+                ps.setTimestamp(3, Timestamp.valueOf(monthStart));
+                ps.setTimestamp(4, Timestamp.valueOf(monthEnd));
+                ps.setFetchSize(FETCH_SIZE);
+                return ps;
+            }, rs -> {
+                long walletId = rs.getLong("wallet_id");
+                try {
+                    if (walletId != currentWallet[0]) {
+                        if (currentWallet[0] != Long.MIN_VALUE) {
+                            written[1] += writer.finish();
+                            written[0]++;
+                        }
+                        currentWallet[0] = walletId;
+                        writer.open(fileOf(checkpoint, walletId), walletId, month,
+                                openingBalances.getOrDefault(walletId, BigDecimal.ZERO));
+                    }
+                    writer.append(LedgerEntry.builder()
+                            .id(rs.getLong("id"))
+                            .walletId(walletId)
+                            .amount(Money.of(rs.getBigDecimal("amount")))
+                            .type(LedgerEntryType.valueOf(rs.getString("type")))
+                            .endToEndId(rs.getString("end_to_end_id"))
+                            .metadata(rs.getString("metadata"))
+                            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                            .build());
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot write statement of wallet " + walletId, e);
+                }
+            });
+            if (currentWallet[0] != Long.MIN_VALUE) {
+                written[1] += writer.finish();
+                written[0]++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write statements for wallets " + fromWalletId + ".." + toWalletId, e);
+        }
+
+        StatementCheckpoint advanced = checkpoint.toBuilder()
+                .lastWalletId(toWalletId)
+                .walletsWritten(checkpoint.getWalletsWritten() + written[0])
+                .bytesWritten(checkpoint.getBytesWritten() + written[1])
+                .build();
+        jdbcTemplate.update(
+                "UPDATE statement_checkpoints SET last_wallet_id = ?, wallets_written = ?, bytes_written = ?, " +
+                "updated_at = now() WHERE month = ? AND format = ? AND partition_no = ?",
+                advanced.getLastWalletId(), advanced.getWalletsWritten(), advanced.getBytesWritten(),
+                Date.valueOf(month.atDay(1)), checkpoint.getFormat().name(), checkpoint.getPartition());
+        return advanced;
+    }
+
+    private Map<Long, BigDecimal> openingBalances(YearMonth month, long fromWalletId, long toWalletId) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        Date previousDay = Date.valueOf(month.atDay(1).minusDays(1));
+        Boolean closed = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM daily_balance_closings WHERE business_date = ?)",
+                Boolean.class, previousDay);
+        if (Boolean.TRUE.equals(closed)) {
+            jdbcTemplate.query(OPENING_FROM_CLOSING_SQL,
+                    rs -> { balances.put(rs.getLong("wallet_id"), rs.getBigDecimal("balance")); },
+                    previousDay, fromWalletId, toWalletId);
+        } else {
+            Timestamp monthStart = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+            jdbcTemplate.query(OPENING_FROM_LEDGER_SQL,
+                    rs -> { balances.put(rs.getLong("wallet_id"), rs.getBigDecimal("balance")); },
+                    fromWalletId, toWalletId, monthStart, fromWalletId, toWalletId, monthStart);
+        }
+        return balances;
+    }
+
+    private List<StatementCheckpoint> findCheckpoints(YearMonth month, StatementFormat format) {
+        return jdbcTemplate.query(
+                "SELECT * FROM statement_checkpoints WHERE month = ? AND format = ? ORDER BY partition_no",
+                (rs, rowNum) -> StatementCheckpoint.builder()
+                        .month(month)
+                        .format(format)
+                        .partition(rs.getInt("partition_no"))
+                        .rangeStart(rs.getLong("range_start"))
+                        .rangeEnd(rs.getLong("range_end"))
+                        .lastWalletId(rs.getLong("last_wallet_id"))
+                        .walletsWritten(rs.getLong("wallets_written"))
+                        .bytesWritten(rs.getLong("bytes_written"))
+                        .build(),
+                Date.valueOf(month.atDay(1)), format.name());
+    }
+
+    private Path fileOf(StatementCheckpoint checkpoint, long walletId) {
+        return directory.resolve(checkpoint.getMonth().toString())
+                .resolve(String.format("%06d", walletId / WALLETS_PER_DIRECTORY))
+                .resolve(walletId + "." + checkpoint.getFormat().getExtension() + ".gz");
+    }
+}
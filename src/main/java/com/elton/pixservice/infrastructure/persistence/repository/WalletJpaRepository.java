@@ -2,12 +2,16 @@ package com.elton.pixservice.infrastructure.persistence.repository;
 
 import com.elton.pixservice.infrastructure.persistence.entity.WalletJpaEntity;
 import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +20,25 @@ public interface WalletJpaRepository extends JpaRepository<WalletJpaEntity, Long
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT w FROM WalletJpaEntity w WHERE w.id = :id")
     Optional<WalletJpaEntity> findByIdWithLock(@Param("id") Long id);
+
+    /**
+     * Locks the given wallets in ascending id order. PostgreSQL takes the row locks
+     * after sorting, so every caller using this method acquires them in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WalletJpaEntity w WHERE w.id IN :ids ORDER BY w.id")
+    List<WalletJpaEntity> findAllByIdInWithLock(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lock timeout 0 is rendered by Hibernate as {@code FOR UPDATE NOWAIT}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "0"))
+    @Query("SELECT w FROM WalletJpaEntity w WHERE w.id = :id")
+    Optional<WalletJpaEntity> findByIdWithLockNoWait(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "0"))
+    @Query("SELECT w FROM WalletJpaEntity w WHERE w.id IN :ids ORDER BY w.id")
+    List<WalletJpaEntity> findAllByIdInWithLockNoWait(@Param("ids") Collection<Long> ids);
 }
@@ -3,18 +3,36 @@ package com.elton.pixservice.infrastructure.persistence.repository;
 import com.elton.pixservice.domain.entity.Wallet;
 import com.elton.pixservice.domain.repository.WalletRepository;
 import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.infrastructure.concurrency.LockWaitPolicy;
 import com.elton.pixservice.infrastructure.persistence.entity.WalletJpaEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class WalletRepositoryImpl implements WalletRepository {
 
+    private static final String WALLET_LOCK = "wallet";
+
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE wallets SET balance = ?, version = version + 1, updated_at = ? WHERE id = ?";
+
+    private static final String UPDATE_BALANCE_IF_VERSION_SQL =
+            "UPDATE wallets SET balance = ?, version = version + 1, updated_at = ? WHERE id = ? AND version = ?";
+
     private final WalletJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LockWaitPolicy lockWaitPolicy;
 
     @Override
     @Transactional
@@ -33,7 +51,63 @@ public class WalletRepositoryImpl implements WalletRepository {
     @Override
     @Transactional
     public Optional<Wallet> findByIdWithLock(Long id) {
-        return jpaRepository.findByIdWithLock(id).map(this::toDomain);
+        return lockWaitPolicy.acquire(WALLET_LOCK,
+                        () -> jpaRepository.findByIdWithLock(id),
+                        () -> jpaRepository.findByIdWithLockNoWait(id))
+                .map(this::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public List<Wallet> findAllByIdWithLock(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return lockWaitPolicy.acquire(WALLET_LOCK,
+                        () -> jpaRepository.findAllByIdInWithLock(ids),
+                        () -> jpaRepository.findAllByIdInWithLockNoWait(ids)).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Batched balance update for wallets already locked by the caller. Goes through JDBC
+     * so the whole chunk is sent in a few round trips instead of one merge per wallet.
+     */
+    @Override
+    @Transactional
+    public void updateBalances(List<Wallet> wallets) {
+        if (wallets.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, wallets, JdbcBatch.SIZE, (ps, wallet) -> {
+            ps.setBigDecimal(1, wallet.getBalance().getAmount());
+            ps.setTimestamp(2, Timestamp.valueOf(now));
+            ps.setLong(3, wallet.getId());
+        });
+        wallets.forEach(wallet -> {
+            wallet.setVersion(wallet.getVersion() + 1);
+            wallet.setUpdatedAt(now);
+        });
+    }
+
+    /**
+     * Under READ COMMITTED a concurrent writer makes this UPDATE wait for its commit and then
+     * re-check {@code version} against the new row, so a lost update shows up as 0 rows.
+     */
+    @Override
+    @Transactional
+    public Wallet updateBalanceIfUnchanged(Wallet wallet) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcTemplate.update(UPDATE_BALANCE_IF_VERSION_SQL,
+                wallet.getBalance().getAmount(), Timestamp.valueOf(now), wallet.getId(), wallet.getVersion());
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(WalletJpaEntity.class, wallet.getId());
+        }
+        wallet.setVersion(wallet.getVersion() + 1);
+        wallet.setUpdatedAt(now);
+        return wallet;
     }
 
     @Override
@@ -42,6 +116,12 @@ public class WalletRepositoryImpl implements WalletRepository {
         return jpaRepository.existsById(id);
     }
 
+    @Override
+    public Optional<Long> findVersion(Long id) {
+        return jdbcTemplate.queryForList("SELECT version FROM wallets WHERE id = ?", Long.class, id).stream()
+                .findFirst();
+    }
+
     private WalletJpaEntity toJpaEntity(Wallet wallet) {
         return WalletJpaEntity.builder()
                 .id(wallet.getId())
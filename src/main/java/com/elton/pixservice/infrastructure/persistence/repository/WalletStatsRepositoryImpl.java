@@ -0,0 +1,188 @@
+package com.elton.pixservice.infrastructure.persistence.repository;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.entity.WalletStats;
+import com.elton.pixservice.domain.exception.TipoLancamentoDesconhecidoException;
+import com.elton.pixservice.domain.repository.WalletStatsRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * JDBC implementation of the wallet statistics.
+ *
+ * Entries are folded into one delta per wallet and applied with an {@code ON CONFLICT} upsert,
+ * so a write costs one row update per wallet regardless of the ledger size. Deltas are applied
+ * in ascending wallet id, matching the wallet lock order.
+ */
+@Component
+@RequiredArgsConstructor
+public class WalletStatsRepositoryImpl implements WalletStatsRepository {
+
+    private static final String UPSERT_DELTA_SQL =
+            "INSERT INTO wallet_stats (wallet_id, transaction_count, first_transaction_at, last_transaction_at, " +
+            "    total_deposit, total_withdraw, total_transfer_debit, total_transfer_credit, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (wallet_id) DO UPDATE SET " +
+            "    transaction_count = wallet_stats.transaction_count + EXCLUDED.transaction_count, " +
+            "    first_transaction_at = LEAST(wallet_stats.first_transaction_at, EXCLUDED.first_transaction_at), " +
+            "    last_transaction_at = GREATEST(wallet_stats.last_transaction_at, EXCLUDED.last_transaction_at), " +
+            "    total_deposit = wallet_stats.total_deposit + EXCLUDED.total_deposit, " +
+            "    total_withdraw = wallet_stats.total_withdraw + EXCLUDED.total_withdraw, " +
+            "    total_transfer_debit = wallet_stats.total_transfer_debit + EXCLUDED.total_transfer_debit, " +
+            "    total_transfer_credit = wallet_stats.total_transfer_credit + EXCLUDED.total_transfer_credit, " +
+            "    updated_at = EXCLUDED.updated_at";
+
+    private static final String LOCK_RANGE_SQL =
+            "SELECT id FROM wallets WHERE id BETWEEN ? AND ? ORDER BY id FOR UPDATE";
+
+    /**
+     * Live entries plus the per-wallet totals of archived months (V6), the same way
+     * reconciliation combines ledger_entries with ledger_archived_balances.
+     */
+    private static final String REBUILD_RANGE_SQL =
+            "INSERT INTO wallet_stats (wallet_id, transaction_count, first_transaction_at, last_transaction_at, " +
+            "    total_deposit, total_withdraw, total_transfer_debit, total_transfer_credit, updated_at) " +
+            "SELECT wallet_id, SUM(entry_count), MIN(first_at), MAX(last_at), " +
+            "       SUM(deposit), SUM(withdraw), SUM(transfer_debit), SUM(transfer_credit), ? " +
+            "FROM ( " +
+            "    SELECT wallet_id, COUNT(*) AS entry_count, MIN(created_at) AS first_at, MAX(created_at) AS last_at, " +
+            "           COALESCE(SUM(amount) FILTER (WHERE type = 'DEPOSIT'), 0) AS deposit, " +
+            "           COALESCE(SUM(amount) FILTER (WHERE type = 'WITHDRAW'), 0) AS withdraw, " +
+            "           COALESCE(SUM(amount) FILTER (WHERE type = 'TRANSFER_DEBIT'), 0) AS transfer_debit, " +
+            "           COALESCE(SUM(amount) FILTER (WHERE type = 'TRANSFER_CREDIT'), 0) AS transfer_credit " +
+            "    FROM ledger_entries " +
+            "    WHERE wallet_id BETWEEN ? AND ? " +
+            "    GROUP BY wallet_id " +
+            "    UNION ALL " +
+            "    SELECT wallet_id, entry_count, first_entry_at, last_entry_at, " +
+            "           total_deposit, total_withdraw, total_transfer_debit, total_transfer_credit " +
+            "    FROM ledger_archived_balances " +
+            "    WHERE wallet_id BETWEEN ? AND ? " +
+            ") ledger " +
+            "GROUP BY wallet_id " +
+            "ON CONFLICT (wallet_id) DO UPDATE SET " +
+            "    transaction_count = EXCLUDED.transaction_count, " +
+            "    first_transaction_at = EXCLUDED.first_transaction_at, " +
+            "    last_transaction_at = EXCLUDED.last_transaction_at, " +
+            "    total_deposit = EXCLUDED.total_deposit, " +
+            "    total_withdraw = EXCLUDED.total_withdraw, " +
+            "    total_transfer_debit = EXCLUDED.total_transfer_debit, " +
+            "    total_transfer_credit = EXCLUDED.total_transfer_credit, " +
+            "    updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<WalletStats> findByWalletId(Long walletId) {
+        List<WalletStats> stats = jdbcTemplate.query(
+                "SELECT * FROM wallet_stats WHERE wallet_id = ?",
+                (rs, rowNum) -> WalletStats.builder()
+                        .walletId(rs.getLong("wallet_id"))
+                        .transactionCount(rs.getLong("transaction_count"))
+                        .firstTransactionAt(toLocalDateTime(rs.getTimestamp("first_transaction_at")))
+                        .lastTransactionAt(toLocalDateTime(rs.getTimestamp("last_transaction_at")))
+                        .totalDeposits(Money.of(rs.getBigDecimal("total_deposit")))
+                        .totalWithdrawals(Money.of(rs.getBigDecimal("total_withdraw")))
+                        .totalTransferDebits(Money.of(rs.getBigDecimal("total_transfer_debit")))
+                        .totalTransferCredits(Money.of(rs.getBigDecimal("total_transfer_credit")))
+                        .build(),
+                walletId);
+        return stats.stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    public void recordEntries(List<LedgerEntry> ledgerEntries) {
+        if (ledgerEntries.isEmpty()) {
+            return;
+        }
+        Map<Long, Delta> deltas = new TreeMap<>();
+        for (LedgerEntry entry : ledgerEntries) {
+            deltas.computeIfAbsent(entry.getWalletId(), id -> new Delta()).add(entry);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_DELTA_SQL, new ArrayList<>(deltas.entrySet()), JdbcBatch.SIZE,
+                (ps, delta) -> {
+                    Delta value = delta.getValue();
+                    ps.setLong(1, delta.getKey());
+                    ps.setLong(2, value.count);
+                    ps.setTimestamp(3, Timestamp.valueOf(value.first));
+                    ps.setTimestamp(4, Timestamp.valueOf(value.last));
+                    ps.setBigDecimal(5, value.deposit);
+                    ps.setBigDecimal(6, value.withdraw);
+                    ps.setBigDecimal(7, value.transferDebit);
+                    ps.setBigDecimal(8, value.transferCredit);
+                    ps.setTimestamp(9, now);
+                });
+    }
+
+    @Override
+    public Optional<long[]> findWalletIdBounds() {
+        return jdbcTemplate.query("SELECT MIN(id), MAX(id) FROM wallets", rs -> {
+            rs.next();
+            long min = rs.getLong(1);
+            return rs.wasNull() ? Optional.<long[]>empty() : Optional.of(new long[]{min, rs.getLong(2)});
+        });
+    }
+
+    @Override
+    @Transactional
+    public int rebuildRange(long fromId, long toId) {
+        // Ledger writers hold the wallet lock, so locking the range freezes its entries
+        jdbcTemplate.queryForList(LOCK_RANGE_SQL, Long.class, fromId, toId);
+        return jdbcTemplate.update(REBUILD_RANGE_SQL, Timestamp.valueOf(LocalDateTime.now()),
+                fromId, toId, fromId, toId);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static final class Delta {
+        private long count;
+        private LocalDateTime first;
+        private LocalDateTime last;
+        private BigDecimal deposit = BigDecimal.ZERO;
+        private BigDecimal withdraw = BigDecimal.ZERO;
+        private BigDecimal transferDebit = BigDecimal.ZERO;
+        private BigDecimal transferCredit = BigDecimal.ZERO;
+
+        private void add(LedgerEntry entry) {
+            LocalDateTime createdAt = entry.getCreatedAt();
+            BigDecimal amount = entry.getAmount().getAmount();
+            count++;
+            first = first == null || createdAt.isBefore(first) ? createdAt : first;
+            last = last == null || createdAt.isAfter(last) ? createdAt : last;
+            switch (entry.getType()) {
+                case DEPOSIT:
+                    deposit = deposit.add(amount);
+                    break;
+                case WITHDRAW:
+                    withdraw = withdraw.add(amount);
+                    break;
+                case TRANSFER_DEBIT:
+                    transferDebit = transferDebit.add(amount);
+                    break;
+                case TRANSFER_CREDIT:
+                    transferCredit = transferCredit.add(amount);
+                    break;
+                default:
+                    throw new TipoLancamentoDesconhecidoException(String.valueOf(entry.getType()));
+            }
+        }
+    }
+}
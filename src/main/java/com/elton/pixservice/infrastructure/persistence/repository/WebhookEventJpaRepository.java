@@ -6,5 +6,4 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface WebhookEventJpaRepository extends JpaRepository<WebhookEventJpaEntity, Long> {
-    boolean existsByEventId(String eventId);
 }
@@ -3,14 +3,22 @@ package com.elton.pixservice.infrastructure.persistence.repository;
 import com.elton.pixservice.domain.repository.WebhookEventRepository;
 import com.elton.pixservice.infrastructure.persistence.entity.WebhookEventJpaEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+
+/**
+ * {@code webhook_events} is partitioned by {@code processed_at} and cannot hold a global
+ * UNIQUE(event_id); deduplication goes through the unpartitioned {@code webhook_event_ids}.
+ */
 @Component
 @RequiredArgsConstructor
 public class WebhookEventRepositoryImpl implements WebhookEventRepository {
 
     private final WebhookEventJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional
@@ -20,12 +28,16 @@ public class WebhookEventRepositoryImpl implements WebhookEventRepository {
                 .endToEndId(endToEndId)
                 .eventType(eventType)
                 .build();
-        jpaRepository.save(entity);
+        WebhookEventJpaEntity saved = jpaRepository.save(entity);
+        // A concurrent duplicate fails here with the primary key violation
+        jdbcTemplate.update("INSERT INTO webhook_event_ids (event_id, processed_at) VALUES (?, ?)",
+                eventId, Timestamp.valueOf(saved.getProcessedAt()));
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean eventAlreadyProcessed(String eventId) {
-        return jpaRepository.existsByEventId(eventId);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM webhook_event_ids WHERE event_id = ?)", Boolean.class, eventId));
     }
 }
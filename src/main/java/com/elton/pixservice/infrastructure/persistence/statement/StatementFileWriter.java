@@ -0,0 +1,274 @@
+package com.elton.pixservice.infrastructure.persistence.statement;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.valueobject.StatementFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes gzip compressed statement files, one wallet at a time, straight to a {@link FileChannel}.
+ *
+ * One writer is reused by a worker for all its wallets: the input and output buffers, the
+ * {@link Deflater} and the checksum are allocated once and reset between files. The gzip
+ * member (header, raw deflate stream, CRC32/ISIZE trailer) is assembled here instead of going
+ * through {@code GZIPOutputStream} so the compressed bytes go from a direct buffer to the
+ * channel without intermediate streams.
+ *
+ * Each file starts with an OPENING_BALANCE record, then one record per entry with the running
+ * balance, and ends with a CLOSING_BALANCE record. It is written under a temporary name and
+ * moved into place when complete, so a rerun simply replaces it.
+ */
+public final class StatementFileWriter implements Closeable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final String CSV_HEADER = "wallet_id,created_at,type,amount,balance,end_to_end_id,description\n";
+    private static final int TRAILER_SIZE = 8;
+    private static final byte[] NO_INPUT = new byte[0];
+
+    private final StatementFormat format;
+    private final ByteBuffer input;
+    private final ByteBuffer output;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final CRC32 crc = new CRC32();
+    private final StringBuilder line = new StringBuilder(512);
+
+    private FileChannel channel;
+    private Path temporary;
+    private Path target;
+    private long walletId;
+    private BigDecimal balance;
+    private LocalDateTime lastTimestamp;
+
+    public StatementFileWriter(StatementFormat format, int bufferSize) {
+        this.format = format;
+        this.input = ByteBuffer.allocate(bufferSize);
+        this.output = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Starts the statement of {@code walletId} for {@code month}.
+     */
+    public void open(Path target, long walletId, YearMonth month, BigDecimal openingBalance) throws IOException {
+        if (channel != null) {
+            throw new IllegalStateException("Statement of wallet " + this.walletId + " is still open");
+        }
+        Files.createDirectories(target.getParent());
+        this.target = target;
+        this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.walletId = walletId;
+        this.balance = openingBalance;
+        this.lastTimestamp = month.atDay(1).atStartOfDay();
+
+        output.put(GZIP_HEADER);
+        if (format == StatementFormat.CSV) {
+            writeText(CSV_HEADER);
+        }
+        record(lastTimestamp, "OPENING_BALANCE", null, null, null);
+    }
+
+    public void append(LedgerEntry entry) throws IOException {
+        BigDecimal signed = entry.getSignedAmount().getAmount();
+        balance = balance.add(signed);
+        lastTimestamp = entry.getCreatedAt();
+        record(entry.getCreatedAt(), entry.getType().name(), signed, entry.getEndToEndId(), entry.getMetadata());
+    }
+
+    /**
+     * Writes the closing record, completes the gzip member and moves the file into place.
+     * Returns the compressed file size.
+     */
+    public long finish() throws IOException {
+        record(lastTimestamp, "CLOSING_BALANCE", null, null, null);
+        deflateInput();
+        deflater.finish();
+        while (!deflater.finished()) {
+            drainIfFull();
+            deflater.deflate(output);
+        }
+        if (output.remaining() < TRAILER_SIZE) {
+            flushOutput();
+        }
+        output.putInt((int) crc.getValue());
+        output.putInt((int) deflater.getBytesRead());
+        flushOutput();
+
+        long size = channel.size();
+        channel.close();
+        channel = null;
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        reset();
+        return size;
+    }
+
+    /**
+     * Releases the deflater, dropping the file being written, if any.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+                Files.deleteIfExists(temporary);
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void record(LocalDateTime createdAt, String type, BigDecimal amount, String endToEndId, String description)
+            throws IOException {
+        line.setLength(0);
+        if (format == StatementFormat.CSV) {
+            line.append(walletId).append(',').append(createdAt).append(',').append(type).append(',');
+            if (amount != null) {
+                line.append(amount.toPlainString());
+            }
+            line.append(',').append(balance.toPlainString()).append(',');
+            appendCsv(endToEndId);
+            line.append(',');
+            appendCsv(description);
+        } else {
+            line.append("{\"walletId\":").append(walletId)
+                    .append(",\"createdAt\":\"").append(createdAt).append('"')
+                    .append(",\"type\":\"").append(type).append('"');
+            if (amount != null) {
+                line.append(",\"amount\":").append(amount.toPlainString());
+            }
+            line.append(",\"balance\":").append(balance.toPlainString());
+            if (endToEndId != null) {
+                line.append(",\"endToEndId\":");
+                appendJson(endToEndId);
+            }
+            if (description != null) {
+                line.append(",\"description\":");
+                appendJson(description);
+            }
+            line.append('}');
+        }
+        line.append('\n');
+        writeText(line);
+    }
+
+    private void appendCsv(String value) {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void appendJson(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+
+    private void writeText(CharSequence text) throws IOException {
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!input.hasRemaining()) {
+                deflateInput();
+            }
+            int length = Math.min(input.remaining(), bytes.length - offset);
+            input.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Compresses everything buffered in {@code input}.
+     */
+    private void deflateInput() throws IOException {
+        input.flip();
+        crc.update(input);
+        input.rewind();
+        deflater.setInput(input);
+        while (!deflater.needsInput()) {
+            drainIfFull();
+            deflater.deflate(output);
+        }
+        // the deflater keeps reading the buffer it was given, detach it before reusing the buffer
+        deflater.setInput(NO_INPUT);
+        input.clear();
+    }
+
+    private void drainIfFull() throws IOException {
+        if (!output.hasRemaining()) {
+            flushOutput();
+        }
+    }
+
+    private void flushOutput() throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+        output.clear();
+    }
+
+    private void reset() {
+        deflater.reset();
+        crc.reset();
+        input.clear();
+        output.clear();
+        temporary = null;
+        target = null;
+        balance = null;
+    }
+}
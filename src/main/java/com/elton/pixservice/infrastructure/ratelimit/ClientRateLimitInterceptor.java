@@ -0,0 +1,52 @@
+package com.elton.pixservice.infrastructure.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the per-client limit of {@link RateLimited} endpoints before the request body is read.
+ *
+ * The client is the {@code pix.rate-limit.client-header} header, {@code X-Real-IP} by default, else
+ * the socket address. The header must be one the caller cannot choose: nginx overwrites
+ * {@code X-Real-IP} with the connection address, and a gateway may set an authenticated client id.
+ * A caller-supplied id would let a client dodge its limit by rotating values, each one a fresh
+ * bucket. Thrown from the handler chain, the limit error goes through the exception handler.
+ * The async dispatch that completes a {@code CompletableFuture}/{@code DeferredResult} response
+ * is not counted again.
+ */
+@Component
+public class ClientRateLimitInterceptor implements HandlerInterceptor {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final String clientHeader;
+
+    public ClientRateLimitInterceptor(TokenBucketRateLimiter rateLimiter,
+                                      @Value("${pix.rate-limit.client-header:X-Real-IP}") String clientHeader) {
+        this.rateLimiter = rateLimiter;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!rateLimiter.isEnabled() || request.getDispatcherType() == DispatcherType.ASYNC
+                || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = ((HandlerMethod) handler).getMethodAnnotation(RateLimited.class);
+        if (rateLimited != null) {
+            rateLimiter.acquire(rateLimited.value(), TokenBucketRateLimiter.CLIENT, clientOf(request));
+        }
+        return true;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String client = request.getHeader(clientHeader);
+        return client == null || client.isBlank() ? request.getRemoteAddr() : client;
+    }
+}
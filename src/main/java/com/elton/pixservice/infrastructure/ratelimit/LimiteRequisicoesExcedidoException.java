@@ -0,0 +1,20 @@
+package com.elton.pixservice.infrastructure.ratelimit;
+
+/**
+ * Exceção lançada quando a carteira de origem ou o cliente da API excede o limite de
+ * requisições do endpoint. O cliente deve aguardar {@link #getRetryAfterSeconds()} segundos.
+ * Proteção de capacidade, não regra de negócio: lançada por {@link TokenBucketRateLimiter}.
+ */
+public class LimiteRequisicoesExcedidoException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LimiteRequisicoesExcedidoException(String endpoint, String scope, long retryAfterSeconds) {
+        super("Rate limit exceeded for " + endpoint + " (per " + scope + "), retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,17 @@
+package com.elton.pixservice.infrastructure.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method as rate limited under {@link #value()}, the endpoint name used in
+ * {@code pix.rate-limit.endpoints.<endpoint>}. Endpoints without configured limits are not limited.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    String value();
+}
@@ -0,0 +1,235 @@
+package com.elton.pixservice.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets per endpoint and key (source wallet or API client), checked before
+ * the request reaches a use case. Limits are per instance; behind nginx each replica enforces
+ * its own share.
+ *
+ * Per endpoint (the name given to {@link RateLimited}) and scope ({@code wallet}, {@code client}):
+ * - {@code pix.rate-limit.endpoints.<endpoint>.<scope>.rate-per-second}: refill rate; absent or
+ *   0 leaves the scope unlimited
+ * - {@code pix.rate-limit.endpoints.<endpoint>.<scope>.burst}: bucket capacity (default: one
+ *   second of refill)
+ *
+ * A bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (GCRA): taking a token is one compare-and-set, with no lock. A full bucket behaves exactly like
+ * a missing one, so idle buckets are dropped without changing any decision. Buckets live in
+ * {@code pix.rate-limit.stripes} maps sharing {@code pix.rate-limit.max-buckets}; a full stripe
+ * first evicts its own idle buckets, and if none is idle the new key is limited (also counted in
+ * {@code pix.ratelimit.overflow}) rather than growing or evicting a live bucket. Failing closed
+ * keeps a flood of new keys from passing unlimited; until buckets go idle it also turns away new
+ * legitimate keys of that stripe, so size {@code max-buckets} above the active key count.
+ * {@link #evictIdle()} sweeps all stripes every {@code pix.rate-limit.sweep-ms}.
+ *
+ * Counter {@code pix.ratelimit.requests} (endpoint, scope, result=allowed|limited) and
+ * gauge {@code pix.ratelimit.buckets}.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    static final String WALLET = "wallet";
+    static final String CLIENT = "client";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final boolean enabled;
+    private final int bucketsPerStripe;
+    private final Stripe[] stripes;
+    private final Counter overflow;
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenBucketRateLimiter(Environment environment,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${pix.rate-limit.enabled:false}") boolean enabled,
+                                  @Value("${pix.rate-limit.max-buckets:100000}") int maxBuckets,
+                                  @Value("${pix.rate-limit.stripes:16}") int stripes) {
+        this(environment, meterRegistry, enabled, maxBuckets, stripes, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(Environment environment, MeterRegistry meterRegistry, boolean enabled,
+                           int maxBuckets, int stripes, LongSupplier nanoClock) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.enabled = enabled;
+        int stripeCount = Math.max(1, stripes);
+        this.bucketsPerStripe = Math.max(1, maxBuckets / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.overflow = Counter.builder("pix.ratelimit.overflow")
+                .description("Requests limited because every bucket of the stripe was in use")
+                .register(meterRegistry);
+        Gauge.builder("pix.ratelimit.buckets", this, TokenBucketRateLimiter::bucketCount)
+                .description("Token buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a token from the {@code scope} bucket of {@code key} for {@code endpoint}.
+     *
+     * @throws LimiteRequisicoesExcedidoException when the bucket is empty, with the seconds
+     *         until a token is available
+     */
+    public void acquire(String endpoint, String scope, String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        Limit limit = limitOf(endpoint, scope);
+        if (limit.intervalNanos == 0) {
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        Bucket bucket = bucketOf(endpoint + '|' + scope + '|' + key, now);
+        // No room for a bucket: limited for one interval, when a bucket may have gone idle
+        long waitNanos = bucket == null ? limit.intervalNanos : bucket.take(now, limit.intervalNanos, limit.toleranceNanos);
+        if (waitNanos <= 0) {
+            limit.allowed.increment();
+            return;
+        }
+        limit.limited.increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        throw new LimiteRequisicoesExcedidoException(endpoint, scope, retryAfterSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${pix.rate-limit.sweep-ms:60000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        for (Stripe stripe : stripes) {
+            stripe.evictIdle(now);
+        }
+    }
+
+    int bucketCount() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            count += stripe.size.get();
+        }
+        return count;
+    }
+
+    private Bucket bucketOf(String key, long now) {
+        Stripe stripe = stripes[(key.hashCode() & Integer.MAX_VALUE) % stripes.length];
+        Bucket bucket = stripe.buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size.get() >= bucketsPerStripe) {
+            stripe.evictIdle(now);
+            if (stripe.size.get() >= bucketsPerStripe) {
+                overflow.increment();
+                return null;
+            }
+        }
+        Bucket created = new Bucket(now);
+        Bucket existing = stripe.buckets.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        stripe.size.incrementAndGet();
+        return created;
+    }
+
+    private Limit limitOf(String endpoint, String scope) {
+        return limits.computeIfAbsent(endpoint + '.' + scope, name -> {
+            String prefix = "pix.rate-limit.endpoints." + name;
+            double ratePerSecond = environment.getProperty(prefix + ".rate-per-second", Double.class, 0.0);
+            long burst = environment.getProperty(prefix + ".burst", Long.class, (long) Math.ceil(ratePerSecond));
+            return new Limit(ratePerSecond, burst, Counter.builder("pix.ratelimit.requests")
+                    .tag("endpoint", endpoint)
+                    .tag("scope", scope)
+                    .tag("result", "allowed")
+                    .description("Requests checked against a rate limit")
+                    .register(meterRegistry), Counter.builder("pix.ratelimit.requests")
+                    .tag("endpoint", endpoint)
+                    .tag("scope", scope)
+                    .tag("result", "limited")
+                    .description("Requests checked against a rate limit")
+                    .register(meterRegistry));
+        });
+    }
+
+    private static final class Limit {
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final Counter allowed;
+        private final Counter limited;
+
+        private Limit(double ratePerSecond, long burst, Counter allowed, Counter limited) {
+            this.intervalNanos = ratePerSecond > 0 ? Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond)) : 0;
+            this.toleranceNanos = intervalNanos * Math.max(1, burst);
+            this.allowed = allowed;
+            this.limited = limited;
+        }
+    }
+
+    private static final class Stripe {
+        private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private void evictIdle(long now) {
+            buckets.forEach((key, bucket) -> {
+                if (bucket.isFull(now) && buckets.remove(key, bucket)) {
+                    size.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Holds the instant the bucket will be full again; each token moves it one interval ahead.
+     */
+    private static final class Bucket {
+        private final AtomicLong fullAt;
+
+        private Bucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        /**
+         * @return 0 when a token was taken, otherwise the nanos until one is available
+         */
+        private long take(long now, long intervalNanos, long toleranceNanos) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long waitNanos = next - now - toleranceNanos;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        private boolean isFull(long now) {
+            return fullAt.get() - now <= 0;
+        }
+    }
+}
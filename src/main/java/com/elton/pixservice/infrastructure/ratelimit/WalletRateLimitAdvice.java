@@ -0,0 +1,52 @@
+package com.elton.pixservice.infrastructure.ratelimit;
+
+import com.elton.pixservice.infrastructure.web.dto.BatchTransferPixRequest;
+import com.elton.pixservice.infrastructure.web.dto.TransferPixRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Applies the per-wallet limit of {@link RateLimited} endpoints to the source wallet of the
+ * request body, once it is read and before the controller method (and its use case) runs.
+ */
+@ControllerAdvice
+public class WalletRateLimitAdvice extends RequestBodyAdviceAdapter {
+
+    private final TokenBucketRateLimiter rateLimiter;
+
+    public WalletRateLimitAdvice(TokenBucketRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return rateLimiter.isEnabled() && methodParameter.hasMethodAnnotation(RateLimited.class);
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        Long walletId = fromWalletIdOf(body);
+        if (walletId != null) {
+            String endpoint = parameter.getMethodAnnotation(RateLimited.class).value();
+            rateLimiter.acquire(endpoint, TokenBucketRateLimiter.WALLET, walletId.toString());
+        }
+        return body;
+    }
+
+    private static Long fromWalletIdOf(Object body) {
+        if (body instanceof TransferPixRequest) {
+            return ((TransferPixRequest) body).getFromWalletId();
+        }
+        if (body instanceof BatchTransferPixRequest) {
+            return ((BatchTransferPixRequest) body).getFromWalletId();
+        }
+        return null;
+    }
+}
@@ -2,17 +2,34 @@ package com.elton.pixservice.infrastructure.web.controller;
 
 import com.elton.pixservice.domain.entity.PixTransfer;
 import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.infrastructure.concurrency.LockRetryTemplate;
+import com.elton.pixservice.infrastructure.concurrency.TransferStatusWaiters;
+import com.elton.pixservice.infrastructure.concurrency.WalletCommandSequencer;
+import com.elton.pixservice.infrastructure.ratelimit.RateLimited;
 import com.elton.pixservice.infrastructure.web.controller.api.PixControllerApi;
-import com.elton.pixservice.infrastructure.web.dto.TransferPixRequest;
-import com.elton.pixservice.infrastructure.web.dto.TransferPixResponse;
-import com.elton.pixservice.infrastructure.web.dto.WebhookRequest;
+import com.elton.pixservice.infrastructure.web.dto.*;
+import com.elton.pixservice.usecase.BatchTransferPixUseCase;
+import com.elton.pixservice.usecase.GetTransferUseCase;
 import com.elton.pixservice.usecase.ProcessWebhookUseCase;
 import com.elton.pixservice.usecase.TransferPixUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * REST Controller for Pix transfer operations.
@@ -29,44 +46,163 @@ public class PixController implements PixControllerApi {
 
     private final TransferPixUseCase transferPixUseCase;
     private final ProcessWebhookUseCase processWebhookUseCase;
+    private final BatchTransferPixUseCase batchTransferPixUseCase;
+    private final ObjectMapper objectMapper;
+    private final LockRetryTemplate lockRetryTemplate;
+    private final WalletCommandSequencer walletCommandSequencer;
+    private final GetTransferUseCase getTransferUseCase;
+    private final TransferStatusWaiters transferStatusWaiters;
+
+    @Value("${pix.transfer.status.max-wait-seconds:30}")
+    private long maxWaitSeconds;
 
     @PostMapping("/transfers")
+    @RateLimited("pix.transfer")
     @Override
-    public ResponseEntity<TransferPixResponse> transferPix(
+    public CompletableFuture<ResponseEntity<TransferPixResponse>> transferPix(
             @RequestHeader("Idempotency-Key") String idempotencyKey,
             @RequestBody TransferPixRequest request) {
 
         log.info("Received Pix transfer request with idempotency key: {}", idempotencyKey);
 
-        PixTransfer transfer = transferPixUseCase.execute(
-                request.getFromWalletId(),
-                request.getPixKey(),
-                Money.of(request.getAmount()),
-                idempotencyKey
-        );
+        Money amount = Money.of(request.getAmount());
+        // Internal settlement locks both wallets, so it bypasses the single-wallet sequencer
+        if (walletCommandSequencer.isEnabled() && !transferPixUseCase.isInternalSettlement()) {
+            return walletCommandSequencer.submit(request.getFromWalletId(), transferPixUseCase.prepareDebit(
+                            request.getFromWalletId(), request.getPixKey(), amount, idempotencyKey))
+                    .thenApply(PixController::created);
+        }
+        return CompletableFuture.completedFuture(created(lockRetryTemplate.execute("pix.transfer",
+                () -> transferPixUseCase.execute(
+                        request.getFromWalletId(),
+                        request.getPixKey(),
+                        amount,
+                        idempotencyKey
+                ))));
+    }
 
-        TransferPixResponse response = TransferPixResponse.builder()
-                .endToEndId(transfer.getEndToEndId())
-                .fromWalletId(transfer.getFromWalletId())
-                .toWalletId(transfer.getToWalletId())
-                .amount(transfer.getAmount().getAmount())
-                .status(transfer.getStatus())
-                .build();
+    /**
+     * Long-poll: the waiter is registered before the status is read, so a change committed in
+     * between still completes the request. Until then no servlet thread or connection is held.
+     */
+    @GetMapping("/transfers/{endToEndId}")
+    @RateLimited("pix.transfer.status")
+    @Override
+    public DeferredResult<ResponseEntity<TransferPixResponse>> getTransfer(
+            @PathVariable String endToEndId,
+            @RequestParam(defaultValue = "0") int wait) {
+
+        long waitSeconds = Math.max(0, Math.min(wait, maxWaitSeconds));
+        if (waitSeconds == 0) {
+            DeferredResult<ResponseEntity<TransferPixResponse>> result = new DeferredResult<>();
+            result.setResult(ResponseEntity.ok(toResponse(getTransferUseCase.execute(endToEndId))));
+            return result;
+        }
+
+        CompletableFuture<PixTransfer> change = transferStatusWaiters.await(endToEndId);
+        PixTransfer current;
+        try {
+            current = getTransferUseCase.execute(endToEndId);
+        } catch (RuntimeException e) {
+            change.cancel(false);
+            throw e;
+        }
+
+        DeferredResult<ResponseEntity<TransferPixResponse>> result =
+                new DeferredResult<>(TimeUnit.SECONDS.toMillis(waitSeconds));
+        if (!current.isPending()) {
+            change.cancel(false);
+            result.setResult(ResponseEntity.ok(toResponse(current)));
+            return result;
+        }
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        change.thenAccept(settled -> result.setResult(ResponseEntity.ok(toResponse(settled))));
+        result.onTimeout(() -> result.setResult(ResponseEntity.ok(toResponse(getTransferUseCase.execute(endToEndId)))));
+        result.onCompletion(() -> change.cancel(false));
+        return result;
     }
 
+    @PostMapping(value = "/transfers/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @RateLimited("pix.transfer.batch")
+    @Override
+    public ResponseEntity<StreamingResponseBody> transferPixBatch(@RequestBody BatchTransferPixRequest request) {
+        log.info("Received Pix transfer batch from wallet: {}, items: {}",
+                request.getFromWalletId(), request.getItems().size());
+
+        List<BatchTransferPixUseCase.Item> items = request.getItems().stream()
+                .map(item -> BatchTransferPixUseCase.Item.builder()
+                        .idempotencyKey(item.getIdempotencyKey())
+                        .pixKey(item.getPixKey())
+                        .amount(Money.of(item.getAmount()))
+                        .build())
+                .collect(Collectors.toList());
+
+        // The batch is one transaction and is committed before the response starts: no item is reported
+        // CREATED and then rolled back, and errors still go through the exception handler. The body only
+        // streams the serialization (one NDJSON line per item, no array buffered), not the processing.
+        List<BatchTransferPixUseCase.ItemResult> results = lockRetryTemplate.execute("pix.transfer.batch",
+                () -> batchTransferPixUseCase.execute(request.getFromWalletId(), items));
+
+        ObjectWriter writer = objectMapper.writerFor(BatchTransferItemResponse.class);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            for (BatchTransferPixUseCase.ItemResult result : results) {
+                out.write(writer.writeValueAsBytes(toResponse(result)));
+                out.write('\n');
+            }
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Webhooks always lock the transfer row before the wallet, so they are not routed through the
+     * wallet command sequencer (which holds the wallet lock first).
+     */
     @PostMapping("/webhook")
     @Override
     public ResponseEntity<Void> processWebhook(@RequestBody WebhookRequest request) {
         log.info("Received webhook event: {}", request.getEventId());
 
-        processWebhookUseCase.execute(
+        lockRetryTemplate.run("pix.webhook", () -> processWebhookUseCase.execute(
                 request.getEventId(),
                 request.getEndToEndId(),
                 request.getEventType()
-        );
+        ));
 
         return ResponseEntity.ok().build();
     }
+
+    private static ResponseEntity<TransferPixResponse> created(PixTransfer transfer) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(transfer));
+    }
+
+    private static TransferPixResponse toResponse(PixTransfer transfer) {
+        return TransferPixResponse.builder()
+                .endToEndId(transfer.getEndToEndId())
+                .fromWalletId(transfer.getFromWalletId())
+                .toWalletId(transfer.getToWalletId())
+                .amount(transfer.getAmount().getAmount())
+                .status(transfer.getStatus())
+                .build();
+    }
+
+    private BatchTransferItemResponse toResponse(BatchTransferPixUseCase.ItemResult result) {
+        BatchTransferItemResponse.BatchTransferItemResponseBuilder response = BatchTransferItemResponse.builder()
+                .idempotencyKey(result.getIdempotencyKey())
+                .outcome(result.getOutcome().name())
+                .error(result.getError());
+
+        PixTransfer transfer = result.getTransfer();
+        if (transfer != null) {
+            response.endToEndId(transfer.getEndToEndId())
+                    .toWalletId(transfer.getToWalletId())
+                    .amount(transfer.getAmount().getAmount())
+                    .status(transfer.getStatus());
+        }
+        return response.build();
+    }
 }
@@ -1,18 +1,30 @@
 package com.elton.pixservice.infrastructure.web.controller;
 
 import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.entity.WalletStats;
 import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.infrastructure.concurrency.LockRetryTemplate;
+import com.elton.pixservice.infrastructure.concurrency.WalletCommandSequencer;
 import com.elton.pixservice.infrastructure.web.controller.api.WalletControllerApi;
 import com.elton.pixservice.infrastructure.web.dto.*;
 import com.elton.pixservice.usecase.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * REST Controller for Wallet management operations.
@@ -27,11 +39,20 @@ import java.time.LocalDateTime;
 @Slf4j
 public class WalletController implements WalletControllerApi {
 
+    // CacheControl only learns "immutable" in Spring 6
+    private static final String IMMUTABLE_CACHE_CONTROL =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue() + ", immutable";
+
     private final CreateWalletUseCase createWalletUseCase;
     private final RegisterPixKeyUseCase registerPixKeyUseCase;
     private final DepositUseCase depositUseCase;
     private final WithdrawUseCase withdrawUseCase;
     private final GetBalanceUseCase getBalanceUseCase;
+    private final GetWalletStatsUseCase getWalletStatsUseCase;
+    private final BulkCreditUseCase bulkCreditUseCase;
+    private final OnboardingUseCase onboardingUseCase;
+    private final LockRetryTemplate lockRetryTemplate;
+    private final WalletCommandSequencer walletCommandSequencer;
 
     @PostMapping
     @Override
@@ -69,39 +90,99 @@ public class WalletController implements WalletControllerApi {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * The sequenced command completes on a sequencer thread after the group commit; without the
+     * sequencer the deposit runs here and the future is already complete.
+     */
     @PostMapping("/{id}/deposit")
     @Override
-    public ResponseEntity<WalletResponse> deposit(
+    public CompletableFuture<ResponseEntity<WalletResponse>> deposit(
             @PathVariable Long id,
             @RequestBody DepositRequest request) {
 
         log.info("Received deposit request for wallet: {}, amount: {}", id, request.getAmount());
 
-        Wallet wallet = depositUseCase.execute(id, Money.of(request.getAmount()));
-
-        WalletResponse response = WalletResponse.builder()
-                .id(wallet.getId())
-                .userId(wallet.getUserId())
-                .balance(wallet.getBalance().getAmount())
-                .build();
-
-        return ResponseEntity.ok(response);
+        Money amount = Money.of(request.getAmount());
+        if (walletCommandSequencer.isEnabled()) {
+            return walletCommandSequencer.submit(id, depositUseCase.asCommand(amount)).thenApply(this::toWalletResponse);
+        }
+        return CompletableFuture.completedFuture(toWalletResponse(
+                lockRetryTemplate.execute("wallet.deposit", () -> depositUseCase.execute(id, amount))));
     }
 
     @PostMapping("/{id}/withdraw")
     @Override
-    public ResponseEntity<WalletResponse> withdraw(
+    public CompletableFuture<ResponseEntity<WalletResponse>> withdraw(
             @PathVariable Long id,
             @RequestBody WithdrawRequest request) {
 
         log.info("Received withdraw request for wallet: {}, amount: {}", id, request.getAmount());
 
-        Wallet wallet = withdrawUseCase.execute(id, Money.of(request.getAmount()));
+        Money amount = Money.of(request.getAmount());
+        if (walletCommandSequencer.isEnabled()) {
+            return walletCommandSequencer.submit(id, withdrawUseCase.asCommand(amount)).thenApply(this::toWalletResponse);
+        }
+        return CompletableFuture.completedFuture(toWalletResponse(
+                lockRetryTemplate.execute("wallet.withdraw", () -> withdrawUseCase.execute(id, amount))));
+    }
 
-        WalletResponse response = WalletResponse.builder()
-                .id(wallet.getId())
-                .userId(wallet.getUserId())
-                .balance(wallet.getBalance().getAmount())
+    @PostMapping("/bulk-credit")
+    @Override
+    public ResponseEntity<BulkCreditResponse> bulkCredit(
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @RequestBody BulkCreditRequest request) {
+        log.info("Received bulk credit request - key: {}, credits: {}, reference: {}",
+                idempotencyKey, request.getCredits().size(), request.getReference());
+
+        BulkCreditUseCase.Result result = bulkCreditUseCase.execute(
+                request.getCredits().stream()
+                        .map(credit -> BulkCreditUseCase.Credit.builder()
+                                .walletId(credit.getWalletId())
+                                .amount(Money.of(credit.getAmount()))
+                                .build())
+                        .collect(Collectors.toList()),
+                request.getReference(),
+                idempotencyKey);
+
+        BulkCreditResponse response = BulkCreditResponse.builder()
+                .creditedWallets(result.getCreditedWallets())
+                .alreadyCreditedWallets(result.getAlreadyCreditedWallets())
+                .ledgerEntries(result.getLedgerEntries())
+                .totalAmount(result.getTotalAmount().getAmount())
+                .missingWalletIds(result.getMissingWalletIds())
+                .chunks(result.getChunks())
+                .elapsedMillis(result.getElapsedMillis())
+                .creditsPerSecond(result.getCreditsPerSecond())
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/onboarding", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @Override
+    public ResponseEntity<OnboardingResponse> onboard(InputStream body) {
+        log.info("Received onboarding file");
+
+        OnboardingUseCase.Result result = onboardingUseCase.execute(
+                new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        OnboardingResponse response = OnboardingResponse.builder()
+                .batchId(result.getBatchId())
+                .rows(result.getRows())
+                .walletsCreated(result.getWalletsCreated())
+                .pixKeysCreated(result.getPixKeysCreated())
+                .rejected(result.getRejections().size())
+                .rejections(result.getRejections().stream()
+                        .map(row -> OnboardingRejectionResponse.builder()
+                                .line(row.getLineNumber())
+                                .userId(row.getUserId())
+                                .keyType(row.getKeyType())
+                                .keyValue(row.getKeyValue())
+                                .reason(row.getRejection())
+                                .build())
+                        .collect(Collectors.toList()))
+                .elapsedMillis(result.getElapsedMillis())
+                .rowsPerSecond(result.getRowsPerSecond())
                 .build();
 
         return ResponseEntity.ok(response);
@@ -111,20 +192,98 @@ public class WalletController implements WalletControllerApi {
     @Override
     public ResponseEntity<BalanceResponse> getBalance(
             @PathVariable Long id,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         log.info("Received balance request for wallet: {}, at: {}", id, at);
 
-        Money balance = at != null
-                ? getBalanceUseCase.getHistoricalBalance(id, at)
-                : getBalanceUseCase.getCurrentBalance(id);
+        if (at != null) {
+            Money balance = getBalanceUseCase.getHistoricalBalance(id, at);
+            String cacheControl = getBalanceUseCase.isSettled(at)
+                    ? IMMUTABLE_CACHE_CONTROL
+                    : CacheControl.noCache().getHeaderValue();
+
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .body(BalanceResponse.builder()
+                            .walletId(id)
+                            .balance(balance.getAmount())
+                            .timestamp(at)
+                            .build());
+        }
+
+        // Cheap version lookup first: an unchanged balance is answered without loading the wallet
+        if (ifNoneMatch != null) {
+            String eTag = balanceETag(id, getBalanceUseCase.getCurrentVersion(id));
+            if (eTagMatches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+        }
+
+        Wallet wallet = getBalanceUseCase.getCurrentWallet(id);
 
         BalanceResponse response = BalanceResponse.builder()
                 .walletId(id)
-                .balance(balance.getAmount())
-                .timestamp(at != null ? at : LocalDateTime.now())
+                .balance(wallet.getBalance().getAmount())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.ok()
+                .eTag(balanceETag(id, wallet.getVersion()))
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    @GetMapping("/{id}/stats")
+    @Override
+    public ResponseEntity<WalletStatsResponse> getStats(@PathVariable Long id) {
+        log.info("Received stats request for wallet: {}", id);
+
+        WalletStats stats = getWalletStatsUseCase.execute(id);
+
+        WalletStatsResponse response = WalletStatsResponse.builder()
+                .walletId(stats.getWalletId())
+                .transactionCount(stats.getTransactionCount())
+                .firstTransactionAt(stats.getFirstTransactionAt())
+                .lastTransactionAt(stats.getLastTransactionAt())
+                .totalDeposits(stats.getTotalDeposits().getAmount())
+                .totalWithdrawals(stats.getTotalWithdrawals().getAmount())
+                .totalTransferDebits(stats.getTotalTransferDebits().getAmount())
+                .totalTransferCredits(stats.getTotalTransferCredits().getAmount())
                 .build();
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Weak validator: the body also carries the time of the request, only the balance is versioned.
+     */
+    private static String balanceETag(Long walletId, long version) {
+        return "W/\"" + walletId + "-" + version + "\"";
+    }
+
+    private static boolean eTagMatches(String ifNoneMatch, String eTag) {
+        String opaqueTag = eTag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<WalletResponse> toWalletResponse(Wallet wallet) {
+        return ResponseEntity.ok(WalletResponse.builder()
+                .id(wallet.getId())
+                .userId(wallet.getUserId())
+                .balance(wallet.getBalance().getAmount())
+                .build());
+    }
 }
@@ -1,5 +1,6 @@
 package com.elton.pixservice.infrastructure.web.controller.api;
 
+import com.elton.pixservice.infrastructure.web.dto.BatchTransferPixRequest;
 import com.elton.pixservice.infrastructure.web.dto.TransferPixRequest;
 import com.elton.pixservice.infrastructure.web.dto.TransferPixResponse;
 import com.elton.pixservice.infrastructure.web.dto.WebhookRequest;
@@ -9,10 +10,15 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * API interface for Pix transfer operations.
@@ -23,24 +29,65 @@ import javax.validation.Valid;
 @Api(tags = "Pix Transfers", description = "Operações de transferência Pix e processamento de webhooks")
 public interface PixControllerApi {
 
+    /**
+     * Completes after the group commit when the wallet command sequencer is enabled; otherwise the
+     * transfer runs on the request thread and the future is already complete.
+     */
     @ApiOperation(value = "Realizar transferência Pix",
                   notes = "Cria uma transferência Pix entre carteiras. " +
                           "A transferência é criada com status PENDING e debita imediatamente da carteira origem. " +
                           "A confirmação/rejeição ocorre via webhook. " +
-                          "Suporta idempotência via header Idempotency-Key.")
+                          "Suporta idempotência via header Idempotency-Key.",
+                  response = TransferPixResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 201, message = "Transferência criada com sucesso (status PENDING)"),
             @ApiResponse(code = 400, message = "Dados inválidos ou chave Pix não encontrada"),
             @ApiResponse(code = 404, message = "Carteira não encontrada"),
-            @ApiResponse(code = 409, message = "Saldo insuficiente ou chave idempotência duplicada")
+            @ApiResponse(code = 409, message = "Saldo insuficiente ou chave idempotência duplicada"),
+            @ApiResponse(code = 429, message = "Limite de requisições da carteira ou do cliente excedido (ver Retry-After)")
     })
-    ResponseEntity<TransferPixResponse> transferPix(
+    CompletableFuture<ResponseEntity<TransferPixResponse>> transferPix(
             @ApiParam(value = "Chave de idempotência única para evitar duplicação", required = true, example = "unique-key-123")
             @RequestHeader("Idempotency-Key") String idempotencyKey,
 
             @ApiParam(value = "Dados da transferência Pix", required = true)
             @Valid @RequestBody TransferPixRequest request);
 
+    @ApiOperation(value = "Consultar transferência Pix",
+                  notes = "Retorna a transferência pelo End-to-End ID. Com wait=<segundos> (limitado por " +
+                          "pix.transfer.status.max-wait-seconds) e a transferência ainda PENDING, a requisição aguarda " +
+                          "sem ocupar thread nem conexão até a confirmação/rejeição ou o fim do prazo, e então " +
+                          "responde com o status atual.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Transferência encontrada (status atual)"),
+            @ApiResponse(code = 404, message = "Transferência não encontrada"),
+            @ApiResponse(code = 429, message = "Limite de consultas do cliente excedido (ver Retry-After)")
+    })
+    DeferredResult<ResponseEntity<TransferPixResponse>> getTransfer(
+            @ApiParam(value = "End-to-End ID da transferência", required = true)
+            @PathVariable String endToEndId,
+
+            @ApiParam(value = "Segundos de espera por mudança de status enquanto PENDING (0 = responde imediatamente)", example = "20")
+            @RequestParam(defaultValue = "0") int wait);
+
+    @ApiOperation(value = "Realizar lote de transferências Pix",
+                  notes = "Cria várias transferências Pix a partir de uma mesma carteira em uma única transação. " +
+                          "A carteira origem é bloqueada uma única vez e debitada pelo total dos itens aceitos. " +
+                          "Cada item possui sua própria chave de idempotência; chave usada por outra requisição, mesmo concorrente, " +
+                          "resulta em DUPLICATE para o item, sem falhar o lote. " +
+                          "A resposta é NDJSON com um resultado por item (CREATED, DUPLICATE ou REJECTED), na ordem do lote, " +
+                          "escrita após o commit do lote inteiro (não há resultados parciais durante o processamento).")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Lote processado; resultado por item no corpo"),
+            @ApiResponse(code = 400, message = "Lote vazio, acima do limite ou com dados inválidos"),
+            @ApiResponse(code = 404, message = "Carteira de origem não encontrada"),
+            @ApiResponse(code = 409, message = "Saldo insuficiente para o total do lote"),
+            @ApiResponse(code = 429, message = "Limite de requisições da carteira ou do cliente excedido (ver Retry-After)")
+    })
+    ResponseEntity<StreamingResponseBody> transferPixBatch(
+            @ApiParam(value = "Carteira de origem e itens do lote", required = true)
+            @Valid @RequestBody BatchTransferPixRequest request);
+
     @ApiOperation(value = "Processar webhook de transferência",
                   notes = "Endpoint para processar eventos de confirmação/rejeição de transferências Pix. " +
                           "Eventos suportados: CONFIRMED (credita na carteira destino) e REJECTED (estorna para carteira origem). " +
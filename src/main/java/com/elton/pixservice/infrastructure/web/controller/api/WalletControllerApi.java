@@ -7,13 +7,17 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.validation.Valid;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * API interface for Wallet management operations.
@@ -47,35 +51,76 @@ public interface WalletControllerApi {
             @ApiParam(value = "Dados da chave Pix", required = true)
             @Valid @RequestBody RegisterPixKeyRequest request);
 
-    @ApiOperation(value = "Depositar", notes = "Realiza um depósito em uma carteira")
+    /**
+     * Completes after the group commit when the wallet command sequencer is enabled; otherwise the
+     * deposit runs on the request thread and the future is already complete.
+     */
+    @ApiOperation(value = "Depositar", notes = "Realiza um depósito em uma carteira", response = WalletResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Depósito realizado com sucesso"),
             @ApiResponse(code = 400, message = "Valor inválido"),
             @ApiResponse(code = 404, message = "Carteira não encontrada")
     })
-    ResponseEntity<WalletResponse> deposit(
+    CompletableFuture<ResponseEntity<WalletResponse>> deposit(
             @ApiParam(value = "ID da carteira", required = true, example = "1")
             @PathVariable Long id,
 
             @ApiParam(value = "Dados do depósito", required = true)
             @Valid @RequestBody DepositRequest request);
 
-    @ApiOperation(value = "Sacar", notes = "Realiza um saque de uma carteira")
+    /**
+     * Same completion as {@link #deposit}.
+     */
+    @ApiOperation(value = "Sacar", notes = "Realiza um saque de uma carteira", response = WalletResponse.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Saque realizado com sucesso"),
             @ApiResponse(code = 400, message = "Valor inválido ou saldo insuficiente"),
             @ApiResponse(code = 404, message = "Carteira não encontrada")
     })
-    ResponseEntity<WalletResponse> withdraw(
+    CompletableFuture<ResponseEntity<WalletResponse>> withdraw(
             @ApiParam(value = "ID da carteira", required = true, example = "1")
             @PathVariable Long id,
 
             @ApiParam(value = "Dados do saque", required = true)
             @Valid @RequestBody WithdrawRequest request);
 
-    @ApiOperation(value = "Consultar saldo", notes = "Consulta o saldo atual ou histórico de uma carteira")
+    @ApiOperation(value = "Crédito em lote",
+            notes = "Credita várias carteiras em uma única chamada (ex.: folha de pagamento). "
+                    + "As carteiras são bloqueadas em ordem crescente de ID e processadas em blocos, "
+                    + "cada bloco em sua própria transação. Carteiras inexistentes são ignoradas e reportadas. "
+                    + "Cada carteira creditada é registrada sob o header Idempotency-Key: repetir a chamada com a "
+                    + "mesma chave (ex.: após uma falha no meio do lote) credita apenas as carteiras restantes.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Créditos aplicados"),
+            @ApiResponse(code = 400, message = "Dados inválidos na requisição")
+    })
+    ResponseEntity<BulkCreditResponse> bulkCredit(
+            @ApiParam(value = "Chave de idempotência da execução (até 200 caracteres)", required = true, example = "folha-2025-10")
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+
+            @ApiParam(value = "Créditos a aplicar", required = true)
+            @Valid @RequestBody BulkCreditRequest request);
+
+    @ApiOperation(value = "Onboarding em lote",
+            notes = "Importa a base de clientes de um parceiro a partir de um CSV (text/csv) com uma linha "
+                    + "user_id,key_type,key_value por cliente (chave opcional; cabeçalho opcional). Cada linha "
+                    + "cria uma carteira e, se informada, a chave Pix. O arquivo é carregado via COPY em uma "
+                    + "tabela de staging e processado em comandos set-based, em uma única transação. "
+                    + "Linhas inválidas, chaves repetidas no arquivo ou já registradas são rejeitadas e reportadas.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Arquivo processado; linhas rejeitadas listadas na resposta"),
+            @ApiResponse(code = 415, message = "Content-Type diferente de text/csv ou text/plain")
+    })
+    ResponseEntity<OnboardingResponse> onboard(
+            @ApiParam(value = "Conteúdo do arquivo CSV", required = true)
+            InputStream body);
+
+    @ApiOperation(value = "Consultar saldo", notes = "Consulta o saldo atual ou histórico de uma carteira. "
+            + "O saldo atual traz um ETag derivado da versão da carteira: com If-None-Match igual, a resposta é 304 "
+            + "sem corpo. O saldo histórico de um instante já consolidado é imutável (Cache-Control: immutable).")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Saldo consultado com sucesso"),
+            @ApiResponse(code = 304, message = "Saldo atual inalterado desde o ETag informado"),
             @ApiResponse(code = 404, message = "Carteira não encontrada")
     })
     ResponseEntity<BalanceResponse> getBalance(
@@ -83,5 +128,18 @@ public interface WalletControllerApi {
             @PathVariable Long id,
 
             @ApiParam(value = "Data/hora para consulta histórica (opcional)", example = "2025-10-15T10:00:00")
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+
+            @ApiParam(value = "ETag de uma consulta anterior do saldo atual (opcional)", example = "W/\"1-42\"")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @ApiOperation(value = "Consultar estatísticas",
+            notes = "Retorna quantidade de lançamentos, primeira e última movimentação e totais por tipo de lançamento")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Estatísticas consultadas com sucesso"),
+            @ApiResponse(code = 404, message = "Carteira não encontrada")
+    })
+    ResponseEntity<WalletStatsResponse> getStats(
+            @ApiParam(value = "ID da carteira", required = true, example = "1")
+            @PathVariable Long id);
 }
@@ -0,0 +1,31 @@
+package com.elton.pixservice.infrastructure.web.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@ApiModel(description = "Item de um lote de transferências Pix")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferItemRequest {
+    @ApiModelProperty(value = "Chave de idempotência do item", required = true, example = "payout-2025-10-001")
+    @NotBlank(message = "Idempotency key is required")
+    private String idempotencyKey;
+
+    @ApiModelProperty(value = "Chave Pix do destinatário", required = true, example = "user@example.com")
+    @NotBlank(message = "Pix key is required")
+    private String pixKey;
+
+    @ApiModelProperty(value = "Valor da transferência", required = true, example = "150.00")
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+    private BigDecimal amount;
+}
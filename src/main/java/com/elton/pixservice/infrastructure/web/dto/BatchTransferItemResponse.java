@@ -0,0 +1,25 @@
+package com.elton.pixservice.infrastructure.web.dto;
+
+import com.elton.pixservice.domain.valueobject.TransferStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchTransferItemResponse {
+    private String idempotencyKey;
+    private String outcome;
+    private String endToEndId;
+    private Long toWalletId;
+    private BigDecimal amount;
+    private TransferStatus status;
+    private String error;
+}
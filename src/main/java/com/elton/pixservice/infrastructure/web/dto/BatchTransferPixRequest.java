@@ -0,0 +1,27 @@
+package com.elton.pixservice.infrastructure.web.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@ApiModel(description = "Requisição para lote de transferências Pix a partir de uma mesma carteira")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferPixRequest {
+    @ApiModelProperty(value = "ID da carteira de origem", required = true, example = "1")
+    @NotNull(message = "From wallet ID is required")
+    private Long fromWalletId;
+
+    @ApiModelProperty(value = "Transferências do lote, cada uma com sua chave de idempotência", required = true)
+    @NotEmpty(message = "At least one transfer is required")
+    @Valid
+    private List<BatchTransferItemRequest> items;
+}
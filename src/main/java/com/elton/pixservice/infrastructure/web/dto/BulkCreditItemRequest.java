@@ -0,0 +1,26 @@
+package com.elton.pixservice.infrastructure.web.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@ApiModel(description = "Crédito individual de um lote")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreditItemRequest {
+    @ApiModelProperty(value = "ID da carteira a ser creditada", required = true, example = "1")
+    @NotNull(message = "Wallet ID is required")
+    private Long walletId;
+
+    @ApiModelProperty(value = "Valor do crédito", required = true, example = "3500.00")
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+    private BigDecimal amount;
+}
@@ -0,0 +1,25 @@
+package com.elton.pixservice.infrastructure.web.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@ApiModel(description = "Requisição de crédito em lote (ex.: folha de pagamento)")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreditRequest {
+    @ApiModelProperty(value = "Referência gravada nos lançamentos", example = "folha-2025-10")
+    private String reference;
+
+    @ApiModelProperty(value = "Créditos a aplicar", required = true)
+    @NotEmpty(message = "At least one credit is required")
+    @Valid
+    private List<BulkCreditItemRequest> credits;
+}
@@ -0,0 +1,24 @@
+package com.elton.pixservice.infrastructure.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreditResponse {
+    private int creditedWallets;
+    private int alreadyCreditedWallets;
+    private int ledgerEntries;
+    private BigDecimal totalAmount;
+    private List<Long> missingWalletIds;
+    private int chunks;
+    private long elapsedMillis;
+    private double creditsPerSecond;
+}
@@ -0,0 +1,18 @@
+package com.elton.pixservice.infrastructure.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OnboardingRejectionResponse {
+    private int line;
+    private String userId;
+    private String keyType;
+    private String keyValue;
+    private String reason;
+}
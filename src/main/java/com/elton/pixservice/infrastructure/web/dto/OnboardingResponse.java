@@ -0,0 +1,24 @@
+package com.elton.pixservice.infrastructure.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OnboardingResponse {
+    private UUID batchId;
+    private long rows;
+    private long walletsCreated;
+    private long pixKeysCreated;
+    private int rejected;
+    private List<OnboardingRejectionResponse> rejections;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+}
@@ -0,0 +1,24 @@
+package com.elton.pixservice.infrastructure.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletStatsResponse {
+    private Long walletId;
+    private long transactionCount;
+    private LocalDateTime firstTransactionAt;
+    private LocalDateTime lastTransactionAt;
+    private BigDecimal totalDeposits;
+    private BigDecimal totalWithdrawals;
+    private BigDecimal totalTransferDebits;
+    private BigDecimal totalTransferCredits;
+}
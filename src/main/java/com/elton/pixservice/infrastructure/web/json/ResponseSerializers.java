@@ -0,0 +1,130 @@
+package com.elton.pixservice.infrastructure.web.json;
+
+import com.elton.pixservice.infrastructure.web.dto.BalanceResponse;
+import com.elton.pixservice.infrastructure.web.dto.TransferPixResponse;
+import com.elton.pixservice.infrastructure.web.dto.WalletResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Hand-written serializers for the responses of the hot endpoints (balance, deposit/withdraw
+ * and transfer). They write fields in declaration order with pre-encoded names, skipping the
+ * bean introspection and per-property dispatch of the default serializer.
+ *
+ * Output must stay identical to the default serializer: nulls are written, enums by name,
+ * {@code BigDecimal} through {@link JsonGenerator#writeNumber(BigDecimal)} (so the mapper's
+ * plain/scientific setting still applies) and dates through the mapper's own serializer.
+ * {@code ResponseSerializersTest} compares both outputs; update it with any new DTO field.
+ */
+public final class ResponseSerializers {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString BALANCE = new SerializedString("balance");
+    private static final SerializableString WALLET_ID = new SerializedString("walletId");
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializableString END_TO_END_ID = new SerializedString("endToEndId");
+    private static final SerializableString FROM_WALLET_ID = new SerializedString("fromWalletId");
+    private static final SerializableString TO_WALLET_ID = new SerializedString("toWalletId");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString STATUS = new SerializedString("status");
+
+    private ResponseSerializers() {
+    }
+
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("pix-response-serializers");
+        module.addSerializer(WalletResponse.class, new WalletResponseSerializer());
+        module.addSerializer(BalanceResponse.class, new BalanceResponseSerializer());
+        module.addSerializer(TransferPixResponse.class, new TransferPixResponseSerializer());
+        return module;
+    }
+
+    static final class WalletResponseSerializer extends StdSerializer<WalletResponse> {
+
+        WalletResponseSerializer() {
+            super(WalletResponse.class);
+        }
+
+        @Override
+        public void serialize(WalletResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(ID);
+            writeLong(gen, value.getId());
+            gen.writeFieldName(USER_ID);
+            gen.writeString(value.getUserId());
+            gen.writeFieldName(BALANCE);
+            writeDecimal(gen, value.getBalance());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class BalanceResponseSerializer extends StdSerializer<BalanceResponse> {
+
+        BalanceResponseSerializer() {
+            super(BalanceResponse.class);
+        }
+
+        @Override
+        public void serialize(BalanceResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(WALLET_ID);
+            writeLong(gen, value.getWalletId());
+            gen.writeFieldName(BALANCE);
+            writeDecimal(gen, value.getBalance());
+            gen.writeFieldName(TIMESTAMP);
+            provider.defaultSerializeValue(value.getTimestamp(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    static final class TransferPixResponseSerializer extends StdSerializer<TransferPixResponse> {
+
+        TransferPixResponseSerializer() {
+            super(TransferPixResponse.class);
+        }
+
+        @Override
+        public void serialize(TransferPixResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(END_TO_END_ID);
+            gen.writeString(value.getEndToEndId());
+            gen.writeFieldName(FROM_WALLET_ID);
+            writeLong(gen, value.getFromWalletId());
+            gen.writeFieldName(TO_WALLET_ID);
+            writeLong(gen, value.getToWalletId());
+            gen.writeFieldName(AMOUNT);
+            writeDecimal(gen, value.getAmount());
+            gen.writeFieldName(STATUS);
+            if (value.getStatus() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value.getStatus().name());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeLong(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeDecimal(JsonGenerator gen, BigDecimal value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+}
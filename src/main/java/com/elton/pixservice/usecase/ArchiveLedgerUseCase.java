@@ -0,0 +1,82 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.LedgerArchiveSummary;
+import com.elton.pixservice.domain.repository.LedgerArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves closed months of the ledger to cold storage.
+ *
+ * For each month older than {@code pix.ledger-archive.min-age-months}: export the partition to a
+ * compressed segment file, verify the file against the partition (entry count, wallet count and
+ * signed sum), then register the month and drop the partition in one transaction. Ledger reads
+ * keep returning the same results, combining segments with live rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArchiveLedgerUseCase {
+
+    private final LedgerArchiveRepository ledgerArchiveRepository;
+
+    @Value("${pix.ledger-archive.min-age-months:13}")
+    private int minAgeMonths;
+
+    @Scheduled(cron = "${pix.ledger-archive.cron:-}")
+    public void scheduledRun() {
+        archiveEligibleMonths();
+    }
+
+    /**
+     * Archives every live month old enough, oldest first. Stops at the first failure.
+     */
+    public List<LedgerArchiveSummary> archiveEligibleMonths() {
+        YearMonth cutoff = cutoff();
+        List<LedgerArchiveSummary> archived = new ArrayList<>();
+        for (YearMonth month : ledgerArchiveRepository.findLiveMonths()) {
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+            archived.add(archiveMonth(month));
+        }
+        log.info("Ledger archive run finished - months archived: {}", archived.size());
+        return archived;
+    }
+
+    public LedgerArchiveSummary archiveMonth(YearMonth month) {
+        if (!month.isBefore(cutoff())) {
+            throw new IllegalArgumentException("Month " + month + " is newer than the archive cutoff " + cutoff());
+        }
+        long started = System.currentTimeMillis();
+        log.info("Archiving ledger month {}", month);
+
+        LedgerArchiveSummary expected = ledgerArchiveRepository.summarizeLiveMonth(month);
+        LedgerArchiveSummary segment = ledgerArchiveRepository.exportMonth(month);
+        if (!segment.sameTotalsAs(expected)) {
+            throw new IllegalStateException("Ledger segment for " + month + " does not match its partition: "
+                    + segment + " vs " + expected);
+        }
+        ledgerArchiveRepository.registerAndDropPartition(segment);
+
+        log.info("Ledger month {} archived - entries: {}, wallets: {}, file: {} ({} bytes), elapsed: {}ms",
+                month, segment.getEntryCount(), segment.getWalletCount(), segment.getSegmentFile(),
+                segment.getFileSize(), System.currentTimeMillis() - started);
+        return segment;
+    }
+
+    public List<LedgerArchiveSummary> getArchivedMonths() {
+        return ledgerArchiveRepository.findArchivedMonths();
+    }
+
+    private YearMonth cutoff() {
+        return YearMonth.now().minusMonths(Math.max(1, minAgeMonths));
+    }
+}
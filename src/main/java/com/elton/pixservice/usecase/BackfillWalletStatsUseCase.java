@@ -0,0 +1,68 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.repository.WalletStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+/**
+ * One-time rebuild of {@code wallet_stats} from the full ledger, for wallets that had entries
+ * before the incremental maintenance existed.
+ *
+ * Walks the wallet id space in ranges of {@code pix.wallet-stats.backfill.range-size}; each range
+ * is one transaction that locks its wallets, so it is safe to run while traffic is live and is
+ * idempotent if interrupted and started again. Runs at startup when
+ * {@code pix.wallet-stats.backfill.enabled} is true.
+ *
+ * Archived ledger months count through their per-wallet totals; the backfill refuses to run
+ * when a month was archived before those totals were recorded, instead of dropping it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BackfillWalletStatsUseCase implements ApplicationRunner {
+
+    private final WalletStatsRepository walletStatsRepository;
+
+    @Value("${pix.wallet-stats.backfill.enabled:false}")
+    private boolean runOnStartup;
+
+    @Value("${pix.wallet-stats.backfill.range-size:1000}")
+    private int rangeSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (runOnStartup) {
+            execute();
+        }
+    }
+
+    /**
+     * @return number of wallets whose statistics were rebuilt
+     */
+    public long execute() {
+        long[] bounds = walletStatsRepository.findWalletIdBounds().orElse(null);
+        if (bounds == null) {
+            log.info("Wallet stats backfill skipped - no wallets");
+            return 0;
+        }
+
+        int size = rangeSize > 0 ? rangeSize : 1000;
+        long started = System.currentTimeMillis();
+        long rebuilt = 0;
+        log.info("Starting wallet stats backfill - wallet ids: {}..{}, range size: {}", bounds[0], bounds[1], size);
+
+        for (long fromId = bounds[0]; fromId <= bounds[1]; fromId += size) {
+            long toId = Math.min(fromId + size - 1, bounds[1]);
+            rebuilt += walletStatsRepository.rebuildRange(fromId, toId);
+            log.debug("Wallet stats backfill progress - up to wallet {}, rebuilt: {}", toId, rebuilt);
+        }
+
+        log.info("Wallet stats backfill completed - wallets: {}, elapsed: {}ms",
+                rebuilt, System.currentTimeMillis() - started);
+        return rebuilt;
+    }
+}
@@ -0,0 +1,217 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.entity.PixKey;
+import com.elton.pixservice.domain.entity.PixTransfer;
+import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.exception.SaldoInsuficienteException;
+import com.elton.pixservice.domain.exception.TransferenciaInvalidaException;
+import com.elton.pixservice.domain.exception.WalletNaoEncontradaException;
+import com.elton.pixservice.domain.repository.*;
+import com.elton.pixservice.domain.valueobject.EndToEndId;
+import com.elton.pixservice.domain.valueobject.LedgerEntryType;
+import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.domain.valueobject.TransferStatus;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many Pix transfers from a single source wallet in one transaction.
+ *
+ * Pix keys and idempotency keys are resolved with one query each, the source
+ * wallet is locked once and debited by the total of the accepted items, and the
+ * transfers, ledger entries and idempotency keys are written with batched inserts.
+ * Items that cannot be processed (duplicate key, unknown Pix key, same wallet) are
+ * reported individually and do not abort the batch; an insufficient balance for
+ * the accepted total does.
+ *
+ * Idempotency keys are claimed with {@code ON CONFLICT DO NOTHING} right after the source
+ * lock (the lock order of single transfers), before the total is computed: a key taken by a
+ * concurrent batch or transfer meanwhile becomes a DUPLICATE item instead of a unique
+ * violation that would fail the whole batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchTransferPixUseCase {
+
+    private static final String SCOPE = "pix_transfer";
+
+    private final WalletRepository walletRepository;
+    private final PixKeyRepository pixKeyRepository;
+    private final PixTransferRepository pixTransferRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final IdempotencyRepository idempotencyRepository;
+
+    @Value("${pix.transfer.batch.max-items:1000}")
+    private int maxItems;
+
+    @Transactional
+    public List<ItemResult> execute(Long fromWalletId, List<Item> items) {
+        log.info("Processing Pix transfer batch - from: {}, items: {}", fromWalletId, items.size());
+
+        if (items.isEmpty()) {
+            throw TransferenciaInvalidaException.loteVazio();
+        }
+        if (maxItems > 0 && items.size() > maxItems) {
+            throw TransferenciaInvalidaException.loteExcedeLimite(maxItems);
+        }
+
+        Set<String> alreadyProcessed = idempotencyRepository.findExistingKeys(SCOPE, items.stream()
+                .map(Item::getIdempotencyKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        Map<String, PixKey> keysByValue = pixKeyRepository.findByKeyValueIn(items.stream()
+                        .map(Item::getPixKey)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(PixKey::getKeyValue, Function.identity()));
+
+        ItemResult[] results = new ItemResult[items.size()];
+        List<Integer> accepted = new ArrayList<>();
+        Set<String> seenInBatch = new HashSet<>();
+        Money total = Money.zero();
+
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            String key = item.getIdempotencyKey();
+
+            if (key == null || key.isBlank()) {
+                results[i] = ItemResult.rejected(item, "Idempotency key is required");
+            } else if (alreadyProcessed.contains(key) || !seenInBatch.add(key)) {
+                results[i] = ItemResult.builder().idempotencyKey(key).outcome(Outcome.DUPLICATE).build();
+            } else if (item.getAmount() == null || !item.getAmount().isPositive()) {
+                results[i] = ItemResult.rejected(item, "Amount must be greater than zero");
+            } else if (!keysByValue.containsKey(item.getPixKey())) {
+                results[i] = ItemResult.rejected(item, "Pix key not found: " + item.getPixKey());
+            } else if (fromWalletId.equals(keysByValue.get(item.getPixKey()).getWalletId())) {
+                results[i] = ItemResult.rejected(item, TransferenciaInvalidaException.mesmaCarteira().getMessage());
+            } else {
+                accepted.add(i);
+                total = total.add(item.getAmount());
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            log.info("Pix transfer batch from wallet {} has no acceptable items", fromWalletId);
+            return Arrays.asList(results);
+        }
+
+        // Lock the source once for the whole batch
+        Wallet sourceWallet = walletRepository.findByIdWithLock(fromWalletId)
+                .orElseThrow(() -> new WalletNaoEncontradaException("Source wallet not found: " + fromWalletId));
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        Map<String, String> idempotencyResponses = new LinkedHashMap<>();
+        for (int index : accepted) {
+            idempotencyResponses.put(items.get(index).getIdempotencyKey(), EndToEndId.generate(createdAt).getValue());
+        }
+        Set<String> claimed = idempotencyRepository.saveIdempotencyKeys(SCOPE, idempotencyResponses);
+
+        List<Integer> claimedItems = new ArrayList<>(accepted.size());
+        for (int index : accepted) {
+            Item item = items.get(index);
+            if (claimed.contains(item.getIdempotencyKey())) {
+                claimedItems.add(index);
+            } else {
+                total = total.subtract(item.getAmount());
+                results[index] = ItemResult.builder().idempotencyKey(item.getIdempotencyKey()).outcome(Outcome.DUPLICATE).build();
+            }
+        }
+        if (claimedItems.isEmpty()) {
+            log.info("Pix transfer batch from wallet {} lost every idempotency key to concurrent requests", fromWalletId);
+            return Arrays.asList(results);
+        }
+
+        if (!sourceWallet.hasSufficientBalance(total)) {
+            throw new SaldoInsuficienteException(sourceWallet.getBalance().getAmount(), total.getAmount());
+        }
+
+        sourceWallet.withdraw(total);
+        walletRepository.save(sourceWallet);
+
+        // Destination wallets are guaranteed to exist by fk_pix_keys_wallet
+        List<PixTransfer> transfers = new ArrayList<>(claimedItems.size());
+        List<LedgerEntry> debitEntries = new ArrayList<>(claimedItems.size());
+
+        for (int index : claimedItems) {
+            Item item = items.get(index);
+            String endToEndId = idempotencyResponses.get(item.getIdempotencyKey());
+
+            PixTransfer transfer = PixTransfer.builder()
+                    .endToEndId(endToEndId)
+                    .fromWalletId(fromWalletId)
+                    .toWalletId(keysByValue.get(item.getPixKey()).getWalletId())
+                    .amount(item.getAmount())
+                    .status(TransferStatus.PENDING)
+                    .createdAt(createdAt)
+                    .build();
+            transfers.add(transfer);
+
+            debitEntries.add(LedgerEntry.builder()
+                    .walletId(fromWalletId)
+                    .amount(item.getAmount())
+                    .type(LedgerEntryType.TRANSFER_DEBIT)
+                    .endToEndId(endToEndId)
+                    .metadata("Pix transfer to " + item.getPixKey())
+                    .build());
+
+            results[index] = ItemResult.builder()
+                    .idempotencyKey(item.getIdempotencyKey())
+                    .outcome(Outcome.CREATED)
+                    .transfer(transfer)
+                    .build();
+        }
+
+        pixTransferRepository.saveAll(transfers);
+        ledgerEntryRepository.saveAll(debitEntries);
+
+        log.info("Pix transfer batch from wallet {} processed - created: {}, total: {}",
+                fromWalletId, transfers.size(), total);
+
+        return Arrays.asList(results);
+    }
+
+    @Getter
+    @Builder
+    public static class Item {
+        private final String idempotencyKey;
+        private final String pixKey;
+        private final Money amount;
+    }
+
+    public enum Outcome {
+        CREATED,
+        DUPLICATE,
+        REJECTED
+    }
+
+    @Getter
+    @Builder
+    public static class ItemResult {
+        private final String idempotencyKey;
+        private final Outcome outcome;
+        private final PixTransfer transfer;
+        private final String error;
+
+        static ItemResult rejected(Item item, String error) {
+            return ItemResult.builder()
+                    .idempotencyKey(item.getIdempotencyKey())
+                    .outcome(Outcome.REJECTED)
+                    .error(error)
+                    .build();
+        }
+    }
+}
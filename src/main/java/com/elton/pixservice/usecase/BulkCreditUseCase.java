@@ -0,0 +1,223 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.exception.ValorInvalidoException;
+import com.elton.pixservice.domain.repository.IdempotencyRepository;
+import com.elton.pixservice.domain.repository.LedgerEntryRepository;
+import com.elton.pixservice.domain.repository.WalletRepository;
+import com.elton.pixservice.domain.valueobject.LedgerEntryType;
+import com.elton.pixservice.domain.valueobject.Money;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Credits many wallets at once (payroll runs).
+ *
+ * Credits are grouped by wallet and processed in ascending wallet id order, in chunks
+ * of {@code pix.wallet.bulk-credit.chunk-size} wallets. Each chunk runs in its own
+ * transaction: the wallets are locked with a single ordered {@code SELECT ... FOR UPDATE},
+ * then balances and ledger entries are written with JDBC batching. Since every multi-wallet
+ * lock in the service is taken in ascending id order, a chunk cannot deadlock with
+ * concurrent transfers.
+ *
+ * Chunks are committed independently: a failure stops the run and the result of the
+ * already committed chunks is kept. Unknown wallet ids are skipped and reported.
+ *
+ * Every run carries an idempotency key. Each credited wallet is recorded as
+ * {@code <key>:<walletId>} in {@code idempotency_keys} in the same transaction as its credit,
+ * and the chunk checks those records after locking its wallets: retrying a run that failed
+ * halfway (or a concurrent duplicate of it) only credits the wallets that were not committed
+ * yet, whatever the chunk size of either attempt.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkCreditUseCase {
+
+    private static final String SCOPE = "bulk_credit";
+
+    /**
+     * Leaves room for {@code :<walletId>} within idempotency_keys.key_value (255).
+     */
+    private static final int MAX_RUN_KEY_LENGTH = 200;
+
+    private final WalletRepository walletRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final IdempotencyRepository idempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${pix.wallet.bulk-credit.chunk-size:500}")
+    private int chunkSize;
+
+    public Result execute(List<Credit> credits, String reference, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new IllegalArgumentException("Idempotency key is required for bulk credit");
+        }
+        if (idempotencyKey.length() > MAX_RUN_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency key must have at most " + MAX_RUN_KEY_LENGTH + " characters");
+        }
+        for (Credit credit : credits) {
+            if (credit.getAmount() == null) {
+                throw ValorInvalidoException.valorNaoPodeSerNulo();
+            }
+            if (!credit.getAmount().isPositive()) {
+                throw ValorInvalidoException.depositoDeveSerPositivo();
+            }
+        }
+
+        // Ascending wallet id order; repeated wallets keep their original relative order
+        TreeMap<Long, List<Credit>> creditsByWallet = credits.stream()
+                .collect(Collectors.groupingBy(Credit::getWalletId, TreeMap::new, Collectors.toList()));
+        List<Long> walletIds = new ArrayList<>(creditsByWallet.keySet());
+
+        int size = chunkSize > 0 ? chunkSize : 500;
+        int totalChunks = (walletIds.size() + size - 1) / size;
+        String metadata = reference != null && !reference.isBlank()
+                ? "Bulk credit: " + reference
+                : "Bulk credit";
+
+        log.info("Processing bulk credit - key: {}, credits: {}, wallets: {}, chunks: {}",
+                idempotencyKey, credits.size(), walletIds.size(), totalChunks);
+
+        long startedAt = System.nanoTime();
+        int creditedWallets = 0;
+        int alreadyCreditedWallets = 0;
+        int ledgerEntries = 0;
+        Money totalAmount = Money.zero();
+        List<Long> missingWalletIds = new ArrayList<>();
+
+        for (int chunk = 0; chunk < totalChunks; chunk++) {
+            List<Long> chunkIds = walletIds.subList(chunk * size, Math.min((chunk + 1) * size, walletIds.size()));
+
+            ChunkResult chunkResult = transactionTemplate.execute(status ->
+                    creditChunk(chunkIds, creditsByWallet, metadata, idempotencyKey));
+
+            creditedWallets += chunkResult.creditedWallets;
+            alreadyCreditedWallets += chunkResult.alreadyCreditedWallets;
+            ledgerEntries += chunkResult.ledgerEntries;
+            totalAmount = totalAmount.add(chunkResult.amount);
+            missingWalletIds.addAll(chunkResult.missingWalletIds);
+
+            long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+            log.info("Bulk credit progress - chunk {}/{}, wallets credited: {}/{}, {} credits/s",
+                    chunk + 1, totalChunks, creditedWallets, walletIds.size(),
+                    ledgerEntries * 1000L / elapsedMillis);
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        Result result = Result.builder()
+                .creditedWallets(creditedWallets)
+                .alreadyCreditedWallets(alreadyCreditedWallets)
+                .ledgerEntries(ledgerEntries)
+                .totalAmount(totalAmount)
+                .missingWalletIds(missingWalletIds)
+                .chunks(totalChunks)
+                .elapsedMillis(elapsedMillis)
+                .creditsPerSecond(ledgerEntries * 1000.0 / elapsedMillis)
+                .build();
+
+        log.info("Bulk credit finished - wallets: {}, already credited: {}, entries: {}, total: {}, missing: {}, elapsed: {} ms",
+                creditedWallets, alreadyCreditedWallets, ledgerEntries, totalAmount, missingWalletIds.size(), elapsedMillis);
+
+        return result;
+    }
+
+    private ChunkResult creditChunk(List<Long> walletIds, Map<Long, List<Credit>> creditsByWallet,
+                                    String metadata, String idempotencyKey) {
+        List<Wallet> wallets = walletRepository.findAllByIdWithLock(walletIds);
+
+        // Read after the locks: a concurrent attempt of the same run has committed or not started
+        Set<String> alreadyCredited = idempotencyRepository.findExistingKeys(SCOPE, wallets.stream()
+                .map(wallet -> walletKey(idempotencyKey, wallet.getId()))
+                .collect(Collectors.toList()));
+
+        Set<Long> found = new HashSet<>();
+        List<Wallet> credited = new ArrayList<>();
+        List<LedgerEntry> entries = new ArrayList<>();
+        Map<String, String> creditedAmounts = new LinkedHashMap<>();
+        Money amount = Money.zero();
+
+        for (Wallet wallet : wallets) {
+            found.add(wallet.getId());
+            String walletKey = walletKey(idempotencyKey, wallet.getId());
+            if (alreadyCredited.contains(walletKey)) {
+                continue;
+            }
+            Money walletAmount = Money.zero();
+            for (Credit credit : creditsByWallet.get(wallet.getId())) {
+                wallet.deposit(credit.getAmount());
+                walletAmount = walletAmount.add(credit.getAmount());
+                entries.add(LedgerEntry.builder()
+                        .walletId(wallet.getId())
+                        .amount(credit.getAmount())
+                        .type(LedgerEntryType.DEPOSIT)
+                        .metadata(metadata)
+                        .build());
+            }
+            amount = amount.add(walletAmount);
+            credited.add(wallet);
+            creditedAmounts.put(walletKey, walletAmount.getAmount().toPlainString());
+        }
+
+        walletRepository.updateBalances(credited);
+        ledgerEntryRepository.saveAll(entries);
+        idempotencyRepository.saveIdempotencyKeys(SCOPE, creditedAmounts);
+
+        if (!alreadyCredited.isEmpty()) {
+            log.info("Bulk credit skipped {} wallets already credited under key {}",
+                    alreadyCredited.size(), idempotencyKey);
+        }
+
+        List<Long> missing = walletIds.stream()
+                .filter(id -> !found.contains(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            log.warn("Bulk credit skipped {} unknown wallets: {}", missing.size(), missing);
+        }
+
+        return new ChunkResult(credited.size(), alreadyCredited.size(), entries.size(), amount, missing);
+    }
+
+    private static String walletKey(String idempotencyKey, Long walletId) {
+        return idempotencyKey + ':' + walletId;
+    }
+
+    @Getter
+    @Builder
+    public static class Credit {
+        private final Long walletId;
+        private final Money amount;
+    }
+
+    @Getter
+    @Builder
+    public static class Result {
+        private final int creditedWallets;
+        private final int alreadyCreditedWallets;
+        private final int ledgerEntries;
+        private final Money totalAmount;
+        private final List<Long> missingWalletIds;
+        private final int chunks;
+        private final long elapsedMillis;
+        private final double creditsPerSecond;
+    }
+
+    @RequiredArgsConstructor
+    private static class ChunkResult {
+        private final int creditedWallets;
+        private final int alreadyCreditedWallets;
+        private final int ledgerEntries;
+        private final Money amount;
+        private final List<Long> missingWalletIds;
+    }
+}
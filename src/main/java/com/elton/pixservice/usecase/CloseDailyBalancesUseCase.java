@@ -0,0 +1,57 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.DailyClosing;
+import com.elton.pixservice.domain.repository.DailyBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * End-of-day closing balances for every wallet (regulatory reports).
+ *
+ * A day can only be closed {@code pix.daily-balance.grace-minutes} after its cutoff (midnight),
+ * so transactions that stamped their entries before midnight have committed. Closings also
+ * speed up historical balance queries, which start from the nearest one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CloseDailyBalancesUseCase {
+
+    private static final int MAX_LISTED = 90;
+
+    private final DailyBalanceRepository dailyBalanceRepository;
+
+    @Value("${pix.daily-balance.grace-minutes:5}")
+    private int graceMinutes;
+
+    @Scheduled(cron = "${pix.daily-balance.cron:-}")
+    public void scheduledRun() {
+        closeDay(LocalDate.now().minusDays(1));
+    }
+
+    public DailyClosing closeDay(LocalDate businessDate) {
+        LocalDateTime closableAt = DailyClosing.cutoffOf(businessDate).plusMinutes(Math.max(0, graceMinutes));
+        if (LocalDateTime.now().isBefore(closableAt)) {
+            throw new IllegalArgumentException("Day " + businessDate + " can only be closed after " + closableAt);
+        }
+        log.info("Closing daily balances for {}", businessDate);
+
+        DailyClosing closing = dailyBalanceRepository.close(businessDate);
+
+        log.info("Daily balances for {} closed - wallets: {}, total: {}, base: {}, elapsed: {}ms",
+                businessDate, closing.getWalletCount(), closing.getTotalBalance(),
+                closing.getBaseDate() != null ? closing.getBaseDate() : "full ledger", closing.getElapsedMillis());
+        return closing;
+    }
+
+    public List<DailyClosing> getClosings() {
+        return dailyBalanceRepository.findClosings(MAX_LISTED);
+    }
+}
@@ -8,9 +8,13 @@ import com.elton.pixservice.domain.valueobject.LedgerEntryType;
 import com.elton.pixservice.domain.valueobject.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -19,27 +23,44 @@ public class DepositUseCase {
     private final WalletRepository walletRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
 
+    /**
+     * Optimistic mode: the wallet is read without a lock and written with a version check; a
+     * conflict rolls back and is retried by the caller's {@code LockRetryTemplate}.
+     */
+    @Value("${pix.lock.operations.wallet.deposit.optimistic:false}")
+    private boolean optimistic;
+
     @Transactional
     public Wallet execute(Long walletId, Money amount) {
         log.info("Processing deposit for wallet: {}, amount: {}", walletId, amount);
 
-        Wallet wallet = walletRepository.findByIdWithLock(walletId)
+        Wallet wallet = (optimistic ? walletRepository.findById(walletId) : walletRepository.findByIdWithLock(walletId))
                 .orElseThrow(() -> new IllegalArgumentException("Wallet not found: " + walletId));
 
-        wallet.deposit(amount);
-        Wallet updatedWallet = walletRepository.save(wallet);
-
-        // Create ledger entry
-        LedgerEntry ledgerEntry = LedgerEntry.builder()
-                .walletId(walletId)
-                .amount(amount)
-                .type(LedgerEntryType.DEPOSIT)
-                .metadata("Deposit operation")
-                .build();
-        ledgerEntryRepository.save(ledgerEntry);
+        List<LedgerEntry> ledgerEntries = new ArrayList<>();
+        asCommand(amount).apply(wallet, ledgerEntries);
+        Wallet updatedWallet = optimistic ? walletRepository.updateBalanceIfUnchanged(wallet) : walletRepository.save(wallet);
+        ledgerEntries.forEach(ledgerEntryRepository::save);
 
         log.info("Deposit processed successfully for wallet: {}, new balance: {}", walletId, updatedWallet.getBalance());
 
         return updatedWallet;
     }
+
+    /**
+     * The deposit itself, applied to the locked wallet by {@link #execute} or by the wallet
+     * command sequencer. Returns a snapshot of the wallet right after this deposit.
+     */
+    public WalletCommand<Wallet> asCommand(Money amount) {
+        return (wallet, ledgerEntries) -> {
+            wallet.deposit(amount);
+            ledgerEntries.add(LedgerEntry.builder()
+                    .walletId(wallet.getId())
+                    .amount(amount)
+                    .type(LedgerEntryType.DEPOSIT)
+                    .metadata("Deposit operation")
+                    .build());
+            return wallet.toBuilder().build();
+        };
+    }
 }
@@ -0,0 +1,121 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.PixTransfer;
+import com.elton.pixservice.domain.repository.PixTransferRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rejects transfers still PENDING {@code pix.transfer.pending-sweeper.timeout-minutes} after
+ * creation (their webhook never arrived) and refunds the source wallets.
+ *
+ * Each batch of {@code pix.transfer.pending-sweeper.batch-size} transfers is one transaction that
+ * claims them with {@code FOR UPDATE SKIP LOCKED}, so every instance runs the sweeper at the same
+ * time without waiting on each other or on a webhook holding one of the rows. A webhook that
+ * arrives after the expiry finds a REJECTED transfer and is ignored like any invalid transition.
+ *
+ * Gauges {@code pix.transfers.pending} and {@code pix.transfers.pending.oldest.age} are refreshed
+ * at the end of every sweep; counter {@code pix.transfers.expired} counts the rejected transfers.
+ */
+@Service
+@Slf4j
+public class ExpirePendingTransfersUseCase {
+
+    private final PixTransferRepository pixTransferRepository;
+    private final ProcessWebhookUseCase processWebhookUseCase;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration timeout;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter expiredCounter;
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicReference<LocalDateTime> oldestPending = new AtomicReference<>();
+
+    public ExpirePendingTransfersUseCase(PixTransferRepository pixTransferRepository,
+                                         ProcessWebhookUseCase processWebhookUseCase,
+                                         TransactionTemplate transactionTemplate,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${pix.transfer.pending-sweeper.timeout-minutes:30}") long timeoutMinutes,
+                                         @Value("${pix.transfer.pending-sweeper.batch-size:100}") int batchSize,
+                                         @Value("${pix.transfer.pending-sweeper.max-batches:50}") int maxBatches) {
+        this.pixTransferRepository = pixTransferRepository;
+        this.processWebhookUseCase = processWebhookUseCase;
+        this.transactionTemplate = transactionTemplate;
+        this.timeout = Duration.ofMinutes(Math.max(1, timeoutMinutes));
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+        this.expiredCounter = Counter.builder("pix.transfers.expired")
+                .description("Pending transfers rejected and refunded after the webhook timeout")
+                .register(meterRegistry);
+        Gauge.builder("pix.transfers.pending", pendingCount, AtomicLong::get)
+                .description("Transfers waiting for their webhook, as of the last sweep")
+                .register(meterRegistry);
+        TimeGauge.builder("pix.transfers.pending.oldest.age", this, TimeUnit.SECONDS,
+                        ExpirePendingTransfersUseCase::oldestPendingAgeSeconds)
+                .description("Age of the oldest transfer waiting for its webhook, as of the last sweep")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${pix.transfer.pending-sweeper.cron:0 * * * * *}")
+    public void scheduledRun() {
+        try {
+            sweep();
+        } catch (DataAccessException ex) {
+            log.error("Pending transfer sweep failed", ex);
+        }
+    }
+
+    /**
+     * Rejects expired pending transfers, at most {@code max-batches} batches per call, and returns
+     * how many were rejected.
+     */
+    public int sweep() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(timeout);
+        int expired = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int[] claimed = new int[1];
+            Integer rejected = transactionTemplate.execute(status -> {
+                List<PixTransfer> transfers = pixTransferRepository.claimPendingCreatedBefore(createdBefore, batchSize);
+                claimed[0] = transfers.size();
+                return processWebhookUseCase.rejectExpired(transfers);
+            });
+            expired += rejected != null ? rejected : 0;
+            if (claimed[0] < batchSize) {
+                break;
+            }
+        }
+
+        if (expired > 0) {
+            expiredCounter.increment(expired);
+            log.warn("Rejected {} transfers pending since before {}", expired, createdBefore);
+        }
+        refreshGauges();
+        return expired;
+    }
+
+    private void refreshGauges() {
+        pendingCount.set(pixTransferRepository.countPending());
+        oldestPending.set(pixTransferRepository.findOldestPendingCreatedAt().orElse(null));
+    }
+
+    private double oldestPendingAgeSeconds() {
+        LocalDateTime oldest = oldestPending.get();
+        return oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).getSeconds()) : 0;
+    }
+}
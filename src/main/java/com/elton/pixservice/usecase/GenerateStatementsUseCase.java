@@ -0,0 +1,189 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.StatementCheckpoint;
+import com.elton.pixservice.domain.repository.StatementRepository;
+import com.elton.pixservice.domain.valueobject.StatementFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the monthly statement file of every wallet with ledger entries in the month.
+ *
+ * The wallet id space is split into {@code pix.statements.workers} ranges, each exported by its
+ * own worker thread in chunks of {@code pix.statements.chunk-size} wallet ids (one transaction
+ * and one checkpoint update per chunk). A run that fails or is interrupted resumes from the
+ * checkpoints on the next call; completed ranges are skipped.
+ *
+ * Metrics: counters {@code pix.statements.wallets} and {@code pix.statements.bytes}, and gauges
+ * {@code pix.statements.throughput.wallets} (wallets/s) and {@code pix.statements.throughput.bytes}
+ * (bytes/s) for the running or last run.
+ */
+@Service
+@Slf4j
+public class GenerateStatementsUseCase {
+
+    private final StatementRepository statementRepository;
+    private final int workers;
+    private final int chunkSize;
+    private final Counter walletsCounter;
+    private final Counter bytesCounter;
+    private final AtomicLong walletsPerSecond = new AtomicLong();
+    private final AtomicLong bytesPerSecond = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public GenerateStatementsUseCase(StatementRepository statementRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${pix.statements.workers:4}") int workers,
+                                     @Value("${pix.statements.chunk-size:1000}") int chunkSize) {
+        this.statementRepository = statementRepository;
+        this.workers = Math.max(1, workers);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.walletsCounter = Counter.builder("pix.statements.wallets")
+                .description("Wallet statement files written")
+                .register(meterRegistry);
+        this.bytesCounter = Counter.builder("pix.statements.bytes")
+                .description("Compressed statement bytes written")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("pix.statements.throughput.wallets", walletsPerSecond, AtomicLong::get)
+                .description("Statement files per second of the running or last run")
+                .register(meterRegistry);
+        Gauge.builder("pix.statements.throughput.bytes", bytesPerSecond, AtomicLong::get)
+                .description("Compressed statement bytes per second of the running or last run")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${pix.statements.cron:-}")
+    public void scheduledRun() {
+        generate(YearMonth.now().minusMonths(1), StatementFormat.CSV, false);
+    }
+
+    /**
+     * Generates (or resumes) the statements of {@code month}. With {@code restart} the stored
+     * progress is discarded and every file is written again.
+     */
+    public Result generate(YearMonth month, StatementFormat format, boolean restart) {
+        if (!month.isBefore(YearMonth.now())) {
+            throw new IllegalArgumentException("Month " + month + " is not closed yet");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A statement run is already in progress");
+        }
+        try {
+            if (restart) {
+                statementRepository.deleteCheckpoints(month, format);
+            }
+            return run(month, format);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Result run(YearMonth month, StatementFormat format) {
+        List<StatementCheckpoint> pending = statementRepository.findOrCreateCheckpoints(month, format, workers).stream()
+                .filter(checkpoint -> !checkpoint.isComplete())
+                .collect(Collectors.toList());
+        log.info("Generating {} statements for {} - pending ranges: {}", format, month, pending.size());
+
+        long startedAt = System.nanoTime();
+        AtomicLong wallets = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        walletsPerSecond.set(0);
+        bytesPerSecond.set(0);
+
+        if (!pending.isEmpty()) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(workers, pending.size()), runnable -> {
+                Thread thread = new Thread(runnable, "statement-worker-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (StatementCheckpoint checkpoint : pending) {
+                    futures.add(pool.submit(() -> exportRange(checkpoint, wallets, bytes, startedAt)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Statement run for " + month + " interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Statement run for " + month + " failed; rerun to resume", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        Result result = Result.builder()
+                .month(month)
+                .format(format)
+                .ranges(pending.size())
+                .walletsWritten(wallets.get())
+                .bytesWritten(bytes.get())
+                .elapsedMillis(elapsedMillis)
+                .walletsPerSecond(wallets.get() * 1000.0 / elapsedMillis)
+                .megabytesPerSecond(bytes.get() * 1000.0 / elapsedMillis / (1024 * 1024))
+                .build();
+
+        log.info("Statements for {} finished - wallets: {}, bytes: {}, elapsed: {} ms, {} wallets/s, {} MB/s",
+                month, result.getWalletsWritten(), result.getBytesWritten(), elapsedMillis,
+                Math.round(result.getWalletsPerSecond()), String.format("%.2f", result.getMegabytesPerSecond()));
+        return result;
+    }
+
+    private void exportRange(StatementCheckpoint initial, AtomicLong wallets, AtomicLong bytes, long startedAt) {
+        StatementCheckpoint checkpoint = initial;
+        while (!checkpoint.isComplete()) {
+            long toWalletId = Math.min(checkpoint.getRangeEnd(), checkpoint.getLastWalletId() + chunkSize);
+            StatementCheckpoint advanced = statementRepository.exportChunk(checkpoint, toWalletId);
+
+            long chunkWallets = advanced.getWalletsWritten() - checkpoint.getWalletsWritten();
+            long chunkBytes = advanced.getBytesWritten() - checkpoint.getBytesWritten();
+            walletsCounter.increment(chunkWallets);
+            bytesCounter.increment(chunkBytes);
+            long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+            walletsPerSecond.set(wallets.addAndGet(chunkWallets) * 1000 / elapsedMillis);
+            bytesPerSecond.set(bytes.addAndGet(chunkBytes) * 1000 / elapsedMillis);
+
+            checkpoint = advanced;
+        }
+        log.info("Statement range {} ({}..{}) done - wallets: {}", checkpoint.getPartition(),
+                checkpoint.getRangeStart(), checkpoint.getRangeEnd(), checkpoint.getWalletsWritten());
+    }
+
+    @Getter
+    @Builder
+    public static class Result {
+        private final YearMonth month;
+        private final StatementFormat format;
+        private final int ranges;
+        private final long walletsWritten;
+        private final long bytesWritten;
+        private final long elapsedMillis;
+        private final double walletsPerSecond;
+        private final double megabytesPerSecond;
+    }
+}
@@ -1,57 +1,146 @@
 package com.elton.pixservice.usecase;
 
-import com.elton.pixservice.domain.entity.LedgerEntry;
 import com.elton.pixservice.domain.entity.Wallet;
 import com.elton.pixservice.domain.exception.WalletNaoEncontradaException;
 import com.elton.pixservice.domain.repository.LedgerEntryRepository;
 import com.elton.pixservice.domain.repository.WalletRepository;
 import com.elton.pixservice.domain.valueobject.Money;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * Current and historical wallet balances.
+ *
+ * A historical balance at an instant older than {@code pix.balance.history-cache.safety-margin-seconds}
+ * can no longer change (entries are created with the current time and the margin covers
+ * transactions still in flight), so it is kept in a bounded LRU cache of
+ * {@code pix.balance.history-cache.max-entries} (0 disables it). Hits and misses are counted in
+ * {@code pix.balance.history.cache}.
+ *
+ * Concurrent reads of the same settled historical balance that miss the cache are coalesced into one
+ * query ({@link SingleFlight}); the result cannot change, so joining a read already in flight is
+ * safe. Current balances and unsettled instants are always read by the caller itself: a caller that
+ * just wrote must see its write, which a read started before the commit would miss. The methods are
+ * deliberately not transactional: each repository call runs in its own read-only transaction, so
+ * waiting callers hold no connection.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class GetBalanceUseCase {
 
     private final WalletRepository walletRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
+    private final long safetyMarginSeconds;
+    private final Map<Map.Entry<Long, LocalDateTime>, Money> historyCache;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final SingleFlight<Map.Entry<Long, LocalDateTime>, Money> historicalReads;
+
+    public GetBalanceUseCase(WalletRepository walletRepository,
+                             LedgerEntryRepository ledgerEntryRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${pix.balance.history-cache.max-entries:10000}") int maxEntries,
+                             @Value("${pix.balance.history-cache.safety-margin-seconds:300}") long safetyMarginSeconds) {
+        this.walletRepository = walletRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.safetyMarginSeconds = safetyMarginSeconds;
+        this.historyCache = maxEntries > 0
+                ? Collections.synchronizedMap(new LinkedHashMap<Map.Entry<Long, LocalDateTime>, Money>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Map.Entry<Long, LocalDateTime>, Money> eldest) {
+                        return size() > maxEntries;
+                    }
+                })
+                : null;
+        this.cacheHits = Counter.builder("pix.balance.history.cache")
+                .tag("result", "hit")
+                .description("Historical balance lookups served from the cache")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("pix.balance.history.cache")
+                .tag("result", "miss")
+                .description("Historical balance lookups computed from the ledger")
+                .register(meterRegistry);
+        this.historicalReads = new SingleFlight<>(meterRegistry, "historical");
+        if (historyCache != null) {
+            Gauge.builder("pix.balance.history.cache.size", historyCache, Map::size)
+                    .description("Historical balances currently cached")
+                    .register(meterRegistry);
+        }
+    }
 
-    @Transactional(readOnly = true)
     public Money getCurrentBalance(Long walletId) {
+        return getCurrentWallet(walletId).getBalance();
+    }
+
+    public Wallet getCurrentWallet(Long walletId) {
         log.info("Getting current balance for wallet: {}", walletId);
 
-        Wallet wallet = walletRepository.findById(walletId)
+        return walletRepository.findById(walletId)
+                .orElseThrow(() -> new WalletNaoEncontradaException(walletId));
+    }
+
+    /**
+     * Version of the wallet's current balance, read without loading the wallet. Used as the
+     * validator of conditional balance requests.
+     */
+    public long getCurrentVersion(Long walletId) {
+        return walletRepository.findVersion(walletId)
                 .orElseThrow(() -> new WalletNaoEncontradaException(walletId));
+    }
 
-        return wallet.getBalance();
+    /**
+     * Whether the balance at {@code timestamp} is final, i.e. older than the safety margin.
+     */
+    public boolean isSettled(LocalDateTime timestamp) {
+        return timestamp.isBefore(LocalDateTime.now().minusSeconds(safetyMarginSeconds));
     }
 
-    @Transactional(readOnly = true)
     public Money getHistoricalBalance(Long walletId, LocalDateTime timestamp) {
         log.info("Getting historical balance for wallet: {} at timestamp: {}", walletId, timestamp);
 
+        Map.Entry<Long, LocalDateTime> key = Map.entry(walletId, timestamp);
+        boolean settled = isSettled(timestamp);
+        boolean cacheable = historyCache != null && settled;
+        if (cacheable) {
+            Money cached = historyCache.get(key);
+            if (cached != null) {
+                cacheHits.increment();
+                return cached;
+            }
+            cacheMisses.increment();
+        }
+
+        if (!settled) {
+            return computeHistoricalBalance(walletId, timestamp);
+        }
+        return historicalReads.execute(key, () -> {
+            Money balance = computeHistoricalBalance(walletId, timestamp);
+            if (cacheable) {
+                historyCache.put(key, balance);
+            }
+            return balance;
+        });
+    }
+
+    private Money computeHistoricalBalance(Long walletId, LocalDateTime timestamp) {
         // Verify wallet exists
         if (!walletRepository.existsById(walletId)) {
             throw new WalletNaoEncontradaException(walletId);
         }
 
-        // Calculate balance from ledger entries up to the timestamp
-        List<LedgerEntry> entries = ledgerEntryRepository.findByWalletIdAndCreatedAtBefore(walletId, timestamp);
-
-        BigDecimal balance = entries.stream()
-                .map(LedgerEntry::getSignedAmount)
-                .map(Money::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Sum ledger entries up to the timestamp, live and archived months alike
+        Money balance = ledgerEntryRepository.sumSignedAmountBefore(walletId, timestamp);
 
         log.info("Historical balance calculated for wallet: {} = {}", walletId, balance);
-
-        return Money.of(balance);
+        return balance;
     }
 }
@@ -0,0 +1,25 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.PixTransfer;
+import com.elton.pixservice.domain.exception.TransferenciaNaoEncontradaException;
+import com.elton.pixservice.domain.repository.PixTransferRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetTransferUseCase {
+
+    private final PixTransferRepository pixTransferRepository;
+
+    @Transactional(readOnly = true)
+    public PixTransfer execute(String endToEndId) {
+        log.debug("Getting transfer: {}", endToEndId);
+
+        return pixTransferRepository.findByEndToEndId(endToEndId)
+                .orElseThrow(() -> new TransferenciaNaoEncontradaException(endToEndId));
+    }
+}
@@ -0,0 +1,31 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.WalletStats;
+import com.elton.pixservice.domain.exception.WalletNaoEncontradaException;
+import com.elton.pixservice.domain.repository.WalletRepository;
+import com.elton.pixservice.domain.repository.WalletStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetWalletStatsUseCase {
+
+    private final WalletRepository walletRepository;
+    private final WalletStatsRepository walletStatsRepository;
+
+    @Transactional(readOnly = true)
+    public WalletStats execute(Long walletId) {
+        log.info("Getting stats for wallet: {}", walletId);
+
+        if (!walletRepository.existsById(walletId)) {
+            throw new WalletNaoEncontradaException(walletId);
+        }
+
+        return walletStatsRepository.findByWalletId(walletId)
+                .orElseGet(() -> WalletStats.empty(walletId));
+    }
+}
@@ -0,0 +1,181 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.OnboardingResult;
+import com.elton.pixservice.domain.entity.OnboardingRow;
+import com.elton.pixservice.domain.entity.PixKey;
+import com.elton.pixservice.domain.exception.ChavePixInvalidaException;
+import com.elton.pixservice.domain.repository.OnboardingRepository;
+import com.elton.pixservice.domain.valueobject.PixKeyType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Imports a partner's customer base: one new wallet per line, optionally with a Pix key.
+ *
+ * The file is CSV with {@code user_id,key_type,key_value} per line (key columns may be empty,
+ * an optional header line is skipped, no quoting). Lines are validated with the {@link PixKey}
+ * rules while the file is streamed into the staging table, so the whole file is never held in
+ * memory; conflicts with existing keys and the inserts are then resolved set-based in the
+ * database. Everything runs in one transaction and invalid lines are reported, not fatal.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OnboardingUseCase {
+
+    static final String HEADER = "user_id,key_type,key_value";
+    private static final int MAX_LENGTH = 255;
+
+    private final OnboardingRepository onboardingRepository;
+
+    @Transactional
+    public Result execute(Reader csv) {
+        UUID batchId = UUID.randomUUID();
+        long startedAt = System.nanoTime();
+        log.info("Starting onboarding batch {}", batchId);
+
+        long rows = onboardingRepository.stage(batchId, new RowIterator(new BufferedReader(csv)));
+        OnboardingResult applied = onboardingRepository.apply(batchId);
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        Result result = Result.builder()
+                .batchId(batchId)
+                .rows(rows)
+                .walletsCreated(applied.getWalletsCreated())
+                .pixKeysCreated(applied.getPixKeysCreated())
+                .rejections(applied.getRejections())
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(rows * 1000.0 / elapsedMillis)
+                .build();
+
+        log.info("Onboarding batch {} finished - rows: {}, wallets: {}, keys: {}, rejected: {}, elapsed: {} ms",
+                batchId, rows, result.getWalletsCreated(), result.getPixKeysCreated(),
+                result.getRejections().size(), elapsedMillis);
+        return result;
+    }
+
+    /**
+     * Parses one line. The returned row carries the rejection reason when the line is invalid;
+     * a valid key type is normalized to the {@link PixKeyType} name.
+     */
+    static OnboardingRow parse(int lineNumber, String line) {
+        String[] fields = line.split(",", -1);
+        OnboardingRow row = OnboardingRow.builder()
+                .lineNumber(lineNumber)
+                .userId(field(fields, 0))
+                .keyType(field(fields, 1))
+                .keyValue(field(fields, 2))
+                .build();
+
+        if (fields.length != 1 && fields.length != 3) {
+            row.setRejection("Expected " + HEADER + ", got " + fields.length + " columns");
+        } else if (row.getUserId() == null) {
+            row.setRejection("User ID is required");
+        } else if (row.getUserId().length() > MAX_LENGTH) {
+            row.setRejection("User ID longer than " + MAX_LENGTH + " characters");
+        } else if (row.getKeyType() != null || row.getKeyValue() != null) {
+            row.setRejection(validateKey(row));
+        }
+        return row;
+    }
+
+    private static String validateKey(OnboardingRow row) {
+        if (row.getKeyType() == null) {
+            return "Pix key type is required when a key value is given";
+        }
+        PixKeyType keyType;
+        try {
+            keyType = PixKeyType.valueOf(row.getKeyType().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ChavePixInvalidaException.tipoDesconhecido(row.getKeyType()).getMessage();
+        }
+        if (row.getKeyValue() != null && row.getKeyValue().length() > MAX_LENGTH) {
+            return "Pix key longer than " + MAX_LENGTH + " characters";
+        }
+        try {
+            PixKey.builder().keyType(keyType).keyValue(row.getKeyValue()).build().validate();
+        } catch (ChavePixInvalidaException e) {
+            return e.getMessage();
+        }
+        row.setKeyType(keyType.name());
+        return null;
+    }
+
+    private static String field(String[] fields, int index) {
+        if (index >= fields.length) {
+            return null;
+        }
+        String value = fields[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads and parses the file lazily, skipping blank lines and the header.
+     */
+    private static class RowIterator implements Iterator<OnboardingRow> {
+        private final BufferedReader reader;
+        private int lineNumber;
+        private OnboardingRow next;
+
+        RowIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank() || (lineNumber == 1 && line.trim().equalsIgnoreCase(HEADER))) {
+                        continue;
+                    }
+                    next = parse(lineNumber, line);
+                    return true;
+                }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read onboarding file at line " + (lineNumber + 1), e);
+            }
+        }
+
+        @Override
+        public OnboardingRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            OnboardingRow row = next;
+            next = null;
+            return row;
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class Result {
+        private final UUID batchId;
+        private final long rows;
+        private final long walletsCreated;
+        private final long pixKeysCreated;
+        private final List<OnboardingRow> rejections;
+        private final long elapsedMillis;
+        private final double rowsPerSecond;
+    }
+}
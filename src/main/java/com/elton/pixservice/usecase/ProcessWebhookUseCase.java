@@ -3,25 +3,37 @@ package com.elton.pixservice.usecase;
 import com.elton.pixservice.domain.entity.LedgerEntry;
 import com.elton.pixservice.domain.entity.PixTransfer;
 import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.event.TransferStatusChanged;
 import com.elton.pixservice.domain.exception.TipoEventoDesconhecidoException;
-import com.elton.pixservice.domain.exception.WalletNaoEncontradaException;
 import com.elton.pixservice.domain.repository.*;
 import com.elton.pixservice.domain.valueobject.LedgerEntryType;
-import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.domain.valueobject.TransferStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProcessWebhookUseCase {
 
+    private static final String CONFIRMED = "CONFIRMED";
+    private static final String REJECTED = "REJECTED";
+
     private final PixTransferRepository pixTransferRepository;
     private final WalletRepository walletRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
     private final WebhookEventRepository webhookEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void execute(String eventId, String endToEndId, String eventType) {
@@ -37,15 +49,18 @@ public class ProcessWebhookUseCase {
         PixTransfer transfer = pixTransferRepository.findByEndToEndIdWithLock(endToEndId)
                 .orElseThrow(() -> new IllegalArgumentException("Transfer not found: " + endToEndId));
 
-        switch (eventType) {
-            case "CONFIRMED":
-                processConfirmation(transfer);
-                break;
-            case "REJECTED":
-                processRejection(transfer);
-                break;
-            default:
-                throw new TipoEventoDesconhecidoException(eventType);
+        Long walletId = walletToCredit(transfer, eventType);
+
+        if (applyTransition(transfer, eventType)) {
+            Wallet wallet = WalletLockOrdering
+                    .lockInIdOrder(walletRepository, List.of(walletId))
+                    .get(walletId);
+
+            List<LedgerEntry> ledgerEntries = new ArrayList<>();
+            credit(transfer, eventType, wallet, ledgerEntries);
+
+            walletRepository.save(wallet);
+            ledgerEntries.forEach(ledgerEntryRepository::save);
         }
 
         // Mark event as processed
@@ -54,63 +69,91 @@ public class ProcessWebhookUseCase {
         log.info("Webhook processed successfully - eventId: {}", eventId);
     }
 
-    private void processConfirmation(PixTransfer transfer) {
-        if (!transfer.getStatus().canTransitionTo(com.elton.pixservice.domain.valueobject.TransferStatus.CONFIRMED)) {
-            log.warn("Invalid state transition for transfer: {}, current status: {}",
-                    transfer.getEndToEndId(), transfer.getStatus());
-            return;
+    /**
+     * Rejects pending transfers whose webhook never arrived and refunds their source wallets, the
+     * same transition and refund as a REJECTED event. The transfers must have been locked by the
+     * caller's transaction ({@link PixTransferRepository#claimPendingCreatedBefore}); their source
+     * wallets are locked here in ascending id order. Returns the number of transfers rejected.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int rejectExpired(List<PixTransfer> transfers) {
+        if (transfers.isEmpty()) {
+            return 0;
+        }
+        Set<Long> walletIds = transfers.stream()
+                .map(PixTransfer::getFromWalletId)
+                .collect(Collectors.toSet());
+        Map<Long, Wallet> wallets = WalletLockOrdering.lockInIdOrder(walletRepository, walletIds);
+
+        List<LedgerEntry> ledgerEntries = new ArrayList<>();
+        int rejected = 0;
+        for (PixTransfer transfer : transfers) {
+            if (applyTransition(transfer, REJECTED)) {
+                credit(transfer, REJECTED, wallets.get(transfer.getFromWalletId()), ledgerEntries);
+                rejected++;
+            }
         }
 
-        transfer.confirm();
-        pixTransferRepository.save(transfer);
-
-        // Credit destination wallet
-        Wallet destinationWallet = walletRepository.findByIdWithLock(transfer.getToWalletId())
-                .orElseThrow(() -> new WalletNaoEncontradaException(transfer.getToWalletId()));
-
-        destinationWallet.deposit(transfer.getAmount());
-        walletRepository.save(destinationWallet);
-
-        // Create credit ledger entry
-        LedgerEntry creditEntry = LedgerEntry.builder()
-                .walletId(transfer.getToWalletId())
-                .amount(transfer.getAmount())
-                .type(LedgerEntryType.TRANSFER_CREDIT)
-                .endToEndId(transfer.getEndToEndId())
-                .metadata("Pix transfer confirmed from wallet " + transfer.getFromWalletId())
-                .build();
-        ledgerEntryRepository.save(creditEntry);
+        walletRepository.updateBalances(new ArrayList<>(wallets.values()));
+        ledgerEntryRepository.saveAll(ledgerEntries);
+        return rejected;
+    }
 
-        log.info("Transfer confirmed: {}", transfer.getEndToEndId());
+    private Long walletToCredit(PixTransfer transfer, String eventType) {
+        switch (eventType) {
+            case CONFIRMED:
+                return transfer.getToWalletId();
+            case REJECTED:
+                return transfer.getFromWalletId();
+            default:
+                throw new TipoEventoDesconhecidoException(eventType);
+        }
     }
 
-    private void processRejection(PixTransfer transfer) {
-        if (!transfer.getStatus().canTransitionTo(com.elton.pixservice.domain.valueobject.TransferStatus.REJECTED)) {
+    private boolean applyTransition(PixTransfer transfer, String eventType) {
+        TransferStatus target = CONFIRMED.equals(eventType) ? TransferStatus.CONFIRMED : TransferStatus.REJECTED;
+
+        if (!transfer.getStatus().canTransitionTo(target)) {
             log.warn("Invalid state transition for transfer: {}, current status: {}",
                     transfer.getEndToEndId(), transfer.getStatus());
-            return;
+            return false;
         }
 
-        transfer.reject();
+        if (target == TransferStatus.CONFIRMED) {
+            transfer.confirm();
+        } else {
+            transfer.reject();
+        }
         pixTransferRepository.save(transfer);
+        eventPublisher.publishEvent(new TransferStatusChanged(transfer));
+        return true;
+    }
 
-        // Refund source wallet
-        Wallet sourceWallet = walletRepository.findByIdWithLock(transfer.getFromWalletId())
-                .orElseThrow(() -> new WalletNaoEncontradaException(transfer.getFromWalletId()));
-
-        sourceWallet.deposit(transfer.getAmount());
-        walletRepository.save(sourceWallet);
-
-        // Create refund ledger entry
-        LedgerEntry refundEntry = LedgerEntry.builder()
-                .walletId(transfer.getFromWalletId())
-                .amount(transfer.getAmount())
-                .type(LedgerEntryType.DEPOSIT)
-                .endToEndId(transfer.getEndToEndId())
-                .metadata("Pix transfer rejected - refund")
-                .build();
-        ledgerEntryRepository.save(refundEntry);
-
-        log.info("Transfer rejected and refunded: {}", transfer.getEndToEndId());
+    private void credit(PixTransfer transfer, String eventType, Wallet wallet, List<LedgerEntry> ledgerEntries) {
+        wallet.deposit(transfer.getAmount());
+
+        if (CONFIRMED.equals(eventType)) {
+            // Credit destination wallet
+            ledgerEntries.add(LedgerEntry.builder()
+                    .walletId(transfer.getToWalletId())
+                    .amount(transfer.getAmount())
+                    .type(LedgerEntryType.TRANSFER_CREDIT)
+                    .endToEndId(transfer.getEndToEndId())
+                    .metadata("Pix transfer confirmed from wallet " + transfer.getFromWalletId())
+                    .build());
+
+            log.info("Transfer confirmed: {}", transfer.getEndToEndId());
+        } else {
+            // Refund source wallet
+            ledgerEntries.add(LedgerEntry.builder()
+                    .walletId(transfer.getFromWalletId())
+                    .amount(transfer.getAmount())
+                    .type(LedgerEntryType.DEPOSIT)
+                    .endToEndId(transfer.getEndToEndId())
+                    .metadata("Pix transfer rejected - refund")
+                    .build());
+
+            log.info("Transfer rejected and refunded: {}", transfer.getEndToEndId());
+        }
     }
 }
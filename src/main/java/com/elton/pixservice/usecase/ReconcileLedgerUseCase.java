@@ -0,0 +1,226 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.BalanceMismatch;
+import com.elton.pixservice.domain.repository.ReconciliationRepository;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks that every {@code wallets.balance} equals the signed sum of its ledger entries.
+ *
+ * The wallet id space is split into ranges of {@code pix.reconciliation.range-size} ids and
+ * processed by a fork/join pool; each range is one {@code GROUP BY} query, so the comparison
+ * happens in the database and every range is read from a single consistent snapshot.
+ * Mismatches are written to {@code reconciliation_mismatches} as they are found.
+ *
+ * Throttling for business hours: the pool has {@code pix.reconciliation.parallelism} workers
+ * (default 2, so at most two connections) and each worker pauses
+ * {@code pix.reconciliation.pause-ms} after every range. Progress is kept in memory and
+ * exposed through the {@code reconciliation} actuator endpoint.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReconcileLedgerUseCase {
+
+    private final ReconciliationRepository reconciliationRepository;
+
+    @Value("${pix.reconciliation.parallelism:2}")
+    private int parallelism;
+
+    @Value("${pix.reconciliation.range-size:5000}")
+    private int rangeSize;
+
+    @Value("${pix.reconciliation.pause-ms:50}")
+    private long pauseMs;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<RunState> current = new AtomicReference<>();
+
+    @Scheduled(cron = "${pix.reconciliation.cron:-}")
+    public void scheduledRun() {
+        execute();
+    }
+
+    /**
+     * Runs a full reconciliation on the calling thread.
+     *
+     * @return the final progress, or the progress of the run already in progress
+     */
+    public Progress execute() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Reconciliation already running, skipping");
+            return getProgress();
+        }
+        try {
+            return reconcile();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Starts a run on a background thread. Returns false if one is already running.
+     */
+    public boolean startAsync() {
+        if (running.get()) {
+            return false;
+        }
+        Thread thread = new Thread(this::execute, "ledger-reconciliation");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public Progress getProgress() {
+        RunState state = current.get();
+        return state == null ? Progress.builder().status("IDLE").build() : state.snapshot();
+    }
+
+    private Progress reconcile() {
+        long[] bounds = reconciliationRepository.findWalletIdBounds().orElse(null);
+        long runId = reconciliationRepository.startRun();
+
+        int size = rangeSize > 0 ? rangeSize : 5000;
+        long totalRanges = bounds == null ? 0 : (bounds[1] - bounds[0]) / size + 1;
+        RunState state = new RunState(runId, totalRanges);
+        current.set(state);
+
+        log.info("Starting ledger reconciliation run {} - wallet ids: {}, ranges: {}, parallelism: {}",
+                runId, bounds == null ? "none" : bounds[0] + ".." + bounds[1], totalRanges, parallelism);
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            if (bounds != null) {
+                pool.invoke(new RangeTask(state, bounds[0], bounds[1], size));
+            }
+            state.status = "COMPLETED";
+            reconciliationRepository.finishRun(runId, state.status,
+                    state.walletsChecked.get(), state.mismatches.get(), null);
+        } catch (RuntimeException ex) {
+            state.status = "FAILED";
+            log.error("Ledger reconciliation run {} failed", runId, ex);
+            reconciliationRepository.finishRun(runId, state.status,
+                    state.walletsChecked.get(), state.mismatches.get(), ex.getMessage());
+        } finally {
+            pool.shutdown();
+            state.finishedAt = LocalDateTime.now();
+        }
+
+        log.info("Ledger reconciliation run {} {} - wallets: {}, mismatches: {}",
+                runId, state.status, state.walletsChecked.get(), state.mismatches.get());
+        return state.snapshot();
+    }
+
+    private void checkRange(RunState state, long fromId, long toId) {
+        List<BalanceMismatch> mismatches = new ArrayList<>();
+        long checked = reconciliationRepository.checkRange(fromId, toId, mismatches);
+
+        if (!mismatches.isEmpty()) {
+            reconciliationRepository.saveMismatches(state.runId, mismatches);
+            mismatches.forEach(mismatch -> log.warn("Balance mismatch - wallet: {}, balance: {}, ledger: {}",
+                    mismatch.getWalletId(), mismatch.getWalletBalance(), mismatch.getLedgerBalance()));
+        }
+
+        state.walletsChecked.addAndGet(checked);
+        state.mismatches.addAndGet(mismatches.size());
+        state.rangesDone.incrementAndGet();
+
+        if (pauseMs > 0) {
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Reconciliation interrupted", e);
+            }
+        }
+    }
+
+    private final class RangeTask extends RecursiveAction {
+
+        private final RunState state;
+        private final long fromId;
+        private final long toId;
+        private final int size;
+
+        private RangeTask(RunState state, long fromId, long toId, int size) {
+            this.state = state;
+            this.fromId = fromId;
+            this.toId = toId;
+            this.size = size;
+        }
+
+        @Override
+        protected void compute() {
+            long ranges = (toId - fromId) / size + 1;
+            if (ranges <= 1) {
+                checkRange(state, fromId, toId);
+                return;
+            }
+            // Split on a range boundary so every leaf covers at most `size` ids
+            long splitAt = fromId + (ranges / 2) * size;
+            invokeAll(new RangeTask(state, fromId, splitAt - 1, size),
+                    new RangeTask(state, splitAt, toId, size));
+        }
+    }
+
+    private static final class RunState {
+        private final long runId;
+        private final long totalRanges;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong rangesDone = new AtomicLong();
+        private final AtomicLong walletsChecked = new AtomicLong();
+        private final AtomicLong mismatches = new AtomicLong();
+        private volatile String status = "RUNNING";
+        private volatile LocalDateTime finishedAt;
+
+        private RunState(long runId, long totalRanges) {
+            this.runId = runId;
+            this.totalRanges = totalRanges;
+        }
+
+        private Progress snapshot() {
+            LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+            return Progress.builder()
+                    .runId(runId)
+                    .status(status)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .rangesDone(rangesDone.get())
+                    .rangesTotal(totalRanges)
+                    .walletsChecked(walletsChecked.get())
+                    .mismatches(mismatches.get())
+                    .elapsedMillis(Duration.between(startedAt, end).toMillis())
+                    .build();
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class Progress {
+        private final Long runId;
+        private final String status;
+        private final LocalDateTime startedAt;
+        private final LocalDateTime finishedAt;
+        private final long rangesDone;
+        private final long rangesTotal;
+        private final long walletsChecked;
+        private final long mismatches;
+        private final long elapsedMillis;
+    }
+}
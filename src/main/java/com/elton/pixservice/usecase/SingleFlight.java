@@ -0,0 +1,77 @@
+package com.elton.pixservice.usecase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: the first caller for a key runs the read, callers
+ * arriving while it is in flight wait for the same result (or exception) instead of issuing
+ * their own query. Nothing is kept once the read completes, so a later call always reads again.
+ *
+ * Callers share the returned instance and must not modify it. The read must not run inside the
+ * caller's transaction, or every waiting caller would hold a connection while it waits.
+ *
+ * Counter {@code pix.balance.singleflight}, tagged with {@code read} and
+ * {@code result=leader|coalesced}; the coalescing ratio is coalesced / (leader + coalesced).
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    SingleFlight(MeterRegistry meterRegistry, String read) {
+        this.leaders = Counter.builder("pix.balance.singleflight")
+                .tag("read", read)
+                .tag("result", "leader")
+                .description("Balance reads that ran their own query")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("pix.balance.singleflight")
+                .tag("read", read)
+                .tag("result", "coalesced")
+                .description("Balance reads that joined a read already in flight")
+                .register(meterRegistry);
+    }
+
+    V execute(K key, Supplier<V> read) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        leaders.increment();
+        try {
+            V value = read.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -9,15 +9,20 @@ import com.elton.pixservice.domain.exception.SaldoInsuficienteException;
 import com.elton.pixservice.domain.exception.TransferenciaInvalidaException;
 import com.elton.pixservice.domain.exception.WalletNaoEncontradaException;
 import com.elton.pixservice.domain.repository.*;
+import com.elton.pixservice.domain.valueobject.EndToEndId;
 import com.elton.pixservice.domain.valueobject.LedgerEntryType;
 import com.elton.pixservice.domain.valueobject.Money;
 import com.elton.pixservice.domain.valueobject.TransferStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -30,74 +35,209 @@ public class TransferPixUseCase {
     private final LedgerEntryRepository ledgerEntryRepository;
     private final IdempotencyRepository idempotencyRepository;
 
+    private static final String SCOPE = "pix_transfer";
+
+    /**
+     * Optimistic mode: the source wallet is read without a lock and debited with a version check;
+     * a conflict rolls back the transfer and is retried by the caller's {@code LockRetryTemplate}.
+     */
+    @Value("${pix.lock.operations.pix.transfer.optimistic:false}")
+    private boolean optimistic;
+
+    /**
+     * Internal settlement: the destination wallet is ours (Pix keys resolve locally), so the
+     * transfer is settled in one transaction and created CONFIRMED, without a webhook round trip.
+     */
+    @Value("${pix.transfer.internal-settlement.enabled:false}")
+    private boolean internalSettlement;
+
     @Transactional
     public PixTransfer execute(Long fromWalletId, String pixKey, Money amount, String idempotencyKey) {
         log.info("Processing Pix transfer - from: {}, to: {}, amount: {}, idempotencyKey: {}",
                 fromWalletId, pixKey, amount, idempotencyKey);
 
-        // Check idempotency
-        String scope = "pix_transfer";
-        if (idempotencyRepository.exists(scope, idempotencyKey)) {
-            log.info("Duplicate request detected for idempotencyKey: {}", idempotencyKey);
-            // In a real implementation, return stored response
-            throw new RequisicaoDuplicadaException();
+        if (internalSettlement) {
+            return settleInternally(fromWalletId, pixKey, amount, idempotencyKey);
         }
 
-        // Resolve Pix key to destination wallet
-        PixKey destinationPixKey = pixKeyRepository.findByKeyValue(pixKey)
-                .orElseThrow(() -> new WalletNaoEncontradaException("Pix key not found: " + pixKey));
+        checkIdempotency(idempotencyKey);
+        Long toWalletId = resolveDestination(fromWalletId, pixKey);
 
-        Long toWalletId = destinationPixKey.getWalletId();
+        // Lock source wallet (optimistic mode: read it, the version is checked on write)
+        Wallet sourceWallet = (optimistic
+                ? walletRepository.findById(fromWalletId)
+                : walletRepository.findByIdWithLock(fromWalletId))
+                .orElseThrow(() -> new WalletNaoEncontradaException("Source wallet not found: " + fromWalletId));
 
-        if (fromWalletId.equals(toWalletId)) {
-            throw TransferenciaInvalidaException.mesmaCarteira();
+        List<LedgerEntry> ledgerEntries = new ArrayList<>();
+        PixTransfer transfer = debit(fromWalletId, toWalletId, pixKey, amount, idempotencyKey, false)
+                .apply(sourceWallet, ledgerEntries);
+
+        if (optimistic) {
+            walletRepository.updateBalanceIfUnchanged(sourceWallet);
+        } else {
+            walletRepository.save(sourceWallet);
         }
+        ledgerEntries.forEach(ledgerEntryRepository::save);
 
-        // Lock and validate source wallet
-        Wallet sourceWallet = walletRepository.findByIdWithLock(fromWalletId)
-                .orElseThrow(() -> new WalletNaoEncontradaException("Source wallet not found: " + fromWalletId));
+        log.info("Pix transfer created successfully with endToEndId: {}", transfer.getEndToEndId());
+
+        return transfer;
+    }
 
+    public boolean isInternalSettlement() {
+        return internalSettlement;
+    }
+
+    /**
+     * Debits the source and credits the destination in the same transaction, both wallets locked
+     * in ascending id order, and records the transfer as CONFIRMED with both ledger entries.
+     * Always pessimistic: the optimistic mode only covers the single-wallet debit. The idempotency
+     * key is checked first, as on the default path, so a retry gets the duplicate error even if the
+     * balance was spent or the Pix key removed since; it is checked again under the locks, before
+     * the balance, for a request with the same key that committed meanwhile.
+     */
+    private PixTransfer settleInternally(Long fromWalletId, String pixKey, Money amount, String idempotencyKey) {
+        checkIdempotency(idempotencyKey);
+        Long toWalletId = resolveDestination(fromWalletId, pixKey);
+
+        Map<Long, Wallet> wallets = WalletLockOrdering.lockInIdOrder(walletRepository, List.of(fromWalletId, toWalletId));
+        Wallet sourceWallet = wallets.get(fromWalletId);
+        Wallet destinationWallet = wallets.get(toWalletId);
+
+        // A request with the same key is serialized on the source wallet
+        checkIdempotency(idempotencyKey);
         if (!sourceWallet.hasSufficientBalance(amount)) {
             throw new SaldoInsuficienteException();
         }
 
-        // Validate destination wallet exists
-        if (!walletRepository.existsById(toWalletId)) {
-            throw new WalletNaoEncontradaException("Destination wallet not found: " + toWalletId);
-        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        String endToEndId = EndToEndId.generate(createdAt).getValue();
 
-        // Generate unique endToEndId
-        String endToEndId = "E" + UUID.randomUUID().toString().replace("-", "");
-
-        // Debit source wallet
         sourceWallet.withdraw(amount);
-        walletRepository.save(sourceWallet);
+        destinationWallet.deposit(amount);
 
-        // Create transfer record with PENDING status
         PixTransfer transfer = PixTransfer.builder()
                 .endToEndId(endToEndId)
                 .fromWalletId(fromWalletId)
                 .toWalletId(toWalletId)
                 .amount(amount)
-                .status(TransferStatus.PENDING)
+                .status(TransferStatus.CONFIRMED)
+                .createdAt(createdAt)
+                .confirmedAt(createdAt)
                 .build();
         pixTransferRepository.save(transfer);
 
-        // Create ledger entries
-        LedgerEntry debitEntry = LedgerEntry.builder()
-                .walletId(fromWalletId)
-                .amount(amount)
-                .type(LedgerEntryType.TRANSFER_DEBIT)
-                .endToEndId(endToEndId)
-                .metadata("Pix transfer to " + pixKey)
-                .build();
-        ledgerEntryRepository.save(debitEntry);
+        walletRepository.updateBalances(new ArrayList<>(wallets.values()));
+        ledgerEntryRepository.saveAll(List.of(
+                LedgerEntry.builder()
+                        .walletId(fromWalletId)
+                        .amount(amount)
+                        .type(LedgerEntryType.TRANSFER_DEBIT)
+                        .endToEndId(endToEndId)
+                        .metadata("Pix transfer to " + pixKey)
+                        .build(),
+                LedgerEntry.builder()
+                        .walletId(toWalletId)
+                        .amount(amount)
+                        .type(LedgerEntryType.TRANSFER_CREDIT)
+                        .endToEndId(endToEndId)
+                        .metadata("Pix transfer settled internally from wallet " + fromWalletId)
+                        .build()));
+
+        idempotencyRepository.saveIdempotencyKey(SCOPE, idempotencyKey, endToEndId);
+
+        log.info("Pix transfer settled internally with endToEndId: {}", endToEndId);
+        return transfer;
+    }
 
-        // Save idempotency key
-        idempotencyRepository.saveIdempotencyKey(scope, idempotencyKey, endToEndId);
+    /**
+     * Runs the checks that do not need the source wallet lock (idempotency, Pix key) and returns
+     * the debit itself as a command for the wallet command sequencer, which applies it to the
+     * locked source wallet. The command checks the idempotency key again: it may run after a
+     * queued command with the same key.
+     */
+    @Transactional(readOnly = true)
+    public WalletCommand<PixTransfer> prepareDebit(Long fromWalletId, String pixKey, Money amount, String idempotencyKey) {
+        checkIdempotency(idempotencyKey);
+        Long toWalletId = resolveDestination(fromWalletId, pixKey);
+        return debit(fromWalletId, toWalletId, pixKey, amount, idempotencyKey, true);
+    }
 
-        log.info("Pix transfer created successfully with endToEndId: {}", endToEndId);
+    /**
+     * The debit applied to the locked source wallet: balance check, destination wallet check,
+     * PENDING transfer, ledger entry and idempotency key.
+     */
+    private WalletCommand<PixTransfer> debit(Long fromWalletId, Long toWalletId, String pixKey, Money amount,
+                                             String idempotencyKey, boolean recheckIdempotency) {
+        return (sourceWallet, ledgerEntries) -> {
+            if (!sourceWallet.hasSufficientBalance(amount)) {
+                throw new SaldoInsuficienteException();
+            }
+            if (recheckIdempotency && idempotencyRepository.exists(SCOPE, idempotencyKey)) {
+                throw new RequisicaoDuplicadaException();
+            }
+
+            // Validate destination wallet exists
+            if (!walletRepository.existsById(toWalletId)) {
+                throw new WalletNaoEncontradaException("Destination wallet not found: " + toWalletId);
+            }
+
+            // Generate unique endToEndId carrying the creation time (partition key)
+            LocalDateTime createdAt = LocalDateTime.now();
+            String endToEndId = EndToEndId.generate(createdAt).getValue();
+
+            // Debit source wallet
+            sourceWallet.withdraw(amount);
+
+            // Create transfer record with PENDING status
+            PixTransfer transfer = PixTransfer.builder()
+                    .endToEndId(endToEndId)
+                    .fromWalletId(fromWalletId)
+                    .toWalletId(toWalletId)
+                    .amount(amount)
+                    .status(TransferStatus.PENDING)
+                    .createdAt(createdAt)
+                    .build();
+            pixTransferRepository.save(transfer);
+
+            // Create ledger entries
+            ledgerEntries.add(LedgerEntry.builder()
+                    .walletId(fromWalletId)
+                    .amount(amount)
+                    .type(LedgerEntryType.TRANSFER_DEBIT)
+                    .endToEndId(endToEndId)
+                    .metadata("Pix transfer to " + pixKey)
+                    .build());
+
+            // Save idempotency key
+            idempotencyRepository.saveIdempotencyKey(SCOPE, idempotencyKey, endToEndId);
+
+            return transfer;
+        };
+    }
 
-        return transfer;
+    private void checkIdempotency(String idempotencyKey) {
+        if (idempotencyRepository.exists(SCOPE, idempotencyKey)) {
+            log.info("Duplicate request detected for idempotencyKey: {}", idempotencyKey);
+            // In a real implementation, return stored response
+            throw new RequisicaoDuplicadaException();
+        }
+    }
+
+    /**
+     * Pix key resolution; returns the destination wallet id.
+     */
+    private Long resolveDestination(Long fromWalletId, String pixKey) {
+        // Resolve Pix key to destination wallet
+        PixKey destinationPixKey = pixKeyRepository.findByKeyValue(pixKey)
+                .orElseThrow(() -> new WalletNaoEncontradaException("Pix key not found: " + pixKey));
+
+        Long toWalletId = destinationPixKey.getWalletId();
+
+        if (fromWalletId.equals(toWalletId)) {
+            throw TransferenciaInvalidaException.mesmaCarteira();
+        }
+        return toWalletId;
     }
 }
@@ -0,0 +1,28 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.entity.Wallet;
+
+import java.util.List;
+
+/**
+ * A mutation of a single wallet, applied by the wallet command sequencer.
+ *
+ * The command runs inside the transaction that already holds the wallet lock, possibly
+ * together with other commands for the same wallet. It changes the wallet in memory and
+ * appends its ledger entries; the sequencer saves the wallet and the entries once for the
+ * whole group. A command must not lock other wallets.
+ *
+ * Failures:
+ * - a {@code DomainException} discards the command's changes to the wallet and its ledger
+ *   entries, and only that command fails. Anything else it wrote stays in the shared
+ *   transaction, so commands validate everything before their first write.
+ * - any other exception, including database errors raised by its writes, aborts the shared
+ *   transaction: the whole group is rolled back and every command is applied again in its own
+ *   transaction. Commands must therefore be safe to apply more than once until committed.
+ */
+@FunctionalInterface
+public interface WalletCommand<T> {
+
+    T apply(Wallet wallet, List<LedgerEntry> ledgerEntries);
+}
@@ -0,0 +1,50 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.exception.WalletNaoEncontradaException;
+import com.elton.pixservice.domain.repository.WalletRepository;
+
+import java.util.*;
+
+/**
+ * Acquires several wallet locks in a single global order (ascending wallet id).
+ *
+ * Two transactions that lock the same wallets in the same order can wait on each other
+ * but never deadlock. Any use case that needs more than one wallet lock must go through
+ * here instead of calling {@link WalletRepository#findByIdWithLock} once per wallet.
+ *
+ * Lock hierarchy across the service: the transfer row (webhook processing) is locked
+ * first, then wallets in ascending id order.
+ */
+final class WalletLockOrdering {
+
+    private WalletLockOrdering() {
+    }
+
+    /**
+     * Locks all given wallets in ascending id order and returns them keyed by id, in lock order.
+     *
+     * @throws WalletNaoEncontradaException if any of the wallets does not exist
+     */
+    static Map<Long, Wallet> lockInIdOrder(WalletRepository walletRepository, Collection<Long> walletIds) {
+        SortedSet<Long> orderedIds = new TreeSet<>(walletIds);
+        Map<Long, Wallet> locked = new LinkedHashMap<>();
+
+        if (orderedIds.size() == 1) {
+            Long walletId = orderedIds.first();
+            locked.put(walletId, walletRepository.findByIdWithLock(walletId)
+                    .orElseThrow(() -> new WalletNaoEncontradaException(walletId)));
+            return locked;
+        }
+
+        for (Wallet wallet : walletRepository.findAllByIdWithLock(orderedIds)) {
+            locked.put(wallet.getId(), wallet);
+        }
+        for (Long walletId : orderedIds) {
+            if (!locked.containsKey(walletId)) {
+                throw new WalletNaoEncontradaException(walletId);
+            }
+        }
+        return locked;
+    }
+}
@@ -9,9 +9,13 @@ import com.elton.pixservice.domain.valueobject.LedgerEntryType;
 import com.elton.pixservice.domain.valueobject.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -20,27 +24,44 @@ public class WithdrawUseCase {
     private final WalletRepository walletRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
 
+    /**
+     * Optimistic mode: the balance check runs on a wallet read without a lock and the write
+     * carries a version check, so a concurrent change rolls back and is retried by the caller.
+     */
+    @Value("${pix.lock.operations.wallet.withdraw.optimistic:false}")
+    private boolean optimistic;
+
     @Transactional
     public Wallet execute(Long walletId, Money amount) {
         log.info("Processing withdraw for wallet: {}, amount: {}", walletId, amount);
 
-        Wallet wallet = walletRepository.findByIdWithLock(walletId)
+        Wallet wallet = (optimistic ? walletRepository.findById(walletId) : walletRepository.findByIdWithLock(walletId))
                 .orElseThrow(() -> new WalletNaoEncontradaException(walletId));
 
-        wallet.withdraw(amount);
-        Wallet updatedWallet = walletRepository.save(wallet);
-
-        // Create ledger entry
-        LedgerEntry ledgerEntry = LedgerEntry.builder()
-                .walletId(walletId)
-                .amount(amount)
-                .type(LedgerEntryType.WITHDRAW)
-                .metadata("Withdraw operation")
-                .build();
-        ledgerEntryRepository.save(ledgerEntry);
+        List<LedgerEntry> ledgerEntries = new ArrayList<>();
+        asCommand(amount).apply(wallet, ledgerEntries);
+        Wallet updatedWallet = optimistic ? walletRepository.updateBalanceIfUnchanged(wallet) : walletRepository.save(wallet);
+        ledgerEntries.forEach(ledgerEntryRepository::save);
 
         log.info("Withdraw processed successfully for wallet: {}, new balance: {}", walletId, updatedWallet.getBalance());
 
         return updatedWallet;
     }
+
+    /**
+     * The withdraw itself, applied to the locked wallet by {@link #execute} or by the wallet
+     * command sequencer. Returns a snapshot of the wallet right after this withdraw.
+     */
+    public WalletCommand<Wallet> asCommand(Money amount) {
+        return (wallet, ledgerEntries) -> {
+            wallet.withdraw(amount);
+            ledgerEntries.add(LedgerEntry.builder()
+                    .walletId(wallet.getId())
+                    .amount(amount)
+                    .type(LedgerEntryType.WITHDRAW)
+                    .metadata("Withdraw operation")
+                    .build());
+            return wallet.toBuilder().build();
+        };
+    }
 }
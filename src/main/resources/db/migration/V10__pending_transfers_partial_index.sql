@@ -0,0 +1,25 @@
+-- ============================================================================
+-- Migration V10: Índice Parcial de Transferências Pendentes
+-- ============================================================================
+-- Objetivo: Localizar transferências PENDING cujo webhook nunca chegou (origem
+-- já debitada) sem percorrer idx_pix_transfers_status, um índice de baixa
+-- cardinalidade em que ~99% das entradas são estados terminais.
+--
+-- O índice parcial contém apenas as transferências pendentes, ordenadas por
+-- created_at: fica pequeno, atende ao varredor de expiração
+-- (... WHERE status = 'PENDING' AND created_at < ? ORDER BY created_at
+-- FOR UPDATE SKIP LOCKED) e às métricas de pendentes. A transição para
+-- CONFIRMED/REJECTED remove a entrada do índice.
+--
+-- idx_pix_transfers_status é removido: nenhuma consulta filtra por estado
+-- terminal e ele encarece toda mudança de status.
+-- ============================================================================
+
+CREATE INDEX idx_pix_transfers_pending
+    ON pix_transfers (created_at)
+    WHERE status = 'PENDING';
+
+DROP INDEX IF EXISTS idx_pix_transfers_status;
+
+COMMENT ON INDEX idx_pix_transfers_pending IS
+'Transferências PENDING por created_at - varredor de expiração e métricas de pendentes';
@@ -0,0 +1,39 @@
+-- ============================================================================
+-- Migration V3: Relatório de Reconciliação Ledger x Saldo
+-- ============================================================================
+-- Objetivo: Registrar execuções do job de reconciliação e as carteiras cujo
+-- wallets.balance difere da soma assinada de ledger_entries
+-- ============================================================================
+
+CREATE TABLE reconciliation_runs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP,
+    wallets_checked BIGINT NOT NULL DEFAULT 0,
+    mismatches BIGINT NOT NULL DEFAULT 0,
+    error TEXT
+);
+
+CREATE TABLE reconciliation_mismatches (
+    id BIGSERIAL PRIMARY KEY,
+    run_id BIGINT NOT NULL,
+    wallet_id BIGINT NOT NULL,
+    wallet_balance DECIMAL(19, 2) NOT NULL,
+    ledger_balance DECIMAL(19, 2) NOT NULL,
+    difference DECIMAL(19, 2) NOT NULL,
+    detected_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_reconciliation_mismatches_run FOREIGN KEY (run_id) REFERENCES reconciliation_runs(id)
+);
+
+CREATE INDEX idx_reconciliation_mismatches_run_id ON reconciliation_mismatches(run_id);
+CREATE INDEX idx_reconciliation_mismatches_wallet_id ON reconciliation_mismatches(wallet_id);
+
+-- A agregação por faixa usa idx_ledger_entries_wallet_created (wallet_id, created_at);
+-- nenhum índice novo em ledger_entries para não encarecer o caminho de escrita.
+
+COMMENT ON TABLE reconciliation_runs IS
+'Execuções do job de reconciliação ledger x saldo';
+
+COMMENT ON TABLE reconciliation_mismatches IS
+'Carteiras com wallets.balance diferente da soma assinada de ledger_entries';
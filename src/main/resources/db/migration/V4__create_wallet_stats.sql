@@ -0,0 +1,74 @@
+-- ============================================================================
+-- Migration V4: Estatísticas de Carteira Incrementais
+-- ============================================================================
+-- Objetivo: Substituir mv_wallet_stats (REFRESH reagrega todo ledger_entries,
+-- custo cresce com o histórico) por uma tabela atualizada a cada lançamento.
+-- Estratégia: O caminho de escrita do ledger faz UPSERT somando os deltas;
+-- o backfill inicial é feito pela aplicação (pix.wallet-stats.backfill.enabled).
+-- ============================================================================
+
+-- ============================================================================
+-- PARTE 1: TABELA wallet_stats
+-- ============================================================================
+
+CREATE TABLE wallet_stats (
+    wallet_id BIGINT PRIMARY KEY,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    first_transaction_at TIMESTAMP,
+    last_transaction_at TIMESTAMP,
+    total_deposit DECIMAL(19, 2) NOT NULL DEFAULT 0.00,
+    total_withdraw DECIMAL(19, 2) NOT NULL DEFAULT 0.00,
+    total_transfer_debit DECIMAL(19, 2) NOT NULL DEFAULT 0.00,
+    total_transfer_credit DECIMAL(19, 2) NOT NULL DEFAULT 0.00,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_wallet_stats_wallet FOREIGN KEY (wallet_id) REFERENCES wallets(id)
+);
+
+-- Uma linha por carteira, atualizada a cada lançamento (HOT updates)
+ALTER TABLE wallet_stats SET (
+    fillfactor = 80,
+    autovacuum_vacuum_scale_factor = 0.05,
+    autovacuum_analyze_scale_factor = 0.05
+);
+
+COMMENT ON TABLE wallet_stats IS
+'Estatísticas por carteira mantidas incrementalmente pelo caminho de escrita do ledger';
+
+-- ============================================================================
+-- PARTE 2: REMOVER VIEW MATERIALIZADA
+-- ============================================================================
+
+DROP MATERIALIZED VIEW IF EXISTS mv_wallet_stats;
+
+-- ============================================================================
+-- PARTE 3: MANUTENÇÃO SEM REFRESH
+-- ============================================================================
+
+CREATE OR REPLACE FUNCTION run_maintenance() RETURNS TEXT AS $$
+DECLARE
+    result_message TEXT := '';
+BEGIN
+    result_message := '========================================' || E'\n';
+    result_message := result_message || 'MANUTENÇÃO DE BANCO - ' || TO_CHAR(NOW(), 'YYYY-MM-DD HH24:MI:SS') || E'\n';
+    result_message := result_message || '========================================' || E'\n\n';
+
+    -- REINDEX BRIN (rápido)
+    REINDEX INDEX CONCURRENTLY idx_ledger_entries_created_at_brin;
+    REINDEX INDEX CONCURRENTLY idx_pix_transfers_created_at_brin;
+    REINDEX INDEX CONCURRENTLY idx_webhook_events_processed_at_brin;
+    result_message := result_message || '✓ Índices BRIN reindexados' || E'\n';
+
+    -- Analyze
+    ANALYZE ledger_entries, pix_transfers, webhook_events, wallets, wallet_stats;
+    result_message := result_message || '✓ Estatísticas atualizadas (ANALYZE)' || E'\n';
+
+    result_message := result_message || E'\n========================================' || E'\n';
+    result_message := result_message || 'MANUTENÇÃO CONCLUÍDA' || E'\n';
+    result_message := result_message || '========================================' || E'\n';
+
+    RETURN result_message;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION run_maintenance IS
+'Função de manutenção periódica (executar diariamente via cron ou pg_cron)';
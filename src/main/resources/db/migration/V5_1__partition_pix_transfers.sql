@@ -0,0 +1,94 @@
+-- ============================================================================
+-- Migration V5_1: Particionamento de pix_transfers
+-- ============================================================================
+-- Objetivo: Converter pix_transfers em tabela particionada por RANGE mensal
+-- de created_at (ver V5).
+--
+-- A PK passa a ser (end_to_end_id, created_at): o endToEndId carrega o minuto
+-- de criação, então as buscas informam a faixa de created_at e o planner poda
+-- as partições. Como a PK sozinha aceitaria o mesmo id com outro created_at,
+-- pix_transfer_ids (não particionada) registra cada id, como webhook_event_ids
+-- faz para os eventos. O registro é mantido por trigger AFTER INSERT na tabela
+-- pai (herdado pelas partições atuais e futuras), então vale para todos os
+-- caminhos de escrita: upsert, INSERT em lote e COPY. Um id repetido falha com
+-- unique_violation em vez de gravar uma segunda transferência. Mudanças de
+-- status pelo upsert seguem o ramo DO UPDATE e não disparam o trigger.
+-- Partições desanexadas pela retenção mantêm seus ids no registro.
+-- ============================================================================
+-- Janela de manutenção: a cópia de pix_transfers roda em uma única transação
+-- do Flyway, que mantém ACCESS EXCLUSIVE na tabela antiga (renomeada) até o
+-- commit.
+-- Leituras e escritas de pix_transfers ficam bloqueadas durante toda a cópia,
+-- proporcional ao volume da tabela. Em bases grandes, aplique com a aplicação
+-- parada ou copie os dados antecipadamente em lotes antes de migrar.
+-- ============================================================================
+
+-- ============================================================================
+-- PARTE 1: pix_transfers
+-- ============================================================================
+
+ALTER TABLE pix_transfers RENAME TO pix_transfers_old;
+
+CREATE TABLE pix_transfers (
+    end_to_end_id VARCHAR(100) NOT NULL,
+    from_wallet_id BIGINT NOT NULL,
+    to_wallet_id BIGINT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    confirmed_at TIMESTAMP,
+    rejected_at TIMESTAMP,
+    CONSTRAINT fk_pix_transfers_from_wallet FOREIGN KEY (from_wallet_id) REFERENCES wallets(id),
+    CONSTRAINT fk_pix_transfers_to_wallet FOREIGN KEY (to_wallet_id) REFERENCES wallets(id)
+) PARTITION BY RANGE (created_at);
+
+SELECT create_monthly_partitions('pix_transfers',
+    COALESCE((SELECT MIN(created_at) FROM pix_transfers_old)::DATE, CURRENT_DATE),
+    GREATEST((SELECT MAX(created_at) FROM pix_transfers_old)::DATE, (CURRENT_DATE + INTERVAL '3 months')::DATE));
+
+INSERT INTO pix_transfers (end_to_end_id, from_wallet_id, to_wallet_id, amount, status, created_at, confirmed_at, rejected_at)
+SELECT end_to_end_id, from_wallet_id, to_wallet_id, amount, status, created_at, confirmed_at, rejected_at
+FROM pix_transfers_old;
+
+DROP TABLE pix_transfers_old;
+
+ALTER TABLE pix_transfers ADD CONSTRAINT pix_transfers_pkey PRIMARY KEY (end_to_end_id, created_at);
+CREATE INDEX idx_pix_transfers_from_wallet ON pix_transfers(from_wallet_id);
+CREATE INDEX idx_pix_transfers_to_wallet ON pix_transfers(to_wallet_id);
+CREATE INDEX idx_pix_transfers_status ON pix_transfers(status);
+CREATE INDEX idx_pix_transfers_created_at_brin
+    ON pix_transfers USING BRIN (created_at)
+    WITH (pages_per_range = 128);
+
+ALTER TABLE pix_transfers ALTER COLUMN from_wallet_id SET STATISTICS 1000;
+ALTER TABLE pix_transfers ALTER COLUMN status SET STATISTICS 500;
+
+COMMENT ON TABLE pix_transfers IS
+'Transferências Pix - particionada por created_at (mensal); buscas por end_to_end_id informam a faixa de created_at';
+
+-- ============================================================================
+-- PARTE 2: pix_transfer_ids
+-- ============================================================================
+
+CREATE TABLE pix_transfer_ids (
+    end_to_end_id VARCHAR(100) PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL
+);
+
+COMMENT ON TABLE pix_transfer_ids IS
+'Unicidade global de end_to_end_id (pix_transfers particionada só comporta PK (end_to_end_id, created_at))';
+
+INSERT INTO pix_transfer_ids (end_to_end_id, created_at)
+SELECT end_to_end_id, created_at FROM pix_transfers;
+
+CREATE OR REPLACE FUNCTION register_pix_transfer_id() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO pix_transfer_ids (end_to_end_id, created_at)
+    VALUES (NEW.end_to_end_id, NEW.created_at);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_pix_transfers_register_id
+    AFTER INSERT ON pix_transfers
+    FOR EACH ROW EXECUTE FUNCTION register_pix_transfer_id();
@@ -0,0 +1,54 @@
+-- ============================================================================
+-- Migration V5_2: Particionamento de webhook_events
+-- ============================================================================
+-- Objetivo: Converter webhook_events em tabela particionada por RANGE mensal
+-- de processed_at (ver V5). A deduplicação de event_id vai para
+-- webhook_event_ids (não particionada); webhook_events vira apenas histórico,
+-- com PK (id, processed_at).
+-- ============================================================================
+-- Janela de manutenção: a cópia de webhook_events roda em uma única transação
+-- do Flyway, que mantém ACCESS EXCLUSIVE na tabela antiga (renomeada) até o
+-- commit.
+-- Leituras e escritas de webhook_events ficam bloqueadas durante toda a cópia,
+-- proporcional ao volume da tabela. Em bases grandes, aplique com a aplicação
+-- parada ou copie os dados antecipadamente em lotes antes de migrar.
+-- ============================================================================
+
+CREATE TABLE webhook_event_ids (
+    event_id VARCHAR(100) PRIMARY KEY,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE webhook_event_ids IS
+'Deduplicação global de event_id (webhook_events particionada não comporta UNIQUE(event_id))';
+
+INSERT INTO webhook_event_ids (event_id, processed_at)
+SELECT event_id, processed_at FROM webhook_events;
+
+ALTER TABLE webhook_events RENAME TO webhook_events_old;
+ALTER SEQUENCE webhook_events_id_seq OWNED BY NONE;
+
+CREATE TABLE webhook_events (
+    id BIGINT NOT NULL DEFAULT nextval('webhook_events_id_seq'),
+    event_id VARCHAR(100) NOT NULL,
+    end_to_end_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY RANGE (processed_at);
+
+SELECT create_monthly_partitions('webhook_events',
+    COALESCE((SELECT MIN(processed_at) FROM webhook_events_old)::DATE, CURRENT_DATE),
+    GREATEST((SELECT MAX(processed_at) FROM webhook_events_old)::DATE, (CURRENT_DATE + INTERVAL '3 months')::DATE));
+
+INSERT INTO webhook_events (id, event_id, end_to_end_id, event_type, processed_at)
+SELECT id, event_id, end_to_end_id, event_type, processed_at FROM webhook_events_old;
+
+DROP TABLE webhook_events_old;
+ALTER SEQUENCE webhook_events_id_seq OWNED BY webhook_events.id;
+
+ALTER TABLE webhook_events ADD CONSTRAINT webhook_events_pkey PRIMARY KEY (id, processed_at);
+CREATE INDEX idx_webhook_events_event_id ON webhook_events(event_id);
+CREATE INDEX idx_webhook_events_end_to_end_id ON webhook_events(end_to_end_id);
+CREATE INDEX idx_webhook_events_processed_at_brin
+    ON webhook_events USING BRIN (processed_at)
+    WITH (pages_per_range = 128);
@@ -0,0 +1,110 @@
+-- ============================================================================
+-- Migration V5: Particionamento por Tempo (Gerenciado pela Aplicação)
+-- ============================================================================
+-- Objetivo: Converter ledger_entries, pix_transfers e webhook_events em
+-- tabelas particionadas por RANGE mensal, com partições futuras criadas e
+-- antigas desanexadas pelo PartitionManager da aplicação (sem cron externo).
+-- Uma migration por tabela (V5 ledger_entries, V5_1 pix_transfers, V5_2
+-- webhook_events), cada uma na sua transação: só uma tabela fica bloqueada
+-- por vez e o lock é liberado ao fim da cópia dela.
+-- ============================================================================
+-- Nota: A V2 descartou o particionamento porque UNIQUE/PK precisam incluir a
+-- coluna de particionamento. Resolução adotada aqui:
+--   * pix_transfers: PK (end_to_end_id, created_at). O endToEndId passa a
+--     carregar o minuto de criação, então as buscas informam a faixa de
+--     created_at e o planner poda as partições. Idempotência continua em
+--     idempotency_keys (não particionada).
+--   * webhook_events: deduplicação de event_id movida para webhook_event_ids
+--     (não particionada); webhook_events vira apenas histórico.
+--   * ledger_entries: PK (id, created_at); id continua vindo da sequência.
+-- Sem partição DEFAULT: permite DETACH ... CONCURRENTLY. A aplicação mantém
+-- pix.partitions.months-ahead meses criados à frente.
+-- ============================================================================
+-- Janela de manutenção: a cópia de ledger_entries roda em uma única transação
+-- do Flyway, que mantém ACCESS EXCLUSIVE na tabela antiga (renomeada) até o
+-- commit.
+-- Leituras e escritas de ledger_entries ficam bloqueadas durante toda a cópia,
+-- proporcional ao volume da tabela. Em bases grandes, aplique com a aplicação
+-- parada ou copie os dados antecipadamente em lotes antes de migrar.
+-- ============================================================================
+
+-- ============================================================================
+-- PARTE 1: FUNÇÃO DE CRIAÇÃO DE PARTIÇÕES MENSAIS
+-- ============================================================================
+-- Usada por esta migration e pelo PartitionManager. Nome: <tabela>_YYYY_MM.
+
+CREATE OR REPLACE FUNCTION create_monthly_partitions(
+    p_table_name TEXT,
+    p_from DATE,
+    p_to DATE
+) RETURNS INTEGER AS $$
+DECLARE
+    partition_start DATE := DATE_TRUNC('month', p_from)::DATE;
+    partition_end DATE;
+    partition_name TEXT;
+    storage_options TEXT := '';
+    partitions_created INTEGER := 0;
+BEGIN
+    -- Parâmetros de armazenamento não são herdados da tabela pai
+    IF p_table_name = 'pix_transfers' THEN
+        storage_options := ' WITH (autovacuum_vacuum_scale_factor = 0.05, autovacuum_analyze_scale_factor = 0.05, '
+                        || 'autovacuum_vacuum_cost_limit = 2000, autovacuum_vacuum_cost_delay = 10)';
+    END IF;
+
+    WHILE partition_start <= p_to LOOP
+        partition_end := (partition_start + INTERVAL '1 month')::DATE;
+        partition_name := p_table_name || '_' || TO_CHAR(partition_start, 'YYYY_MM');
+
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE FORMAT('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)%s',
+                           partition_name, p_table_name, partition_start, partition_end, storage_options);
+            partitions_created := partitions_created + 1;
+        END IF;
+
+        partition_start := partition_end;
+    END LOOP;
+
+    RETURN partitions_created;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION create_monthly_partitions IS
+'Cria as partições mensais de uma tabela entre duas datas (idempotente)';
+
+-- ============================================================================
+-- PARTE 2: ledger_entries
+-- ============================================================================
+
+ALTER TABLE ledger_entries RENAME TO ledger_entries_old;
+ALTER SEQUENCE ledger_entries_id_seq OWNED BY NONE;
+
+CREATE TABLE ledger_entries (
+    id BIGINT NOT NULL DEFAULT nextval('ledger_entries_id_seq'),
+    wallet_id BIGINT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    end_to_end_id VARCHAR(100),
+    metadata TEXT COMPRESSION lz4,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_ledger_entries_wallet FOREIGN KEY (wallet_id) REFERENCES wallets(id)
+) PARTITION BY RANGE (created_at);
+
+SELECT create_monthly_partitions('ledger_entries',
+    COALESCE((SELECT MIN(created_at) FROM ledger_entries_old)::DATE, CURRENT_DATE),
+    GREATEST((SELECT MAX(created_at) FROM ledger_entries_old)::DATE, (CURRENT_DATE + INTERVAL '3 months')::DATE));
+
+INSERT INTO ledger_entries (id, wallet_id, amount, type, end_to_end_id, metadata, created_at)
+SELECT id, wallet_id, amount, type, end_to_end_id, metadata, created_at FROM ledger_entries_old;
+
+DROP TABLE ledger_entries_old;
+ALTER SEQUENCE ledger_entries_id_seq OWNED BY ledger_entries.id;
+
+ALTER TABLE ledger_entries ADD CONSTRAINT ledger_entries_pkey PRIMARY KEY (id, created_at);
+CREATE INDEX idx_ledger_entries_wallet_created ON ledger_entries(wallet_id, created_at);
+CREATE INDEX idx_ledger_entries_end_to_end_id ON ledger_entries(end_to_end_id);
+CREATE INDEX idx_ledger_entries_created_at_brin
+    ON ledger_entries USING BRIN (created_at)
+    WITH (pages_per_range = 128);
+
+ALTER TABLE ledger_entries ALTER COLUMN wallet_id SET STATISTICS 1000;
+ALTER TABLE ledger_entries ALTER COLUMN created_at SET STATISTICS 1000;
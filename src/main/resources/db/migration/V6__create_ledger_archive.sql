@@ -0,0 +1,39 @@
+-- ============================================================================
+-- Migration V6: Arquivo Frio do Ledger
+-- ============================================================================
+-- Objetivo: Registrar os meses de ledger_entries exportados para segmentos
+-- compactados em disco (pix.ledger-archive.directory) cujas partições foram
+-- removidas. As leituras de ledger combinam os segmentos com as linhas vivas.
+-- ============================================================================
+
+CREATE TABLE ledger_archived_months (
+    month DATE PRIMARY KEY,
+    segment_file VARCHAR(255) NOT NULL,
+    entry_count BIGINT NOT NULL,
+    wallet_count BIGINT NOT NULL,
+    net_amount DECIMAL(19, 2) NOT NULL,
+    file_size BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE ledger_archived_months IS
+'Meses do ledger movidos para segmentos em disco (partição removida após verificação)';
+
+-- Soma assinada por carteira de cada mês arquivado: mantém a reconciliação
+-- ledger x saldo em SQL sem ler os segmentos. Os totais por tipo e o
+-- primeiro/último lançamento permitem recalcular wallet_stats sem descartar
+-- os meses arquivados.
+CREATE TABLE ledger_archived_balances (
+    wallet_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    net_amount DECIMAL(19, 2) NOT NULL,
+    entry_count BIGINT NOT NULL,
+    total_deposit DECIMAL(19, 2) NOT NULL,
+    total_withdraw DECIMAL(19, 2) NOT NULL,
+    total_transfer_debit DECIMAL(19, 2) NOT NULL,
+    total_transfer_credit DECIMAL(19, 2) NOT NULL,
+    first_entry_at TIMESTAMP NOT NULL,
+    last_entry_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (wallet_id, month),
+    CONSTRAINT fk_ledger_archived_balances_month FOREIGN KEY (month) REFERENCES ledger_archived_months(month)
+);
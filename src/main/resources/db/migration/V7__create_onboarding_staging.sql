@@ -0,0 +1,27 @@
+-- ============================================================================
+-- Migration V7: Staging de Onboarding em Lote
+-- ============================================================================
+-- Objetivo: Receber arquivos de migração de base de clientes (POST /wallets/onboarding)
+-- via COPY e criar carteiras e chaves Pix com comandos set-based.
+--
+-- A tabela é UNLOGGED: as linhas só existem durante uma importação e não passam
+-- pelo WAL. Após um crash o PostgreSQL a esvazia, o que é aceitável para staging.
+-- ============================================================================
+
+CREATE UNLOGGED TABLE onboarding_staging (
+    batch_id UUID NOT NULL,
+    line_no INTEGER NOT NULL,
+    user_id TEXT,
+    key_type TEXT,
+    key_value TEXT,
+    wallet_id BIGINT,
+    rejection TEXT,
+    PRIMARY KEY (batch_id, line_no)
+);
+
+CREATE INDEX idx_onboarding_staging_key_value ON onboarding_staging (key_value);
+
+COMMENT ON TABLE onboarding_staging IS
+'Linhas de uma importação de onboarding em andamento (removidas ao final do lote)';
+COMMENT ON COLUMN onboarding_staging.rejection IS
+'Motivo da rejeição da linha; NULL para linhas aceitas';
@@ -0,0 +1,39 @@
+-- ============================================================================
+-- Migration V8: Saldos de Fechamento Diário
+-- ============================================================================
+-- Objetivo: Guardar o saldo de cada carteira ao final de cada dia (relatórios
+-- regulatórios de fim de dia) e servir de ponto de partida para as consultas
+-- de saldo histórico, que passam a somar apenas o ledger após o fechamento
+-- mais próximo.
+--
+-- O fechamento de um dia considera os lançamentos com created_at anterior à
+-- 00:00 do dia seguinte. Carteiras sem lançamentos até lá não têm linha
+-- (saldo zero).
+-- ============================================================================
+
+CREATE TABLE daily_balance_closings (
+    business_date DATE PRIMARY KEY,
+    base_date DATE,
+    wallet_count BIGINT NOT NULL DEFAULT 0,
+    total_balance DECIMAL(19, 2) NOT NULL DEFAULT 0.00,
+    elapsed_ms BIGINT NOT NULL DEFAULT 0,
+    closed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE daily_balance_closings IS
+'Dias fechados; base_date é o fechamento anterior usado no cálculo incremental (NULL = cálculo completo)';
+
+CREATE TABLE daily_balances (
+    wallet_id BIGINT NOT NULL,
+    business_date DATE NOT NULL,
+    balance DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (wallet_id, business_date),
+    CONSTRAINT fk_daily_balances_closing FOREIGN KEY (business_date)
+        REFERENCES daily_balance_closings(business_date) ON DELETE CASCADE
+);
+
+-- Relatório de um dia e remoção em cascata ao refazer um fechamento
+CREATE INDEX idx_daily_balances_business_date ON daily_balances (business_date);
+
+COMMENT ON TABLE daily_balances IS
+'Saldo de fechamento por carteira e dia; a PK (wallet_id, business_date) atende a busca do fechamento mais próximo';
@@ -0,0 +1,24 @@
+-- ============================================================================
+-- Migration V9: Checkpoints da Geração de Extratos
+-- ============================================================================
+-- Objetivo: Permitir retomar a geração dos arquivos de extrato mensal
+-- (pix.statements.directory). Cada execução divide o espaço de IDs de carteira
+-- em faixas, uma por worker; last_wallet_id avança a cada bloco gravado, na
+-- mesma transação que lê o ledger do bloco.
+-- ============================================================================
+
+CREATE TABLE statement_checkpoints (
+    month DATE NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    partition_no INTEGER NOT NULL,
+    range_start BIGINT NOT NULL,
+    range_end BIGINT NOT NULL,
+    last_wallet_id BIGINT NOT NULL,
+    wallets_written BIGINT NOT NULL DEFAULT 0,
+    bytes_written BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (month, format, partition_no)
+);
+
+COMMENT ON TABLE statement_checkpoints IS
+'Progresso por faixa de carteiras da geração de extratos mensais (retomada após falha ou restart)';
@@ -0,0 +1,97 @@
+package com.elton.pixservice.benchmark;
+
+import com.elton.pixservice.domain.valueobject.TransferStatus;
+import com.elton.pixservice.infrastructure.web.dto.BalanceResponse;
+import com.elton.pixservice.infrastructure.web.dto.TransferPixRequest;
+import com.elton.pixservice.infrastructure.web.dto.TransferPixResponse;
+import com.elton.pixservice.infrastructure.web.json.ResponseSerializers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default (reflective) Jackson versus the tuned mapper of {@code JacksonConfig}, for the bodies
+ * of the balance and transfer endpoints.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.elton.pixservice.benchmark.ResponseSerializationBenchmark}, or from the IDE.
+ * The GC profiler is enabled, so {@code gc.alloc.rate.norm} gives bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"reflective", "tuned"})
+    public String mapper;
+
+    private ObjectWriter balanceWriter;
+    private ObjectWriter transferWriter;
+    private ObjectReader transferReader;
+
+    private final BalanceResponse balance = BalanceResponse.builder()
+            .walletId(123_456L)
+            .balance(new BigDecimal("98765.43"))
+            .timestamp(LocalDateTime.of(2025, 10, 9, 15, 0, 0))
+            .build();
+
+    private final TransferPixResponse transfer = TransferPixResponse.builder()
+            .endToEndId("E202510091500abcdef0123456789abc")
+            .fromWalletId(123_456L)
+            .toWalletId(654_321L)
+            .amount(new BigDecimal("150.00"))
+            .status(TransferStatus.PENDING)
+            .build();
+
+    private final byte[] transferRequest =
+            "{\"fromWalletId\":123456,\"pixKey\":\"user@example.com\",\"amount\":150.00}".getBytes();
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        if ("tuned".equals(mapper)) {
+            objectMapper.registerModules(ResponseSerializers.module(), new BlackbirdModule());
+        }
+        balanceWriter = objectMapper.writerFor(BalanceResponse.class);
+        transferWriter = objectMapper.writerFor(TransferPixResponse.class);
+        transferReader = objectMapper.readerFor(TransferPixRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeBalance() throws Exception {
+        return balanceWriter.writeValueAsBytes(balance);
+    }
+
+    @Benchmark
+    public byte[] writeTransfer() throws Exception {
+        return transferWriter.writeValueAsBytes(transfer);
+    }
+
+    @Benchmark
+    public TransferPixRequest readTransferRequest() throws Exception {
+        return transferReader.readValue(transferRequest);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ResponseSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
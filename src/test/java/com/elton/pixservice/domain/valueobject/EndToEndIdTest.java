@@ -0,0 +1,56 @@
+package com.elton.pixservice.domain.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EndToEndId Value Object Tests")
+class EndToEndIdTest {
+
+    @Test
+    @DisplayName("Should embed the creation minute in a 32 char identifier")
+    void shouldEmbedCreationMinute() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2025, 10, 15, 10, 30, 45);
+
+        // When
+        EndToEndId endToEndId = EndToEndId.generate(createdAt);
+
+        // Then
+        assertEquals(32, endToEndId.getValue().length());
+        assertTrue(endToEndId.getValue().startsWith("E202510151030"));
+        assertEquals(LocalDateTime.of(2025, 10, 15, 10, 30), endToEndId.getIssuedAt().orElseThrow());
+        assertTrue(endToEndId.getValue().substring(13).matches("[0-9a-f]{19}"));
+    }
+
+    @Test
+    @DisplayName("Should parse the creation minute back from the value")
+    void shouldParseCreationMinute() {
+        // Given
+        String value = EndToEndId.generate(LocalDateTime.of(2026, 1, 31, 23, 59)).getValue();
+
+        // When
+        EndToEndId parsed = EndToEndId.of(value);
+
+        // Then
+        assertEquals(LocalDateTime.of(2026, 1, 31, 23, 59), parsed.getIssuedAt().orElseThrow());
+        assertEquals(value, parsed.getValue());
+    }
+
+    @Test
+    @DisplayName("Should have no creation time for legacy identifiers")
+    void shouldHaveNoCreationTimeForLegacyIdentifiers() {
+        // Given: E + UUID without dashes, as generated before the new format
+        String legacy = "E" + "20251015-1030-4a1b-8c2d-3e4f5a6b7c8d".replace("-", "");
+
+        // When
+        EndToEndId parsed = EndToEndId.of(legacy);
+
+        // Then
+        assertEquals(33, legacy.length());
+        assertTrue(parsed.getIssuedAt().isEmpty());
+    }
+}
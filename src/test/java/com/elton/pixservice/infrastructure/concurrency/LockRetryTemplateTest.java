@@ -0,0 +1,105 @@
+package com.elton.pixservice.infrastructure.concurrency;
+
+import com.elton.pixservice.domain.exception.SaldoInsuficienteException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LockRetryTemplate Tests")
+class LockRetryTemplateTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LockRetryTemplate lockRetryTemplate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockRetryTemplate = new LockRetryTemplate(meterRegistry);
+        ReflectionTestUtils.setField(lockRetryTemplate, "maxAttempts", 3);
+        ReflectionTestUtils.setField(lockRetryTemplate, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(lockRetryTemplate, "maxBackoffMs", 2L);
+    }
+
+    @Test
+    @DisplayName("Should retry a deadlock and return the result of the next attempt")
+    void shouldRetryDeadlock() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = lockRetryTemplate.execute("test.op", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new CannotAcquireLockException("deadlock",
+                        new SQLException("deadlock detected", "40P01"));
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, meterRegistry.get("pix.lock.retries")
+                .tag("operation", "test.op").tag("reason", "deadlock").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should give up after max attempts and rethrow")
+    void shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                lockRetryTemplate.run("test.op", () -> {
+                    attempts.incrementAndGet();
+                    throw new ObjectOptimisticLockingFailureException("Wallet", 1L);
+                }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.get("pix.lock.retries").tag("reason", "optimistic").counter().count());
+        assertEquals(1.0, meterRegistry.get("pix.lock.retries.exhausted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not retry business or integrity failures")
+    void shouldNotRetryNonTransientFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(SaldoInsuficienteException.class, () ->
+                lockRetryTemplate.run("test.op", () -> {
+                    attempts.incrementAndGet();
+                    throw new SaldoInsuficienteException();
+                }));
+        assertThrows(DataIntegrityViolationException.class, () ->
+                lockRetryTemplate.run("test.op", () -> {
+                    attempts.incrementAndGet();
+                    throw new DataIntegrityViolationException("uk_scope_key");
+                }));
+
+        assertEquals(2, attempts.get());
+        assertTrue(meterRegistry.find("pix.lock.retries").counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not retry a NOWAIT failure and expose the operation to the lock policy")
+    void shouldNotRetryNowaitFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(RecursoOcupadoException.class, () ->
+                lockRetryTemplate.run("wallet.deposit", () -> {
+                    attempts.incrementAndGet();
+                    assertEquals("wallet.deposit", LockWaitPolicy.currentOperation());
+                    throw new RecursoOcupadoException("wallet.deposit", new CannotAcquireLockException("nowait",
+                            new SQLException("could not obtain lock on row", "55P03")));
+                }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(LockWaitPolicy.NO_OPERATION, LockWaitPolicy.currentOperation());
+        assertTrue(meterRegistry.find("pix.lock.retries").counters().isEmpty());
+    }
+}
@@ -0,0 +1,88 @@
+package com.elton.pixservice.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LockWaitPolicy Tests")
+class LockWaitPolicyTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LockWaitPolicy lockWaitPolicy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("pix.lock.operations.pix.webhook.timeout-ms", "5000")
+                .withProperty("pix.lock.operations.wallet.deposit.nowait", "true");
+        lockWaitPolicy = new LockWaitPolicy(jdbcTemplate, environment, meterRegistry, 3000);
+    }
+
+    @Test
+    @DisplayName("Should set the operation lock timeout before waiting for the lock")
+    void shouldSetLockTimeoutPerOperation() {
+        // When
+        String defaultLock = lockWaitPolicy.acquire("wallet", () -> "waited", () -> "nowait");
+        String webhookLock = LockWaitPolicy.withOperation("pix.webhook",
+                () -> lockWaitPolicy.acquire("pix_transfer", () -> "waited", () -> "nowait"));
+
+        // Then
+        assertEquals("waited", defaultLock);
+        assertEquals("waited", webhookLock);
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq("3000ms"));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq("5000ms"));
+        assertEquals(1, meterRegistry.get("pix.lock.acquisition")
+                .tag("operation", "pix.webhook").tag("lock", "pix_transfer").tag("outcome", "acquired")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Should fail fast with RecursoOcupadoException when a NOWAIT lock is busy")
+    void shouldFailFastInNowaitMode() {
+        // When
+        assertThrows(RecursoOcupadoException.class, () -> LockWaitPolicy.withOperation("wallet.deposit",
+                () -> lockWaitPolicy.acquire("wallet", () -> "waited", () -> {
+                    throw new CannotAcquireLockException("nowait",
+                            new SQLException("could not obtain lock on row", "55P03"));
+                })));
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(1, meterRegistry.get("pix.lock.acquisition")
+                .tag("operation", "wallet.deposit").tag("outcome", "busy").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should rethrow a lock timeout so it can be retried")
+    void shouldRethrowLockTimeout() {
+        // When
+        assertThrows(CannotAcquireLockException.class, () -> lockWaitPolicy.acquire("wallet", () -> {
+            throw new CannotAcquireLockException("lock timeout",
+                    new SQLException("canceling statement due to lock timeout", "55P03"));
+        }, () -> "nowait"));
+
+        // Then
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), any());
+        assertEquals(1, meterRegistry.get("pix.lock.acquisition")
+                .tag("operation", LockWaitPolicy.NO_OPERATION).tag("outcome", "timeout").timer().count());
+    }
+}
@@ -0,0 +1,105 @@
+package com.elton.pixservice.infrastructure.concurrency;
+
+import com.elton.pixservice.domain.entity.PixTransfer;
+import com.elton.pixservice.domain.event.TransferStatusChanged;
+import com.elton.pixservice.domain.repository.PixTransferRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.domain.valueobject.TransferStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransferStatusWaiters Tests")
+class TransferStatusWaitersTest {
+
+    @Mock
+    private PixTransferRepository pixTransferRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransferStatusWaiters transferStatusWaiters;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transferStatusWaiters = new TransferStatusWaiters(pixTransferRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should complete every waiter of the transfer when its status changes")
+    void shouldCompleteWaitersOnStatusChange() {
+        // Given
+        CompletableFuture<PixTransfer> first = transferStatusWaiters.await("E1");
+        CompletableFuture<PixTransfer> second = transferStatusWaiters.await("E1");
+        CompletableFuture<PixTransfer> other = transferStatusWaiters.await("E2");
+        PixTransfer confirmed = transfer("E1", TransferStatus.CONFIRMED);
+
+        // When
+        transferStatusWaiters.onStatusChanged(new TransferStatusChanged(confirmed));
+
+        // Then
+        assertSame(confirmed, first.join());
+        assertSame(confirmed, second.join());
+        assertFalse(other.isDone());
+        assertEquals(1.0, waiters());
+    }
+
+    @Test
+    @DisplayName("Should deregister a cancelled waiter and skip the recheck query when nobody waits")
+    void shouldDeregisterCancelledWaiter() {
+        // Given
+        CompletableFuture<PixTransfer> waiter = transferStatusWaiters.await("E1");
+
+        // When
+        waiter.cancel(false);
+        transferStatusWaiters.recheck();
+
+        // Then
+        assertEquals(0.0, waiters());
+        verifyNoInteractions(pixTransferRepository);
+    }
+
+    @Test
+    @DisplayName("Should complete waiters of transfers settled by another instance on recheck")
+    void shouldCompleteWaitersOnRecheck() {
+        // Given
+        CompletableFuture<PixTransfer> settled = transferStatusWaiters.await("E1");
+        CompletableFuture<PixTransfer> pending = transferStatusWaiters.await("E2");
+        PixTransfer rejected = transfer("E1", TransferStatus.REJECTED);
+        when(pixTransferRepository.findSettledByEndToEndIdIn(any())).thenReturn(List.of(rejected));
+
+        // When
+        transferStatusWaiters.recheck();
+
+        // Then
+        assertSame(rejected, settled.join());
+        assertFalse(pending.isDone());
+        verify(pixTransferRepository).findSettledByEndToEndIdIn(argThat(ids ->
+                ids.size() == 2 && ids.contains("E1") && ids.contains("E2")));
+    }
+
+    private double waiters() {
+        return meterRegistry.get("pix.transfers.status.waiters").gauge().value();
+    }
+
+    private static PixTransfer transfer(String endToEndId, TransferStatus status) {
+        return PixTransfer.builder()
+                .endToEndId(endToEndId)
+                .fromWalletId(1L)
+                .toWalletId(2L)
+                .amount(Money.of(10.00))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.elton.pixservice.infrastructure.concurrency;
+
+import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.exception.SaldoInsuficienteException;
+import com.elton.pixservice.domain.repository.LedgerEntryRepository;
+import com.elton.pixservice.domain.repository.WalletRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.usecase.WalletCommand;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WalletCommandSequencer Tests")
+class WalletCommandSequencerTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private WalletCommandSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        sequencer = new WalletCommandSequencer(walletRepository, ledgerEntryRepository, transactionTemplate,
+                new LockRetryTemplate(meterRegistry), meterRegistry, true, 1, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.destroy();
+    }
+
+    @Test
+    @DisplayName("Should apply queued commands for the same wallet under one lock, failing only the invalid one")
+    void shouldApplyQueuedCommandsUnderOneLock() throws Exception {
+        // Given
+        when(walletRepository.findByIdWithLock(1L)).thenReturn(Optional.of(wallet(1L, 0.00)));
+        when(walletRepository.findByIdWithLock(2L)).thenReturn(Optional.of(wallet(2L, 100.00)));
+
+        // Hold the shard busy on wallet 1 while commands for wallet 2 queue up
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Wallet> blocker = sequencer.submit(1L, (wallet, entries) -> {
+            started.countDown();
+            await(release);
+            return wallet;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Money> first = sequencer.submit(2L, withdraw(30.00));
+        CompletableFuture<Money> tooMuch = sequencer.submit(2L, withdraw(500.00));
+        CompletableFuture<Money> second = sequencer.submit(2L, withdraw(20.00));
+
+        // When
+        release.countDown();
+
+        // Then
+        blocker.get(5, TimeUnit.SECONDS);
+        assertEquals(Money.of(70.00), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Money.of(50.00), second.get(5, TimeUnit.SECONDS));
+        CompletionException failure = assertThrows(CompletionException.class, tooMuch::join);
+        assertInstanceOf(SaldoInsuficienteException.class, failure.getCause());
+
+        verify(walletRepository, times(1)).findByIdWithLock(2L);
+        verify(walletRepository).save(argThat(wallet ->
+                wallet.getId() == 2L && wallet.getBalance().equals(Money.of(50.00))));
+    }
+
+    @Test
+    @DisplayName("Should apply the rest of the group on its own when one command breaks the shared transaction")
+    void shouldIsolateDatabaseErrorOfOneCommand() throws Exception {
+        // Given: every lock reads the wallet again, as after a rollback
+        when(walletRepository.findByIdWithLock(1L)).thenReturn(Optional.of(wallet(1L, 0.00)));
+        when(walletRepository.findByIdWithLock(2L)).thenAnswer(invocation -> Optional.of(wallet(2L, 100.00)));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Wallet> blocker = sequencer.submit(1L, (wallet, entries) -> {
+            started.countDown();
+            await(release);
+            return wallet;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Money> first = sequencer.submit(2L, withdraw(30.00));
+        CompletableFuture<Money> duplicate = sequencer.submit(2L, (wallet, entries) -> {
+            throw new DuplicateKeyException("duplicate key value violates unique constraint");
+        });
+        CompletableFuture<Money> second = sequencer.submit(2L, withdraw(20.00));
+
+        // When
+        release.countDown();
+
+        // Then
+        blocker.get(5, TimeUnit.SECONDS);
+        assertEquals(Money.of(70.00), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Money.of(80.00), second.get(5, TimeUnit.SECONDS));
+        CompletionException failure = assertThrows(CompletionException.class, duplicate::join);
+        assertInstanceOf(DuplicateKeyException.class, failure.getCause());
+
+        // One attempt for the group, then one per command
+        verify(walletRepository, times(4)).findByIdWithLock(2L);
+    }
+
+    @Test
+    @DisplayName("Should fail the whole group at once when the wallet is locked in NOWAIT mode")
+    void shouldFailGroupWhenWalletIsBusy() throws Exception {
+        // Given
+        when(walletRepository.findByIdWithLock(1L)).thenReturn(Optional.of(wallet(1L, 0.00)));
+        when(walletRepository.findByIdWithLock(2L)).thenThrow(
+                new RecursoOcupadoException("wallet.sequencer", new CannotAcquireLockException("nowait")));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Wallet> blocker = sequencer.submit(1L, (wallet, entries) -> {
+            started.countDown();
+            await(release);
+            return wallet;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Money> first = sequencer.submit(2L, withdraw(30.00));
+        CompletableFuture<Money> second = sequencer.submit(2L, withdraw(20.00));
+
+        // When
+        release.countDown();
+
+        // Then
+        blocker.get(5, TimeUnit.SECONDS);
+        assertInstanceOf(RecursoOcupadoException.class,
+                assertThrows(CompletionException.class, first::join).getCause());
+        assertInstanceOf(RecursoOcupadoException.class,
+                assertThrows(CompletionException.class, second::join).getCause());
+
+        // Not retried, and not replayed command by command
+        verify(walletRepository, times(1)).findByIdWithLock(2L);
+    }
+
+    private WalletCommand<Money> withdraw(double amount) {
+        return (wallet, entries) -> {
+            wallet.withdraw(Money.of(amount));
+            return wallet.getBalance();
+        };
+    }
+
+    private Wallet wallet(Long id, double balance) {
+        return Wallet.builder()
+                .id(id)
+                .userId("user-" + id)
+                .balance(Money.of(balance))
+                .version(0L)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.elton.pixservice.infrastructure.persistence.archive;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.valueobject.LedgerEntryType;
+import com.elton.pixservice.domain.valueobject.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LedgerSegment Tests")
+class LedgerSegmentTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back every entry of a wallet, including wallets spanning several blocks")
+    void shouldReadBackEntriesOfWallet() throws Exception {
+        // Given - enough entries for wallet 2 to span several 64 KiB blocks
+        Path file = directory.resolve("ledger-2025-01.seg");
+        long id = 0;
+        try (LedgerSegmentWriter writer = new LedgerSegmentWriter(file, MONTH)) {
+            writer.append(entry(++id, 1L, 10.00, LedgerEntryType.DEPOSIT, 0));
+            for (int i = 0; i < 5_000; i++) {
+                writer.append(entry(++id, 2L, 1.00, LedgerEntryType.DEPOSIT, i));
+            }
+            writer.append(entry(++id, 2L, 0.50, LedgerEntryType.TRANSFER_DEBIT, 5_000));
+            writer.append(entry(++id, 5L, 7.25, LedgerEntryType.WITHDRAW, 0));
+            writer.finish();
+
+            assertEquals(5_003, writer.getEntryCount());
+            assertEquals(3, writer.getWalletCount());
+            assertEquals(new BigDecimal("5002.25"), writer.getNetAmount());
+        }
+
+        // When
+        LedgerSegment segment = LedgerSegment.open(file);
+        List<LedgerEntry> wallet2 = segment.findByWalletId(2L);
+
+        // Then
+        assertEquals(MONTH, segment.getMonth());
+        assertEquals(5_003, segment.getEntryCount());
+        assertEquals(5_001, wallet2.size());
+        assertEquals(LedgerEntryType.TRANSFER_DEBIT, wallet2.get(5_000).getType());
+        assertEquals(Money.of(0.50), wallet2.get(5_000).getAmount());
+        assertEquals(1, segment.findByWalletId(1L).size());
+        assertEquals(1, segment.findByWalletId(5L).size());
+        assertTrue(segment.findByWalletId(3L).isEmpty());
+        assertTrue(segment.findByWalletId(9L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should preserve every field of an entry")
+    void shouldPreserveEveryField() throws Exception {
+        // Given
+        Path file = directory.resolve("ledger-2025-01.seg");
+        LedgerEntry original = LedgerEntry.builder()
+                .id(42L)
+                .walletId(7L)
+                .amount(Money.of(new BigDecimal("1234.56")))
+                .type(LedgerEntryType.TRANSFER_CREDIT)
+                .endToEndId("E202501151030abcdef0123456789abc")
+                .metadata("Pix transfer received – ação")
+                .createdAt(LocalDateTime.of(2025, 1, 15, 10, 30, 1, 123_456_000))
+                .build();
+        try (LedgerSegmentWriter writer = new LedgerSegmentWriter(file, MONTH)) {
+            writer.append(original);
+            writer.finish();
+        }
+
+        // When
+        List<LedgerEntry> entries = LedgerSegment.open(file).findByWalletId(7L);
+
+        // Then
+        assertEquals(List.of(original), entries);
+    }
+
+    @Test
+    @DisplayName("Should reject entries out of wallet order")
+    void shouldRejectUnsortedEntries() throws Exception {
+        try (LedgerSegmentWriter writer = new LedgerSegmentWriter(directory.resolve("unsorted.seg"), MONTH)) {
+            writer.append(entry(1L, 5L, 1.00, LedgerEntryType.DEPOSIT, 0));
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.append(entry(2L, 4L, 1.00, LedgerEntryType.DEPOSIT, 0)));
+        }
+    }
+
+    private LedgerEntry entry(long id, long walletId, double amount, LedgerEntryType type, int minute) {
+        return LedgerEntry.builder()
+                .id(id)
+                .walletId(walletId)
+                .amount(Money.of(amount))
+                .type(type)
+                .metadata("entry " + id)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(minute))
+                .build();
+    }
+}
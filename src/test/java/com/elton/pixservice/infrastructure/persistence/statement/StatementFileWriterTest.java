@@ -0,0 +1,124 @@
+package com.elton.pixservice.infrastructure.persistence.statement;
+
+import com.elton.pixservice.domain.entity.LedgerEntry;
+import com.elton.pixservice.domain.valueobject.LedgerEntryType;
+import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.domain.valueobject.StatementFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StatementFileWriter Tests")
+class StatementFileWriterTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 9);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should write valid gzip CSV files with running balance, reusing the writer across wallets")
+    void shouldWriteCsvWithRunningBalance() throws Exception {
+        // Given - a 1 KiB buffer forces many deflate and channel flushes
+        Path first = directory.resolve("2025-09/000000/1.csv.gz");
+        Path second = directory.resolve("2025-09/000000/2.csv.gz");
+
+        // When
+        long firstSize;
+        try (StatementFileWriter writer = new StatementFileWriter(StatementFormat.CSV, 1024)) {
+            writer.open(first, 1L, MONTH, new BigDecimal("100.00"));
+            for (int i = 0; i < 2_000; i++) {
+                writer.append(entry(1L, 1.00, LedgerEntryType.DEPOSIT, i, "Deposit operation"));
+            }
+            writer.append(entry(1L, 50.00, LedgerEntryType.TRANSFER_DEBIT, 2_000, "Pix transfer to a, \"b\""));
+            firstSize = writer.finish();
+
+            writer.open(second, 2L, MONTH, BigDecimal.ZERO);
+            writer.append(entry(2L, 10.00, LedgerEntryType.TRANSFER_CREDIT, 0, null));
+            writer.finish();
+        }
+
+        // Then
+        assertEquals(Files.size(first), firstSize);
+        List<String> lines = readLines(first);
+        assertEquals(2_004, lines.size());
+        assertEquals("wallet_id,created_at,type,amount,balance,end_to_end_id,description", lines.get(0));
+        assertEquals("1,2025-09-01T00:00,OPENING_BALANCE,,100.00,,", lines.get(1));
+        assertEquals("1,2025-09-01T00:00,DEPOSIT,1.00,101.00,,Deposit operation", lines.get(2));
+        assertTrue(lines.get(2_002).endsWith("TRANSFER_DEBIT,-50.00,2050.00,,\"Pix transfer to a, \"\"b\"\"\""));
+        assertTrue(lines.get(2_003).contains("CLOSING_BALANCE,,2050.00"));
+
+        List<String> secondLines = readLines(second);
+        assertEquals(4, secondLines.size());
+        assertTrue(secondLines.get(3).startsWith("2,") && secondLines.get(3).contains("CLOSING_BALANCE,,10.00"));
+        try (var files = Files.list(first.getParent())) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write one escaped JSON object per line in NDJSON")
+    void shouldWriteNdjson() throws Exception {
+        // Given
+        Path file = directory.resolve("7.ndjson.gz");
+
+        // When
+        try (StatementFileWriter writer = new StatementFileWriter(StatementFormat.NDJSON,
+                StatementFileWriter.DEFAULT_BUFFER_SIZE)) {
+            writer.open(file, 7L, MONTH, new BigDecimal("5.00"));
+            writer.append(entry(7L, 2.50, LedgerEntryType.WITHDRAW, 1, "line\nbreak \"quoted\" \\"));
+            writer.finish();
+        }
+
+        // Then
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<JsonNode> records = readLines(file).stream()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line);
+                    } catch (IOException e) {
+                        throw new AssertionError("Invalid JSON line: " + line, e);
+                    }
+                })
+                .collect(Collectors.toList());
+        assertEquals(3, records.size());
+        assertEquals("OPENING_BALANCE", records.get(0).get("type").asText());
+        assertEquals(0, new BigDecimal("-2.50").compareTo(records.get(1).get("amount").decimalValue()));
+        assertEquals("line\nbreak \"quoted\" \\", records.get(1).get("description").asText());
+        assertEquals(0, new BigDecimal("2.50").compareTo(records.get(2).get("balance").decimalValue()));
+    }
+
+    private static List<String> readLines(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    private static LedgerEntry entry(long walletId, double amount, LedgerEntryType type, int minute, String metadata) {
+        return LedgerEntry.builder()
+                .walletId(walletId)
+                .amount(Money.of(amount))
+                .type(type)
+                .metadata(metadata)
+                .createdAt(LocalDateTime.of(2025, 9, 1, 0, 0).plusMinutes(minute))
+                .build();
+    }
+}
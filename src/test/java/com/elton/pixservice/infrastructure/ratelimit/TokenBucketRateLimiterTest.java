@@ -0,0 +1,115 @@
+package com.elton.pixservice.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenBucketRateLimiter Tests")
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private MockEnvironment environment;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("pix.rate-limit.endpoints.pix.transfer.wallet.rate-per-second", "2")
+                .withProperty("pix.rate-limit.endpoints.pix.transfer.wallet.burst", "3");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should allow the burst, reject the next request and refill over time")
+    void shouldLimitAfterBurst() {
+        // Given
+        TokenBucketRateLimiter rateLimiter = limiter(100);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire("pix.transfer", TokenBucketRateLimiter.WALLET, "1");
+        }
+        LimiteRequisicoesExcedidoException ex = assertThrows(LimiteRequisicoesExcedidoException.class,
+                () -> rateLimiter.acquire("pix.transfer", TokenBucketRateLimiter.WALLET, "1"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        // Then
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> rateLimiter.acquire("pix.transfer", TokenBucketRateLimiter.WALLET, "1"));
+        assertThrows(LimiteRequisicoesExcedidoException.class,
+                () -> rateLimiter.acquire("pix.transfer", TokenBucketRateLimiter.WALLET, "1"));
+        assertEquals(4.0, requests("allowed"));
+        assertEquals(2.0, requests("limited"));
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key and leave unconfigured scopes unlimited")
+    void shouldIsolateKeysAndScopes() {
+        // Given
+        TokenBucketRateLimiter rateLimiter = limiter(100);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire("pix.transfer", TokenBucketRateLimiter.WALLET, "1");
+        }
+
+        // Then
+        assertDoesNotThrow(() -> rateLimiter.acquire("pix.transfer", TokenBucketRateLimiter.WALLET, "2"));
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> rateLimiter.acquire("pix.transfer", TokenBucketRateLimiter.CLIENT, "client-a"));
+        }
+        assertEquals(2, rateLimiter.bucketCount());
+    }
+
+    @Test
+    @DisplayName("Should evict only full buckets and limit new keys when no bucket is idle")
+    void shouldBoundMemory() {
+        // Given
+        TokenBucketRateLimiter rateLimiter = limiter(2);
+        rateLimiter.acquire("pix.transfer", TokenBucketRateLimiter.WALLET, "1");
+        rateLimiter.acquire("pix.transfer", TokenBucketRateLimiter.WALLET, "2");
+
+        // When
+        LimiteRequisicoesExcedidoException ex = assertThrows(LimiteRequisicoesExcedidoException.class,
+                () -> rateLimiter.acquire("pix.transfer", TokenBucketRateLimiter.WALLET, "3"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        rateLimiter.evictIdle();
+
+        // Then
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("pix.ratelimit.overflow").counter().count());
+        assertEquals(1.0, requests("limited"));
+        assertEquals(0, rateLimiter.bucketCount());
+        assertEquals(0.0, meterRegistry.get("pix.ratelimit.buckets").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should not limit anything when disabled")
+    void shouldSkipWhenDisabled() {
+        // Given
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(
+                environment, meterRegistry, false, 100, 1, clock::get);
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> rateLimiter.acquire("pix.transfer", TokenBucketRateLimiter.WALLET, "1"));
+        }
+        assertEquals(0, rateLimiter.bucketCount());
+    }
+
+    private TokenBucketRateLimiter limiter(int maxBuckets) {
+        return new TokenBucketRateLimiter(environment, meterRegistry, true, maxBuckets, 1, clock::get);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("pix.ratelimit.requests")
+                .tag("endpoint", "pix.transfer").tag("scope", "wallet").tag("result", result).counter().count();
+    }
+}
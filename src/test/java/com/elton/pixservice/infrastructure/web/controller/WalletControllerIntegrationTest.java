@@ -22,6 +22,9 @@ import java.math.BigDecimal;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -143,26 +146,48 @@ class WalletControllerIntegrationTest {
     @DisplayName("GET /wallets/{id}/balance should return current balance")
     void shouldReturnCurrentBalance() throws Exception {
         // Given
-        when(getBalanceUseCase.getCurrentBalance(1L)).thenReturn(Money.of(250.00));
+        when(getBalanceUseCase.getCurrentWallet(1L)).thenReturn(Wallet.builder()
+                .id(1L)
+                .userId("user123")
+                .balance(Money.of(250.00))
+                .version(7L)
+                .build());
 
         // When & Then
         mockMvc.perform(get("/wallets/1/balance"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"1-7\""))
                 .andExpect(jsonPath("$.walletId").value(1))
                 .andExpect(jsonPath("$.balance").value(250.00));
     }
 
+    @Test
+    @DisplayName("GET /wallets/{id}/balance should return 304 when the wallet version is unchanged")
+    void shouldReturnNotModifiedForUnchangedBalance() throws Exception {
+        // Given
+        when(getBalanceUseCase.getCurrentVersion(1L)).thenReturn(7L);
+
+        // When & Then
+        mockMvc.perform(get("/wallets/1/balance")
+                .header("If-None-Match", "W/\"1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(getBalanceUseCase, never()).getCurrentWallet(any());
+    }
+
     @Test
     @DisplayName("GET /wallets/{id}/balance with timestamp should return historical balance")
     void shouldReturnHistoricalBalance() throws Exception {
         // Given
         when(getBalanceUseCase.getHistoricalBalance(eq(1L), any()))
                 .thenReturn(Money.of(200.00));
+        when(getBalanceUseCase.isSettled(any())).thenReturn(true);
 
         // When & Then
         mockMvc.perform(get("/wallets/1/balance")
                 .param("at", "2025-10-13T10:00:00"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
                 .andExpect(jsonPath("$.balance").value(200.00));
     }
 }
@@ -0,0 +1,61 @@
+package com.elton.pixservice.infrastructure.web.json;
+
+import com.elton.pixservice.domain.valueobject.TransferStatus;
+import com.elton.pixservice.infrastructure.web.dto.BalanceResponse;
+import com.elton.pixservice.infrastructure.web.dto.TransferPixResponse;
+import com.elton.pixservice.infrastructure.web.dto.WalletResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("ResponseSerializers Tests")
+class ResponseSerializersTest {
+
+    private final ObjectMapper reflective = mapper();
+    private final ObjectMapper tuned = mapper().registerModules(ResponseSerializers.module(), new BlackbirdModule());
+
+    @Test
+    @DisplayName("Should write the same JSON as the default serializer")
+    void shouldMatchDefaultSerializer() throws Exception {
+        assertSameJson(WalletResponse.builder().id(1L).userId("user-1").balance(new BigDecimal("150.00")).build());
+        assertSameJson(BalanceResponse.builder()
+                .walletId(1L)
+                .balance(new BigDecimal("0.10"))
+                .timestamp(LocalDateTime.of(2025, 10, 9, 15, 0, 0, 123_000_000))
+                .build());
+        assertSameJson(TransferPixResponse.builder()
+                .endToEndId("E202510091500abcdef0123456789abc")
+                .fromWalletId(1L)
+                .toWalletId(2L)
+                .amount(new BigDecimal("1E+3"))
+                .status(TransferStatus.PENDING)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should write null fields like the default serializer")
+    void shouldWriteNullFields() throws Exception {
+        assertSameJson(new WalletResponse());
+        assertSameJson(new BalanceResponse());
+        assertSameJson(new TransferPixResponse());
+    }
+
+    private void assertSameJson(Object response) throws Exception {
+        assertEquals(reflective.writeValueAsString(response), tuned.writeValueAsString(response));
+    }
+
+    private static ObjectMapper mapper() {
+        // Same defaults as Spring Boot's auto-configured mapper
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
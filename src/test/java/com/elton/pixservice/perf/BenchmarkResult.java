@@ -0,0 +1,24 @@
+package com.elton.pixservice.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Throughput and latency of one workload; also the shape of each workload in {@code perf/baseline.json}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BenchmarkResult {
+    private String name;
+    private int threads;
+    private long operations;
+    private long errors;
+    private double opsPerSec;
+    private long p50Micros;
+    private long p99Micros;
+    private long maxMicros;
+}
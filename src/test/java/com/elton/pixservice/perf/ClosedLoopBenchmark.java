@@ -0,0 +1,106 @@
+package com.elton.pixservice.perf;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator: each thread calls the operation back to back, for a warmup period
+ * and then a measured period. Latencies go to an HdrHistogram {@link Recorder} (microseconds).
+ *
+ * HdrHistogram comes with micrometer-core; it is not declared separately so its compile scope is kept.
+ */
+final class ClosedLoopBenchmark {
+
+    @FunctionalInterface
+    interface Operation {
+        /**
+         * @return false when the workload ran out of input (the thread stops)
+         */
+        boolean run() throws Exception;
+    }
+
+    private final int threads;
+    private final long warmupMillis;
+    private final long durationMillis;
+
+    ClosedLoopBenchmark(int threads, long warmupMillis, long durationMillis) {
+        this.threads = threads;
+        this.warmupMillis = warmupMillis;
+        this.durationMillis = durationMillis;
+    }
+
+    BenchmarkResult run(String name, Operation operation) throws InterruptedException {
+        Recorder recorder = new Recorder(TimeUnit.SECONDS.toMicros(60), 3);
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicLong operations = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        List<Throwable> firstErrors = new CopyOnWriteArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "perf-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(executor.submit(() -> {
+                while (!stopped.get()) {
+                    long started = System.nanoTime();
+                    boolean more;
+                    try {
+                        more = operation.run();
+                    } catch (Exception e) {
+                        if (measuring.get()) {
+                            errors.incrementAndGet();
+                            if (firstErrors.size() < 3) {
+                                firstErrors.add(e);
+                            }
+                        }
+                        continue;
+                    }
+                    if (!more) {
+                        break;
+                    }
+                    if (measuring.get()) {
+                        recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+                        operations.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        Thread.sleep(warmupMillis);
+        recorder.reset();
+        measuring.set(true);
+        long measureStart = System.nanoTime();
+        Thread.sleep(durationMillis);
+        measuring.set(false);
+        long measuredNanos = System.nanoTime() - measureStart;
+        stopped.set(true);
+
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+
+        Histogram histogram = recorder.getIntervalHistogram();
+        firstErrors.forEach(error -> System.err.println("[perf] " + name + " error: " + error));
+        return BenchmarkResult.builder()
+                .name(name)
+                .threads(threads)
+                .operations(operations.get())
+                .errors(errors.get())
+                .opsPerSec(operations.get() * 1_000_000_000.0 / measuredNanos)
+                .p50Micros(histogram.getValueAtPercentile(50))
+                .p99Micros(histogram.getValueAtPercentile(99))
+                .maxMicros(histogram.getMaxValue())
+                .build();
+    }
+}
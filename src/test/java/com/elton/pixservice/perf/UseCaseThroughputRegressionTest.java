@@ -0,0 +1,237 @@
+package com.elton.pixservice.perf;
+
+import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.domain.valueobject.PixKeyType;
+import com.elton.pixservice.infrastructure.BaseIntegrationTest;
+import com.elton.pixservice.usecase.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Throughput regression suite for the hot use cases, run against Testcontainers PostgreSQL.
+ *
+ * Each workload runs {@code perf.threads} threads in a closed loop over {@code perf.wallets} wallets:
+ * deposit, transfer, webhook confirmation (of the transfers just created) and current balance.
+ * Results are written to {@code target/perf/results.json} and compared with
+ * {@code src/test/resources/perf/baseline.json}: the test fails when ops/sec drops, or p99 rises,
+ * by more than {@code perf.tolerance} (default 25%), and when a workload has no baseline entry.
+ * While the baseline has no workloads at all (none recorded yet) only the error rate is enforced.
+ *
+ * Tagged {@code perf}: excluded from the default build, run with {@code mvn test -Pperf}. Baselines are
+ * machine dependent: {@code -Dperf.record=true} skips the comparison and writes the results, with the
+ * machine profile they were measured on, to {@code src/test/resources/perf/baseline.json}. Record them on
+ * the CI runner that enforces them; a profile differing from the baseline's is reported before comparing.
+ */
+@Tag("perf")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.elton.pixservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@DisplayName("Use case throughput regression")
+class UseCaseThroughputRegressionTest extends BaseIntegrationTest {
+
+    private static final String BASELINE = "/perf/baseline.json";
+    private static final Path RESULTS = Paths.get("target", "perf", "results.json");
+    private static final Path BASELINE_SOURCE = Paths.get("src", "test", "resources", "perf", "baseline.json");
+
+    private final int threads = Integer.getInteger("perf.threads", 8);
+    private final int walletCount = Integer.getInteger("perf.wallets", 200);
+    private final long warmupMillis = Long.getLong("perf.warmup.ms", 3_000L);
+    private final long durationMillis = Long.getLong("perf.duration.ms", 10_000L);
+    private final double tolerance = Double.parseDouble(System.getProperty("perf.tolerance", "0.25"));
+    private final boolean record = Boolean.getBoolean("perf.record");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Autowired
+    private CreateWalletUseCase createWalletUseCase;
+
+    @Autowired
+    private RegisterPixKeyUseCase registerPixKeyUseCase;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private TransferPixUseCase transferPixUseCase;
+
+    @Autowired
+    private ProcessWebhookUseCase processWebhookUseCase;
+
+    @Autowired
+    private GetBalanceUseCase getBalanceUseCase;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // worker threads must see committed data
+    @DisplayName("Should keep throughput and p99 within tolerance of the baseline")
+    void shouldStayWithinBaseline() throws Exception {
+        // Given
+        List<Long> walletIds = new ArrayList<>();
+        List<String> pixKeys = new ArrayList<>();
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < walletCount; i++) {
+            Wallet wallet = createWalletUseCase.execute("perf-" + run + "-" + i);
+            depositUseCase.execute(wallet.getId(), Money.of(1_000_000L));
+            String key = UUID.randomUUID().toString();
+            registerPixKeyUseCase.execute(wallet.getId(), PixKeyType.EVP, key);
+            walletIds.add(wallet.getId());
+            pixKeys.add(key);
+        }
+        Queue<String> pendingTransfers = new ConcurrentLinkedQueue<>();
+        ClosedLoopBenchmark benchmark = new ClosedLoopBenchmark(threads, warmupMillis, durationMillis);
+
+        // When
+        List<BenchmarkResult> results = new ArrayList<>();
+        results.add(benchmark.run("deposit", () -> {
+            depositUseCase.execute(randomOf(walletIds), Money.of(1.00));
+            return true;
+        }));
+        results.add(benchmark.run("transfer", () -> {
+            int from = ThreadLocalRandom.current().nextInt(walletCount);
+            int to = (from + 1 + ThreadLocalRandom.current().nextInt(walletCount - 1)) % walletCount;
+            pendingTransfers.add(transferPixUseCase.execute(walletIds.get(from), pixKeys.get(to),
+                    Money.of(0.01), UUID.randomUUID().toString()).getEndToEndId());
+            return true;
+        }));
+        results.add(benchmark.run("webhook", () -> {
+            String endToEndId = pendingTransfers.poll();
+            if (endToEndId == null) {
+                return false;
+            }
+            processWebhookUseCase.execute(UUID.randomUUID().toString(), endToEndId, "CONFIRMED");
+            return true;
+        }));
+        results.add(benchmark.run("balance", () -> {
+            getBalanceUseCase.getCurrentBalance(randomOf(walletIds));
+            return true;
+        }));
+
+        // Then
+        writeResults(results);
+        Map<String, String> machine = machineProfile();
+        if (record) {
+            recordBaseline(machine, results);
+        }
+        Baseline baseline = readBaseline();
+        boolean compare = !record && !baseline.getWorkloads().isEmpty();
+        if (!record && !compare) {
+            System.out.println("[perf] no baseline recorded yet, skipping the comparison; "
+                    + "record one on the reference runner with -Dperf.record=true");
+        }
+        if (compare && !machine.equals(baseline.getMachine())) {
+            System.out.println("[perf] machine profile " + machine + " differs from the baseline's "
+                    + baseline.getMachine() + "; re-record the baseline on this runner if it is the new reference");
+        }
+        Map<String, BenchmarkResult> expectedByName = new HashMap<>();
+        baseline.getWorkloads().forEach(expected -> expectedByName.put(expected.getName(), expected));
+        List<String> regressions = new ArrayList<>();
+        for (BenchmarkResult result : results) {
+            System.out.printf(Locale.ROOT, "[perf] %-8s %8.1f ops/s  p50 %6dus  p99 %7dus  max %8dus  errors %d%n",
+                    result.getName(), result.getOpsPerSec(), result.getP50Micros(), result.getP99Micros(),
+                    result.getMaxMicros(), result.getErrors());
+            assertTrue(result.getOperations() > 0, "No operation completed for " + result.getName());
+            if (result.getErrors() > result.getOperations() / 100) {
+                regressions.add(result.getName() + ": " + result.getErrors() + " errors in "
+                        + result.getOperations() + " operations");
+            }
+
+            if (!compare) {
+                continue;
+            }
+            BenchmarkResult expected = expectedByName.get(result.getName());
+            if (expected == null) {
+                regressions.add(result.getName() + ": no baseline entry (record one with -Dperf.record=true)");
+                continue;
+            }
+            if (result.getOpsPerSec() < expected.getOpsPerSec() * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: %.1f ops/s, baseline %.1f",
+                        result.getName(), result.getOpsPerSec(), expected.getOpsPerSec()));
+            }
+            if (result.getP99Micros() > expected.getP99Micros() * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: p99 %dus, baseline %dus",
+                        result.getName(), result.getP99Micros(), expected.getP99Micros()));
+            }
+        }
+        if (!regressions.isEmpty()) {
+            fail("Performance regression beyond " + Math.round(tolerance * 100) + "% tolerance:\n - "
+                    + String.join("\n - ", regressions));
+        }
+    }
+
+    private static Long randomOf(List<Long> walletIds) {
+        return walletIds.get(ThreadLocalRandom.current().nextInt(walletIds.size()));
+    }
+
+    /**
+     * Reads the recorded file when recording, since the classpath copy predates this run.
+     */
+    private Baseline readBaseline() throws IOException {
+        if (record) {
+            return objectMapper.readValue(BASELINE_SOURCE.toFile(), Baseline.class);
+        }
+        try (InputStream in = getClass().getResourceAsStream(BASELINE)) {
+            return in == null ? new Baseline(Map.of(), List.of()) : objectMapper.readValue(in, Baseline.class);
+        }
+    }
+
+    private void recordBaseline(Map<String, String> machine, List<BenchmarkResult> results) throws IOException {
+        Files.createDirectories(BASELINE_SOURCE.getParent());
+        objectMapper.writeValue(BASELINE_SOURCE.toFile(), new Baseline(machine, results));
+        System.out.println("[perf] baseline recorded to " + BASELINE_SOURCE + " for " + machine);
+    }
+
+    /**
+     * What the numbers depend on besides the code: hardware, JVM and the workload parameters.
+     */
+    private Map<String, String> machineProfile() {
+        Map<String, String> machine = new TreeMap<>();
+        machine.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        machine.put("cpus", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        machine.put("maxHeapMb", String.valueOf(Runtime.getRuntime().maxMemory() / (1024 * 1024)));
+        machine.put("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        machine.put("threads", String.valueOf(threads));
+        machine.put("wallets", String.valueOf(walletCount));
+        machine.put("durationMs", String.valueOf(durationMillis));
+        return machine;
+    }
+
+    private void writeResults(List<BenchmarkResult> results) throws IOException {
+        Files.createDirectories(RESULTS.getParent());
+        objectMapper.writeValue(RESULTS.toFile(), results);
+    }
+
+    /**
+     * Shape of {@code perf/baseline.json}: the machine profile the workloads were measured on.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Baseline {
+        private Map<String, String> machine = Map.of();
+        private List<BenchmarkResult> workloads = List.of();
+    }
+}
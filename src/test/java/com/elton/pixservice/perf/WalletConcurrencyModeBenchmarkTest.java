@@ -0,0 +1,141 @@
+package com.elton.pixservice.perf;
+
+import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.domain.valueobject.PixKeyType;
+import com.elton.pixservice.infrastructure.BaseIntegrationTest;
+import com.elton.pixservice.infrastructure.concurrency.LockRetryTemplate;
+import com.elton.pixservice.usecase.CreateWalletUseCase;
+import com.elton.pixservice.usecase.DepositUseCase;
+import com.elton.pixservice.usecase.RegisterPixKeyUseCase;
+import com.elton.pixservice.usecase.TransferPixUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pessimistic ({@code SELECT ... FOR UPDATE}) vs optimistic (version-checked update) wallet writes,
+ * at low contention ({@code perf.wallets} wallets) and high contention ({@code perf.hot-wallets}).
+ *
+ * Deposits and transfers go through {@link LockRetryTemplate} as in the controllers, so optimistic
+ * conflicts are retried and only exhausted retries count as errors. Results are written to
+ * {@code target/perf/concurrency-modes.json}; there is no baseline, the comparison is the output.
+ *
+ * Tagged {@code perf}: run with {@code mvn test -Pperf -Dtest=WalletConcurrencyModeBenchmarkTest}.
+ */
+@Tag("perf")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.elton.pixservice=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@DisplayName("Wallet concurrency mode benchmark")
+class WalletConcurrencyModeBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Path RESULTS = Paths.get("target", "perf", "concurrency-modes.json");
+
+    private final int threads = Integer.getInteger("perf.threads", 8);
+    private final int walletCount = Integer.getInteger("perf.wallets", 200);
+    private final int hotWalletCount = Integer.getInteger("perf.hot-wallets", 2);
+    private final long warmupMillis = Long.getLong("perf.warmup.ms", 3_000L);
+    private final long durationMillis = Long.getLong("perf.duration.ms", 10_000L);
+
+    @Autowired
+    private CreateWalletUseCase createWalletUseCase;
+
+    @Autowired
+    private RegisterPixKeyUseCase registerPixKeyUseCase;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private TransferPixUseCase transferPixUseCase;
+
+    @Autowired
+    private LockRetryTemplate lockRetryTemplate;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // worker threads must see committed data
+    @DisplayName("Should report deposit and transfer throughput per concurrency mode and contention level")
+    void shouldCompareConcurrencyModes() throws Exception {
+        // Given
+        List<Long> walletIds = new ArrayList<>();
+        List<String> pixKeys = new ArrayList<>();
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < walletCount; i++) {
+            Wallet wallet = createWalletUseCase.execute("mode-" + run + "-" + i);
+            depositUseCase.execute(wallet.getId(), Money.of(1_000_000L));
+            String key = UUID.randomUUID().toString();
+            registerPixKeyUseCase.execute(wallet.getId(), PixKeyType.EVP, key);
+            walletIds.add(wallet.getId());
+            pixKeys.add(key);
+        }
+        ClosedLoopBenchmark benchmark = new ClosedLoopBenchmark(threads, warmupMillis, durationMillis);
+
+        // When
+        List<BenchmarkResult> results = new ArrayList<>();
+        try {
+            for (boolean optimistic : new boolean[]{false, true}) {
+                setOptimistic(optimistic);
+                String mode = optimistic ? "optimistic" : "pessimistic";
+                for (int wallets : new int[]{walletCount, Math.max(2, hotWalletCount)}) {
+                    String contention = wallets == walletCount ? "low" : "high";
+                    results.add(benchmark.run("deposit-" + mode + "-" + contention, () -> {
+                        Long walletId = walletIds.get(ThreadLocalRandom.current().nextInt(wallets));
+                        lockRetryTemplate.execute("wallet.deposit", () -> depositUseCase.execute(walletId, Money.of(1.00)));
+                        return true;
+                    }));
+                    results.add(benchmark.run("transfer-" + mode + "-" + contention, () -> {
+                        int from = ThreadLocalRandom.current().nextInt(wallets);
+                        int to = (from + 1 + ThreadLocalRandom.current().nextInt(walletCount - 1)) % walletCount;
+                        lockRetryTemplate.execute("pix.transfer", () -> transferPixUseCase.execute(
+                                walletIds.get(from), pixKeys.get(to), Money.of(0.01), UUID.randomUUID().toString()));
+                        return true;
+                    }));
+                }
+            }
+        } finally {
+            setOptimistic(false);
+        }
+
+        // Then
+        writeResults(results);
+        for (BenchmarkResult result : results) {
+            System.out.printf(Locale.ROOT, "[perf] %-28s %8.1f ops/s  p50 %6dus  p99 %7dus  errors %d%n",
+                    result.getName(), result.getOpsPerSec(), result.getP50Micros(), result.getP99Micros(),
+                    result.getErrors());
+            assertTrue(result.getOperations() > 0, "No operation completed for " + result.getName());
+        }
+    }
+
+    private void setOptimistic(boolean optimistic) {
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(depositUseCase), "optimistic", optimistic);
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(transferPixUseCase), "optimistic", optimistic);
+    }
+
+    private void writeResults(List<BenchmarkResult> results) throws IOException {
+        Files.createDirectories(RESULTS.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(RESULTS.toFile(), results);
+    }
+}
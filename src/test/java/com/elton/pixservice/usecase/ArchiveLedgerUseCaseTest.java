@@ -0,0 +1,85 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.LedgerArchiveSummary;
+import com.elton.pixservice.domain.repository.LedgerArchiveRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ArchiveLedgerUseCase Tests")
+class ArchiveLedgerUseCaseTest {
+
+    @Mock
+    private LedgerArchiveRepository ledgerArchiveRepository;
+
+    @InjectMocks
+    private ArchiveLedgerUseCase archiveLedgerUseCase;
+
+    @Test
+    @DisplayName("Should archive only months older than the cutoff, after verifying each segment")
+    void shouldArchiveEligibleMonths() {
+        // Given
+        ReflectionTestUtils.setField(archiveLedgerUseCase, "minAgeMonths", 12);
+        YearMonth old = YearMonth.now().minusMonths(14);
+        YearMonth recent = YearMonth.now().minusMonths(2);
+        when(ledgerArchiveRepository.findLiveMonths()).thenReturn(List.of(old, recent));
+        when(ledgerArchiveRepository.summarizeLiveMonth(old)).thenReturn(summary(old, 100, 500.00));
+        when(ledgerArchiveRepository.exportMonth(old)).thenReturn(summary(old, 100, 500.00));
+
+        // When
+        List<LedgerArchiveSummary> archived = archiveLedgerUseCase.archiveEligibleMonths();
+
+        // Then
+        assertEquals(1, archived.size());
+        verify(ledgerArchiveRepository).registerAndDropPartition(archived.get(0));
+        verify(ledgerArchiveRepository, never()).exportMonth(recent);
+    }
+
+    @Test
+    @DisplayName("Should keep the partition when the segment does not match it")
+    void shouldKeepPartitionWhenSegmentDiffers() {
+        // Given
+        ReflectionTestUtils.setField(archiveLedgerUseCase, "minAgeMonths", 12);
+        YearMonth old = YearMonth.now().minusMonths(14);
+        when(ledgerArchiveRepository.summarizeLiveMonth(old)).thenReturn(summary(old, 100, 500.00));
+        when(ledgerArchiveRepository.exportMonth(old)).thenReturn(summary(old, 99, 495.00));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> archiveLedgerUseCase.archiveMonth(old));
+        verify(ledgerArchiveRepository, never()).registerAndDropPartition(any());
+    }
+
+    @Test
+    @DisplayName("Should refuse months newer than the cutoff")
+    void shouldRefuseRecentMonth() {
+        // Given
+        ReflectionTestUtils.setField(archiveLedgerUseCase, "minAgeMonths", 12);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> archiveLedgerUseCase.archiveMonth(YearMonth.now()));
+        verifyNoInteractions(ledgerArchiveRepository);
+    }
+
+    private LedgerArchiveSummary summary(YearMonth month, long entries, double net) {
+        return LedgerArchiveSummary.builder()
+                .month(month)
+                .entryCount(entries)
+                .walletCount(10)
+                .netAmount(Money.of(net))
+                .segmentFile("ledger-" + month + ".seg")
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.repository.WalletStatsRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BackfillWalletStatsUseCase Tests")
+class BackfillWalletStatsUseCaseTest {
+
+    @Mock
+    private WalletStatsRepository walletStatsRepository;
+
+    @InjectMocks
+    private BackfillWalletStatsUseCase backfillWalletStatsUseCase;
+
+    @Test
+    @DisplayName("Should rebuild the wallet id space in contiguous ranges")
+    void shouldRebuildInRanges() {
+        // Given
+        ReflectionTestUtils.setField(backfillWalletStatsUseCase, "rangeSize", 10);
+        when(walletStatsRepository.findWalletIdBounds()).thenReturn(Optional.of(new long[]{1L, 25L}));
+        when(walletStatsRepository.rebuildRange(anyLong(), anyLong())).thenReturn(10, 10, 3);
+
+        // When
+        long rebuilt = backfillWalletStatsUseCase.execute();
+
+        // Then
+        assertEquals(23, rebuilt);
+        verify(walletStatsRepository).rebuildRange(1L, 10L);
+        verify(walletStatsRepository).rebuildRange(11L, 20L);
+        verify(walletStatsRepository).rebuildRange(21L, 25L);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when there are no wallets")
+    void shouldSkipWhenNoWallets() {
+        // Given
+        when(walletStatsRepository.findWalletIdBounds()).thenReturn(Optional.empty());
+
+        // When
+        long rebuilt = backfillWalletStatsUseCase.execute();
+
+        // Then
+        assertEquals(0, rebuilt);
+        verify(walletStatsRepository, never()).rebuildRange(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,216 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.PixKey;
+import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.exception.SaldoInsuficienteException;
+import com.elton.pixservice.domain.exception.TransferenciaInvalidaException;
+import com.elton.pixservice.domain.repository.*;
+import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.domain.valueobject.PixKeyType;
+import com.elton.pixservice.domain.valueobject.TransferStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchTransferPixUseCase Tests")
+class BatchTransferPixUseCaseTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private PixKeyRepository pixKeyRepository;
+
+    @Mock
+    private PixTransferRepository pixTransferRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private IdempotencyRepository idempotencyRepository;
+
+    @InjectMocks
+    private BatchTransferPixUseCase batchTransferPixUseCase;
+
+    private Wallet sourceWallet;
+
+    @BeforeEach
+    void setUp() {
+        sourceWallet = Wallet.builder()
+                .id(1L)
+                .userId("payer")
+                .balance(Money.of(500.00))
+                .version(0L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should lock source once and write all transfers in batch")
+    void shouldLockSourceOnceAndWriteAllTransfersInBatch() {
+        // Given
+        List<BatchTransferPixUseCase.Item> items = List.of(
+                item("k1", "a@example.com", 100.00),
+                item("k2", "b@example.com", 150.00));
+
+        when(idempotencyRepository.findExistingKeys(eq("pix_transfer"), anyCollection())).thenReturn(Set.of());
+        when(pixKeyRepository.findByKeyValueIn(anyCollection())).thenReturn(List.of(
+                pixKey("a@example.com", 2L), pixKey("b@example.com", 3L)));
+        when(walletRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceWallet));
+        claimAllIdempotencyKeys();
+
+        // When
+        List<BatchTransferPixUseCase.ItemResult> results = batchTransferPixUseCase.execute(1L, items);
+
+        // Then
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(r -> r.getOutcome() == BatchTransferPixUseCase.Outcome.CREATED));
+        assertEquals(2L, results.get(0).getTransfer().getToWalletId());
+        assertEquals(3L, results.get(1).getTransfer().getToWalletId());
+        assertEquals(TransferStatus.PENDING, results.get(0).getTransfer().getStatus());
+
+        verify(walletRepository, times(1)).findByIdWithLock(1L);
+        verify(walletRepository).save(argThat(wallet -> wallet.getBalance().equals(Money.of(250.00))));
+        verify(pixTransferRepository).saveAll(argThat(transfers -> transfers.size() == 2));
+        verify(ledgerEntryRepository).saveAll(argThat(entries -> entries.size() == 2));
+        verify(idempotencyRepository).saveIdempotencyKeys(eq("pix_transfer"),
+                argThat((Map<String, String> keys) -> keys.keySet().equals(Set.of("k1", "k2"))));
+        verify(pixTransferRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should report duplicates and unknown keys per item without aborting the batch")
+    void shouldReportInvalidItemsWithoutAbortingBatch() {
+        // Given
+        List<BatchTransferPixUseCase.Item> items = List.of(
+                item("used", "a@example.com", 10.00),
+                item("k1", "a@example.com", 10.00),
+                item("k1", "a@example.com", 10.00),
+                item("k2", "missing@example.com", 10.00),
+                item("k3", "self@example.com", 10.00));
+
+        when(idempotencyRepository.findExistingKeys(eq("pix_transfer"), anyCollection())).thenReturn(Set.of("used"));
+        when(pixKeyRepository.findByKeyValueIn(anyCollection())).thenReturn(List.of(
+                pixKey("a@example.com", 2L), pixKey("self@example.com", 1L)));
+        when(walletRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceWallet));
+        claimAllIdempotencyKeys();
+
+        // When
+        List<BatchTransferPixUseCase.ItemResult> results = batchTransferPixUseCase.execute(1L, items);
+
+        // Then
+        assertEquals(BatchTransferPixUseCase.Outcome.DUPLICATE, results.get(0).getOutcome());
+        assertEquals(BatchTransferPixUseCase.Outcome.CREATED, results.get(1).getOutcome());
+        assertEquals(BatchTransferPixUseCase.Outcome.DUPLICATE, results.get(2).getOutcome());
+        assertEquals(BatchTransferPixUseCase.Outcome.REJECTED, results.get(3).getOutcome());
+        assertTrue(results.get(3).getError().contains("Pix key not found"));
+        assertEquals(BatchTransferPixUseCase.Outcome.REJECTED, results.get(4).getOutcome());
+        assertTrue(results.get(4).getError().contains("same wallet"));
+
+        verify(pixTransferRepository).saveAll(argThat(transfers -> transfers.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Should fail the whole batch when total exceeds balance")
+    void shouldFailWholeBatchWhenTotalExceedsBalance() {
+        // Given
+        List<BatchTransferPixUseCase.Item> items = List.of(
+                item("k1", "a@example.com", 300.00),
+                item("k2", "a@example.com", 300.00));
+
+        when(idempotencyRepository.findExistingKeys(eq("pix_transfer"), anyCollection())).thenReturn(Set.of());
+        when(pixKeyRepository.findByKeyValueIn(anyCollection())).thenReturn(List.of(pixKey("a@example.com", 2L)));
+        when(walletRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceWallet));
+        claimAllIdempotencyKeys();
+
+        // When & Then
+        assertThrows(SaldoInsuficienteException.class, () -> batchTransferPixUseCase.execute(1L, items));
+
+        verify(walletRepository, never()).save(any());
+        verify(pixTransferRepository, never()).saveAll(any());
+        verify(ledgerEntryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should report keys claimed by a concurrent request as duplicates and debit only the rest")
+    void shouldReportKeysTakenConcurrentlyAsDuplicates() {
+        // Given
+        List<BatchTransferPixUseCase.Item> items = List.of(
+                item("k1", "a@example.com", 100.00),
+                item("k2", "a@example.com", 150.00));
+
+        when(idempotencyRepository.findExistingKeys(eq("pix_transfer"), anyCollection())).thenReturn(Set.of());
+        when(pixKeyRepository.findByKeyValueIn(anyCollection())).thenReturn(List.of(pixKey("a@example.com", 2L)));
+        when(walletRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceWallet));
+        when(idempotencyRepository.saveIdempotencyKeys(eq("pix_transfer"), anyMap())).thenReturn(Set.of("k1"));
+
+        // When
+        List<BatchTransferPixUseCase.ItemResult> results = batchTransferPixUseCase.execute(1L, items);
+
+        // Then
+        assertEquals(BatchTransferPixUseCase.Outcome.CREATED, results.get(0).getOutcome());
+        assertEquals(BatchTransferPixUseCase.Outcome.DUPLICATE, results.get(1).getOutcome());
+        verify(walletRepository).save(argThat(wallet -> wallet.getBalance().equals(Money.of(400.00))));
+        verify(pixTransferRepository).saveAll(argThat(transfers -> transfers.size() == 1
+                && transfers.get(0).getEndToEndId().equals(results.get(0).getTransfer().getEndToEndId())));
+        verify(ledgerEntryRepository).saveAll(argThat(entries -> entries.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Should not lock source when no item is acceptable")
+    void shouldNotLockSourceWhenNoItemIsAcceptable() {
+        // Given
+        List<BatchTransferPixUseCase.Item> items = List.of(item("k1", "missing@example.com", 10.00));
+
+        when(idempotencyRepository.findExistingKeys(eq("pix_transfer"), anyCollection())).thenReturn(Set.of());
+        when(pixKeyRepository.findByKeyValueIn(anyCollection())).thenReturn(List.of());
+
+        // When
+        List<BatchTransferPixUseCase.ItemResult> results = batchTransferPixUseCase.execute(1L, items);
+
+        // Then
+        assertEquals(BatchTransferPixUseCase.Outcome.REJECTED, results.get(0).getOutcome());
+        verify(walletRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    @DisplayName("Should reject empty batch")
+    void shouldRejectEmptyBatch() {
+        assertThrows(TransferenciaInvalidaException.class, () -> batchTransferPixUseCase.execute(1L, List.of()));
+    }
+
+    private void claimAllIdempotencyKeys() {
+        when(idempotencyRepository.saveIdempotencyKeys(eq("pix_transfer"), anyMap()))
+                .thenAnswer(invocation -> invocation.<Map<String, String>>getArgument(1).keySet());
+    }
+
+    private BatchTransferPixUseCase.Item item(String idempotencyKey, String pixKey, double amount) {
+        return BatchTransferPixUseCase.Item.builder()
+                .idempotencyKey(idempotencyKey)
+                .pixKey(pixKey)
+                .amount(Money.of(amount))
+                .build();
+    }
+
+    private PixKey pixKey(String value, Long walletId) {
+        return PixKey.builder()
+                .walletId(walletId)
+                .keyType(PixKeyType.EMAIL)
+                .keyValue(value)
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.exception.ValorInvalidoException;
+import com.elton.pixservice.domain.repository.IdempotencyRepository;
+import com.elton.pixservice.domain.repository.LedgerEntryRepository;
+import com.elton.pixservice.domain.repository.WalletRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkCreditUseCase Tests")
+class BulkCreditUseCaseTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private IdempotencyRepository idempotencyRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BulkCreditUseCase bulkCreditUseCase;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkCreditUseCase, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should lock wallets in ascending id order, one transaction per chunk")
+    void shouldLockWalletsInAscendingOrderPerChunk() {
+        // Given
+        runTransactionsInline();
+        when(walletRepository.findAllByIdWithLock(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this::wallet).collect(Collectors.toList());
+        });
+
+        List<BulkCreditUseCase.Credit> credits = List.of(
+                credit(30L, 10.00),
+                credit(10L, 20.00),
+                credit(20L, 30.00),
+                credit(10L, 5.00));
+
+        // When
+        BulkCreditUseCase.Result result = bulkCreditUseCase.execute(credits, "payroll-10", "run-1");
+
+        // Then
+        InOrder inOrder = inOrder(walletRepository);
+        inOrder.verify(walletRepository).findAllByIdWithLock(List.of(10L, 20L));
+        inOrder.verify(walletRepository).findAllByIdWithLock(List.of(30L));
+        verify(transactionTemplate, times(2)).execute(any());
+
+        verify(walletRepository).updateBalances(argThat(wallets ->
+                wallets.size() == 2 && wallets.get(0).getBalance().equals(Money.of(125.00))));
+        verify(ledgerEntryRepository).saveAll(argThat(entries ->
+                entries.size() == 3 && entries.get(0).getMetadata().equals("Bulk credit: payroll-10")));
+        verify(idempotencyRepository).saveIdempotencyKeys("bulk_credit", Map.of("run-1:10", "25.00", "run-1:20", "30.00"));
+        verify(idempotencyRepository).saveIdempotencyKeys("bulk_credit", Map.of("run-1:30", "10.00"));
+
+        assertEquals(3, result.getCreditedWallets());
+        assertEquals(4, result.getLedgerEntries());
+        assertEquals(Money.of(65.00), result.getTotalAmount());
+        assertEquals(2, result.getChunks());
+        assertTrue(result.getMissingWalletIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should skip and report unknown wallets")
+    void shouldSkipAndReportUnknownWallets() {
+        // Given
+        runTransactionsInline();
+        when(walletRepository.findAllByIdWithLock(anyCollection())).thenReturn(List.of(wallet(1L)));
+
+        // When
+        BulkCreditUseCase.Result result = bulkCreditUseCase.execute(
+                List.of(credit(1L, 10.00), credit(2L, 10.00)), null, "run-1");
+
+        // Then
+        assertEquals(1, result.getCreditedWallets());
+        assertEquals(List.of(2L), result.getMissingWalletIds());
+        verify(ledgerEntryRepository).saveAll(argThat(entries -> entries.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive amounts before any chunk is committed")
+    void shouldRejectNonPositiveAmountsBeforeCommitting() {
+        List<BulkCreditUseCase.Credit> credits = List.of(credit(1L, 10.00), credit(2L, 0.00));
+
+        assertThrows(ValorInvalidoException.class, () -> bulkCreditUseCase.execute(credits, null, "run-1"));
+
+        verifyNoInteractions(transactionTemplate, walletRepository, ledgerEntryRepository);
+    }
+
+    @Test
+    @DisplayName("Should credit only the wallets not committed by a previous attempt of the run")
+    void shouldSkipWalletsAlreadyCreditedByTheRun() {
+        // Given
+        runTransactionsInline();
+        when(walletRepository.findAllByIdWithLock(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this::wallet).collect(Collectors.toList());
+        });
+        when(idempotencyRepository.findExistingKeys(eq("bulk_credit"), anyCollection()))
+                .thenReturn(Set.of("run-1:10", "run-1:20"))
+                .thenReturn(Set.of());
+
+        List<BulkCreditUseCase.Credit> credits = List.of(
+                credit(10L, 20.00),
+                credit(20L, 30.00),
+                credit(30L, 10.00));
+
+        // When
+        BulkCreditUseCase.Result result = bulkCreditUseCase.execute(credits, null, "run-1");
+
+        // Then
+        verify(idempotencyRepository).findExistingKeys("bulk_credit", List.of("run-1:10", "run-1:20"));
+        verify(walletRepository).updateBalances(List.of());
+        verify(walletRepository).updateBalances(argThat(wallets ->
+                wallets.size() == 1 && wallets.get(0).getId().equals(30L)));
+        verify(idempotencyRepository).saveIdempotencyKeys("bulk_credit", Map.of("run-1:30", "10.00"));
+
+        assertEquals(1, result.getCreditedWallets());
+        assertEquals(2, result.getAlreadyCreditedWallets());
+        assertEquals(1, result.getLedgerEntries());
+        assertEquals(Money.of(10.00), result.getTotalAmount());
+    }
+
+    @Test
+    @DisplayName("Should require an idempotency key for the run")
+    void shouldRequireIdempotencyKey() {
+        List<BulkCreditUseCase.Credit> credits = List.of(credit(1L, 10.00));
+
+        assertThrows(IllegalArgumentException.class, () -> bulkCreditUseCase.execute(credits, null, " "));
+
+        verifyNoInteractions(transactionTemplate, walletRepository, idempotencyRepository);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private BulkCreditUseCase.Credit credit(Long walletId, double amount) {
+        return BulkCreditUseCase.Credit.builder()
+                .walletId(walletId)
+                .amount(Money.of(amount))
+                .build();
+    }
+
+    private Wallet wallet(Long id) {
+        return Wallet.builder()
+                .id(id)
+                .userId("user-" + id)
+                .balance(Money.of(100.00))
+                .version(0L)
+                .build();
+    }
+}
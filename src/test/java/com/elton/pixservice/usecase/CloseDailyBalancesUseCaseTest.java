@@ -0,0 +1,65 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.DailyClosing;
+import com.elton.pixservice.domain.repository.DailyBalanceRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CloseDailyBalancesUseCase Tests")
+class CloseDailyBalancesUseCaseTest {
+
+    @Mock
+    private DailyBalanceRepository dailyBalanceRepository;
+
+    @InjectMocks
+    private CloseDailyBalancesUseCase closeDailyBalancesUseCase;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(closeDailyBalancesUseCase, "graceMinutes", 5);
+    }
+
+    @Test
+    @DisplayName("Should close a past day")
+    void shouldClosePastDay() {
+        // Given
+        LocalDate day = LocalDate.now().minusDays(2);
+        DailyClosing closing = DailyClosing.builder()
+                .businessDate(day)
+                .baseDate(day.minusDays(1))
+                .walletCount(3)
+                .totalBalance(Money.of(150.00))
+                .closedAt(LocalDateTime.now())
+                .build();
+        when(dailyBalanceRepository.close(day)).thenReturn(closing);
+
+        // When
+        DailyClosing result = closeDailyBalancesUseCase.closeDay(day);
+
+        // Then
+        assertSame(closing, result);
+        assertEquals(day.plusDays(1).atStartOfDay(), result.getCutoff());
+    }
+
+    @Test
+    @DisplayName("Should refuse to close a day that has not ended")
+    void shouldRefuseDayNotEnded() {
+        assertThrows(IllegalArgumentException.class, () -> closeDailyBalancesUseCase.closeDay(LocalDate.now()));
+
+        verifyNoInteractions(dailyBalanceRepository);
+    }
+}
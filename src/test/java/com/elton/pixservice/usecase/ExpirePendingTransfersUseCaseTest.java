@@ -0,0 +1,107 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.PixTransfer;
+import com.elton.pixservice.domain.repository.PixTransferRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import com.elton.pixservice.domain.valueobject.TransferStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExpirePendingTransfersUseCase Tests")
+class ExpirePendingTransfersUseCaseTest {
+
+    @Mock
+    private PixTransferRepository pixTransferRepository;
+
+    @Mock
+    private ProcessWebhookUseCase processWebhookUseCase;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExpirePendingTransfersUseCase expirePendingTransfersUseCase;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        expirePendingTransfersUseCase = new ExpirePendingTransfersUseCase(pixTransferRepository,
+                processWebhookUseCase, transactionTemplate, meterRegistry, 30, 2, 10);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should claim batches of expired transfers until a batch comes back short")
+    void shouldClaimBatchesUntilShortBatch() {
+        // Given
+        List<PixTransfer> fullBatch = List.of(pending("E1"), pending("E2"));
+        List<PixTransfer> lastBatch = List.of(pending("E3"));
+        when(pixTransferRepository.claimPendingCreatedBefore(any(), eq(2)))
+                .thenReturn(fullBatch, lastBatch);
+        when(processWebhookUseCase.rejectExpired(fullBatch)).thenReturn(2);
+        when(processWebhookUseCase.rejectExpired(lastBatch)).thenReturn(1);
+        LocalDateTime oldest = LocalDateTime.now().minusMinutes(10);
+        when(pixTransferRepository.countPending()).thenReturn(7L);
+        when(pixTransferRepository.findOldestPendingCreatedAt()).thenReturn(Optional.of(oldest));
+
+        // When
+        LocalDateTime before = LocalDateTime.now();
+        int expired = expirePendingTransfersUseCase.sweep();
+
+        // Then
+        assertEquals(3, expired);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(pixTransferRepository, times(2)).claimPendingCreatedBefore(argThat(cutoff ->
+                !cutoff.isBefore(before.minusMinutes(30))), eq(2));
+        assertEquals(3.0, meterRegistry.counter("pix.transfers.expired").count());
+        assertEquals(7.0, meterRegistry.get("pix.transfers.pending").gauge().value());
+        assertTrue(meterRegistry.get("pix.transfers.pending.oldest.age").timeGauge().value() >= 600);
+    }
+
+    @Test
+    @DisplayName("Should only refresh gauges when nothing expired")
+    void shouldRefreshGaugesWhenNothingExpired() {
+        // Given
+        when(pixTransferRepository.claimPendingCreatedBefore(any(), eq(2))).thenReturn(List.of());
+        when(processWebhookUseCase.rejectExpired(List.of())).thenReturn(0);
+        when(pixTransferRepository.countPending()).thenReturn(0L);
+        when(pixTransferRepository.findOldestPendingCreatedAt()).thenReturn(Optional.empty());
+
+        // When
+        int expired = expirePendingTransfersUseCase.sweep();
+
+        // Then
+        assertEquals(0, expired);
+        verify(transactionTemplate).execute(any());
+        assertEquals(0.0, meterRegistry.counter("pix.transfers.expired").count());
+        assertEquals(0.0, meterRegistry.get("pix.transfers.pending.oldest.age").timeGauge().value());
+    }
+
+    private PixTransfer pending(String endToEndId) {
+        return PixTransfer.builder()
+                .endToEndId(endToEndId)
+                .fromWalletId(1L)
+                .toWalletId(2L)
+                .amount(Money.of(10.00))
+                .status(TransferStatus.PENDING)
+                .createdAt(LocalDateTime.now().minusHours(1))
+                .build();
+    }
+}
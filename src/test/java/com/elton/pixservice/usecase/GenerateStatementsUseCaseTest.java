@@ -0,0 +1,106 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.StatementCheckpoint;
+import com.elton.pixservice.domain.repository.StatementRepository;
+import com.elton.pixservice.domain.valueobject.StatementFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GenerateStatementsUseCase Tests")
+class GenerateStatementsUseCaseTest {
+
+    private static final YearMonth MONTH = YearMonth.now().minusMonths(1);
+
+    @Mock
+    private StatementRepository statementRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GenerateStatementsUseCase generateStatementsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        generateStatementsUseCase = new GenerateStatementsUseCase(statementRepository, meterRegistry, 2, 10);
+    }
+
+    @Test
+    @DisplayName("Should resume pending ranges chunk by chunk and skip completed ones")
+    void shouldResumePendingRangesInChunks() {
+        // Given - range 0 already done, range 1 stopped at wallet 14
+        StatementCheckpoint done = checkpoint(0, 1, 20, 20, 12);
+        StatementCheckpoint pending = checkpoint(1, 21, 40, 24, 3);
+        when(statementRepository.findOrCreateCheckpoints(MONTH, StatementFormat.CSV, 2))
+                .thenReturn(List.of(done, pending));
+        when(statementRepository.exportChunk(any(), anyLong())).thenAnswer(invocation -> {
+            StatementCheckpoint checkpoint = invocation.getArgument(0);
+            long toWalletId = invocation.getArgument(1);
+            return checkpoint.toBuilder()
+                    .lastWalletId(toWalletId)
+                    .walletsWritten(checkpoint.getWalletsWritten() + 5)
+                    .bytesWritten(checkpoint.getBytesWritten() + 1_000)
+                    .build();
+        });
+
+        // When
+        GenerateStatementsUseCase.Result result = generateStatementsUseCase.generate(MONTH, StatementFormat.CSV, false);
+
+        // Then
+        verify(statementRepository).exportChunk(argThat(c -> c.getLastWalletId() == 24), eq(34L));
+        verify(statementRepository).exportChunk(argThat(c -> c.getLastWalletId() == 34), eq(40L));
+        verify(statementRepository, never()).exportChunk(argThat(c -> c.getPartition() == 0), anyLong());
+        verify(statementRepository, never()).deleteCheckpoints(any(), any());
+
+        assertEquals(1, result.getRanges());
+        assertEquals(10, result.getWalletsWritten());
+        assertEquals(2_000, result.getBytesWritten());
+        assertEquals(10.0, meterRegistry.counter("pix.statements.wallets").count());
+        assertEquals(2_000.0, meterRegistry.counter("pix.statements.bytes").count());
+    }
+
+    @Test
+    @DisplayName("Should discard checkpoints on restart")
+    void shouldDiscardCheckpointsOnRestart() {
+        when(statementRepository.findOrCreateCheckpoints(MONTH, StatementFormat.NDJSON, 2)).thenReturn(List.of());
+
+        GenerateStatementsUseCase.Result result = generateStatementsUseCase.generate(MONTH, StatementFormat.NDJSON, true);
+
+        verify(statementRepository).deleteCheckpoints(MONTH, StatementFormat.NDJSON);
+        assertEquals(0, result.getWalletsWritten());
+    }
+
+    @Test
+    @DisplayName("Should refuse a month that is not closed")
+    void shouldRefuseOpenMonth() {
+        assertThrows(IllegalArgumentException.class,
+                () -> generateStatementsUseCase.generate(YearMonth.now(), StatementFormat.CSV, false));
+
+        verifyNoInteractions(statementRepository);
+    }
+
+    private StatementCheckpoint checkpoint(int partition, long rangeStart, long rangeEnd, long lastWalletId,
+                                           long walletsWritten) {
+        return StatementCheckpoint.builder()
+                .month(MONTH)
+                .format(StatementFormat.CSV)
+                .partition(partition)
+                .rangeStart(rangeStart)
+                .rangeEnd(rangeEnd)
+                .lastWalletId(lastWalletId)
+                .walletsWritten(walletsWritten)
+                .bytesWritten(0)
+                .build();
+    }
+}
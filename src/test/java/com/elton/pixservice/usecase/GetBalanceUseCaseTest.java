@@ -0,0 +1,211 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.exception.WalletNaoEncontradaException;
+import com.elton.pixservice.domain.repository.LedgerEntryRepository;
+import com.elton.pixservice.domain.repository.WalletRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GetBalanceUseCase Tests")
+class GetBalanceUseCaseTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GetBalanceUseCase getBalanceUseCase;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        getBalanceUseCase = new GetBalanceUseCase(walletRepository, ledgerEntryRepository, meterRegistry, 2, 300);
+    }
+
+    @Test
+    @DisplayName("Should compute a settled historical balance once and serve repeats from the cache")
+    void shouldCacheSettledHistoricalBalance() {
+        // Given
+        LocalDateTime at = LocalDateTime.now().minusDays(1);
+        when(walletRepository.existsById(1L)).thenReturn(true);
+        when(ledgerEntryRepository.sumSignedAmountBefore(1L, at)).thenReturn(Money.of(150.00));
+
+        // When
+        Money first = getBalanceUseCase.getHistoricalBalance(1L, at);
+        Money second = getBalanceUseCase.getHistoricalBalance(1L, at);
+
+        // Then
+        assertEquals(Money.of(150.00), first);
+        assertEquals(first, second);
+        verify(ledgerEntryRepository, times(1)).sumSignedAmountBefore(1L, at);
+        assertEquals(1.0, meterRegistry.get("pix.balance.history.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("pix.balance.history.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should recompute balances inside the safety margin")
+    void shouldNotCacheRecentHistoricalBalance() {
+        // Given
+        LocalDateTime at = LocalDateTime.now().minusSeconds(10);
+        when(walletRepository.existsById(1L)).thenReturn(true);
+        when(ledgerEntryRepository.sumSignedAmountBefore(1L, at)).thenReturn(Money.of(100.00), Money.of(120.00));
+
+        // When
+        Money first = getBalanceUseCase.getHistoricalBalance(1L, at);
+        Money second = getBalanceUseCase.getHistoricalBalance(1L, at);
+
+        // Then
+        assertEquals(Money.of(100.00), first);
+        assertEquals(Money.of(120.00), second);
+        assertFalse(getBalanceUseCase.isSettled(at));
+        assertEquals(0.0, meterRegistry.get("pix.balance.history.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used balance beyond the configured size")
+    void shouldEvictLeastRecentlyUsed() {
+        // Given
+        LocalDateTime t1 = LocalDateTime.now().minusDays(3);
+        LocalDateTime t2 = LocalDateTime.now().minusDays(2);
+        LocalDateTime t3 = LocalDateTime.now().minusDays(1);
+        when(walletRepository.existsById(1L)).thenReturn(true);
+        when(ledgerEntryRepository.sumSignedAmountBefore(eq(1L), any())).thenReturn(Money.of(10.00));
+
+        // When
+        getBalanceUseCase.getHistoricalBalance(1L, t1);
+        getBalanceUseCase.getHistoricalBalance(1L, t2);
+        getBalanceUseCase.getHistoricalBalance(1L, t1);
+        getBalanceUseCase.getHistoricalBalance(1L, t3);
+        getBalanceUseCase.getHistoricalBalance(1L, t1);
+        getBalanceUseCase.getHistoricalBalance(1L, t2);
+
+        // Then
+        verify(ledgerEntryRepository, times(1)).sumSignedAmountBefore(1L, t1);
+        verify(ledgerEntryRepository, times(2)).sumSignedAmountBefore(1L, t2);
+        assertEquals(2.0, meterRegistry.get("pix.balance.history.cache.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent reads of the same settled balance into one query")
+    void shouldCoalesceConcurrentSettledHistoricalReads() throws Exception {
+        // Given
+        LocalDateTime at = LocalDateTime.now().minusDays(1);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(walletRepository.existsById(1L)).thenReturn(true);
+        when(ledgerEntryRepository.sumSignedAmountBefore(1L, at)).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return Money.of(80.00);
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+
+        try {
+            // When
+            Future<Money> leader = pool.submit(() -> getBalanceUseCase.getHistoricalBalance(1L, at));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            Future<Money> first = pool.submit(() -> getBalanceUseCase.getHistoricalBalance(1L, at));
+            Future<Money> second = pool.submit(() -> getBalanceUseCase.getHistoricalBalance(1L, at));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (singleFlight("historical", "coalesced") < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            releaseQuery.countDown();
+
+            // Then
+            assertEquals(Money.of(80.00), leader.get(5, TimeUnit.SECONDS));
+            assertEquals(Money.of(80.00), first.get(5, TimeUnit.SECONDS));
+            assertEquals(Money.of(80.00), second.get(5, TimeUnit.SECONDS));
+            verify(ledgerEntryRepository, times(1)).sumSignedAmountBefore(1L, at);
+            assertEquals(1.0, singleFlight("historical", "leader"));
+            assertEquals(2.0, singleFlight("historical", "coalesced"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not join a current balance read already in flight, so a caller sees its own write")
+    void shouldNotCoalesceCurrentReads() throws Exception {
+        // Given
+        Wallet before = Wallet.builder().id(1L).userId("user1").balance(Money.of(80.00)).version(3L).build();
+        Wallet after = Wallet.builder().id(1L).userId("user1").balance(Money.of(30.00)).version(4L).build();
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(walletRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    queryStarted.countDown();
+                    releaseQuery.await(5, TimeUnit.SECONDS);
+                    return Optional.of(before);
+                })
+                .thenReturn(Optional.of(after));
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        try {
+            // When
+            Future<Wallet> inFlight = pool.submit(() -> getBalanceUseCase.getCurrentWallet(1L));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            Wallet afterWrite = getBalanceUseCase.getCurrentWallet(1L);
+            releaseQuery.countDown();
+
+            // Then
+            assertSame(after, afterWrite);
+            assertSame(before, inFlight.get(5, TimeUnit.SECONDS));
+            verify(walletRepository, times(2)).findById(1L);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read again once the in-flight read has completed")
+    void shouldNotKeepCompletedReads() {
+        // Given
+        LocalDateTime at = LocalDateTime.now().minusDays(1);
+        when(walletRepository.existsById(1L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(WalletNaoEncontradaException.class, () -> getBalanceUseCase.getHistoricalBalance(1L, at));
+        assertThrows(WalletNaoEncontradaException.class, () -> getBalanceUseCase.getHistoricalBalance(1L, at));
+        verify(walletRepository, times(2)).existsById(1L);
+        assertEquals(2.0, singleFlight("historical", "leader"));
+    }
+
+    @Test
+    @DisplayName("Should read the wallet version without loading the wallet")
+    void shouldReadCurrentVersion() {
+        // Given
+        when(walletRepository.findVersion(1L)).thenReturn(Optional.of(42L));
+        when(walletRepository.findVersion(2L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertEquals(42L, getBalanceUseCase.getCurrentVersion(1L));
+        assertThrows(WalletNaoEncontradaException.class, () -> getBalanceUseCase.getCurrentVersion(2L));
+        verify(walletRepository, never()).findById(any());
+    }
+
+    private double singleFlight(String read, String result) {
+        return meterRegistry.get("pix.balance.singleflight").tag("read", read).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,88 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.OnboardingResult;
+import com.elton.pixservice.domain.entity.OnboardingRow;
+import com.elton.pixservice.domain.repository.OnboardingRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OnboardingUseCase Tests")
+class OnboardingUseCaseTest {
+
+    @Mock
+    private OnboardingRepository onboardingRepository;
+
+    @InjectMocks
+    private OnboardingUseCase onboardingUseCase;
+
+    @Test
+    @DisplayName("Should stage every line with its rejection, then apply the same batch")
+    void shouldStageLinesAndApplyBatch() {
+        // Given
+        List<OnboardingRow> staged = new ArrayList<>();
+        when(onboardingRepository.stage(any(), any())).thenAnswer(invocation -> {
+            Iterator<OnboardingRow> rows = invocation.getArgument(1);
+            rows.forEachRemaining(staged::add);
+            return (long) staged.size();
+        });
+        OnboardingRow rejected = OnboardingRow.builder().lineNumber(4).rejection("Invalid CPF format: 123").build();
+        when(onboardingRepository.apply(any())).thenReturn(OnboardingResult.builder()
+                .walletsCreated(2)
+                .pixKeysCreated(1)
+                .rejections(List.of(rejected))
+                .build());
+
+        String csv = "user_id,key_type,key_value\n"
+                + "user-1,email,ana@example.com\n"
+                + "\n"
+                + "user-2,CPF,123\n"
+                + "user-3,,\n";
+
+        // When
+        OnboardingUseCase.Result result = onboardingUseCase.execute(new StringReader(csv));
+
+        // Then
+        assertEquals(3, staged.size());
+        assertEquals(2, staged.get(0).getLineNumber());
+        assertEquals("EMAIL", staged.get(0).getKeyType());
+        assertNull(staged.get(0).getRejection());
+        assertEquals(4, staged.get(1).getLineNumber());
+        assertEquals("Invalid CPF format: 123", staged.get(1).getRejection());
+        assertNull(staged.get(2).getKeyType());
+        assertNull(staged.get(2).getRejection());
+
+        verify(onboardingRepository).apply(result.getBatchId());
+        assertEquals(3, result.getRows());
+        assertEquals(2, result.getWalletsCreated());
+        assertEquals(1, result.getPixKeysCreated());
+        assertEquals(List.of(rejected), result.getRejections());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed lines with a reason")
+    void shouldRejectMalformedLines() {
+        assertEquals("User ID is required", OnboardingUseCase.parse(1, ",EVP," + UUID.randomUUID()).getRejection());
+        assertEquals("Expected user_id,key_type,key_value, got 2 columns",
+                OnboardingUseCase.parse(1, "user-1,EVP").getRejection());
+        assertEquals("Unknown Pix key type: BANK", OnboardingUseCase.parse(1, "user-1,BANK,123").getRejection());
+        assertEquals("Pix key value cannot be empty", OnboardingUseCase.parse(1, "user-1,PHONE,").getRejection());
+        assertEquals("Pix key type is required when a key value is given",
+                OnboardingUseCase.parse(1, "user-1,,11987654321").getRejection());
+        assertNull(OnboardingUseCase.parse(1, " user-1 , phone , 11987654321 ").getRejection());
+    }
+}
@@ -2,6 +2,7 @@ package com.elton.pixservice.usecase;
 
 import com.elton.pixservice.domain.entity.PixTransfer;
 import com.elton.pixservice.domain.entity.Wallet;
+import com.elton.pixservice.domain.event.TransferStatusChanged;
 import com.elton.pixservice.domain.exception.TipoEventoDesconhecidoException;
 import com.elton.pixservice.domain.repository.*;
 import com.elton.pixservice.domain.valueobject.Money;
@@ -13,7 +14,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +40,9 @@ class ProcessWebhookUseCaseTest {
     @Mock
     private WebhookEventRepository webhookEventRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProcessWebhookUseCase processWebhookUseCase;
 
@@ -102,6 +108,7 @@ class ProcessWebhookUseCaseTest {
         ));
         verify(ledgerEntryRepository).save(any());
         verify(webhookEventRepository).saveEvent(eventId, endToEndId, eventType);
+        verify(eventPublisher).publishEvent(new TransferStatusChanged(pendingTransfer));
     }
 
     @Test
@@ -250,4 +257,33 @@ class ProcessWebhookUseCaseTest {
         verify(walletRepository).findByIdWithLock(2L);
         verify(walletRepository, never()).findById(any());
     }
+
+    @Test
+    @DisplayName("Should reject expired transfers and refund their source wallets in one batch")
+    void shouldRejectExpiredTransfersAndRefund() {
+        // Given
+        PixTransfer alreadyConfirmed = PixTransfer.builder()
+                .endToEndId("E999")
+                .fromWalletId(1L)
+                .toWalletId(2L)
+                .amount(Money.of(40.00))
+                .status(TransferStatus.CONFIRMED)
+                .build();
+        when(walletRepository.findByIdWithLock(1L)).thenReturn(Optional.of(sourceWallet));
+        when(pixTransferRepository.save(any(PixTransfer.class))).thenAnswer(i -> i.getArgument(0));
+
+        // When
+        int rejected = processWebhookUseCase.rejectExpired(List.of(pendingTransfer, alreadyConfirmed));
+
+        // Then
+        assertEquals(1, rejected);
+        verify(pixTransferRepository).save(argThat(transfer ->
+            transfer.getEndToEndId().equals("E123456") && transfer.getStatus() == TransferStatus.REJECTED
+        ));
+        verify(walletRepository).updateBalances(argThat(wallets ->
+            wallets.size() == 1 && wallets.get(0).getBalance().equals(Money.of(500.00)) // 350 + 150 (refund)
+        ));
+        verify(ledgerEntryRepository).saveAll(argThat(entries -> entries.size() == 1));
+        verifyNoInteractions(webhookEventRepository);
+    }
 }
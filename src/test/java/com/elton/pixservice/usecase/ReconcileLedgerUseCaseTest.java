@@ -0,0 +1,94 @@
+package com.elton.pixservice.usecase;
+
+import com.elton.pixservice.domain.entity.BalanceMismatch;
+import com.elton.pixservice.domain.repository.ReconciliationRepository;
+import com.elton.pixservice.domain.valueobject.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReconcileLedgerUseCase Tests")
+class ReconcileLedgerUseCaseTest {
+
+    @Mock
+    private ReconciliationRepository reconciliationRepository;
+
+    @InjectMocks
+    private ReconcileLedgerUseCase reconcileLedgerUseCase;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reconcileLedgerUseCase, "parallelism", 2);
+        ReflectionTestUtils.setField(reconcileLedgerUseCase, "rangeSize", 10);
+        ReflectionTestUtils.setField(reconcileLedgerUseCase, "pauseMs", 0L);
+    }
+
+    @Test
+    @DisplayName("Should check every id range once and record mismatches")
+    void shouldCheckEveryRangeAndRecordMismatches() {
+        // Given
+        when(reconciliationRepository.findWalletIdBounds()).thenReturn(Optional.of(new long[]{1L, 35L}));
+        when(reconciliationRepository.startRun()).thenReturn(7L);
+        when(reconciliationRepository.checkRange(anyLong(), anyLong(), anyList())).thenAnswer(invocation -> {
+            long fromId = invocation.getArgument(0);
+            long toId = invocation.getArgument(1);
+            if (fromId <= 12 && 12 <= toId) {
+                List<BalanceMismatch> mismatches = invocation.getArgument(2);
+                mismatches.add(BalanceMismatch.builder()
+                        .walletId(12L)
+                        .walletBalance(Money.of(100.00))
+                        .ledgerBalance(Money.of(90.00))
+                        .build());
+            }
+            return toId - fromId + 1;
+        });
+
+        // When
+        ReconcileLedgerUseCase.Progress progress = reconcileLedgerUseCase.execute();
+
+        // Then
+        verify(reconciliationRepository).checkRange(eq(1L), eq(10L), anyList());
+        verify(reconciliationRepository).checkRange(eq(11L), eq(20L), anyList());
+        verify(reconciliationRepository).checkRange(eq(21L), eq(30L), anyList());
+        verify(reconciliationRepository).checkRange(eq(31L), eq(35L), anyList());
+        verify(reconciliationRepository).saveMismatches(eq(7L), argThat(mismatches ->
+                mismatches.size() == 1 && mismatches.get(0).getDifference().equals(Money.of(10.00))));
+        verify(reconciliationRepository).finishRun(7L, "COMPLETED", 35L, 1L, null);
+
+        assertEquals("COMPLETED", progress.getStatus());
+        assertEquals(4, progress.getRangesTotal());
+        assertEquals(4, progress.getRangesDone());
+        assertEquals(35, progress.getWalletsChecked());
+        assertEquals(1, progress.getMismatches());
+    }
+
+    @Test
+    @DisplayName("Should mark the run as failed when a range query fails")
+    void shouldMarkRunAsFailed() {
+        // Given
+        when(reconciliationRepository.findWalletIdBounds()).thenReturn(Optional.of(new long[]{1L, 5L}));
+        when(reconciliationRepository.startRun()).thenReturn(8L);
+        when(reconciliationRepository.checkRange(anyLong(), anyLong(), anyList()))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        // When
+        ReconcileLedgerUseCase.Progress progress = reconcileLedgerUseCase.execute();
+
+        // Then
+        assertEquals("FAILED", progress.getStatus());
+        verify(reconciliationRepository).finishRun(eq(8L), eq("FAILED"), eq(0L), eq(0L), contains("connection lost"));
+    }
+}
@@ -18,7 +18,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -301,4 +303,70 @@ class TransferPixUseCaseTest {
         verify(walletRepository).findByIdWithLock(fromWalletId);
         verify(walletRepository, never()).findById(any());
     }
+
+    @Test
+    @DisplayName("Should settle internal transfer as CONFIRMED locking both wallets in id order")
+    void shouldSettleInternalTransferSynchronously() {
+        // Given
+        ReflectionTestUtils.setField(transferPixUseCase, "internalSettlement", true);
+        String idempotencyKey = "internal-key-1";
+        when(idempotencyRepository.exists("pix_transfer", idempotencyKey)).thenReturn(false);
+        when(pixKeyRepository.findByKeyValue("destination@example.com")).thenReturn(Optional.of(pixKey));
+        when(walletRepository.findAllByIdWithLock(argThat(ids -> List.copyOf(ids).equals(List.of(1L, 2L)))))
+                .thenReturn(List.of(sourceWallet, destinationWallet));
+
+        // When
+        PixTransfer result = transferPixUseCase.execute(1L, "destination@example.com", Money.of(150.00), idempotencyKey);
+
+        // Then
+        assertEquals(TransferStatus.CONFIRMED, result.getStatus());
+        assertNotNull(result.getConfirmedAt());
+        assertEquals(Money.of(350.00), sourceWallet.getBalance());
+        assertEquals(Money.of(250.00), destinationWallet.getBalance());
+
+        verify(walletRepository, never()).findByIdWithLock(any());
+        verify(walletRepository).updateBalances(argThat(wallets -> wallets.size() == 2));
+        verify(pixTransferRepository).save(argThat(transfer -> transfer.getStatus() == TransferStatus.CONFIRMED));
+        verify(ledgerEntryRepository).saveAll(argThat(entries -> entries.size() == 2
+                && entries.get(0).getWalletId().equals(1L)
+                && entries.get(1).getWalletId().equals(2L)));
+        verify(idempotencyRepository, times(2)).exists("pix_transfer", idempotencyKey);
+        verify(idempotencyRepository).saveIdempotencyKey(eq("pix_transfer"), eq(idempotencyKey), eq(result.getEndToEndId()));
+    }
+
+    @Test
+    @DisplayName("Should reject a retried internal transfer as duplicate after its debit spent the balance")
+    void shouldRejectRetriedInternalTransferAfterBalanceIsSpent() {
+        // Given
+        ReflectionTestUtils.setField(transferPixUseCase, "internalSettlement", true);
+        String idempotencyKey = "internal-key-1";
+        sourceWallet.withdraw(Money.of(450.00));
+        when(idempotencyRepository.exists("pix_transfer", idempotencyKey)).thenReturn(true);
+
+        // When & Then
+        assertThrows(RequisicaoDuplicadaException.class,
+                () -> transferPixUseCase.execute(1L, "destination@example.com", Money.of(150.00), idempotencyKey));
+        verify(pixKeyRepository, never()).findByKeyValue(any());
+        verify(walletRepository, never()).findAllByIdWithLock(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate committed while waiting for the locks, before the balance check")
+    void shouldRejectDuplicateInternalTransferUnderLock() {
+        // Given
+        ReflectionTestUtils.setField(transferPixUseCase, "internalSettlement", true);
+        String idempotencyKey = "internal-key-1";
+        sourceWallet.withdraw(Money.of(450.00));
+        when(pixKeyRepository.findByKeyValue("destination@example.com")).thenReturn(Optional.of(pixKey));
+        when(walletRepository.findAllByIdWithLock(any())).thenReturn(List.of(sourceWallet, destinationWallet));
+        when(idempotencyRepository.exists("pix_transfer", idempotencyKey)).thenReturn(false, true);
+
+        // When & Then
+        assertThrows(RequisicaoDuplicadaException.class,
+                () -> transferPixUseCase.execute(1L, "destination@example.com", Money.of(150.00), idempotencyKey));
+        assertEquals(Money.of(50.00), sourceWallet.getBalance());
+        verify(idempotencyRepository, times(2)).exists("pix_transfer", idempotencyKey);
+        verify(walletRepository, never()).updateBalances(any());
+        verify(pixTransferRepository, never()).save(any());
+    }
 }
@@ -15,6 +15,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
 
@@ -158,4 +160,38 @@ class WithdrawUseCaseTest {
         verify(walletRepository).findByIdWithLock(walletId);
         verify(walletRepository, never()).findById(anyLong());
     }
+
+    @Test
+    @DisplayName("Should read without lock and write with version check in optimistic mode")
+    void shouldUseVersionCheckInOptimisticMode() {
+        // Given
+        ReflectionTestUtils.setField(withdrawUseCase, "optimistic", true);
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
+        when(walletRepository.updateBalanceIfUnchanged(any(Wallet.class))).thenAnswer(i -> i.getArgument(0));
+
+        // When
+        Wallet result = withdrawUseCase.execute(1L, Money.of(100.00));
+
+        // Then
+        assertEquals(Money.of(400.00), result.getBalance());
+        verify(walletRepository, never()).findByIdWithLock(anyLong());
+        verify(walletRepository, never()).save(any(Wallet.class));
+        verify(walletRepository).updateBalanceIfUnchanged(argThat(updated -> updated.getVersion() == 0L));
+        verify(ledgerEntryRepository).save(any(LedgerEntry.class));
+    }
+
+    @Test
+    @DisplayName("Should not write the ledger when the optimistic version check fails")
+    void shouldPropagateOptimisticConflict() {
+        // Given
+        ReflectionTestUtils.setField(withdrawUseCase, "optimistic", true);
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
+        when(walletRepository.updateBalanceIfUnchanged(any(Wallet.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Wallet.class, 1L));
+
+        // When & Then
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> withdrawUseCase.execute(1L, Money.of(100.00)));
+        verifyNoInteractions(ledgerEntryRepository);
+    }
 }